@@ -96,6 +96,7 @@ public class HeadersBenchmark {
         private String[] stringNames;
         private HeaderName[] names;
         private String[] values;
+        private final HeaderName absentName = new HeaderName("X-Absent");
         Headers headers;
 
         @Setup
@@ -146,6 +147,34 @@ public class HeadersBenchmark {
             return headers.getAll(names[count - 1]);
         }
 
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public String getFirst_string_last() {
+            return headers.getFirst(stringNames[count - 1]);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public String getFirst_headerName_last() {
+            return headers.getFirst(names[count - 1]);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public boolean contains_absent() {
+            return headers.contains(absentName);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public void forEach(Blackhole blackhole) {
+            headers.forEach(blackhole::consume);
+        }
+
         @Benchmark
         @BenchmarkMode(Mode.AverageTime)
         @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -156,6 +185,59 @@ public class HeadersBenchmark {
         }
     }
 
+    /**
+     * Looks up common headers by string in a typical request's headers, which is what most filters do.
+     */
+    @State(Scope.Thread)
+    public static class KnownHeaders {
+        private static final String[] NAMES = {
+            "Host",
+            "User-Agent",
+            "Accept",
+            "Accept-Encoding",
+            "Accept-Language",
+            "Cookie",
+            "Connection",
+            "Content-Type",
+            "Content-Length",
+            "X-Forwarded-For",
+            "X-Forwarded-Proto",
+            "X-Forwarded-Port",
+            "X-Request-Id",
+            "Origin",
+            "Referer",
+            "Cache-Control",
+        };
+
+        Headers headers;
+
+        @Setup
+        public void setUp() {
+            headers = new Headers();
+            for (String name : NAMES) {
+                headers.add(name, name);
+            }
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public void getFirst_all(Blackhole blackhole) {
+            for (String name : NAMES) {
+                blackhole.consume(headers.getFirst(name));
+            }
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public Headers copyAndSet() {
+            Headers copy = Headers.copyOf(headers);
+            copy.set("Content-Length", "0");
+            return copy;
+        }
+    }
+
     @Benchmark
     @BenchmarkMode(Mode.AverageTime)
     @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+package com.netflix.zuul.netty.connectionpool;
+
+import com.netflix.zuul.netty.insights.PassportStateHttpClientHandler;
+import com.netflix.zuul.netty.server.OriginResponseDispatcher;
+import com.netflix.zuul.netty.server.OriginResponseReceiver;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.timeout.IdleStateHandler;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * One acquire, request and release of a pooled origin connection, as far as the pipeline is concerned: with the
+ * response receiver and idle state handler added and removed each time, and with the stable pipeline of
+ * {@link ConnectionPoolConfig#useStablePipeline()}.
+ */
+@State(Scope.Thread)
+public class OriginPipelineBenchmark {
+
+    private static final int IDLE_TIMEOUT_MS = 60_000;
+
+    private EmbeddedChannel addRemoveChannel;
+    private EmbeddedChannel stableChannel;
+    private OriginResponseDispatcher dispatcher;
+    private PooledIdleTimer idleTimer;
+
+    @Setup
+    public void setUp() {
+        addRemoveChannel = originChannel(false);
+        stableChannel = originChannel(true);
+        dispatcher = OriginResponseDispatcher.fromChannel(stableChannel);
+        idleTimer = PooledIdleTimer.fromChannel(stableChannel);
+    }
+
+    /**
+     * Roughly the shape of the pipeline {@link DefaultOriginChannelInitializer} sets up, with placeholders for the
+     * handlers that don't matter here.
+     */
+    private static EmbeddedChannel originChannel(boolean stable) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ChannelPipeline pipeline = channel.pipeline();
+        for (int i = 0; i < 4; i++) {
+            pipeline.addLast(new ChannelDuplexHandler());
+        }
+        pipeline.addLast(new PassportStateHttpClientHandler.OutboundHandler());
+        if (stable) {
+            pipeline.addLast(PooledIdleTimer.HANDLER_NAME, new PooledIdleTimer(Duration.ofMillis(IDLE_TIMEOUT_MS)));
+        }
+        for (int i = 0; i < 6; i++) {
+            pipeline.addLast(new ChannelDuplexHandler());
+        }
+        if (stable) {
+            pipeline.addLast(OriginResponseDispatcher.CHANNEL_HANDLER_NAME, new OriginResponseDispatcher());
+        }
+        pipeline.addLast(DefaultOriginChannelInitializer.CONNECTION_POOL_HANDLER, new ChannelDuplexHandler());
+        return channel;
+    }
+
+    @TearDown
+    public void tearDown() {
+        addRemoveChannel.finishAndReleaseAll();
+        stableChannel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ChannelPipeline acquireRelease_addRemove() {
+        ChannelPipeline pipeline = addRemoveChannel.pipeline();
+        // PerServerConnectionPool.onAcquire
+        DefaultClientChannelManager.removeHandlerFromPipeline(
+                DefaultClientChannelManager.IDLE_STATE_HANDLER_NAME, pipeline);
+        // ProxyEndpoint.writeClientRequestToOrigin
+        pipeline.addBefore(
+                DefaultOriginChannelInitializer.CONNECTION_POOL_HANDLER,
+                OriginResponseReceiver.CHANNEL_HANDLER_NAME,
+                new OriginResponseReceiver(null));
+        // DefaultClientChannelManager.releaseHandlers
+        DefaultClientChannelManager.removeHandlerFromPipeline(OriginResponseReceiver.CHANNEL_HANDLER_NAME, pipeline);
+        ChannelHandlerContext passportCtx = pipeline.context(PassportStateHttpClientHandler.OutboundHandler.class);
+        pipeline.addAfter(
+                passportCtx.name(),
+                DefaultClientChannelManager.IDLE_STATE_HANDLER_NAME,
+                new IdleStateHandler(0, 0, IDLE_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        return pipeline;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ChannelPipeline acquireRelease_stable() {
+        idleTimer.disarm();
+        dispatcher.bind(new OriginResponseReceiver(null));
+        dispatcher.unbind();
+        idleTimer.arm();
+        return stableChannel.pipeline();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Encodes access log records onto the end of the {@link AccessLogWriter}'s buffer. Only ever called from the writer
+ * thread.
+ *
+ * <p>Records are encoded in batches, each written out to the {@link AccessLogOutput} in one piece, so an encoder may
+ * keep state such as a dictionary for the length of a batch.
+ */
+interface AccessLogEncoder {
+
+    default void startBatch(ByteBuf out) {}
+
+    void encode(AccessLogRecord record, ByteBuf out);
+
+    default void finishBatch(ByteBuf out) {}
+}
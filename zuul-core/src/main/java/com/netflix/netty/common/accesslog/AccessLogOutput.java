@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import io.netty.buffer.ByteBuf;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Where the {@link AccessLogWriter} puts encoded batches. Only ever called from the writer thread.
+ */
+interface AccessLogOutput extends Closeable {
+
+    /**
+     * Writes all the readable bytes of {@code batch}.
+     */
+    void write(ByteBuf batch) throws IOException;
+
+    /**
+     * Appends to a single file.
+     */
+    static AccessLogOutput append(Path path) throws IOException {
+        FileChannel file = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new AccessLogOutput() {
+            @Override
+            public void write(ByteBuf batch) throws IOException {
+                while (batch.isReadable()) {
+                    batch.readBytes(file, batch.readableBytes());
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                file.close();
+            }
+        };
+    }
+}
@@ -24,9 +24,11 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.function.BiFunction;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,22 +36,39 @@ public class AccessLogPublisher {
     private static final char DELIM = '\t';
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
-    private static final List<String> LOG_REQ_HEADERS = new DynamicStringListProperty(
+    static final List<String> LOG_REQ_HEADERS = new DynamicStringListProperty(
                     "zuul.access.log.requestheaders",
                     "host,x-forwarded-for,x-forwarded-proto,x-forwarded-host,x-forwarded-port,user-agent")
             .get();
-    private static final List<String> LOG_RESP_HEADERS =
+    static final List<String> LOG_RESP_HEADERS =
             new DynamicStringListProperty("zuul.access.log.responseheaders", "server,via,content-type").get();
     private static final DynamicIntProperty URI_LENGTH_LIMIT =
             new DynamicIntProperty("zuul.access.log.uri.length.limit", Integer.MAX_VALUE);
 
+    @Nullable
     private final Logger logger;
+
+    @Nullable
+    private final AccessLogWriter writer;
+
     private final BiFunction<Channel, HttpRequest, String> requestIdProvider;
 
     private static final Logger LOG = LoggerFactory.getLogger(AccessLogPublisher.class);
 
     public AccessLogPublisher(String loggerName, BiFunction<Channel, HttpRequest, String> requestIdProvider) {
         this.logger = LoggerFactory.getLogger(loggerName);
+        this.writer = null;
+        this.requestIdProvider = requestIdProvider;
+    }
+
+    /**
+     * Publishes to {@code writer} instead of a logger. The event loop only copies references into one of the
+     * writer's records; formatting and I/O happen on the writer's thread, and records are dropped rather than waited
+     * for if it falls behind.
+     */
+    public AccessLogPublisher(AccessLogWriter writer, BiFunction<Channel, HttpRequest, String> requestIdProvider) {
+        this.logger = null;
+        this.writer = writer;
         this.requestIdProvider = requestIdProvider;
     }
 
@@ -63,6 +82,21 @@ public class AccessLogPublisher {
             Long durationNs,
             Long requestBodySize,
             Long responseBodySize) {
+        if (writer != null) {
+            publish(
+                    writer,
+                    channel,
+                    request,
+                    response,
+                    dateTime,
+                    localPort,
+                    remoteIp,
+                    durationNs,
+                    requestBodySize,
+                    responseBodySize);
+            return;
+        }
+
         StringBuilder sb = new StringBuilder(512);
 
         String dateTimeStr = dateTime != null ? dateTime.format(DATE_TIME_FORMATTER) : "-----T-:-:-";
@@ -126,6 +160,79 @@ public class AccessLogPublisher {
         LOG.debug(access);
     }
 
+    private void publish(
+            AccessLogWriter writer,
+            Channel channel,
+            HttpRequest request,
+            HttpResponse response,
+            LocalDateTime dateTime,
+            Integer localPort,
+            String remoteIp,
+            Long durationNs,
+            Long requestBodySize,
+            Long responseBodySize) {
+        AccessLogRecord record = writer.claim();
+        if (record == null) {
+            return;
+        }
+        try {
+            record.dateTime = dateTime;
+            record.remoteIp = remoteIp;
+            record.localPort = localPort != null ? localPort : AccessLogRecord.NONE;
+            // Convert duration to microseconds.
+            record.durationMicros = (durationNs != null && durationNs > 0) ? durationNs / 1000 : AccessLogRecord.NONE;
+            record.requestBodySize = requestBodySize != null ? requestBodySize : AccessLogRecord.NONE;
+            record.responseBodySize = responseBodySize != null ? responseBodySize : AccessLogRecord.NONE;
+            record.uriLengthLimit = URI_LENGTH_LIMIT.get();
+            if (request != null) {
+                record.method = request.method().name();
+                record.uri = request.uri();
+            }
+            if (response != null) {
+                record.status = response.status().code();
+            }
+            try {
+                record.requestId = requestIdProvider.apply(channel, request);
+            } catch (Exception ex) {
+                LOG.error(
+                        "requestIdProvider failed in AccessLogPublisher method={}, uri={}", record.method, record.uri);
+            }
+
+            record.requestHeaders = AccessLogRecord.sized(record.requestHeaders, LOG_REQ_HEADERS.size());
+            if (request != null && request.headers() != null) {
+                copyMatchingHeaders(record.requestHeaders, LOG_REQ_HEADERS, request.headers());
+            }
+            record.responseHeaders = AccessLogRecord.sized(record.responseHeaders, LOG_RESP_HEADERS.size());
+            if (response != null && response.headers() != null) {
+                copyMatchingHeaders(record.responseHeaders, LOG_RESP_HEADERS, response.headers());
+            }
+        } finally {
+            writer.publish(record);
+        }
+    }
+
+    /**
+     * Like {@link #headerAsString}, but without allocating in the usual case of one value or none.
+     */
+    private static void copyMatchingHeaders(
+            CharSequence[] values, List<String> requiredHeaders, HttpHeaders headers) {
+        for (int i = 0; i < values.length; i++) {
+            Iterator<? extends CharSequence> it = headers.valueCharSequenceIterator(requiredHeaders.get(i));
+            if (!it.hasNext()) {
+                continue;
+            }
+            CharSequence value = it.next();
+            if (it.hasNext()) {
+                StringBuilder joined = new StringBuilder(value);
+                do {
+                    joined.append(',').append(it.next());
+                } while (it.hasNext());
+                value = joined;
+            }
+            values[i] = value;
+        }
+    }
+
     void includeMatchingHeaders(StringBuilder builder, List<String> requiredHeaders, HttpHeaders headers) {
         for (String headerName : requiredHeaders) {
             String value = headerAsString(headers, headerName);
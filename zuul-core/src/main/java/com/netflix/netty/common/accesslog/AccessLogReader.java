@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import static com.netflix.netty.common.accesslog.BinaryAccessLogEncoder.ABSENT;
+import static com.netflix.netty.common.accesslog.BinaryAccessLogEncoder.FIRST_ENTRY;
+import static com.netflix.netty.common.accesslog.BinaryAccessLogEncoder.LITERAL;
+import static com.netflix.netty.common.accesslog.BinaryAccessLogEncoder.NEW_ENTRY;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Converts binary access log segments, as written by {@link AccessLogWriter#openBinary}, back into the text lines
+ * {@link AccessLogPublisher} would have logged.
+ *
+ * <pre>
+ * java -cp zuul-core.jar com.netflix.netty.common.accesslog.AccessLogReader access-*.zal &gt; access.log
+ * </pre>
+ */
+public final class AccessLogReader {
+
+    private final List<String> dictionary = new ArrayList<>();
+    private final AccessLogRecord record = new AccessLogRecord();
+    private long previousMicros;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AccessLogReader <segment file>...");
+            System.exit(1);
+        }
+        OutputStream out = new BufferedOutputStream(System.out, 64 * 1024);
+        for (String arg : args) {
+            new AccessLogReader().toText(Path.of(arg), out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes each record in the segment at {@code path} to {@code out} as a line of text.
+     */
+    public void toText(Path path, OutputStream out) throws IOException {
+        ByteBuffer segment;
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            segment = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+        }
+        ByteBuf line = Unpooled.buffer(1024);
+        try {
+            readFileHeader(segment, path);
+            while (segment.remaining() >= 4) {
+                int length = segment.getInt();
+                if (length <= 0 || length > segment.remaining()) {
+                    // Zero padding after a crash, or a block that never made it to disk.
+                    break;
+                }
+                ByteBuffer block = segment.slice(segment.position(), length);
+                segment.position(segment.position() + length);
+
+                dictionary.clear();
+                previousMicros = 0;
+                while (block.hasRemaining()) {
+                    readRecord(block);
+                    line.clear();
+                    TextAccessLogEncoder.INSTANCE.encode(record, line);
+                    line.readBytes(out, line.readableBytes());
+                    record.clear();
+                }
+            }
+        } finally {
+            line.release();
+        }
+    }
+
+    /**
+     * Checks the magic number and version, and skips the header names; records carry the values in the same order.
+     */
+    private static void readFileHeader(ByteBuffer in, Path path) throws IOException {
+        if (in.remaining() < 5
+                || in.getInt() != BinaryAccessLogEncoder.MAGIC
+                || in.get() != BinaryAccessLogEncoder.VERSION) {
+            throw new IOException("Not a binary access log: " + path);
+        }
+        for (int list = 0; list < 2; list++) {
+            int count = (int) readVarint(in);
+            for (int i = 0; i < count; i++) {
+                readString(in);
+            }
+        }
+    }
+
+    private void readRecord(ByteBuffer in) {
+        long time = readVarint(in);
+        if (time != 0) {
+            long zigzag = time - 1;
+            previousMicros += (zigzag >>> 1) ^ -(zigzag & 1);
+            record.dateTime = LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(previousMicros, 1_000_000),
+                    (int) Math.floorMod(previousMicros, 1_000_000) * 1000,
+                    ZoneOffset.UTC);
+        }
+        record.remoteIp = readDictionary(in);
+        record.localPort = readNumber(in);
+        record.method = readDictionary(in);
+        record.uri = readString(in);
+        record.status = readNumber(in);
+        record.durationMicros = readNumber(in);
+        record.responseBodySize = readNumber(in);
+        record.requestId = readString(in);
+        record.requestBodySize = readNumber(in);
+        record.requestHeaders = readDictionaryValues(in, record.requestHeaders);
+        record.responseHeaders = readDictionaryValues(in, record.responseHeaders);
+    }
+
+    private CharSequence[] readDictionaryValues(ByteBuffer in, CharSequence[] values) {
+        CharSequence[] read = AccessLogRecord.sized(values, (int) readVarint(in));
+        for (int i = 0; i < read.length; i++) {
+            read[i] = readDictionary(in);
+        }
+        return read;
+    }
+
+    @Nullable
+    private String readDictionary(ByteBuffer in) {
+        int tag = (int) readVarint(in);
+        return switch (tag) {
+            case ABSENT -> null;
+            case NEW_ENTRY -> {
+                String entry = readString(in);
+                dictionary.add(entry);
+                yield entry;
+            }
+            case LITERAL -> readString(in);
+            default -> dictionary.get(tag - FIRST_ENTRY);
+        };
+    }
+
+    private static long readNumber(ByteBuffer in) {
+        return readVarint(in) - 1;
+    }
+
+    @Nullable
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarint(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value = StandardCharsets.UTF_8.decode(in.slice(in.position(), length)).toString();
+        in.position(in.position() + length);
+        return value;
+    }
+
+    static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
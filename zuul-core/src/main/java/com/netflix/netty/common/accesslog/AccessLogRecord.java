@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * One access log entry, as handed from an event loop to the {@link AccessLogWriter} thread. Records are slots of the
+ * writer's ring and are reused, so they only hold references to objects the request already had, and numbers with
+ * {@link #NONE} standing in for a missing value.
+ */
+final class AccessLogRecord {
+
+    static final long NONE = -1;
+
+    /** The position in the ring this record was last claimed for. */
+    long sequence;
+
+    @Nullable
+    LocalDateTime dateTime;
+
+    @Nullable
+    CharSequence remoteIp;
+
+    long localPort = NONE;
+
+    @Nullable
+    CharSequence method;
+
+    @Nullable
+    CharSequence uri;
+
+    int uriLengthLimit = Integer.MAX_VALUE;
+
+    long status = NONE;
+
+    long durationMicros = NONE;
+
+    long requestBodySize = NONE;
+
+    long responseBodySize = NONE;
+
+    @Nullable
+    CharSequence requestId;
+
+    /** Values of the configured request headers, in order; null where absent. */
+    CharSequence[] requestHeaders = new CharSequence[0];
+
+    /** Values of the configured response headers, in order; null where absent. */
+    CharSequence[] responseHeaders = new CharSequence[0];
+
+    /**
+     * Drops all references, so that the slot doesn't keep a finished request reachable.
+     */
+    void clear() {
+        dateTime = null;
+        remoteIp = null;
+        localPort = NONE;
+        method = null;
+        uri = null;
+        uriLengthLimit = Integer.MAX_VALUE;
+        status = NONE;
+        durationMicros = NONE;
+        requestBodySize = NONE;
+        responseBodySize = NONE;
+        requestId = null;
+        Arrays.fill(requestHeaders, null);
+        Arrays.fill(responseHeaders, null);
+    }
+
+    static CharSequence[] sized(CharSequence[] values, int size) {
+        return values.length == size ? values : new CharSequence[size];
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes access log records to a file from a dedicated thread, so that log I/O never holds up an event loop.
+ *
+ * <p>Event loops {@linkplain #claim() claim} a preallocated record in a bounded ring, fill it in and
+ * {@linkplain #publish(AccessLogRecord) publish} it; neither takes a lock. When the ring is full the record is dropped
+ * and counted in {@code zuul.accesslog.dropped} rather than waiting for the writer. The writer thread encodes records
+ * into a pooled direct buffer and hands it to the output in one piece once it holds {@link #BATCH_BYTES}, or once
+ * the ring is empty: appended to a file through a {@link java.nio.channels.FileChannel} for the text format, or
+ * copied into rolling memory mapped segments for the binary one, see {@link BinaryAccessLogEncoder}.
+ *
+ * <p>The ring is the bounded multi-producer queue described by Dmitry Vyukov: each slot carries a sequence number that
+ * tells producers whether it is free for their position, and the consumer whether it has been published.
+ */
+public final class AccessLogWriter implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    static final int BATCH_BYTES = 64 * 1024;
+
+    private static final long IDLE_PARK_NS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AccessLogOutput output;
+    private final AccessLogEncoder encoder;
+    private final AccessLogRecord[] records;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final Counter droppedCounter;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /** Only touched by the writer thread. */
+    private long consumed;
+    private boolean inBatch;
+
+    @VisibleForTesting
+    AccessLogWriter(AccessLogOutput output, AccessLogEncoder encoder, int capacity, Registry registry) {
+        this.output = output;
+        this.encoder = encoder;
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.records = new AccessLogRecord[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            records[i] = new AccessLogRecord();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.droppedCounter = registry.counter("zuul.accesslog.dropped");
+        this.thread = new Thread(this::run, "accesslog-writer");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Opens, or creates, {@code path} for appending text lines, and starts the writer thread.
+     *
+     * @param capacity the number of records that can be waiting to be written, rounded up to a power of two
+     */
+    public static AccessLogWriter open(Path path, int capacity, Registry registry) throws IOException {
+        AccessLogWriter writer =
+                new AccessLogWriter(AccessLogOutput.append(path), TextAccessLogEncoder.INSTANCE, capacity, registry);
+        writer.start();
+        return writer;
+    }
+
+    /**
+     * Starts writing binary records to memory mapped segment files named {@code <prefix>-<millis>-<n>.zal} in
+     * {@code directory}, starting a new one once {@code segmentBytes} are used. They can be turned back into text by
+     * {@link AccessLogReader}.
+     */
+    public static AccessLogWriter openBinary(
+            Path directory, String prefix, long segmentBytes, int capacity, Registry registry) throws IOException {
+        BinaryAccessLogEncoder encoder =
+                new BinaryAccessLogEncoder(AccessLogPublisher.LOG_REQ_HEADERS, AccessLogPublisher.LOG_RESP_HEADERS);
+        AccessLogOutput output = new MappedSegmentOutput(directory, prefix, segmentBytes, encoder.fileHeader());
+        AccessLogWriter writer = new AccessLogWriter(output, encoder, capacity, registry);
+        writer.start();
+        return writer;
+    }
+
+    @VisibleForTesting
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * The number of records dropped because the ring was full, or because the writer was closed.
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Claims the next free record, or returns null, counting a drop, if there is none. A claimed record must always
+     * be {@linkplain #publish(AccessLogRecord) published}, or the writer stalls on it.
+     */
+    @Nullable
+    AccessLogRecord claim() {
+        if (!running) {
+            drop();
+            return null;
+        }
+        long position = claimed.get();
+        while (true) {
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (claimed.compareAndSet(position, position + 1)) {
+                    AccessLogRecord record = records[index];
+                    record.sequence = position;
+                    return record;
+                }
+                position = claimed.get();
+            } else if (available < 0) {
+                // The writer hasn't got to this slot since the last time round the ring.
+                drop();
+                return null;
+            } else {
+                // Another producer took this position.
+                position = claimed.get();
+            }
+        }
+    }
+
+    void publish(AccessLogRecord record) {
+        sequences.set((int) record.sequence & mask, record.sequence + 1);
+    }
+
+    private void drop() {
+        dropped.incrementAndGet();
+        droppedCounter.increment();
+    }
+
+    private void run() {
+        ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer(BATCH_BYTES * 2);
+        try {
+            while (running) {
+                if (drain(buffer) == 0) {
+                    flush(buffer);
+                    LockSupport.parkNanos(this, IDLE_PARK_NS);
+                }
+            }
+            // Producers stop claiming once running is false; write out what they have already published.
+            drain(buffer);
+            flush(buffer);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Access log writer failed, dropping further records", e);
+            running = false;
+        } finally {
+            buffer.release();
+            try {
+                output.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close access log", e);
+            }
+        }
+    }
+
+    /**
+     * Encodes published records until the ring is empty, writing out full batches as it goes.
+     */
+    private int drain(ByteBuf buffer) throws IOException {
+        int count = 0;
+        while (true) {
+            int index = (int) consumed & mask;
+            if (sequences.get(index) != consumed + 1) {
+                return count;
+            }
+            AccessLogRecord record = records[index];
+            if (!inBatch) {
+                encoder.startBatch(buffer);
+                inBatch = true;
+            }
+            int start = buffer.writerIndex();
+            try {
+                encoder.encode(record, buffer);
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to encode access log record", e);
+                buffer.writerIndex(start);
+            } finally {
+                record.clear();
+                sequences.set(index, consumed + records.length);
+                consumed++;
+            }
+            count++;
+            if (buffer.readableBytes() >= BATCH_BYTES) {
+                flush(buffer);
+            }
+        }
+    }
+
+    private void flush(ByteBuf buffer) throws IOException {
+        if (inBatch) {
+            encoder.finishBatch(buffer);
+            inBatch = false;
+            output.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Stops taking records, then writes out those already taken and closes the file.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
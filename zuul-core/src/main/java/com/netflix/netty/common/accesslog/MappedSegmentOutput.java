@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.internal.PlatformDependent;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import javax.annotation.Nullable;
+
+/**
+ * Copies batches into memory mapped segment files of a fixed size, starting a new file when a batch doesn't fit in
+ * what is left of the current one. Writes are then plain memory copies into the page cache, with no system call per
+ * batch. A segment is trimmed to the bytes actually written when it is finished; one left behind by a crash is padded
+ * with zeros, which readers take as the end.
+ */
+final class MappedSegmentOutput implements AccessLogOutput {
+
+    static final String SUFFIX = ".zal";
+
+    private final Path directory;
+    private final String prefix;
+    private final long segmentBytes;
+    private final byte[] fileHeader;
+    private int segmentCount;
+
+    @Nullable
+    private FileChannel file;
+
+    @Nullable
+    private MappedByteBuffer segment;
+
+    MappedSegmentOutput(Path directory, String prefix, long segmentBytes, byte[] fileHeader) throws IOException {
+        if (segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segments can't be larger than 2GB: " + segmentBytes);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.prefix = prefix;
+        this.segmentBytes = segmentBytes;
+        this.fileHeader = fileHeader;
+        roll(0);
+    }
+
+    @Override
+    public void write(ByteBuf batch) throws IOException {
+        if (segment == null || segment.remaining() < batch.readableBytes()) {
+            roll(batch.readableBytes());
+        }
+        // Not readBytes(segment), which would try to fill the rest of the segment from this one batch.
+        int length = batch.readableBytes();
+        segment.put(batch.nioBuffer(batch.readerIndex(), length));
+        batch.skipBytes(length);
+    }
+
+    private void roll(int needed) throws IOException {
+        finishSegment();
+        // Padded so that segments sort by name in the order they were written.
+        String name = String.format("%s-%d-%06d%s", prefix, System.currentTimeMillis(), segmentCount++, SUFFIX);
+        Path path = directory.resolve(name);
+        file = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // A batch larger than a whole segment gets a segment to itself.
+        long size = Math.max(segmentBytes, (long) fileHeader.length + needed);
+        segment = file.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segment.put(fileHeader);
+    }
+
+    private void finishSegment() throws IOException {
+        if (file == null || segment == null) {
+            return;
+        }
+        int written = segment.position();
+        segment.force();
+        // Unmap now, rather than whenever the buffer is collected, so the file can be truncated.
+        PlatformDependent.freeDirectBuffer(segment);
+        segment = null;
+        try {
+            file.truncate(written);
+        } finally {
+            file.close();
+            file = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finishSegment();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import javax.annotation.Nullable;
+
+/**
+ * The same tab separated line {@link AccessLogPublisher} logs, written as UTF-8 straight into the buffer, without
+ * building up any strings.
+ */
+final class TextAccessLogEncoder implements AccessLogEncoder {
+
+    private static final byte DELIM = '\t';
+
+    static final TextAccessLogEncoder INSTANCE = new TextAccessLogEncoder();
+
+    private TextAccessLogEncoder() {}
+
+    @Override
+    public void encode(AccessLogRecord record, ByteBuf out) {
+        if (record.dateTime != null) {
+            writeDateTime(out, record.dateTime);
+        } else {
+            out.writeCharSequence("-----T-:-:-", StandardCharsets.US_ASCII);
+        }
+        out.writeByte(DELIM);
+        if (record.remoteIp != null && record.remoteIp.length() > 0) {
+            ByteBufUtil.writeUtf8(out, record.remoteIp);
+        } else {
+            out.writeByte('-');
+        }
+        out.writeByte(DELIM);
+        writeNumber(out, record.localPort, true);
+        out.writeByte(DELIM);
+        writeUpperCase(out, record.method);
+        out.writeByte(DELIM);
+        if (record.uri != null) {
+            ByteBufUtil.writeUtf8(out, record.uri, 0, Math.min(record.uri.length(), record.uriLengthLimit));
+        } else {
+            out.writeByte('-');
+        }
+        out.writeByte(DELIM);
+        writeNumber(out, record.status, true);
+        out.writeByte(DELIM);
+        writeNumber(out, record.durationMicros, true);
+        out.writeByte(DELIM);
+        writeNumber(out, record.responseBodySize, false);
+        out.writeByte(DELIM);
+        writeOrDash(out, record.requestId);
+        out.writeByte(DELIM);
+        writeNumber(out, record.requestBodySize, false);
+
+        writeHeaders(out, record.requestHeaders);
+        writeHeaders(out, record.responseHeaders);
+        out.writeByte('\n');
+    }
+
+    private static void writeHeaders(ByteBuf out, CharSequence[] values) {
+        for (CharSequence value : values) {
+            out.writeByte(DELIM).writeByte('"');
+            writeOrDash(out, value);
+            out.writeByte('"');
+        }
+    }
+
+    private static void writeOrDash(ByteBuf out, @Nullable CharSequence value) {
+        if (value != null) {
+            ByteBufUtil.writeUtf8(out, value);
+        } else {
+            out.writeByte('-');
+        }
+    }
+
+    private static void writeUpperCase(ByteBuf out, @Nullable CharSequence method) {
+        if (method == null) {
+            out.writeByte('-');
+            return;
+        }
+        for (int i = 0; i < method.length(); i++) {
+            char c = method.charAt(i);
+            out.writeByte(c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c);
+        }
+    }
+
+    /**
+     * Writes {@code value}, or a dash if it is {@link AccessLogRecord#NONE}, or zero and {@code zeroIsValue} is false.
+     */
+    private static void writeNumber(ByteBuf out, long value, boolean zeroIsValue) {
+        if (value < 0 || (value == 0 && !zeroIsValue)) {
+            out.writeByte('-');
+        } else {
+            writeDecimal(out, value, 1);
+        }
+    }
+
+    /**
+     * Writes a non-negative number in decimal, zero padded to at least {@code minDigits}.
+     */
+    static void writeDecimal(ByteBuf out, long value, int minDigits) {
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        digits = Math.max(digits, minDigits);
+        int start = out.writerIndex();
+        out.ensureWritable(digits);
+        for (int i = digits - 1; i >= 0; i--) {
+            out.setByte(start + i, (int) ('0' + value % 10));
+            value /= 10;
+        }
+        out.writerIndex(start + digits);
+    }
+
+    /**
+     * Writes the date and time as {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME} would.
+     */
+    static void writeDateTime(ByteBuf out, LocalDateTime dateTime) {
+        writeDecimal(out, dateTime.getYear(), 4);
+        out.writeByte('-');
+        writeDecimal(out, dateTime.getMonthValue(), 2);
+        out.writeByte('-');
+        writeDecimal(out, dateTime.getDayOfMonth(), 2);
+        out.writeByte('T');
+        writeDecimal(out, dateTime.getHour(), 2);
+        out.writeByte(':');
+        writeDecimal(out, dateTime.getMinute(), 2);
+        out.writeByte(':');
+        writeDecimal(out, dateTime.getSecond(), 2);
+
+        int nanos = dateTime.getNano();
+        if (nanos > 0) {
+            // Without trailing zeros.
+            int digits = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                digits--;
+            }
+            out.writeByte('.');
+            writeDecimal(out, nanos, digits);
+        }
+    }
+}
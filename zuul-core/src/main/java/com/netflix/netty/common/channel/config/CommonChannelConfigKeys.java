@@ -45,6 +45,18 @@ public class CommonChannelConfigKeys {
             new ChannelConfigKey<>("httpRequestReadTimeout", 5000);
     /** The maximum number of inbound connections to proxy. */
     public static final ChannelConfigKey<Integer> maxConnections = new ChannelConfigKey<>("maxConnections", 20000);
+    /** The maximum number of inbound connections from a single source address, or 0 for no limit. */
+    public static final ChannelConfigKey<Integer> maxConnectionsPerSourceAddress =
+            new ChannelConfigKey<>("maxConnectionsPerSourceAddress", 0);
+    /** The maximum new connections per second from a single source address, or 0 for no limit. */
+    public static final ChannelConfigKey<Integer> maxAcceptRatePerSourceAddress =
+            new ChannelConfigKey<>("maxAcceptRatePerSourceAddress", 0);
+    /** The maximum number of inbound connections from a single /24 IPv4 or /64 IPv6 prefix, or 0 for no limit. */
+    public static final ChannelConfigKey<Integer> maxConnectionsPerSourcePrefix =
+            new ChannelConfigKey<>("maxConnectionsPerSourcePrefix", 0);
+    /** The maximum new connections per second from a single /24 IPv4 or /64 IPv6 prefix, or 0 for no limit. */
+    public static final ChannelConfigKey<Integer> maxAcceptRatePerSourcePrefix =
+            new ChannelConfigKey<>("maxAcceptRatePerSourcePrefix", 0);
 
     public static final ChannelConfigKey<Integer> maxRequestsPerConnection =
             new ChannelConfigKey<>("maxRequestsPerConnection", 4000);
@@ -17,10 +17,14 @@
 package com.netflix.netty.common.metrics;
 
 import com.netflix.spectator.api.Registry;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * User: michaels@netflix.com
@@ -30,7 +34,7 @@ import java.util.Map;
 @Singleton
 public class EventLoopGroupMetrics {
     private final ThreadLocal<EventLoopMetrics> metricsForCurrentThread;
-    private final Map<Thread, EventLoopMetrics> byEventLoop = new HashMap<>();
+    private final Map<Thread, EventLoopMetrics> byEventLoop = new ConcurrentHashMap<>();
 
     @Inject
     public EventLoopGroupMetrics(Registry registry) {
@@ -63,6 +67,18 @@ public class EventLoopGroupMetrics {
         return metricsForCurrentThread.get();
     }
 
+    /**
+     * Starts publishing the lag, pending tasks and, where the loops are {@link MeteredIoEventLoop}s, the I/O and task
+     * time of each event loop in the group.
+     */
+    public void monitor(EventLoopGroup group) {
+        for (EventExecutor executor : group) {
+            if (executor instanceof EventLoop loop) {
+                loop.execute(() -> getForCurrentEventLoop().monitor(loop));
+            }
+        }
+    }
+
     private static String nameForCurrentEventLoop() {
         // We're relying on the knowledge that we name the eventloop threads consistently.
         String threadName = Thread.currentThread().getName();
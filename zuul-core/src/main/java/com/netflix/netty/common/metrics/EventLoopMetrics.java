@@ -18,7 +18,12 @@ package com.netflix.netty.common.metrics;
 
 import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * User: michaels@netflix.com
@@ -26,20 +31,30 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Time: 3:18 PM
  */
 public class EventLoopMetrics implements EventLoopGroupMetrics.EventLoopInfo {
+    private static final long PROBE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
     private final String name;
     public final AtomicInteger currentRequests = new AtomicInteger(0);
     public final AtomicInteger currentConnections = new AtomicInteger(0);
 
+    /** The longest a probe task has waited past its time since the gauge was last polled. */
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
     private final Registry registry;
-    private final Id currentRequestsId;
-    private final Id currentConnectionsId;
+    private boolean monitored;
+    private long probeScheduledAt;
 
     public EventLoopMetrics(Registry registry, String eventLoopName) {
         this.name = eventLoopName;
-
         this.registry = registry;
-        this.currentRequestsId = this.registry.createId("server.eventloop.http.requests.current");
-        this.currentConnectionsId = this.registry.createId("server.eventloop.connections.current");
+
+        // Polled in the background, so counting a request or connection is just the increment.
+        PolledMeter.using(registry)
+                .withId(id("server.eventloop.http.requests.current"))
+                .monitorValue(currentRequests);
+        PolledMeter.using(registry)
+                .withId(id("server.eventloop.connections.current"))
+                .monitorValue(currentConnections);
     }
 
     @Override
@@ -53,26 +68,65 @@ public class EventLoopMetrics implements EventLoopGroupMetrics.EventLoopInfo {
     }
 
     public void incrementCurrentRequests() {
-        int value = this.currentRequests.incrementAndGet();
-        updateGauge(currentRequestsId, value);
+        currentRequests.incrementAndGet();
     }
 
     public void decrementCurrentRequests() {
-        int value = this.currentRequests.decrementAndGet();
-        updateGauge(currentRequestsId, value);
+        currentRequests.decrementAndGet();
     }
 
     public void incrementCurrentConnections() {
-        int value = this.currentConnections.incrementAndGet();
-        updateGauge(currentConnectionsId, value);
+        currentConnections.incrementAndGet();
     }
 
     public void decrementCurrentConnections() {
-        int value = this.currentConnections.decrementAndGet();
-        updateGauge(currentConnectionsId, value);
+        currentConnections.decrementAndGet();
+    }
+
+    /**
+     * Starts publishing how loaded the given event loop is: how late a periodic probe task runs, how many tasks are
+     * waiting, and, for a {@link MeteredIoEventLoop}, the time spent on I/O and on tasks. Must be called on the loop.
+     */
+    void monitor(EventLoop loop) {
+        if (monitored) {
+            return;
+        }
+        monitored = true;
+
+        PolledMeter.using(registry)
+                .withId(id("server.eventloop.lag"))
+                .monitorValue(this, m -> m.maxLagNanos.getAndSet(0) / 1e9);
+        if (loop instanceof SingleThreadEventExecutor executor) {
+            PolledMeter.using(registry)
+                    .withId(id("server.eventloop.tasks.pending"))
+                    .monitorValue(executor, SingleThreadEventExecutor::pendingTasks);
+        }
+        if (loop instanceof MeteredIoEventLoop metered) {
+            PolledMeter.using(registry)
+                    .withId(id("server.eventloop.time").withTag("activity", "io"))
+                    .monitorMonotonicCounterDouble(metered, l -> l.ioNanos() / 1e9);
+            PolledMeter.using(registry)
+                    .withId(id("server.eventloop.time").withTag("activity", "tasks"))
+                    .monitorMonotonicCounterDouble(metered, l -> l.taskNanos() / 1e9);
+        }
+        scheduleProbe(loop);
+    }
+
+    private void scheduleProbe(EventLoop loop) {
+        if (loop.isShuttingDown()) {
+            return;
+        }
+        probeScheduledAt = System.nanoTime();
+        loop.schedule(() -> probe(loop), PROBE_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    private void probe(EventLoop loop) {
+        long lag = System.nanoTime() - probeScheduledAt - PROBE_INTERVAL_NANOS;
+        maxLagNanos.accumulateAndGet(lag, Math::max);
+        scheduleProbe(loop);
     }
 
-    private void updateGauge(Id gaugeId, int value) {
-        registry.gauge(gaugeId.withTag("eventloop", name)).set(value);
+    private Id id(String metricName) {
+        return registry.createId(metricName, "eventloop", name);
     }
 }
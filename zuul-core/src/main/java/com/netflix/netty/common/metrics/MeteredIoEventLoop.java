@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.metrics;
+
+import io.netty.channel.IoEventLoopGroup;
+import io.netty.channel.IoHandle;
+import io.netty.channel.IoHandler;
+import io.netty.channel.IoHandlerContext;
+import io.netty.channel.IoHandlerFactory;
+import io.netty.channel.IoRegistration;
+import io.netty.channel.SingleThreadIoEventLoop;
+import java.util.concurrent.Executor;
+
+/**
+ * An event loop that keeps count of how long it spends processing I/O and how long running tasks, for
+ * {@link EventLoopMetrics} to publish. Whatever is left of the elapsed time was spent waiting for either.
+ *
+ * <p>I/O time is what the {@link IoHandler} reports as active: handling ready channels, which is where reads, the
+ * filter chain they drive, and writes run. It leaves out the time blocked waiting for events, and is zero for a
+ * handler that doesn't report it. Task time is the time between rounds of I/O, running queued and scheduled tasks.
+ * Together they are how busy the loop is. The counts are written only by the loop's own thread.
+ */
+public class MeteredIoEventLoop extends SingleThreadIoEventLoop {
+
+    private volatile long ioNanos;
+    private volatile long taskNanos;
+    private long ioEnd;
+
+    public MeteredIoEventLoop(IoEventLoopGroup parent, Executor executor, IoHandlerFactory ioHandlerFactory) {
+        super(parent, executor, metered(ioHandlerFactory));
+    }
+
+    private static IoHandlerFactory metered(IoHandlerFactory ioHandlerFactory) {
+        return ioExecutor -> {
+            IoHandler handler = ioHandlerFactory.newHandler(ioExecutor);
+            return ioExecutor instanceof MeteredIoEventLoop loop ? new MeteredIoHandler(handler, loop) : handler;
+        };
+    }
+
+    @Override
+    protected int runIo() {
+        long start = System.nanoTime();
+        if (ioEnd != 0) {
+            taskNanos += start - ioEnd;
+        }
+        try {
+            return super.runIo();
+        } finally {
+            ioEnd = System.nanoTime();
+        }
+    }
+
+    /**
+     * Total time spent processing I/O, not counting waiting for it, in nanoseconds.
+     */
+    public long ioNanos() {
+        return ioNanos;
+    }
+
+    /**
+     * Total time spent between rounds of I/O, running tasks, in nanoseconds.
+     */
+    public long taskNanos() {
+        return taskNanos;
+    }
+
+    /**
+     * Asks the handler it wraps to report how long each round spent processing I/O, and adds that up.
+     */
+    private static final class MeteredIoHandler implements IoHandler {
+        private final IoHandler delegate;
+        private final MeteredIoEventLoop loop;
+        private final IoHandlerContext meteredContext = new IoHandlerContext() {
+            @Override
+            public boolean canBlock() {
+                return context.canBlock();
+            }
+
+            @Override
+            public long delayNanos(long currentTimeNanos) {
+                return context.delayNanos(currentTimeNanos);
+            }
+
+            @Override
+            public long deadlineNanos() {
+                return context.deadlineNanos();
+            }
+
+            @Override
+            public boolean shouldReportActiveIoTime() {
+                return true;
+            }
+
+            @Override
+            public void reportActiveIoTime(long activeNanos) {
+                loop.ioNanos += activeNanos;
+                if (context.shouldReportActiveIoTime()) {
+                    context.reportActiveIoTime(activeNanos);
+                }
+            }
+        };
+
+        /** The loop's context for the current round, which is the same object every round. */
+        private IoHandlerContext context;
+
+        MeteredIoHandler(IoHandler delegate, MeteredIoEventLoop loop) {
+            this.delegate = delegate;
+            this.loop = loop;
+        }
+
+        @Override
+        public void initialize() {
+            delegate.initialize();
+        }
+
+        @Override
+        public int run(IoHandlerContext context) {
+            this.context = context;
+            return delegate.run(meteredContext);
+        }
+
+        @Override
+        public void prepareToDestroy() {
+            delegate.prepareToDestroy();
+        }
+
+        @Override
+        public void destroy() {
+            delegate.destroy();
+        }
+
+        @Override
+        public IoRegistration register(IoHandle handle) throws Exception {
+            return delegate.register(handle);
+        }
+
+        @Override
+        public void wakeup() {
+            delegate.wakeup();
+        }
+
+        @Override
+        public boolean isCompatible(Class<? extends IoHandle> handleType) {
+            return delegate.isCompatible(handleType);
+        }
+    }
+}
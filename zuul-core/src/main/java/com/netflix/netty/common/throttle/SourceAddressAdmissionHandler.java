@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.throttle;
+
+import com.netflix.netty.common.SourceAddressChannelHandler;
+import com.netflix.netty.common.throttle.SourceAddressTable.Key;
+import com.netflix.netty.common.throttle.SourceAddressTable.Result;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.zuul.passport.CurrentPassport;
+import com.netflix.zuul.passport.PassportState;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Closes incoming connections from a client source that has too many connections open, or is opening them too fast.
+ * Each source address is limited, and so is each /24 IPv4 or /64 IPv6 prefix, which catches a client spread across
+ * addresses without letting one address use up its neighbours' allowance.
+ *
+ * <p>The source is the one {@link SourceAddressChannelHandler} resolves. With the proxy protocol the real source is
+ * only known once the proxy header has been read, so the connection is admitted, or not, on its first read rather
+ * than when it becomes active; either way this is before any TLS handshake, as the client's first bytes go no
+ * further than this handler until it is admitted.
+ *
+ * <p>A throttled connection is closed, and marked as {@link MaxInboundConnectionsHandler} marks one.
+ */
+@ChannelHandler.Sharable
+public class SourceAddressAdmissionHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SourceAddressAdmissionHandler.class);
+
+    private static final AttributeKey<Admission> ATTR_ADMISSION = AttributeKey.newInstance("_source_admission");
+
+    private static final int TABLE_CAPACITY = 1 << 15;
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /** The keys a connection holds in each table, to release when it closes. */
+    private record Admission(@Nullable Key address, @Nullable Key prefix) {
+        static final Admission NONE = new Admission(null, null);
+    }
+
+    private final boolean withProxyProtocol;
+
+    @Nullable
+    private final SourceAddressTable addresses;
+
+    @Nullable
+    private final SourceAddressTable prefixes;
+
+    private final Counter addressConnectionsThrottled;
+    private final Counter addressRateThrottled;
+    private final Counter prefixConnectionsThrottled;
+    private final Counter prefixRateThrottled;
+
+    /**
+     * A limit or rate of 0 is no limit.
+     */
+    public SourceAddressAdmissionHandler(
+            Registry registry,
+            String metricId,
+            boolean withProxyProtocol,
+            int maxConnectionsPerAddress,
+            int acceptsPerSecondPerAddress,
+            int maxConnectionsPerPrefix,
+            int acceptsPerSecondPerPrefix) {
+        this.withProxyProtocol = withProxyProtocol;
+        this.addresses = table(maxConnectionsPerAddress, acceptsPerSecondPerAddress);
+        this.prefixes = table(maxConnectionsPerPrefix, acceptsPerSecondPerPrefix);
+
+        String name = "server.connections.source.throttled";
+        this.addressConnectionsThrottled =
+                registry.counter(name, "id", metricId, "scope", "address", "reason", "connections");
+        this.addressRateThrottled = registry.counter(name, "id", metricId, "scope", "address", "reason", "rate");
+        this.prefixConnectionsThrottled =
+                registry.counter(name, "id", metricId, "scope", "prefix", "reason", "connections");
+        this.prefixRateThrottled = registry.counter(name, "id", metricId, "scope", "prefix", "reason", "rate");
+    }
+
+    @Nullable
+    private static SourceAddressTable table(int maxConnections, int acceptsPerSecond) {
+        if (maxConnections <= 0 && acceptsPerSecond <= 0) {
+            return null;
+        }
+        return new SourceAddressTable(
+                TABLE_CAPACITY, Math.max(maxConnections, 0), Math.max(acceptsPerSecond, 0), IDLE_NANOS);
+    }
+
+    /**
+     * Whether any limit is configured, and so whether this handler needs to be in the pipeline at all.
+     */
+    public boolean isEnabled() {
+        return addresses != null || prefixes != null;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        if (!withProxyProtocol) {
+            admit(ctx);
+        }
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        Channel channel = ctx.channel();
+        if (channel.attr(ATTR_ADMISSION).get() == null) {
+            admit(ctx);
+        }
+        if (channel.attr(MaxInboundConnectionsHandler.ATTR_CH_THROTTLED).get() != null) {
+            // Discard this msg as channel is in process of being closed.
+            ReferenceCountUtil.safeRelease(msg);
+        } else {
+            super.channelRead(ctx, msg);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        Admission admission = ctx.channel().attr(ATTR_ADMISSION).getAndSet(Admission.NONE);
+        if (admission != null) {
+            if (admission.address() != null) {
+                addresses.release(admission.address());
+            }
+            if (admission.prefix() != null) {
+                prefixes.release(admission.prefix());
+            }
+        }
+        super.channelInactive(ctx);
+    }
+
+    private void admit(ChannelHandlerContext ctx) {
+        Channel channel = ctx.channel();
+        channel.attr(ATTR_ADMISSION).set(Admission.NONE);
+        if (channel.attr(MaxInboundConnectionsHandler.ATTR_CH_THROTTLED).get() != null) {
+            return;
+        }
+        SocketAddress remote = channel.attr(SourceAddressChannelHandler.ATTR_REMOTE_ADDR).get();
+        if (!(remote instanceof InetSocketAddress inetRemote) || inetRemote.getAddress() == null) {
+            return;
+        }
+        InetAddress source = inetRemote.getAddress();
+
+        Key address = null;
+        if (addresses != null) {
+            address = SourceAddressTable.addressKey(source);
+            Result result = addresses.tryAcquire(address);
+            if (result.isRejected()) {
+                throttle(ctx, source, result == Result.TOO_FAST ? addressRateThrottled : addressConnectionsThrottled);
+                return;
+            }
+            if (result != Result.ADMITTED) {
+                address = null;
+            }
+        }
+
+        Key prefix = null;
+        if (prefixes != null) {
+            prefix = SourceAddressTable.prefixKey(source);
+            Result result = prefixes.tryAcquire(prefix);
+            if (result.isRejected()) {
+                if (address != null) {
+                    addresses.release(address);
+                }
+                throttle(ctx, source, result == Result.TOO_FAST ? prefixRateThrottled : prefixConnectionsThrottled);
+                return;
+            }
+            if (result != Result.ADMITTED) {
+                prefix = null;
+            }
+        }
+
+        channel.attr(ATTR_ADMISSION).set(new Admission(address, prefix));
+    }
+
+    private void throttle(ChannelHandlerContext ctx, InetAddress source, Counter counter) {
+        LOG.debug("Throttling incoming connection from {}", source);
+        Channel channel = ctx.channel();
+        channel.attr(MaxInboundConnectionsHandler.ATTR_CH_THROTTLED).set(true);
+        CurrentPassport.fromChannel(channel).add(PassportState.SERVER_CH_THROTTLING);
+        ctx.close();
+        counter.increment();
+    }
+}
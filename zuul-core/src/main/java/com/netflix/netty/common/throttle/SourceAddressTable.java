@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.throttle;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the open connections and recent accepts of each client source, for
+ * {@link SourceAddressAdmissionHandler} to limit.
+ *
+ * <p>The table is split into stripes, each a small LRU map behind its own lock, so connections from different
+ * sources rarely contend. It holds at most {@code capacity} sources: a source with no open connections is dropped
+ * once it has been idle for a while, or sooner when its stripe is full. When a stripe is full of sources that all
+ * have connections open, a new source is admitted without being tracked, rather than turned away for the table's
+ * sake.
+ */
+final class SourceAddressTable {
+
+    enum Result {
+        ADMITTED,
+        UNTRACKED,
+        TOO_MANY_CONNECTIONS,
+        TOO_FAST;
+
+        boolean isRejected() {
+            return this == TOO_MANY_CONNECTIONS || this == TOO_FAST;
+        }
+    }
+
+    /** A source address, or the /24 IPv4 or /64 IPv6 prefix containing it. */
+    record Key(long high, long low) {}
+
+    private static final int STRIPES = 64;
+
+    /** How many of the least recently used sources in a stripe are checked for eviction on each insert. */
+    private static final int MAX_EVICTION_SCAN = 8;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int maxConnections;
+    private final double acceptsPerNano;
+    private final double burst;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+
+    SourceAddressTable(int capacity, int maxConnections, int acceptsPerSecond, long idleNanos) {
+        this(capacity, maxConnections, acceptsPerSecond, idleNanos, System::nanoTime);
+    }
+
+    SourceAddressTable(
+            int capacity, int maxConnections, int acceptsPerSecond, long idleNanos, LongSupplier nanoClock) {
+        if (capacity < STRIPES || maxConnections < 0 || acceptsPerSecond < 0) {
+            throw new IllegalArgumentException("capacity=" + capacity + ", maxConnections=" + maxConnections
+                    + ", acceptsPerSecond=" + acceptsPerSecond);
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(capacity / STRIPES);
+        }
+        this.maxConnections = maxConnections;
+        this.acceptsPerNano = (double) acceptsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        // Up to a second's worth of accepts may arrive at once.
+        this.burst = acceptsPerSecond;
+        this.idleNanos = idleNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    static Key addressKey(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            return new Key(0, toLong(bytes, 0, 4));
+        }
+        return new Key(toLong(bytes, 0, 8), toLong(bytes, 8, 8));
+    }
+
+    static Key prefixKey(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            // Marked so that no IPv4 prefix shares a key with the IPv6 ::/64 prefix.
+            return new Key(-1, toLong(bytes, 0, 3));
+        }
+        return new Key(toLong(bytes, 0, 8), 0);
+    }
+
+    private static long toLong(byte[] bytes, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Counts a new connection from the given source, unless it would take the source over its limit on open
+     * connections or on how fast it may connect. An {@link Result#ADMITTED} connection must be
+     * {@linkplain #release released} once it closes.
+     */
+    Result tryAcquire(Key key) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            long now = nanoClock.getAsLong();
+            Entry entry = stripe.get(key);
+            if (entry == null) {
+                stripe.evict(now);
+                if (stripe.size() >= stripe.capacity) {
+                    return Result.UNTRACKED;
+                }
+                entry = new Entry(burst, now);
+                stripe.put(key, entry);
+            }
+
+            entry.tokens = Math.min(burst, entry.tokens + (now - entry.updatedNanos) * acceptsPerNano);
+            entry.updatedNanos = now;
+            if (maxConnections > 0 && entry.connections >= maxConnections) {
+                return Result.TOO_MANY_CONNECTIONS;
+            }
+            if (acceptsPerNano > 0) {
+                if (entry.tokens < 1) {
+                    return Result.TOO_FAST;
+                }
+                entry.tokens -= 1;
+            }
+            entry.connections++;
+            return Result.ADMITTED;
+        }
+    }
+
+    void release(Key key) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry entry = stripe.get(key);
+            if (entry != null && entry.connections > 0) {
+                entry.connections--;
+                entry.updatedNanos = Math.max(entry.updatedNanos, nanoClock.getAsLong());
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(Key key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Entry {
+        int connections;
+        double tokens;
+        long updatedNanos;
+
+        Entry(double tokens, long updatedNanos) {
+            this.tokens = tokens;
+            this.updatedNanos = updatedNanos;
+        }
+    }
+
+    private final class Stripe extends LinkedHashMap<Key, Entry> {
+        final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        /**
+         * Drops idle sources from the least recently used end, and when the stripe is full, any source without open
+         * connections. A dropped source's accept rate is forgotten, which only matters while the table is full.
+         */
+        void evict(long now) {
+            Iterator<Entry> entries = values().iterator();
+            for (int i = 0; i < MAX_EVICTION_SCAN && entries.hasNext(); i++) {
+                Entry entry = entries.next();
+                if (entry.connections == 0 && (now - entry.updatedNanos >= idleNanos || size() >= capacity)) {
+                    entries.remove();
+                }
+            }
+        }
+    }
+}
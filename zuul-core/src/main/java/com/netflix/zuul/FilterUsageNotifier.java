@@ -21,6 +21,10 @@ import com.netflix.zuul.filters.ZuulFilter;
  * Interface to implement for registering a callback for each time a filter
  * is used.
  *
+ * Filters in a filter chain that are disabled through {@link com.netflix.zuul.filters.BaseFilter}'s dynamic property
+ * are left out of the chain, so are not reported as {@link ExecutionStatus#DISABLED}. Filters that override
+ * {@link ZuulFilter#isDisabled()}, and endpoints, still are.
+ *
  * User: michaels
  * Date: 5/13/14
  * Time: 9:55 PM
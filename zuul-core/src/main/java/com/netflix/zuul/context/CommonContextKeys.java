@@ -20,6 +20,7 @@ import com.netflix.client.config.IClientConfig;
 import com.netflix.zuul.filters.ZuulFilter;
 import com.netflix.zuul.message.http.HttpRequestMessage;
 import com.netflix.zuul.message.http.HttpResponseMessage;
+import com.netflix.zuul.netty.timeouts.RequestDeadline;
 import com.netflix.zuul.niws.RequestAttempts;
 import com.netflix.zuul.passport.CurrentPassport;
 import com.netflix.zuul.stats.status.StatusCategory;
@@ -52,6 +53,14 @@ public class CommonContextKeys {
 
     public static final SessionContext.Key<IClientConfig> REST_CLIENT_CONFIG =
             SessionContext.newKey("rest_client_config");
+    public static final SessionContext.Key<RequestDeadline> REQUEST_DEADLINE =
+            SessionContext.newKey("request_deadline");
+
+    /**
+     * Set by a filter to send requests with the same key, such as a user or object id, to the same origin server,
+     * where the origin's load balancing policy supports it.
+     */
+    public static final SessionContext.Key<String> ORIGIN_ROUTING_KEY = SessionContext.newKey("origin_routing_key");
 
     public static final SessionContext.Key<ZuulFilter<HttpRequestMessage, HttpResponseMessage>> ZUUL_ENDPOINT =
             SessionContext.newKey("_zuul_endpoint");
@@ -20,12 +20,14 @@ import com.netflix.config.DynamicPropertyFactory;
 import com.netflix.zuul.filters.FilterError;
 import com.netflix.zuul.message.http.HttpResponseMessage;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
@@ -50,6 +52,11 @@ public final class SessionContext implements Cloneable {
             .getIntProperty("com.netflix.zuul.context.SessionContext.eventProperties.initialSize", 128)
             .get();
 
+    private static final Object[] NO_VALUES = new Object[0];
+
+    /** Every key created so far, at the index of its slot. */
+    private static final List<Key<?>> REGISTERED_KEYS = new CopyOnWriteArrayList<>();
+
     private static final SessionContext.Key<String> KEY_UUID = SessionContext.newKey("_uuid");
     private static final SessionContext.Key<String> KEY_VIP = SessionContext.newKey("routeVIP");
     private static final SessionContext.Key<String> KEY_ENDPOINT = SessionContext.newKey("_endpoint");
@@ -67,13 +74,21 @@ public final class SessionContext implements Cloneable {
     private boolean cancelled = false;
 
     private final Map<String, Object> map;
-    private final IdentityHashMap<Key<?>, Object> typedMap;
+
+    /** Values for typed keys, indexed by {@link Key#slot}. Sized to the keys registered when first written. */
+    private Object[] typedValues = NO_VALUES;
+
+    private int typedSize;
+
     private final StringBuilder filterExecutionSummary;
     private final Map<String, Object> eventProperties;
     private final List<FilterError> filterErrors;
 
     /**
      * A Key is type-safe, identity-based key into the Session Context.
+     *
+     * Each key is given the next free slot when it is created, and values are stored by slot rather than hashed, so
+     * keys are meant to be created once and kept in constants.
      * @param <T>
      */
     public static final class Key<T> {
@@ -83,9 +98,12 @@ public final class SessionContext implements Cloneable {
         @Nullable
         private final Supplier<T> defaultValueSupplier;
 
-        private Key(String name, @Nullable Supplier<T> defaultValueSupplier) {
+        private final int slot;
+
+        private Key(String name, @Nullable Supplier<T> defaultValueSupplier, int slot) {
             this.name = Objects.requireNonNull(name, "name");
             this.defaultValueSupplier = defaultValueSupplier;
+            this.slot = slot;
         }
 
         @Override
@@ -125,7 +143,6 @@ public final class SessionContext implements Cloneable {
 
     public SessionContext(int initialMapSize, int initialEventPropertiesSize) {
         this.map = new HashMap<>(initialMapSize);
-        this.typedMap = new IdentityHashMap<>(initialMapSize);
         this.filterExecutionSummary = new StringBuilder();
         this.eventProperties = new HashMap<>(initialEventPropertiesSize);
         this.filterErrors = new ArrayList<>();
@@ -136,7 +153,12 @@ public final class SessionContext implements Cloneable {
     }
 
     public static <T> Key<T> newKey(String name, @Nullable Supplier<T> defaultValueSupplier) {
-        return new Key<>(name, defaultValueSupplier);
+        Objects.requireNonNull(name, "name");
+        synchronized (REGISTERED_KEYS) {
+            Key<T> key = new Key<>(name, defaultValueSupplier, REGISTERED_KEYS.size());
+            REGISTERED_KEYS.add(key);
+            return key;
+        }
     }
 
     /**
@@ -153,7 +175,7 @@ public final class SessionContext implements Cloneable {
     @Nullable
     @SuppressWarnings("unchecked")
     public <T> T get(Key<T> key) {
-        T value = (T) typedMap.get(key);
+        T value = (T) typedValue(key);
         if (value == null) {
             value = key.defaultValue();
         }
@@ -176,7 +198,7 @@ public final class SessionContext implements Cloneable {
     public <T> T getOrDefault(Key<T> key, T defaultValue) {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(defaultValue, "defaultValue");
-        T value = (T) typedMap.get(Objects.requireNonNull(key));
+        T value = (T) typedValue(key);
         if (value != null) {
             return value;
         }
@@ -201,7 +223,7 @@ public final class SessionContext implements Cloneable {
      * Checks for the existence of the key in the context.
      */
     public <T> boolean containsKey(Key<T> key) {
-        return typedMap.containsKey(Objects.requireNonNull(key, "key"));
+        return typedValue(Objects.requireNonNull(key, "key")) != null;
     }
 
     /**
@@ -222,8 +244,17 @@ public final class SessionContext implements Cloneable {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(value, "value");
 
+        Object[] values = typedValues;
+        if (key.slot >= values.length) {
+            // Make room for every key registered so far, so that this rarely happens more than once.
+            values = typedValues = Arrays.copyOf(values, Math.max(REGISTERED_KEYS.size(), key.slot + 1));
+        }
         @SuppressWarnings("unchecked")
-        T res = (T) typedMap.put(key, value);
+        T res = (T) values[key.slot];
+        values[key.slot] = value;
+        if (res == null) {
+            typedSize++;
+        }
         return res;
     }
 
@@ -237,7 +268,11 @@ public final class SessionContext implements Cloneable {
     public <T> boolean remove(Key<T> key, T value) {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(value, "value");
-        return typedMap.remove(key, value);
+        if (!value.equals(typedValue(key))) {
+            return false;
+        }
+        clearTypedValue(key.slot);
+        return true;
     }
 
     /**
@@ -252,16 +287,36 @@ public final class SessionContext implements Cloneable {
     public <T> T remove(Key<T> key) {
         Objects.requireNonNull(key, "key");
         @SuppressWarnings("unchecked")
-        T res = (T) typedMap.remove(key);
+        T res = (T) typedValue(key);
+        if (res != null) {
+            clearTypedValue(key.slot);
+        }
         return res;
     }
 
     public Set<Key<?>> keys() {
-        return Set.copyOf(typedMap.keySet());
+        Set<Key<?>> keys = new HashSet<>(typedSize);
+        for (int slot = 0; slot < typedValues.length; slot++) {
+            if (typedValues[slot] != null) {
+                keys.add(REGISTERED_KEYS.get(slot));
+            }
+        }
+        return Set.copyOf(keys);
     }
 
     public int size() {
-        return map.size() + typedMap.size();
+        return map.size() + typedSize;
+    }
+
+    @Nullable
+    private Object typedValue(Key<?> key) {
+        Object[] values = typedValues;
+        return key.slot < values.length ? values[key.slot] : null;
+    }
+
+    private void clearTypedValue(int slot) {
+        typedValues[slot] = null;
+        typedSize--;
     }
 
     /**
@@ -271,7 +326,8 @@ public final class SessionContext implements Cloneable {
     public SessionContext clone() {
         SessionContext copy = new SessionContext();
         copy.map.putAll(this.map);
-        copy.typedMap.putAll(this.typedMap);
+        copy.typedValues = typedValues.length == 0 ? NO_VALUES : typedValues.clone();
+        copy.typedSize = typedSize;
         copy.filterExecutionSummary.append(this.filterExecutionSummary);
         copy.eventProperties.putAll(this.eventProperties);
         copy.filterErrors.addAll(this.filterErrors);
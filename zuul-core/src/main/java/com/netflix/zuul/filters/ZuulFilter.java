@@ -32,6 +32,11 @@ import rx.Observable;
  *         Time: 3:03 PM
  */
 public interface ZuulFilter<I extends ZuulMessage, O extends ZuulMessage> extends ShouldFilter<I> {
+    /**
+     * Whether the filter is disabled, and should be passed over. For filters that inherit
+     * {@link BaseFilter#isDisabled()}, filter chains work this out ahead of requests, and again only when a dynamic
+     * property changes. Filters that override it are asked on each request they would run for.
+     */
     boolean isDisabled();
 
     String filterName();
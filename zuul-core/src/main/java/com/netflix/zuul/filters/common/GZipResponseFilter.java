@@ -19,7 +19,10 @@ package com.netflix.zuul.filters.common;
 import com.google.common.annotations.VisibleForTesting;
 import com.netflix.config.CachedDynamicBooleanProperty;
 import com.netflix.config.CachedDynamicIntProperty;
+import com.netflix.config.DynamicIntProperty;
+import com.netflix.config.DynamicStringListProperty;
 import com.netflix.config.DynamicStringSetProperty;
+import com.netflix.spectator.api.Spectator;
 import com.netflix.zuul.Filter;
 import com.netflix.zuul.context.CommonContextKeys;
 import com.netflix.zuul.filters.FilterType;
@@ -29,18 +32,30 @@ import com.netflix.zuul.message.ZuulMessage;
 import com.netflix.zuul.message.http.HttpHeaderNames;
 import com.netflix.zuul.message.http.HttpRequestInfo;
 import com.netflix.zuul.message.http.HttpResponseMessage;
+import com.netflix.zuul.netty.compression.CompressedBodyCache;
+import com.netflix.zuul.netty.compression.ContentCoding;
+import com.netflix.zuul.netty.compression.EncoderCompressor;
+import com.netflix.zuul.netty.compression.GzipCompressor;
+import com.netflix.zuul.netty.compression.ResponseCompressor;
 import com.netflix.zuul.util.Gzipper;
 import com.netflix.zuul.util.HttpUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.LastHttpContent;
 import java.util.Locale;
+import javax.annotation.Nullable;
 
 /**
  * General-purpose filter for gzipping/ungzipping response bodies if requested/needed.  This should be run as late as
  * possible to ensure final encoded body length is considered
  *
+ * <p>The coding is the first of {@code zuul.response.compression.codings} that the client accepts. Brotli and zstd
+ * are only picked when their native libraries are on the classpath, see {@link ContentCoding}. With
+ * {@code zuul.compression.cache.enabled}, repeated bodies are written from a {@link CompressedBodyCache}.
+ *
  * <p>You can just subclass this in your project, and use as-is.
  *
  * @author Mike Smith
@@ -62,6 +77,21 @@ public class GZipResponseFilter extends HttpOutboundSyncFilter {
     private static final CachedDynamicBooleanProperty ENABLED =
             new CachedDynamicBooleanProperty("zuul.response.gzip.filter.enabled", true);
 
+    private static final DynamicStringListProperty CODINGS =
+            new DynamicStringListProperty("zuul.response.compression.codings", "br,zstd,gzip");
+
+    private static final CachedDynamicIntProperty GZIP_LEVEL = new CachedDynamicIntProperty("zuul.gzip.level", 6);
+
+    private static final CachedDynamicIntProperty ZSTD_LEVEL = new CachedDynamicIntProperty("zuul.zstd.level", 3);
+
+    // Flushing every chunk lets clients decode a streamed response as it arrives, at some cost in compression ratio.
+    // Event streams are always flushed.
+    private static final CachedDynamicBooleanProperty FLUSH_EACH_CHUNK =
+            new CachedDynamicBooleanProperty("zuul.gzip.flush.each.chunk", true);
+
+    private static final CachedDynamicBooleanProperty CACHE_ENABLED =
+            new CachedDynamicBooleanProperty("zuul.compression.cache.enabled", false);
+
     @Override
     public boolean shouldFilter(HttpResponseMessage response) {
         if (!ENABLED.get() || !response.hasBody() || response.getContext().isInBrownoutMode()) {
@@ -76,25 +106,82 @@ public class GZipResponseFilter extends HttpOutboundSyncFilter {
         HttpRequestInfo request = response.getInboundRequest();
         Boolean overrideIsGzipRequested =
                 (Boolean) response.getContext().get(CommonContextKeys.OVERRIDE_GZIP_REQUESTED);
-        boolean isGzipRequested = (overrideIsGzipRequested == null)
-                ? HttpUtils.acceptsGzip(request.getHeaders())
-                : overrideIsGzipRequested;
+        ContentCoding coding;
+        if (overrideIsGzipRequested == null) {
+            coding = ContentCoding.negotiate(
+                    request.getHeaders().getFirst(HttpHeaderNames.ACCEPT_ENCODING), CODINGS.get());
+        } else {
+            coding = overrideIsGzipRequested ? ContentCoding.GZIP : null;
+        }
 
         // Check the headers to see if response is already gzipped.
         Headers respHeaders = response.getHeaders();
         boolean isResponseCompressed = HttpUtils.isCompressed(respHeaders);
 
         // Decide what to do.;
-        boolean shouldGzip = isGzippableContentType(response)
-                && isGzipRequested
+        boolean shouldGzip = coding != null
+                && isGzippableContentType(response)
                 && !isResponseCompressed
                 && isRightSizeForGzip(response);
         if (shouldGzip) {
-            response.getContext().set(CommonContextKeys.GZIPPER, getGzipper());
+            response.getContext().set(CommonContextKeys.GZIPPER, newCompressor(coding, response));
         }
         return shouldGzip;
     }
 
+    private ResponseCompressor newCompressor(ContentCoding coding, HttpResponseMessage response) {
+        if (!CACHE_ENABLED.get()) {
+            return getCompressor(coding, response);
+        }
+        String origin = response.getContext().getRouteVIP();
+        return CompressedBodyCacheHolder.CACHE.wrap(
+                coding,
+                () -> getCompressor(coding, response),
+                origin != null ? origin : "",
+                response.getInboundRequest().getPathAndQuery(),
+                response.getHeaders().getFirst(HttpHeaderNames.ETAG),
+                HttpUtils.getBodySizeIfKnown(response),
+                isSharedCacheable(response));
+    }
+
+    /**
+     * Whether the response is a complete 200 whose {@code Cache-Control} lets a shared cache store it. Only these are
+     * looked up or stored in the cache, which doesn't key on status or range.
+     */
+    @VisibleForTesting
+    static boolean isSharedCacheable(HttpResponseMessage response) {
+        if (response.getInboundRequest().getHeaders().contains(HttpHeaderNames.RANGE)
+                || response.getStatus() != 200
+                || response.getHeaders().contains(HttpHeaderNames.CONTENT_RANGE)) {
+            return false;
+        }
+        String cacheControl = response.getHeaders().getFirst(HttpHeaderNames.CACHE_CONTROL);
+        if (cacheControl == null) {
+            return false;
+        }
+        String directives = cacheControl.toLowerCase(Locale.ROOT);
+        if (directives.contains("no-store") || directives.contains("private") || directives.contains("no-cache")) {
+            return false;
+        }
+        return directives.contains("public") || directives.contains("max-age");
+    }
+
+    /**
+     * Creates the compressor for one response, once {@code coding} has been negotiated with the client.
+     */
+    protected ResponseCompressor getCompressor(ContentCoding coding, HttpResponseMessage response) {
+        return switch (coding) {
+            case GZIP -> new GzipCompressor(
+                    ByteBufAllocator.DEFAULT, GZIP_LEVEL.get(), FLUSH_EACH_CHUNK.get() || isEventStream(response));
+            case BROTLI -> EncoderCompressor.brotli();
+            case ZSTD -> EncoderCompressor.zstd(ZSTD_LEVEL.get());
+        };
+    }
+
+    /**
+     * @deprecated no longer called, override {@link #getCompressor(ContentCoding, HttpResponseMessage)} instead.
+     */
+    @Deprecated
     protected Gzipper getGzipper() {
         return new Gzipper();
     }
@@ -110,32 +197,93 @@ public class GZipResponseFilter extends HttpOutboundSyncFilter {
     public HttpResponseMessage apply(HttpResponseMessage response) {
         // set Gzip headers
         Headers respHeaders = response.getHeaders();
-        respHeaders.set(HttpHeaderNames.CONTENT_ENCODING, "gzip");
+        Object compressor = response.getContext().get(CommonContextKeys.GZIPPER);
+        respHeaders.set(HttpHeaderNames.CONTENT_ENCODING, contentEncoding(compressor));
         respHeaders.remove(HttpHeaderNames.CONTENT_LENGTH);
         return response;
     }
 
+    private static String contentEncoding(@Nullable Object compressor) {
+        return compressor instanceof ResponseCompressor responseCompressor
+                ? responseCompressor.coding().headerValue()
+                : ContentCoding.GZIP.headerValue();
+    }
+
     private boolean isGzippableContentType(HttpResponseMessage response) {
+        String ct = contentType(response);
+        return ct != null && GZIPPABLE_CONTENT_TYPES.get().contains(ct);
+    }
+
+    private static boolean isEventStream(HttpResponseMessage response) {
+        return "text/event-stream".equals(contentType(response));
+    }
+
+    @Nullable
+    private static String contentType(HttpResponseMessage response) {
         String ct = response.getHeaders().getFirst(HttpHeaderNames.CONTENT_TYPE);
         if (ct != null) {
             int charsetIndex = ct.indexOf(';');
             if (charsetIndex > 0) {
                 ct = ct.substring(0, charsetIndex);
             }
-            return GZIPPABLE_CONTENT_TYPES.get().contains(ct.toLowerCase(Locale.ROOT));
+            return ct.toLowerCase(Locale.ROOT);
         }
-        return false;
+        return null;
     }
 
     @Override
     public HttpContent processContentChunk(ZuulMessage resp, HttpContent chunk) {
-        Gzipper gzipper = (Gzipper) resp.getContext().get(CommonContextKeys.GZIPPER);
-        gzipper.write(chunk);
-        if (chunk instanceof LastHttpContent) {
-            gzipper.finish();
-            return new DefaultLastHttpContent(gzipper.getByteBuf());
-        } else {
-            return new DefaultHttpContent(gzipper.getByteBuf());
+        Object compressor = resp.getContext().get(CommonContextKeys.GZIPPER);
+        if (compressor instanceof Gzipper gzipper) {
+            // Set by a subclass or another filter that still uses the old API.
+            gzipper.write(chunk);
+            if (chunk instanceof LastHttpContent) {
+                gzipper.finish();
+                return new DefaultLastHttpContent(gzipper.getByteBuf());
+            } else {
+                return new DefaultHttpContent(gzipper.getByteBuf());
+            }
         }
+
+        ResponseCompressor responseCompressor = (ResponseCompressor) compressor;
+        try {
+            ByteBuf compressed = responseCompressor.compress(chunk.content());
+            if (chunk instanceof LastHttpContent) {
+                ByteBuf rest;
+                try {
+                    rest = responseCompressor.finish();
+                } catch (RuntimeException e) {
+                    compressed.release();
+                    throw e;
+                }
+                return new DefaultLastHttpContent(concat(compressed, rest));
+            }
+            return new DefaultHttpContent(compressed);
+        } catch (RuntimeException e) {
+            responseCompressor.close();
+            throw e;
+        }
+    }
+
+    private static ByteBuf concat(ByteBuf first, ByteBuf second) {
+        if (!first.isReadable()) {
+            first.release();
+            return second;
+        }
+        if (!second.isReadable()) {
+            second.release();
+            return first;
+        }
+        return ByteBufAllocator.DEFAULT.compositeBuffer(2).addComponents(true, first, second);
+    }
+
+    /**
+     * Only created once the cache is first enabled.
+     */
+    private static final class CompressedBodyCacheHolder {
+        private static final CompressedBodyCache CACHE = new CompressedBodyCache(
+                new DynamicIntProperty("zuul.compression.cache.max.bytes", 64 * 1024 * 1024).get(),
+                new DynamicIntProperty("zuul.compression.cache.max.entry.bytes", 1024 * 1024).get(),
+                Spectator.globalRegistry());
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.filters.endpoint;
+
+import com.netflix.netty.common.HttpLifecycleChannelHandler;
+import com.netflix.netty.common.HttpLifecycleChannelHandler.CompleteEvent;
+import com.netflix.netty.common.HttpLifecycleChannelHandler.CompleteReason;
+import com.netflix.zuul.exception.OutboundErrorType;
+import com.netflix.zuul.exception.OutboundException;
+import com.netflix.zuul.exception.ZuulException;
+import com.netflix.zuul.netty.connectionpool.OriginConnectException;
+import com.netflix.zuul.netty.server.OriginResponseReceiver;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.timeout.IdleStateEvent;
+
+/**
+ * Receives the response to a hedged attempt. Until that response arrives the receiver isn't linked to the
+ * {@link ProxyEndpoint}, so that nothing on this connection is taken for the current attempt's; instead the endpoint
+ * is told when the response arrives, to decide the race, or when the attempt fails, to drop it.
+ */
+final class HedgedResponseReceiver extends OriginResponseReceiver {
+
+    private final ProxyEndpoint endpoint;
+
+    HedgedResponseReceiver(ProxyEndpoint endpoint) {
+        super(null);
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Hands this connection's events to the endpoint from now on, once its response has won the race.
+     */
+    void link() {
+        edgeProxy = endpoint;
+    }
+
+    @Override
+    protected void channelReadInternal(ChannelHandlerContext ctx, Object msg, boolean triggerRead) throws Exception {
+        if (edgeProxy == null
+                && msg instanceof HttpResponse response
+                && !HttpLifecycleChannelHandler.isInterimResponse(response)) {
+            endpoint.hedgeResponded(this);
+        }
+        super.channelReadInternal(ctx, msg, triggerRead);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (edgeProxy == null) {
+            if (evt instanceof CompleteEvent completeEvent
+                    && completeEvent.getReason() != CompleteReason.SESSION_COMPLETE) {
+                endpoint.hedgeFailed(this, new ZuulException("CompleteEvent", completeEvent.getReason().name(), true));
+            } else if (evt instanceof IdleStateEvent) {
+                endpoint.hedgeFailed(
+                        this, new OutboundException(OutboundErrorType.READ_TIMEOUT, endpoint.getRequestAttempts()));
+            }
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        if (edgeProxy == null) {
+            endpoint.hedgeFailed(this, cause);
+        }
+        super.exceptionCaught(ctx, cause);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (edgeProxy == null) {
+            endpoint.hedgeFailed(
+                    this, new OriginConnectException("Origin server inactive", OutboundErrorType.RESET_CONNECTION));
+        }
+        super.channelInactive(ctx);
+    }
+}
@@ -57,8 +57,10 @@ import com.netflix.zuul.netty.connectionpool.RequestStat;
 import com.netflix.zuul.netty.filter.FilterRunner;
 import com.netflix.zuul.netty.server.ClientRequestReceiver;
 import com.netflix.zuul.netty.server.MethodBinding;
+import com.netflix.zuul.netty.server.OriginResponseDispatcher;
 import com.netflix.zuul.netty.server.OriginResponseReceiver;
 import com.netflix.zuul.netty.timeouts.OriginTimeoutManager;
+import com.netflix.zuul.netty.timeouts.RequestDeadline;
 import com.netflix.zuul.niws.RequestAttempt;
 import com.netflix.zuul.niws.RequestAttempts;
 import com.netflix.zuul.origins.NettyOrigin;
@@ -76,7 +78,6 @@ import com.netflix.zuul.util.VipUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpContent;
@@ -97,6 +98,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nonnull;
@@ -149,6 +152,13 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
     protected List<RequestStat> requestStats = new ArrayList<>();
     protected RequestStat currentRequestStat;
 
+    /* Hedging related state */
+    @Nullable
+    private ScheduledFuture<?> hedgeTimer;
+
+    @Nullable
+    private Hedge hedge;
+
     public static final Set<String> IDEMPOTENT_HTTP_METHODS = Sets.newHashSet("GET", "HEAD", "OPTIONS");
     private static final DynamicIntegerSetProperty RETRIABLE_STATUSES_FOR_IDEMPOTENT_METHODS =
             new DynamicIntegerSetProperty("zuul.retry.allowed.statuses.idempotent", "500");
@@ -167,6 +177,7 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
     private static final Counter NO_RETRY_INCOMPLETE_BODY =
             SpectatorUtils.newCounter("zuul.no.retry", "incomplete_body");
     private static final Counter NO_RETRY_RESP_STARTED = SpectatorUtils.newCounter("zuul.no.retry", "resp_started");
+    private static final String HEDGE_LOST = "HEDGE_LOST";
 
     public ProxyEndpoint(
             HttpRequestMessage inMesg,
@@ -295,6 +306,7 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
 
     @Override
     public void finish(boolean error) {
+        cancelHedge();
         Channel origCh = unlinkFromOrigin();
 
         while (concurrentReqCount.get() > 0) {
@@ -588,11 +600,25 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
             conn.setConnectionState(PooledConnection.ConnectionState.WRITE_READY);
             conn.release();
         } else {
+            Duration timeout = readTimeout;
+            RequestDeadline deadline = originTimeoutManager.getDeadline(zuulRequest);
+            if (deadline != null) {
+                try {
+                    // The wait for a connection counts against the deadline too.
+                    timeout = deadline.limit(readTimeout);
+                } catch (RequestExpiredException ex) {
+                    conn.setConnectionState(PooledConnection.ConnectionState.WRITE_READY);
+                    conn.release();
+                    errorFromOrigin(ex);
+                    return;
+                }
+            }
+
             // Update the RequestAttempt to reflect the readTimeout chosen.
-            currentRequestAttempt.setReadTimeout(readTimeout.toMillis());
+            currentRequestAttempt.setReadTimeout(timeout.toMillis());
 
             // Start sending the request to origin now.
-            writeClientRequestToOrigin(conn, readTimeout);
+            writeClientRequestToOrigin(conn, timeout);
         }
     }
 
@@ -604,6 +630,7 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
     }
 
     private void writeClientRequestToOrigin(PooledConnection conn, Duration readTimeout) {
+        // For HTTP/2 origins this is the stream's child channel, so the request is written exactly as for HTTP/1.
         Channel ch = conn.getChannel();
         passport.setOnChannel(ch);
 
@@ -615,13 +642,10 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
 
         preWriteToOrigin(chosenServer.get(), zuulRequest);
 
-        ChannelPipeline pipeline = ch.pipeline();
         originResponseReceiver = getOriginResponseReceiver();
-        pipeline.addBefore(
-                DefaultOriginChannelInitializer.CONNECTION_POOL_HANDLER,
-                OriginResponseReceiver.CHANNEL_HANDLER_NAME,
-                originResponseReceiver);
+        attachResponseReceiver(ch, originResponseReceiver);
 
+        propagateDeadline();
         ch.write(zuulRequest);
         writeBufferedBodyContent(zuulRequest, ch);
         ch.flush();
@@ -632,6 +656,269 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
 
         originConn = conn;
         channelCtx.read();
+
+        scheduleHedge();
+    }
+
+    private static void attachResponseReceiver(Channel ch, OriginResponseReceiver receiver) {
+        OriginResponseDispatcher dispatcher = OriginResponseDispatcher.fromChannel(ch);
+        if (dispatcher != null) {
+            dispatcher.bind(receiver);
+        } else {
+            ch.pipeline()
+                    .addBefore(
+                            DefaultOriginChannelInitializer.CONNECTION_POOL_HANDLER,
+                            OriginResponseReceiver.CHANNEL_HANDLER_NAME,
+                            receiver);
+        }
+    }
+
+    /**
+     * Sends an idempotent request to a second server as well, if the first hasn't responded within the origin's
+     * {@linkplain NettyOrigin#getHedgeDelay hedge delay}. Whichever responds first is used and the other is cancelled;
+     * if the first fails before either responds, the hedge is cancelled and the failure retried as usual. The hedge
+     * counts as an attempt, so it is only sent if a retry would have been allowed.
+     */
+    private void scheduleHedge() {
+        if (attemptNum != 1 || !isIdempotentRequest(zuulRequest) || !zuulRequest.hasCompleteBody()) {
+            return;
+        }
+        Duration delay = origin.getHedgeDelay(zuulRequest);
+        if (delay == null) {
+            return;
+        }
+        // The delay is measured from the start of the attempt, as are the latencies it comes from.
+        long remaining = Math.max(0, delay.toMillis() - currentRequestStat.duration());
+        hedgeTimer = channelCtx.channel().eventLoop().schedule(this::startHedge, remaining, TimeUnit.MILLISECONDS);
+    }
+
+    private void startHedge() {
+        hedgeTimer = null;
+        try {
+            methodBinding.bind(this::sendHedge);
+        } catch (Exception ex) {
+            // Most likely the origin's concurrency limit or the request's deadline; the first attempt carries on.
+            logger.debug("Not hedging request to origin, UUID {}", context.getUUID(), ex);
+        }
+    }
+
+    private void sendHedge() {
+        if (originConn == null
+                || this.hedge != null
+                || context.isCancelled()
+                || !isBelowRetryLimit()
+                || !hasTimeForAnotherAttempt()) {
+            return;
+        }
+
+        Hedge hedge = new Hedge(attemptNum + 1, new HedgedResponseReceiver(this));
+        hedge.readTimeout = originTimeoutManager.computeReadTimeout(zuulRequest, hedge.attemptNum);
+        origin.preRequestChecks(zuulRequest);
+        Promise<PooledConnection> promise;
+        try {
+            promise = origin.connectToOrigin(
+                    zuulRequest,
+                    channelCtx.channel().eventLoop(),
+                    hedge.attemptNum,
+                    passport,
+                    hedge.server,
+                    hedge.hostAddr);
+        } catch (RuntimeException ex) {
+            origin.recordProxyRequestEnd();
+            throw ex;
+        }
+
+        DiscoveryResult server = hedge.server.get();
+        // The server is only chosen when connecting, so the retry budget is checked after it, and not spent on a
+        // hedge there was no other server to send to.
+        if (Objects.equals(server, DiscoveryResult.EMPTY)
+                || Objects.equals(server, chosenServer.get())
+                || !origin.tryAcquireRetry()) {
+            origin.recordProxyRequestEnd();
+            promise.addListener(ProxyEndpoint::releaseUnusedConnection);
+            return;
+        }
+
+        attemptNum = hedge.attemptNum;
+        concurrentReqCount.incrementAndGet();
+        hedge.requestStat = createRequestStat();
+        // The current attempt's stat stays the one in the context until the hedge wins.
+        RequestStat.putInSessionContext(currentRequestStat, context);
+        hedge.requestAttempt = origin.newRequestAttempt(server, hedge.hostAddr.get(), context, hedge.attemptNum);
+        hedge.requestAttempt.setHedged(true);
+        requestAttempts.add(hedge.requestAttempt);
+        passport.add(PassportState.ORIGIN_HEDGE_START);
+        SpectatorUtils.newCounter("zuul.origin.hedge.sent", origin.getName().getMetricId()).increment();
+        this.hedge = hedge;
+
+        if (promise.isDone()) {
+            onHedgeConnected(hedge, promise);
+        } else {
+            GenericFutureListener<Future<PooledConnection>> listener = future -> onHedgeConnected(hedge, future);
+            promise.addListener(listener);
+        }
+    }
+
+    private void onHedgeConnected(Hedge hedge, Future<PooledConnection> connectResult) {
+        try {
+            methodBinding.bind(() -> {
+                if (this.hedge != hedge || context.isCancelled()) {
+                    releaseUnusedConnection(connectResult);
+                } else if (!connectResult.isSuccess()) {
+                    failHedge(hedge, connectResult.cause());
+                } else {
+                    DiscoveryResult server = hedge.server.get();
+                    hedge.requestStat.server(server);
+                    origin.onRequestStartWithServer(zuulRequest, server, hedge.attemptNum);
+                    writeHedgeToOrigin(hedge, connectResult.getNow());
+                }
+            });
+        } catch (Throwable ex) {
+            logger.error("Uncaught error sending hedged request to origin, UUID {}", context.getUUID(), ex);
+            if (this.hedge == hedge) {
+                failHedge(hedge, ex);
+            }
+        }
+    }
+
+    private void writeHedgeToOrigin(Hedge hedge, PooledConnection conn) {
+        hedge.conn = conn;
+        hedge.requestAttempt.setReadTimeout(hedge.readTimeout.toMillis());
+
+        Channel ch = conn.getChannel();
+        passport.setOnChannel(ch);
+        ch.attr(ClientTimeoutHandler.ORIGIN_RESPONSE_READ_TIMEOUT).set(hedge.readTimeout);
+
+        preWriteToOrigin(hedge.server.get(), zuulRequest);
+        attachResponseReceiver(ch, hedge.receiver);
+        propagateDeadline();
+
+        // The receiver isn't linked to this endpoint yet, so it can't report a failed write itself.
+        ch.write(zuulRequest).addListener(future -> {
+            if (!future.isSuccess()) {
+                hedgeFailed(hedge.receiver, future.cause());
+            }
+        });
+        writeBufferedBodyContent(zuulRequest, ch);
+        ch.flush();
+
+        syncClientAndOriginChannels(channelCtx.channel(), ch);
+        ch.read();
+    }
+
+    /**
+     * Called when the response to the hedged attempt arrives. If it arrived first, the current attempt is cancelled
+     * and the hedge takes its place, including receiving the rest of the response.
+     */
+    void hedgeResponded(HedgedResponseReceiver receiver) {
+        Hedge hedge = this.hedge;
+        if (hedge == null || hedge.receiver != receiver || hedge.conn == null) {
+            return;
+        }
+        this.hedge = null;
+
+        if (currentRequestAttempt != null) {
+            currentRequestAttempt.complete(-1, currentRequestStat != null ? currentRequestStat.duration() : 0, null);
+            currentRequestAttempt.setError(HEDGE_LOST);
+        }
+        PooledConnection lost = originConn;
+        unlinkFromOrigin();
+        if (lost != null) {
+            lost.flagShouldClose();
+            lost.release();
+        }
+        passport.add(PassportState.ORIGIN_HEDGE_CANCELLED);
+
+        PooledConnection conn = hedge.conn;
+        originConn = conn;
+        originResponseReceiver = receiver;
+        chosenServer.set(hedge.server.get());
+        chosenHostAddr.set(hedge.hostAddr.get());
+        currentRequestAttempt = hedge.requestAttempt;
+        currentRequestStat = hedge.requestStat;
+        RequestStat.putInSessionContext(currentRequestStat, context);
+        timeLeftForAttempt = hedge.readTimeout;
+        context.put(CommonContextKeys.ORIGIN_CHANNEL, conn.getChannel());
+        context.set(POOLED_ORIGIN_CONNECTION_KEY, conn);
+        storeAndLogOriginRequestInfo();
+        SpectatorUtils.newCounter("zuul.origin.hedge.won", origin.getName().getMetricId()).increment();
+
+        receiver.link();
+    }
+
+    /**
+     * Called when the hedged attempt fails before it has responded, which leaves the current attempt to carry on.
+     */
+    void hedgeFailed(HedgedResponseReceiver receiver, Throwable cause) {
+        Hedge hedge = this.hedge;
+        if (hedge != null && hedge.receiver == receiver) {
+            failHedge(hedge, cause);
+        }
+    }
+
+    private void failHedge(Hedge hedge, Throwable cause) {
+        logger.debug("Hedged request to origin failed, UUID {}", context.getUUID(), cause);
+        this.hedge = null;
+        ErrorType err = requestAttemptFactory.mapNettyToOutboundErrorType(cause);
+        if (err == OutboundErrorType.READ_TIMEOUT) {
+            origin.recordOverloadedAttempt();
+        }
+        hedge.requestStat.failAndSetErrorCode(err);
+        hedge.requestAttempt.complete(-1, hedge.requestStat.duration(), cause);
+        if (hedge.conn != null) {
+            hedge.conn.getServer().incrementSuccessiveConnectionFailureCount();
+            hedge.conn.getServer().addToFailureCount();
+        }
+        discardHedge(hedge);
+    }
+
+    /**
+     * Cancels the hedged attempt, if there is one, as the current attempt has responded or failed first.
+     */
+    private void cancelHedge() {
+        if (hedgeTimer != null) {
+            hedgeTimer.cancel(false);
+            hedgeTimer = null;
+        }
+        Hedge hedge = this.hedge;
+        if (hedge == null) {
+            return;
+        }
+        this.hedge = null;
+        hedge.requestAttempt.complete(-1, hedge.requestStat.duration(), null);
+        hedge.requestAttempt.setError(HEDGE_LOST);
+        discardHedge(hedge);
+        passport.add(PassportState.ORIGIN_HEDGE_CANCELLED);
+    }
+
+    private void discardHedge(Hedge hedge) {
+        // The current attempt stays the final one, as its response is the one that's used.
+        if (currentRequestAttempt != null && requestAttempts.remove(currentRequestAttempt)) {
+            requestAttempts.add(currentRequestAttempt);
+        }
+        if (currentRequestStat != null && requestStats.remove(currentRequestStat)) {
+            requestStats.add(currentRequestStat);
+        }
+
+        if (concurrentReqCount.get() > 0) {
+            origin.recordProxyRequestEnd();
+            concurrentReqCount.decrementAndGet();
+        }
+
+        // Without a connection yet, onHedgeConnected() returns it to the pool once acquired.
+        if (hedge.conn != null) {
+            hedge.conn.flagShouldClose();
+            hedge.conn.release();
+        }
+    }
+
+    private static void releaseUnusedConnection(Future<? super PooledConnection> connectResult) {
+        if (connectResult.isSuccess()) {
+            PooledConnection conn = (PooledConnection) connectResult.getNow();
+            // Nothing was written, so the connection can go straight back to the pool.
+            conn.setConnectionState(PooledConnection.ConnectionState.WRITE_READY);
+            conn.release();
+        }
     }
 
     protected void syncClientAndOriginChannels(Channel clientChannel, Channel originChannel) {
@@ -665,8 +952,46 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
         return (attemptNum <= maxAllowedRetries) && isRemoteZuulRetriesBelowRetryLimit(maxAllowedRetries);
     }
 
+    /**
+     * Whether enough of the request's deadline remains for another attempt to succeed in the time the origin usually
+     * takes.
+     */
+    private boolean hasTimeForAnotherAttempt() {
+        RequestDeadline deadline = originTimeoutManager.getDeadline(zuulRequest);
+        if (deadline == null) {
+            return true;
+        }
+        Duration typical = origin.getTypicalResponseLatency();
+        return deadline.remaining().compareTo(typical != null ? typical : Duration.ZERO) > 0;
+    }
+
+    /**
+     * Tells the origin how long the request has left, if it has a deadline.
+     */
+    private void propagateDeadline() {
+        RequestDeadline deadline = originTimeoutManager.getDeadline(zuulRequest);
+        if (deadline != null) {
+            deadline.propagate(zuulRequest);
+        }
+    }
+
+    /**
+     * Takes a retry from the origin's retry budget, noting on the failed attempt if there were none left.
+     */
+    private boolean acquireRetry() {
+        if (origin.tryAcquireRetry()) {
+            return true;
+        }
+        if (currentRequestAttempt != null) {
+            currentRequestAttempt.setRetryBudgetExhausted(true);
+        }
+        return false;
+    }
+
     public void errorFromOrigin(Throwable ex) {
         try {
+            cancelHedge();
+
             // Flag that there was an origin server related error for the loadbalancer to choose
             // whether to circuit-trip this server.
             if (originConn != null) {
@@ -719,6 +1044,10 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
                 }
             }
 
+            if (err == OutboundErrorType.READ_TIMEOUT) {
+                origin.recordOverloadedAttempt();
+            }
+
             // Update the NIWS stat.
             if (currentRequestStat != null) {
                 currentRequestStat.failAndSetErrorCode(err);
@@ -742,7 +1071,7 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
                 origin.adjustRetryPolicyIfNeeded(zuulRequest);
             }
 
-            if (retryable && isBelowRetryLimit()) {
+            if (retryable && isBelowRetryLimit() && hasTimeForAnotherAttempt() && acquireRetry()) {
                 // retry request with different origin
                 passport.add(PassportState.ORIGIN_RETRY_START);
                 proxyRequestToOrigin();
@@ -852,7 +1181,12 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
     private void processResponseFromOrigin(HttpResponse originResponse) {
         if (HttpLifecycleChannelHandler.isInterimResponse(originResponse)) {
             handleInterimResponse(originResponse);
-        } else if (originResponse.status().code() >= 500) {
+            return;
+        }
+
+        // The first response wins, so a hedged attempt still waiting for one is cancelled.
+        cancelHedge();
+        if (originResponse.status().code() >= 500) {
             handleOriginNonSuccessResponse(originResponse, chosenServer.get());
         } else {
             handleOriginSuccessResponse(originResponse, chosenServer.get());
@@ -875,6 +1209,9 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
 
     protected void handleOriginSuccessResponse(HttpResponse originResponse, DiscoveryResult chosenServer) {
         origin.recordSuccessResponse();
+        if (attemptNum == 1) {
+            origin.recordFirstAttemptSuccess();
+        }
         if (originConn != null) {
             originConn.getServer().clearSuccessiveConnectionFailureCount();
         }
@@ -883,6 +1220,7 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
         if (currentRequestStat != null) {
             currentRequestStat.updateWithHttpStatusCode(respStatus);
             duration = currentRequestStat.duration();
+            origin.recordResponseLatency(Duration.ofMillis(duration));
         }
         if (currentRequestAttempt != null) {
             currentRequestAttempt.complete(respStatus, duration, null);
@@ -902,12 +1240,8 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
         // Translate the netty HttpResponse into a zuul HttpResponseMessage.
         SessionContext zuulCtx = context;
         int respStatus = httpResponse.status().code();
-        HttpResponseMessage zuulResponse = new HttpResponseMessageImpl(zuulCtx, zuulRequest, respStatus);
-
-        Headers respHeaders = zuulResponse.getHeaders();
-        for (Map.Entry<String, String> entry : httpResponse.headers()) {
-            respHeaders.add(entry.getKey(), entry.getValue());
-        }
+        HttpResponseMessage zuulResponse = new HttpResponseMessageImpl(
+                zuulCtx, Headers.wrap(httpResponse.headers()), zuulRequest, respStatus);
 
         // Try to decide if this response has a body or not based on the headers (as we won't yet have
         // received any of the content).
@@ -957,6 +1291,7 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
         ClientException.ErrorType niwsErrorType;
 
         if (respStatus == 503) {
+            origin.recordOverloadedAttempt();
             statusCategory = ZuulStatusCategory.FAILURE_ORIGIN_THROTTLED;
             niwsErrorType = ClientException.ErrorType.SERVER_THROTTLED;
             obe = new OutboundException(OutboundErrorType.SERVICE_UNAVAILABLE, requestAttempts);
@@ -993,7 +1328,7 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
             origin.adjustRetryPolicyIfNeeded(zuulRequest);
         }
 
-        if (retryable5xxResponse && isBelowRetryLimit()) {
+        if (retryable5xxResponse && isBelowRetryLimit() && hasTimeForAnotherAttempt() && acquireRetry()) {
             logger.debug(
                     "Retrying: status={}, attemptNum={}, maxRetries={}, startedSendingResponseToClient={},"
                             + " hasCompleteBody={}, method={}",
@@ -1181,4 +1516,25 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
     protected OriginTimeoutManager getTimeoutManager(NettyOrigin origin) {
         return new OriginTimeoutManager(origin);
     }
+
+    /**
+     * A hedged attempt that hasn't yet won or lost its race with the current one.
+     */
+    private static final class Hedge {
+        final int attemptNum;
+        final HedgedResponseReceiver receiver;
+        final AtomicReference<DiscoveryResult> server = new AtomicReference<>(DiscoveryResult.EMPTY);
+        final AtomicReference<InetAddress> hostAddr = new AtomicReference<>();
+        Duration readTimeout;
+        RequestStat requestStat;
+        RequestAttempt requestAttempt;
+
+        @Nullable
+        PooledConnection conn;
+
+        Hedge(int attemptNum, HedgedResponseReceiver receiver) {
+            this.attemptNum = attemptNum;
+            this.receiver = receiver;
+        }
+    }
 }
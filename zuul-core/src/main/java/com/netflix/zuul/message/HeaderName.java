@@ -17,6 +17,7 @@
 package com.netflix.zuul.message;
 
 import java.util.Locale;
+import javax.annotation.Nullable;
 
 /**
  * Immutable, case-insensitive wrapper around Header name.
@@ -26,6 +27,93 @@ import java.util.Locale;
  * Time: 1:07 PM
  */
 public final class HeaderName {
+
+    /**
+     * Normalised forms of common header names. Normalising one of these in any casing returns the instance from here
+     * rather than a freshly lower-cased copy, so the string isn't allocated, and two of them compare by identity.
+     */
+    private static final String[] KNOWN_NAMES = {
+        "accept",
+        "accept-charset",
+        "accept-encoding",
+        "accept-language",
+        "accept-ranges",
+        "access-control-allow-credentials",
+        "access-control-allow-headers",
+        "access-control-allow-methods",
+        "access-control-allow-origin",
+        "access-control-expose-headers",
+        "access-control-max-age",
+        "access-control-request-headers",
+        "access-control-request-method",
+        "age",
+        "allow",
+        "authorization",
+        "cache-control",
+        "connection",
+        "content-disposition",
+        "content-encoding",
+        "content-language",
+        "content-length",
+        "content-location",
+        "content-range",
+        "content-type",
+        "cookie",
+        "date",
+        "edge-control",
+        "etag",
+        "expect",
+        "expires",
+        "forwarded",
+        "host",
+        "if-match",
+        "if-modified-since",
+        "if-none-match",
+        "if-range",
+        "if-unmodified-since",
+        "keep-alive",
+        "last-modified",
+        "link",
+        "location",
+        "origin",
+        "pragma",
+        "proxy-authorization",
+        "range",
+        "referer",
+        "retry-after",
+        "server",
+        "set-cookie",
+        "strict-transport-security",
+        "te",
+        "trailer",
+        "transfer-encoding",
+        "upgrade",
+        "user-agent",
+        "vary",
+        "via",
+        "www-authenticate",
+        "x-forwarded-for",
+        "x-forwarded-host",
+        "x-forwarded-port",
+        "x-forwarded-proto",
+        "x-forwarded-proto-version",
+        "x-request-id",
+    };
+
+    /** Open-addressing table of {@link #KNOWN_NAMES}, at most a quarter full so probes stay short. */
+    private static final String[] KNOWN_TABLE = new String[Integer.highestOneBit(KNOWN_NAMES.length) << 2];
+
+    static {
+        int mask = KNOWN_TABLE.length - 1;
+        for (String known : KNOWN_NAMES) {
+            int slot = known.hashCode() & mask;
+            while (KNOWN_TABLE[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            KNOWN_TABLE[slot] = known;
+        }
+    }
+
     private final String name;
     private final String normalised;
 
@@ -54,7 +142,45 @@ public final class HeaderName {
     }
 
     static String normalize(String s) {
-        return s.toLowerCase(Locale.ROOT);
+        String known = findKnown(s);
+        return known != null ? known : s.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the entry of {@link #KNOWN_NAMES} that equals {@code s} ignoring ASCII case, or {@code null}. The hash is
+     * that of the lower-cased string, computed without building it.
+     */
+    @Nullable
+    private static String findKnown(String s) {
+        int length = s.length();
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + toLowerAscii(s.charAt(i));
+        }
+
+        int mask = KNOWN_TABLE.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            String known = KNOWN_TABLE[slot];
+            if (known == null) {
+                return null;
+            }
+            if (known.length() == length && known.hashCode() == hash && equalsLowerAscii(known, s)) {
+                return known;
+            }
+        }
+    }
+
+    private static boolean equalsLowerAscii(String lower, String s) {
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) != toLowerAscii(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
     }
 
     @Override
@@ -19,11 +19,14 @@ import com.google.common.annotations.VisibleForTesting;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Spectator;
 import com.netflix.zuul.exception.ZuulException;
+import io.netty.handler.codec.http.HttpHeaders;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -42,37 +45,101 @@ import lombok.NonNull;
  *
  * There are methods for getting and setting headers by String AND by HeaderName. When possible, use the HeaderName
  * variants and cache the HeaderName instances somewhere, to avoid case-insensitive String comparisons.
+ *
+ * Entries are kept in insertion order in parallel arrays, along with the hash of each normalised name. Once there are
+ * more than a handful of entries, lookups go through an open-addressing index from normalised name to its first entry
+ * instead of scanning. The index is updated in place on add, and rebuilt on the next lookup after entries are removed.
+ *
+ * Headers created with {@link #wrap(HttpHeaders)} are instead a view of Netty's headers until they are first changed,
+ * so that headers which are only read, or passed through untouched, are never copied.
  */
 public final class Headers {
     private static final int ABSENT = -1;
 
-    private final List<String> originalNames;
-    private final List<String> names;
-    private final List<String> values;
+    /** Up to this many entries, comparing the cached hashes in order is cheaper than maintaining the index. */
+    private static final int INDEX_THRESHOLD = 8;
+
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final String[] EMPTY_STRINGS = new String[0];
+    private static final int[] EMPTY_HASHES = new int[0];
+
+    private String[] originalNames;
+    private String[] names;
+    private String[] values;
+    private int[] hashes;
+    private int size;
+
+    /**
+     * Slots hold one plus the position of the first entry for a name, or zero when empty. {@code null} until there
+     * are more than {@link #INDEX_THRESHOLD} entries, and again whenever entries have moved.
+     */
+    @Nullable
+    private int[] index;
+
+    /**
+     * The Netty headers this is a view of, until the first change copies them into the arrays above. Reads go
+     * straight to them, so strings are only built for the headers that are actually looked at.
+     */
+    @Nullable
+    private HttpHeaders wrapped;
+
+    /**
+     * Whether the arrays above, and the index, may also be in use by a {@linkplain #copyOf copy} or the headers it
+     * was copied from. Whichever side changes first makes its own copy of them.
+     */
+    private boolean shared;
 
     private static final Counter invalidHeaderCounter =
             Spectator.globalRegistry().counter("zuul.header.invalid.char");
 
+    /**
+     * Returns a copy that shares its entries with {@code original} until either is changed, so copies that are only
+     * read, like the stored inbound request, cost no more than the object itself. When {@code original} is a
+     * {@linkplain #wrap view} of Netty headers, the copy is a view of the same Netty headers, so changes should be made
+     * through the returned objects rather than to the Netty headers directly.
+     */
     public static Headers copyOf(Headers original) {
         return new Headers(Objects.requireNonNull(original, "original"));
     }
 
+    /**
+     * Returns headers that read through to the given Netty headers, and only copy them once they are changed. Until
+     * then, changes made directly to the Netty headers are visible through the returned object as well.
+     */
+    public static Headers wrap(HttpHeaders nettyHeaders) {
+        Headers headers = new Headers();
+        headers.wrapped = Objects.requireNonNull(nettyHeaders, "nettyHeaders");
+        return headers;
+    }
+
     public Headers() {
-        originalNames = new ArrayList<>();
-        names = new ArrayList<>();
-        values = new ArrayList<>();
+        this(0);
     }
 
     public Headers(int initialSize) {
-        originalNames = new ArrayList<>(initialSize);
-        names = new ArrayList<>(initialSize);
-        values = new ArrayList<>(initialSize);
+        if (initialSize == 0) {
+            originalNames = EMPTY_STRINGS;
+            names = EMPTY_STRINGS;
+            values = EMPTY_STRINGS;
+            hashes = EMPTY_HASHES;
+        } else {
+            originalNames = new String[initialSize];
+            names = new String[initialSize];
+            values = new String[initialSize];
+            hashes = new int[initialSize];
+        }
     }
 
     private Headers(Headers original) {
-        originalNames = new ArrayList<>(original.originalNames);
-        names = new ArrayList<>(original.names);
-        values = new ArrayList<>(original.values);
+        size = original.size;
+        originalNames = original.originalNames;
+        names = original.names;
+        values = original.values;
+        hashes = original.hashes;
+        index = original.index;
+        wrapped = original.wrapped;
+        shared = true;
+        original.shared = true;
     }
 
     /**
@@ -123,12 +190,11 @@ public final class Headers {
 
     @Nullable
     private String getFirstNormal(String name) {
-        for (int i = 0; i < size(); i++) {
-            if (name(i).equals(name)) {
-                return value(i);
-            }
+        if (wrapped != null) {
+            return wrapped.get(name);
         }
-        return null;
+        int i = findNormal(name);
+        return i != ABSENT ? value(i) : null;
     }
 
     /**
@@ -148,20 +214,25 @@ public final class Headers {
     }
 
     private List<String> getAllNormal(String normalName) {
-        List<String> results = null;
-        for (int i = 0; i < size(); i++) {
-            if (name(i).equals(normalName)) {
-                if (results == null) {
-                    results = new ArrayList<>(1);
-                }
-                results.add(value(i));
-            }
+        if (wrapped != null) {
+            return Collections.unmodifiableList(wrapped.getAll(normalName));
         }
-        if (results == null) {
+        int first = findNormal(normalName);
+        if (first == ABSENT) {
             return Collections.emptyList();
-        } else {
-            return Collections.unmodifiableList(results);
         }
+        int hash = hashes[first];
+        int next = findNormal(normalName, hash, first + 1, size);
+        if (next == ABSENT) {
+            return Collections.singletonList(value(first));
+        }
+
+        List<String> results = new ArrayList<>(4);
+        results.add(value(first));
+        for (int i = next; i != ABSENT; i = findNormal(normalName, hash, i + 1, size)) {
+            results.add(value(i));
+        }
+        return Collections.unmodifiableList(results);
     }
 
     /**
@@ -170,6 +241,13 @@ public final class Headers {
      * modify the headers during iteration.
      */
     public void forEach(BiConsumer<? super String, ? super String> entryConsumer) {
+        if (wrapped != null) {
+            for (Iterator<Map.Entry<String, String>> it = wrapped.iteratorAsString(); it.hasNext(); ) {
+                Map.Entry<String, String> entry = it.next();
+                entryConsumer.accept(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
         for (int i = 0; i < size(); i++) {
             entryConsumer.accept(originalName(i), value(i));
         }
@@ -181,6 +259,13 @@ public final class Headers {
      * the headers during iteration.
      */
     public void forEachNormalised(BiConsumer<? super String, ? super String> entryConsumer) {
+        if (wrapped != null) {
+            for (Iterator<Map.Entry<String, String>> it = wrapped.iteratorAsString(); it.hasNext(); ) {
+                Map.Entry<String, String> entry = it.next();
+                entryConsumer.accept(HeaderName.normalize(entry.getKey()), entry.getValue());
+            }
+            return;
+        }
         for (int i = 0; i < size(); i++) {
             entryConsumer.accept(name(i), value(i));
         }
@@ -191,6 +276,15 @@ public final class Headers {
      * argument is the normalised header name as returned by {@link HeaderName#getNormalised()}, the second the value.
      */
     public boolean anyMatchNormalised(BiPredicate<? super String, ? super String> predicate) {
+        if (wrapped != null) {
+            for (Iterator<Map.Entry<String, String>> it = wrapped.iteratorAsString(); it.hasNext(); ) {
+                Map.Entry<String, String> entry = it.next();
+                if (predicate.test(HeaderName.normalize(entry.getKey()), entry.getValue())) {
+                    return true;
+                }
+            }
+            return false;
+        }
         for (int i = 0; i < size(); i++) {
             if (predicate.test(name(i), value(i))) {
                 return true;
@@ -270,6 +364,10 @@ public final class Headers {
     }
 
     private void setNormal(String originalName, String normalName, @Nullable String value) {
+        if (value == null && wrapped != null && !wrapped.contains(normalName)) {
+            return;
+        }
+        unwrap();
         int i = findNormal(normalName);
         if (i == ABSENT) {
             if (value != null) {
@@ -289,21 +387,63 @@ public final class Headers {
      * Returns the first index entry that has a matching name.  Returns {@link #ABSENT} if absent.
      */
     private int findNormal(String normalName) {
-        return findNormal(normalName, size());
+        int hash = normalName.hashCode();
+        if (size <= INDEX_THRESHOLD) {
+            return findNormal(normalName, hash, 0, size);
+        }
+
+        int[] table = index != null ? index : buildIndex();
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int i = table[slot] - 1;
+            if (i == ABSENT || (hashes[i] == hash && names[i].equals(normalName))) {
+                return i;
+            }
+        }
     }
 
     /**
-     * Returns the first index before {@code limit} that has a matching name, or {@link #ABSENT}.
+     * Returns the first index in {@code [from, limit)} that has a matching name, or {@link #ABSENT}.
      */
-    private int findNormal(String normalName, int limit) {
-        for (int i = 0; i < limit; i++) {
-            if (name(i).equals(normalName)) {
+    private int findNormal(String normalName, int hash, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (hashes[i] == hash && names[i].equals(normalName)) {
                 return i;
             }
         }
         return ABSENT;
     }
 
+    private int[] buildIndex() {
+        int[] table = new int[Math.max(16, Integer.highestOneBit(size) << 2)];
+        for (int i = 0; i < size; i++) {
+            indexEntry(table, i);
+        }
+        index = table;
+        return table;
+    }
+
+    /**
+     * Adds the entry at {@code i} to the table, unless an earlier entry for the same name is already there.
+     */
+    private void indexEntry(int[] table, int i) {
+        int mask = table.length - 1;
+        for (int slot = spread(hashes[i]) & mask; ; slot = (slot + 1) & mask) {
+            int existing = table[slot] - 1;
+            if (existing == ABSENT) {
+                table[slot] = i + 1;
+                return;
+            }
+            if (hashes[existing] == hashes[i] && names[existing].equals(names[i])) {
+                return;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
     /**
      * Removes entries that match the name, starting at the given index.
      */
@@ -311,12 +451,11 @@ public final class Headers {
         // This works by having separate read and write indexes, that iterate along the list.
         // Values that don't match are moved to the front, leaving garbage values in place.
         // At the end, all values at and values are garbage and are removed.
+        int hash = normalName.hashCode();
         int w = i;
         for (int r = i; r < size(); r++) {
-            if (!name(r).equals(normalName)) {
-                originalName(w, originalName(r));
-                name(w, name(r));
-                value(w, value(r));
+            if (hashes[r] != hash || !name(r).equals(normalName)) {
+                move(r, w);
                 w++;
             } else if (removed != null) {
                 removed.add(value(r));
@@ -350,6 +489,12 @@ public final class Headers {
     }
 
     private boolean setIfAbsentNormal(String originalName, String normalName, String value) {
+        if (wrapped != null) {
+            if (wrapped.contains(normalName)) {
+                return false;
+            }
+            unwrap();
+        }
         int i = findNormal(normalName);
         if (i != ABSENT) {
             return false;
@@ -458,6 +603,13 @@ public final class Headers {
      * Adds all the headers into this headers object.
      */
     public void putAll(Headers headers) {
+        if (headers.wrapped != null) {
+            for (Iterator<Map.Entry<String, String>> it = headers.wrapped.iteratorAsString(); it.hasNext(); ) {
+                Map.Entry<String, String> entry = it.next();
+                addNormal(entry.getKey(), HeaderName.normalize(entry.getKey()), entry.getValue());
+            }
+            return;
+        }
         for (int i = 0; i < headers.size(); i++) {
             addNormal(headers.originalName(i), headers.name(i), headers.value(i));
         }
@@ -469,6 +621,7 @@ public final class Headers {
      * repeated set(...) calls this does not collapse multi-valued headers such as Set-Cookie.
      */
     public void setAll(@NonNull Iterable<? extends Map.Entry<String, String>> entries) {
+        unwrap();
         int existing = size();
         Set<String> replacedNames = new HashSet<>();
         for (Map.Entry<String, String> entry : entries) {
@@ -488,9 +641,7 @@ public final class Headers {
                 continue;
             }
 
-            originalName(w, originalName(r));
-            name(w, name(r));
-            value(w, value(r));
+            move(r, w);
             w++;
         }
 
@@ -504,13 +655,12 @@ public final class Headers {
      * @return true if any header was collapsed
      */
     public boolean collapseMultiValuedHeaders() {
+        unwrap();
         int distinct = 0;
         for (int i = 0; i < size(); i++) {
-            int seen = findNormal(name(i), distinct);
+            int seen = findNormal(name(i), hashes[i], 0, distinct);
             if (seen == ABSENT) {
-                originalName(distinct, originalName(i));
-                name(distinct, name(i));
-                value(distinct, value(i));
+                move(i, distinct);
                 distinct++;
             } else {
                 value(seen, value(i)); // last value wins
@@ -539,6 +689,12 @@ public final class Headers {
     }
 
     private List<String> removeNormal(String normalName) {
+        if (wrapped != null) {
+            if (!wrapped.contains(normalName)) {
+                return Collections.emptyList();
+            }
+            unwrap();
+        }
         List<String> removed = new ArrayList<>();
         clearMatchingStartingAt(0, normalName, removed);
         return Collections.unmodifiableList(removed);
@@ -552,15 +708,14 @@ public final class Headers {
      */
     public boolean removeIf(Predicate<? super Map.Entry<HeaderName, String>> filter) {
         Objects.requireNonNull(filter, "filter");
+        unwrap();
         boolean removed = false;
         int w = 0;
         for (int r = 0; r < size(); r++) {
             if (filter.test(new SimpleImmutableEntry<>(new HeaderName(originalName(r), name(r)), value(r)))) {
                 removed = true;
             } else {
-                originalName(w, originalName(r));
-                name(w, name(r));
-                value(w, value(r));
+                move(r, w);
                 w++;
             }
         }
@@ -577,15 +732,14 @@ public final class Headers {
      */
     public boolean removeAllNormalised(BiPredicate<? super String, ? super String> filter) {
         Objects.requireNonNull(filter, "filter");
+        unwrap();
         boolean removed = false;
         int w = 0;
         for (int r = 0; r < size(); r++) {
             if (filter.test(name(r), value(r))) {
                 removed = true;
             } else {
-                originalName(w, originalName(r));
-                name(w, name(r));
-                value(w, value(r));
+                move(r, w);
                 w++;
             }
         }
@@ -597,6 +751,7 @@ public final class Headers {
      * Returns the collection of headers.
      */
     public Collection<Header> entries() {
+        unwrap();
         List<Header> entries = new ArrayList<>(size());
         for (int i = 0; i < size(); i++) {
             entries.add(new Header(new HeaderName(originalName(i), name(i)), value(i)));
@@ -609,6 +764,7 @@ public final class Headers {
      * one present takes precedence.
      */
     public Set<HeaderName> keySet() {
+        unwrap();
         Set<HeaderName> headerNames = new LinkedHashSet<>(size());
         for (int i = 0; i < size(); i++) {
             HeaderName headerName = new HeaderName(originalName(i), name(i));
@@ -626,7 +782,7 @@ public final class Headers {
      */
     public boolean contains(String headerName) {
         String normalName = HeaderName.normalize(Objects.requireNonNull(headerName, "headerName"));
-        return findNormal(normalName) != ABSENT;
+        return containsNormal(normalName);
     }
 
     /**
@@ -634,7 +790,7 @@ public final class Headers {
      */
     public boolean contains(HeaderName headerName) {
         String normalName = Objects.requireNonNull(headerName, "headerName").getNormalised();
-        return findNormal(normalName) != ABSENT;
+        return containsNormal(normalName);
     }
 
     /**
@@ -655,9 +811,25 @@ public final class Headers {
         return containsNormal(normalName, value);
     }
 
+    private boolean containsNormal(String normalName) {
+        return wrapped != null ? wrapped.contains(normalName) : findNormal(normalName) != ABSENT;
+    }
+
     private boolean containsNormal(String normalName, String value) {
-        for (int i = 0; i < size(); i++) {
-            if (name(i).equals(normalName) && value(i).equals(value)) {
+        if (wrapped != null) {
+            for (Iterator<? extends CharSequence> it = wrapped.valueCharSequenceIterator(normalName); it.hasNext(); ) {
+                if (value.contentEquals(it.next())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int first = findNormal(normalName);
+        if (first == ABSENT) {
+            return false;
+        }
+        for (int i = first; i != ABSENT; i = findNormal(normalName, hashes[first], i + 1, size)) {
+            if (value(i).equals(value)) {
                 return true;
             }
         }
@@ -668,7 +840,21 @@ public final class Headers {
      * Returns the number of header entries.
      */
     public int size() {
-        return names.size();
+        return wrapped != null ? wrapped.size() : size;
+    }
+
+    /**
+     * Adds every entry to the given Netty headers. Headers that were {@linkplain #wrap wrapped} and never changed are
+     * handed over as Netty's own values, without going through strings.
+     */
+    public void copyTo(HttpHeaders nettyHeaders) {
+        if (wrapped != null) {
+            nettyHeaders.add(wrapped);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            nettyHeaders.add(originalName(i), value(i));
+        }
     }
 
     /**
@@ -699,6 +885,7 @@ public final class Headers {
     }
 
     private Map<String, List<String>> asMap() {
+        unwrap();
         Map<String, List<String>> map = new LinkedHashMap<>(size());
         for (int i = 0; i < size(); i++) {
             map.computeIfAbsent(name(i), k -> new ArrayList<>(1)).add(value(i));
@@ -716,43 +903,120 @@ public final class Headers {
     }
 
     private String originalName(int i) {
-        return originalNames.get(i);
+        return originalNames[i];
     }
 
     private void originalName(int i, String originalName) {
-        originalNames.set(i, originalName);
+        unshare();
+        originalNames[i] = originalName;
     }
 
     private String name(int i) {
-        return names.get(i);
-    }
-
-    private void name(int i, String name) {
-        names.set(i, name);
+        return names[i];
     }
 
     private String value(int i) {
-        return values.get(i);
+        return values[i];
     }
 
     private void value(int i, String val) {
-        values.set(i, val);
+        unshare();
+        values[i] = val;
+    }
+
+    /**
+     * Copies the {@linkplain #wrapped wrapped} Netty headers into the arrays, ahead of a change or a read that needs
+     * them by position.
+     */
+    private void unwrap() {
+        HttpHeaders source = wrapped;
+        if (source == null) {
+            return;
+        }
+        wrapped = null;
+        if (names.length < source.size()) {
+            int capacity = source.size();
+            originalNames = new String[capacity];
+            names = new String[capacity];
+            values = new String[capacity];
+            hashes = new int[capacity];
+            shared = false;
+        }
+        for (Iterator<Map.Entry<String, String>> it = source.iteratorAsString(); it.hasNext(); ) {
+            Map.Entry<String, String> entry = it.next();
+            addNormal(entry.getKey(), HeaderName.normalize(entry.getKey()), entry.getValue());
+        }
+    }
+
+    /**
+     * Moves the entry at {@code from} down to {@code to}. Callers {@linkplain #truncate truncate} afterwards, which
+     * drops the index.
+     */
+    private void move(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        unshare();
+        originalNames[to] = originalNames[from];
+        names[to] = names[from];
+        values[to] = values[from];
+        hashes[to] = hashes[from];
     }
 
     private void addNormal(String originalName, String normalName, String value) {
-        originalNames.add(originalName);
-        names.add(normalName);
-        values.add(value);
+        unwrap();
+        unshare();
+        if (size == names.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size << 1);
+            originalNames = Arrays.copyOf(originalNames, capacity);
+            names = Arrays.copyOf(names, capacity);
+            values = Arrays.copyOf(values, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+        int i = size++;
+        originalNames[i] = originalName;
+        names[i] = normalName;
+        values[i] = value;
+        hashes[i] = normalName.hashCode();
+
+        int[] table = index;
+        if (table != null) {
+            if (size > table.length >>> 1) {
+                // Too full to probe cheaply; rebuilt at twice the size on the next lookup.
+                index = null;
+            } else {
+                indexEntry(table, i);
+            }
+        }
+    }
+
+    /**
+     * Takes a private copy of the arrays, if they are {@linkplain #shared shared}, ahead of writing to them.
+     */
+    private void unshare() {
+        if (!shared) {
+            return;
+        }
+        shared = false;
+        int capacity = names.length;
+        originalNames = Arrays.copyOf(originalNames, capacity);
+        names = Arrays.copyOf(names, capacity);
+        values = Arrays.copyOf(values, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        index = index != null ? index.clone() : null;
     }
 
     /**
      * Removes all elements at and after the given index.
      */
     private void truncate(int i) {
-        for (int k = size() - 1; k >= i; k--) {
-            originalNames.remove(k);
-            names.remove(k);
-            values.remove(k);
+        if (i < size) {
+            unshare();
+            Arrays.fill(originalNames, i, size, null);
+            Arrays.fill(names, i, size, null);
+            Arrays.fill(values, i, size, null);
+            size = i;
+            index = null;
         }
     }
 
@@ -60,6 +60,7 @@ public final class HttpHeaderNames {
     public static final HeaderName TRANSFER_ENCODING = HEADER_NAME_CACHE.get("Transfer-Encoding");
     public static final HeaderName TE = HEADER_NAME_CACHE.get("TE");
     public static final HeaderName RANGE = HEADER_NAME_CACHE.get("Range");
+    public static final HeaderName CONTENT_RANGE = HEADER_NAME_CACHE.get("Content-Range");
     public static final HeaderName ACCEPT_RANGES = HEADER_NAME_CACHE.get("Accept-Ranges");
     public static final HeaderName ALLOW = HEADER_NAME_CACHE.get("Allow");
     public static final HeaderName VARY = HEADER_NAME_CACHE.get("Vary");
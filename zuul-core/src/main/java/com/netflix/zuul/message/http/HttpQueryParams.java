@@ -16,88 +16,179 @@
 package com.netflix.zuul.message.http;
 
 import com.google.common.base.Strings;
-import com.google.common.collect.ImmutableListMultimap;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.ListMultimap;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.StringTokenizer;
+import javax.annotation.Nullable;
 
 /**
  * User: michaels
  * Date: 2/24/15
  * Time: 10:58 AM
+ *
+ * <p>Params from {@link #parse} aren't split up until something reads them, which for most requests never happens.
+ * Entries are then kept, in order, as alternating names and values in a single array. Until the params are changed,
+ * {@link #toEncodedString} returns the original query whenever encoding the entries would give back the same string.
+ *
+ * <p>{@link #get}, {@link #keySet} and {@link #entries} are live views, as they were when the params were kept in a
+ * {@code ListMultimap}: they see later changes to the params, and changes made through them are made to the params.
  */
 public class HttpQueryParams implements Cloneable {
-    private final ListMultimap<String, String> delegate;
+    private static final String[] NO_PAIRS = new String[0];
+
+    /** The query these params were parsed from, until they are changed. */
+    @Nullable
+    private String query;
+
+    /** Whether {@link #query} has been split into {@link #pairs} yet. */
+    private boolean parsed;
+
+    /** Names and values, alternately. */
+    private String[] pairs = NO_PAIRS;
+
+    private int size;
     private final boolean immutable;
-    private final Map<String, Boolean> trailingEquals;
+
+    /** Whether {@link #pairs} and {@link #trailingEquals} may also be in use by a copy, or the params it came from. */
+    private boolean shared;
+
+    @Nullable
+    private Map<String, Boolean> trailingEquals;
 
     public HttpQueryParams() {
-        delegate = LinkedListMultimap.create();
-        immutable = false;
-        trailingEquals = new HashMap<>();
+        this(null, false);
     }
 
-    private HttpQueryParams(ListMultimap<String, String> delegate) {
-        this.delegate = delegate;
-        immutable = ImmutableListMultimap.class.isAssignableFrom(delegate.getClass());
-        trailingEquals = new HashMap<>();
+    private HttpQueryParams(@Nullable String query, boolean immutable) {
+        this.query = query;
+        this.parsed = query == null;
+        this.immutable = immutable;
     }
 
     public static HttpQueryParams parse(String queryString) {
-        HttpQueryParams queryParams = new HttpQueryParams();
-        if (queryString == null) {
-            return queryParams;
-        }
-
-        StringTokenizer st = new StringTokenizer(queryString, "&");
-        int i;
-        while (st.hasMoreTokens()) {
-            String s = st.nextToken();
-            i = s.indexOf("=");
-            // key-value query param
-            if (i > 0) {
-                String name = s.substring(0, i);
-                String value = s.substring(i + 1);
-
-                try {
-                    name = URLDecoder.decode(name, StandardCharsets.UTF_8);
-                    value = URLDecoder.decode(value, StandardCharsets.UTF_8);
-                } catch (Exception e) {
-                    // do nothing
-                }
-
-                queryParams.add(name, value);
+        return new HttpQueryParams(queryString, false);
+    }
 
-                // respect trailing equals for key-only params
-                if (s.endsWith("=") && value.isEmpty()) {
-                    queryParams.setTrailingEquals(name, true);
+    private void ensureParsed() {
+        if (parsed) {
+            return;
+        }
+        parsed = true;
+        String query = this.query;
+        int tokenStart = 0;
+        int equalsAt = -1;
+        boolean nameEncoded = false;
+        boolean valueEncoded = false;
+        for (int i = 0, length = query.length(); i <= length; i++) {
+            char c = i < length ? query.charAt(i) : '&';
+            if (c == '&') {
+                // key-value query param
+                if (equalsAt > tokenStart) {
+                    String name = query.substring(tokenStart, equalsAt);
+                    String value = query.substring(equalsAt + 1, i);
+                    try {
+                        if (nameEncoded) {
+                            name = URLDecoder.decode(name, StandardCharsets.UTF_8);
+                        }
+                        if (valueEncoded) {
+                            value = URLDecoder.decode(value, StandardCharsets.UTF_8);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // do nothing
+                    }
+                    append(name, value);
+
+                    // respect trailing equals for key-only params
+                    if (equalsAt == i - 1) {
+                        putTrailingEquals(name, true);
+                    }
                 }
-            }
-            // key only
-            else if (!s.isEmpty()) {
-                String name = s;
-
-                try {
-                    name = URLDecoder.decode(name, StandardCharsets.UTF_8);
-                } catch (Exception e) {
-                    // do nothing
+                // key only, including a token that starts with '='
+                else if (i > tokenStart) {
+                    String name = query.substring(tokenStart, i);
+                    if (nameEncoded || valueEncoded) {
+                        try {
+                            name = URLDecoder.decode(name, StandardCharsets.UTF_8);
+                        } catch (IllegalArgumentException e) {
+                            // do nothing
+                        }
+                    }
+                    append(name, "");
+                }
+                tokenStart = i + 1;
+                equalsAt = -1;
+                nameEncoded = false;
+                valueEncoded = false;
+            } else if (c == '=') {
+                if (equalsAt < 0) {
+                    equalsAt = i;
                 }
+            } else if (c == '%' || c == '+') {
+                if (equalsAt < 0) {
+                    nameEncoded = true;
+                } else {
+                    valueEncoded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Called before every change, so that the original query is no longer taken as the encoded form.
+     */
+    private void mutate() {
+        if (immutable) {
+            throw new UnsupportedOperationException("Query params are immutable");
+        }
+        ensureParsed();
+        query = null;
+        unshare();
+    }
 
-                queryParams.add(name, "");
+    private void unshare() {
+        if (shared) {
+            shared = false;
+            pairs = Arrays.copyOf(pairs, pairs.length);
+            if (trailingEquals != null) {
+                trailingEquals = new HashMap<>(trailingEquals);
             }
         }
+    }
+
+    private void append(String name, String value) {
+        if (size * 2 == pairs.length) {
+            pairs = Arrays.copyOf(pairs, Math.max(8, pairs.length * 2));
+        }
+        pairs[size * 2] = name;
+        pairs[size * 2 + 1] = value;
+        size++;
+    }
+
+    private void insertAt(int index, String name, String value) {
+        append(name, value);
+        System.arraycopy(pairs, index * 2, pairs, (index + 1) * 2, (size - 1 - index) * 2);
+        pairs[index * 2] = name;
+        pairs[index * 2 + 1] = value;
+    }
 
-        return queryParams;
+    private void removeAt(int index) {
+        System.arraycopy(pairs, (index + 1) * 2, pairs, index * 2, (size - 1 - index) * 2);
+        size--;
+        pairs[size * 2] = null;
+        pairs[size * 2 + 1] = null;
     }
 
     /**
@@ -105,23 +196,41 @@ public class HttpQueryParams implements Cloneable {
      * return null.
      */
     public String getFirst(String name) {
-        List<String> values = delegate.get(name);
-        if (!values.isEmpty()) {
-            return values.get(0);
+        ensureParsed();
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(pairs[i * 2], name)) {
+                return pairs[i * 2 + 1];
+            }
         }
         return null;
     }
 
+    /**
+     * Returns a live view of the values of the params named {@code name} in lower case. A value added to the end of
+     * it is added as a param at the end of all of them.
+     */
     public List<String> get(String name) {
-        return delegate.get(name.toLowerCase(Locale.ROOT));
+        return new Values(name.toLowerCase(Locale.ROOT));
     }
 
     public boolean contains(String name) {
-        return delegate.containsKey(name);
+        ensureParsed();
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(pairs[i * 2], name)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public boolean contains(String name, String value) {
-        return delegate.containsEntry(name, value);
+        ensureParsed();
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(pairs[i * 2], name) && Objects.equals(pairs[i * 2 + 1], value)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -129,45 +238,87 @@ public class HttpQueryParams implements Cloneable {
      * However, as a utility, this exists to allow us to do a case insensitive match on demand.
      */
     public boolean containsIgnoreCase(String name) {
-        return delegate.containsKey(name) || delegate.containsKey(name.toLowerCase(Locale.ROOT));
+        return contains(name) || contains(name.toLowerCase(Locale.ROOT));
     }
 
     /**
      * Replace any/all entries with this key, with this single entry.
      */
     public void set(String name, String value) {
-        delegate.removeAll(name);
-        delegate.put(name, value);
+        removeAll(name);
+        append(name, value);
     }
 
     public void add(String name, String value) {
-        delegate.put(name, value);
+        mutate();
+        append(name, value);
     }
 
     public void removeAll(String name) {
-        delegate.removeAll(name);
+        mutate();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!Objects.equals(pairs[i * 2], name)) {
+                pairs[kept * 2] = pairs[i * 2];
+                pairs[kept * 2 + 1] = pairs[i * 2 + 1];
+                kept++;
+            }
+        }
+        Arrays.fill(pairs, kept * 2, size * 2, null);
+        size = kept;
     }
 
     public void clear() {
-        delegate.clear();
+        mutate();
+        Arrays.fill(pairs, 0, size * 2, null);
+        size = 0;
+    }
+
+    /**
+     * Whether there are no params, which for unparsed params is answered without parsing them.
+     */
+    public boolean isEmpty() {
+        if (!parsed) {
+            // Every token other than an empty one becomes an entry.
+            for (int i = 0; i < query.length(); i++) {
+                if (query.charAt(i) != '&') {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return size == 0;
     }
 
+    /**
+     * Returns a live view of every param, in order.
+     */
     public Collection<Map.Entry<String, String>> entries() {
-        return delegate.entries();
+        return new Entries();
     }
 
+    /**
+     * Returns a live view of the distinct names, in the order they first appear. Removing a name removes every param
+     * with it.
+     */
     public Set<String> keySet() {
-        return delegate.keySet();
+        return new Names();
     }
 
     public String toEncodedString() {
+        if (query != null && isCanonical(query)) {
+            return query;
+        }
+        ensureParsed();
         StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, String> entry : entries()) {
-            sb.append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8));
-            if (!Strings.isNullOrEmpty(entry.getValue())) {
+        for (int i = 0; i < size; i++) {
+            String name = pairs[i * 2];
+            String value = pairs[i * 2 + 1];
+            sb.append(URLEncoder.encode(name, StandardCharsets.UTF_8));
+            if (!Strings.isNullOrEmpty(value)) {
                 sb.append('=');
-                sb.append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
-            } else if (isTrailingEquals(entry.getKey())) {
+                sb.append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            } else if (isTrailingEquals(name)) {
                 sb.append('=');
             }
             sb.append('&');
@@ -180,14 +331,235 @@ public class HttpQueryParams implements Cloneable {
         return sb.toString();
     }
 
+    /**
+     * Whether parsing {@code query} and encoding the entries again would give back {@code query} unchanged: every
+     * token is a non-empty name of characters {@link URLEncoder} leaves alone, optionally followed by one '=' and a
+     * value of the same. A name that is both key-only and has a trailing equals would come back with the equals on
+     * both, so any query mixing the two is rebuilt.
+     */
+    private static boolean isCanonical(String query) {
+        boolean keyOnly = false;
+        boolean trailingEquals = false;
+        int tokenStart = 0;
+        int equalsAt = -1;
+        for (int i = 0, length = query.length(); i <= length; i++) {
+            char c = i < length ? query.charAt(i) : '&';
+            if (c == '&') {
+                if (i == tokenStart || equalsAt == tokenStart) {
+                    return false;
+                }
+                if (equalsAt < 0) {
+                    keyOnly = true;
+                } else if (equalsAt == i - 1) {
+                    trailingEquals = true;
+                }
+                tokenStart = i + 1;
+                equalsAt = -1;
+            } else if (c == '=') {
+                if (equalsAt >= 0) {
+                    return false;
+                }
+                equalsAt = i;
+            } else if (!((c >= 'a' && c <= 'z')
+                    || (c >= 'A' && c <= 'Z')
+                    || (c >= '0' && c <= '9')
+                    || c == '.'
+                    || c == '-'
+                    || c == '*'
+                    || c == '_')) {
+                return false;
+            }
+        }
+        return !(keyOnly && trailingEquals);
+    }
+
+    /**
+     * The values of the params with one name. Positions in it are found by scanning the entries each time, which for
+     * the handful of params a request has is cheaper than keeping an index.
+     */
+    private final class Values extends AbstractList<String> {
+        private final String name;
+
+        Values(String name) {
+            this.name = name;
+        }
+
+        /** The index among all the params of this name's {@code index}th value. */
+        private int position(int index) {
+            ensureParsed();
+            int seen = 0;
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(pairs[i * 2], name) && seen++ == index) {
+                    return i;
+                }
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + seen);
+        }
+
+        @Override
+        public String get(int index) {
+            return pairs[position(index) * 2 + 1];
+        }
+
+        @Override
+        public int size() {
+            ensureParsed();
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(pairs[i * 2], name)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public String set(int index, String value) {
+            mutate();
+            int i = position(index);
+            String previous = pairs[i * 2 + 1];
+            pairs[i * 2 + 1] = value;
+            return previous;
+        }
+
+        @Override
+        public void add(int index, String value) {
+            mutate();
+            int count = size();
+            Objects.checkIndex(index, count + 1);
+            if (index == count) {
+                append(name, value);
+            } else {
+                insertAt(position(index), name, value);
+            }
+            modCount++;
+        }
+
+        @Override
+        public String remove(int index) {
+            mutate();
+            int i = position(index);
+            String previous = pairs[i * 2 + 1];
+            removeAt(i);
+            modCount++;
+            return previous;
+        }
+    }
+
+    private final class Entries extends AbstractList<Map.Entry<String, String>> {
+        @Override
+        public Map.Entry<String, String> get(int index) {
+            ensureParsed();
+            Objects.checkIndex(index, size);
+            return new Entry(index);
+        }
+
+        @Override
+        public int size() {
+            ensureParsed();
+            return size;
+        }
+
+        @Override
+        public Map.Entry<String, String> remove(int index) {
+            mutate();
+            Objects.checkIndex(index, size);
+            Map.Entry<String, String> removed =
+                    new AbstractMap.SimpleImmutableEntry<>(pairs[index * 2], pairs[index * 2 + 1]);
+            removeAt(index);
+            modCount++;
+            return removed;
+        }
+    }
+
+    /**
+     * A param as it was when it was read. Setting its value changes the param at the same position.
+     */
+    private final class Entry extends AbstractMap.SimpleEntry<String, String> {
+        private final int index;
+
+        Entry(int index) {
+            super(pairs[index * 2], pairs[index * 2 + 1]);
+            this.index = index;
+        }
+
+        @Override
+        public String setValue(String value) {
+            mutate();
+            Objects.checkIndex(index, size);
+            pairs[index * 2 + 1] = value;
+            return super.setValue(value);
+        }
+    }
+
+    private final class Names extends AbstractSet<String> {
+        private Set<String> distinct() {
+            ensureParsed();
+            Set<String> names = new LinkedHashSet<>();
+            for (int i = 0; i < size; i++) {
+                names.add(pairs[i * 2]);
+            }
+            return names;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            Iterator<String> names = distinct().iterator();
+            return new Iterator<>() {
+                @Nullable
+                private String last;
+
+                @Override
+                public boolean hasNext() {
+                    return names.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    last = names.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    HttpQueryParams.this.removeAll(last);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return distinct().size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String name && HttpQueryParams.this.contains(name);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            HttpQueryParams.this.removeAll((String) o);
+            return true;
+        }
+    }
+
     @Override
     public String toString() {
+        ensureParsed();
         StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, String> entry : entries()) {
-            sb.append(entry.getKey());
-            if (!Strings.isNullOrEmpty(entry.getValue())) {
+        for (int i = 0; i < size; i++) {
+            sb.append(pairs[i * 2]);
+            if (!Strings.isNullOrEmpty(pairs[i * 2 + 1])) {
                 sb.append('=');
-                sb.append(entry.getValue());
+                sb.append(pairs[i * 2 + 1]);
             }
             sb.append('&');
         }
@@ -201,13 +573,26 @@ public class HttpQueryParams implements Cloneable {
 
     @Override
     protected HttpQueryParams clone() {
-        HttpQueryParams copy = new HttpQueryParams();
-        copy.delegate.putAll(this.delegate);
-        return copy;
+        return copy(false);
     }
 
     public HttpQueryParams immutableCopy() {
-        return new HttpQueryParams(ImmutableListMultimap.copyOf(delegate));
+        return copy(true);
+    }
+
+    private HttpQueryParams copy(boolean immutable) {
+        HttpQueryParams copy = new HttpQueryParams(query, immutable);
+        // Unparsed params are copied as just the query, and parsed again only if the copy is read. Parsed ones share
+        // their entries until either side changes.
+        if (parsed) {
+            copy.parsed = true;
+            copy.pairs = pairs;
+            copy.size = size;
+            copy.trailingEquals = trailingEquals;
+            copy.shared = true;
+            shared = true;
+        }
+        return copy;
     }
 
     public boolean isImmutable() {
@@ -215,16 +600,32 @@ public class HttpQueryParams implements Cloneable {
     }
 
     public boolean isTrailingEquals(String key) {
-        return trailingEquals.getOrDefault(key, false);
+        ensureParsed();
+        return trailingEquals != null && trailingEquals.getOrDefault(key, false);
     }
 
     public void setTrailingEquals(String key, boolean trailingEquals) {
+        ensureParsed();
+        query = null;
+        unshare();
+        putTrailingEquals(key, trailingEquals);
+    }
+
+    private void putTrailingEquals(String key, boolean trailingEquals) {
+        if (this.trailingEquals == null) {
+            this.trailingEquals = new HashMap<>();
+        }
         this.trailingEquals.put(key, trailingEquals);
     }
 
     @Override
     public int hashCode() {
-        return delegate.hashCode();
+        ensureParsed();
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + (Objects.hashCode(pairs[i * 2]) ^ Objects.hashCode(pairs[i * 2 + 1]));
+        }
+        return hash;
     }
 
     @Override
@@ -236,6 +637,8 @@ public class HttpQueryParams implements Cloneable {
             return false;
         }
 
-        return Iterables.elementsEqual(delegate.entries(), hqp2.delegate.entries());
+        ensureParsed();
+        hqp2.ensureParsed();
+        return Arrays.equals(pairs, 0, size * 2, hqp2.pairs, 0, hqp2.size * 2);
     }
 }
@@ -302,7 +302,7 @@ public class HttpRequestMessageImpl implements HttpRequestMessage {
     }
 
     protected String generatePathAndQuery() {
-        if (queryParams != null && queryParams.entries().size() > 0) {
+        if (queryParams != null && !queryParams.isEmpty()) {
             return getPath() + "?" + queryParams.toEncodedString();
         } else {
             return getPath();
@@ -429,8 +429,11 @@ public class HttpRequestMessageImpl implements HttpRequestMessage {
         return clone;
     }
 
+    /**
+     * The headers and query params of the copy share their entries with this request until either side changes them,
+     * so storing the inbound request doesn't copy them for every request.
+     */
     protected HttpRequestInfo copyRequestInfo() {
-
         HttpRequestMessageImpl req = new HttpRequestMessageImpl(
                 message.getContext(),
                 protocol,
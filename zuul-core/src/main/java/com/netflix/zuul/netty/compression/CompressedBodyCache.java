@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.compression;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.IllegalReferenceCountException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache of compressed response bodies, held in direct memory, so that a body seen before can be written
+ * out again without compressing it.
+ *
+ * <p>A body is identified by its origin and either the request path and a strong {@code ETag}, or, when there is no
+ * ETag, a SHA-256 of its bytes. ETag lookups happen before any of the body arrives, so a hit skips compression
+ * entirely. Hash lookups can only happen once the whole body is in, so these bodies are buffered rather than streamed,
+ * and are limited to those with a known {@code Content-Length} no larger than an entry may be. Only responses marked as
+ * cacheable are looked up or stored at all; everything else streams straight through the compressor.
+ *
+ * <p>Entries are evicted least recently used first once their total size goes over the limit. Each entry's buffer is
+ * reference counted, so one evicted while being written out is only freed once the write is done.
+ */
+public final class CompressedBodyCache {
+
+    private final Cache<Key, ByteBuf> cache;
+    private final int maxEntryBytes;
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public CompressedBodyCache(long maxBytes, int maxEntryBytes, Registry registry) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, ByteBuf body) -> body.readableBytes())
+                .removalListener(this::onRemoval)
+                .build();
+        this.hits = registry.counter("zuul.compression.cache.requests", "result", "hit");
+        this.misses = registry.counter("zuul.compression.cache.requests", "result", "miss");
+        PolledMeter.using(registry)
+                .withName("zuul.compression.cache.bytes")
+                .monitorValue(cachedBytes);
+    }
+
+    /**
+     * Returns a compressor for one response that serves the body from the cache if it is there, and otherwise
+     * compresses it with one from {@code compressors}, caching the result. Falls back to a plain compressor when the
+     * body can't be identified.
+     *
+     * @param origin        the origin the response came from
+     * @param resource      the path and query the response is for
+     * @param etag          the response's {@code ETag}, if any
+     * @param contentLength the response's {@code Content-Length}, if known
+     * @param cacheable     whether a shared cache may store the response, and its body is the whole of the resource
+     *                      rather than a range of it. The key has no status or range, so partial and error responses
+     *                      must not be passed as cacheable.
+     */
+    public ResponseCompressor wrap(
+            ContentCoding coding,
+            Supplier<ResponseCompressor> compressors,
+            String origin,
+            String resource,
+            @Nullable String etag,
+            @Nullable Integer contentLength,
+            boolean cacheable) {
+        if (!cacheable) {
+            return compressors.get();
+        }
+        if (etag != null && !etag.startsWith("W/")) {
+            Key key = new Key(coding, origin, resource, etag);
+            ByteBuf cached = lookup(key);
+            if (cached != null) {
+                return new CachedBody(coding, cached);
+            }
+            return new CapturingCompressor(compressors.get(), key);
+        }
+        if (contentLength != null && contentLength <= maxEntryBytes) {
+            return new HashingCompressor(coding, compressors, origin);
+        }
+        return compressors.get();
+    }
+
+    @VisibleForTesting
+    long cachedBytes() {
+        return cachedBytes.get();
+    }
+
+    @Nullable
+    private ByteBuf lookup(Key key) {
+        ByteBuf cached = cache.getIfPresent(key);
+        if (cached != null) {
+            try {
+                ByteBuf body = cached.retainedDuplicate();
+                hits.increment();
+                return body;
+            } catch (IllegalReferenceCountException e) {
+                // Evicted and released since it was looked up.
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    private void put(Key key, ByteBuf body) {
+        if (body.readableBytes() > maxEntryBytes) {
+            body.release();
+            return;
+        }
+        // Direct memory that isn't pooled, since entries can live for a long time.
+        ByteBuf entry = Unpooled.directBuffer(body.readableBytes()).writeBytes(body);
+        body.release();
+        cachedBytes.addAndGet(entry.readableBytes());
+        if (cache.asMap().putIfAbsent(key, entry) != null) {
+            // Another response for the same body got there first.
+            cachedBytes.addAndGet(-entry.readableBytes());
+            entry.release();
+        }
+    }
+
+    private void onRemoval(RemovalNotification<Key, ByteBuf> notification) {
+        ByteBuf entry = notification.getValue();
+        if (entry != null) {
+            cachedBytes.addAndGet(-entry.readableBytes());
+            entry.release();
+        }
+    }
+
+    /**
+     * The validator is either the ETag, or for bodies without one, a hash of the body with no resource.
+     */
+    private record Key(ContentCoding coding, String origin, String resource, String validator) {}
+
+    /**
+     * Drops the body as it arrives, and writes out the cached one at the end.
+     */
+    private static final class CachedBody implements ResponseCompressor {
+        private final ContentCoding coding;
+
+        @Nullable
+        private ByteBuf body;
+
+        CachedBody(ContentCoding coding, ByteBuf body) {
+            this.coding = coding;
+            this.body = body;
+        }
+
+        @Override
+        public ContentCoding coding() {
+            return coding;
+        }
+
+        @Override
+        public ByteBuf compress(ByteBuf content) {
+            content.release();
+            return Unpooled.EMPTY_BUFFER;
+        }
+
+        @Override
+        public ByteBuf finish() {
+            ByteBuf finished = body;
+            if (finished == null) {
+                throw new IllegalStateException("Already finished");
+            }
+            body = null;
+            return finished;
+        }
+
+        @Override
+        public void close() {
+            if (body != null) {
+                body.release();
+                body = null;
+            }
+        }
+    }
+
+    /**
+     * Compresses as usual, keeping a copy of the output to cache once the body is complete.
+     */
+    private final class CapturingCompressor implements ResponseCompressor {
+        private final ResponseCompressor delegate;
+        private final Key key;
+
+        @Nullable
+        private CompositeByteBuf captured = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+
+        CapturingCompressor(ResponseCompressor delegate, Key key) {
+            this.delegate = delegate;
+            this.key = key;
+        }
+
+        @Override
+        public ContentCoding coding() {
+            return delegate.coding();
+        }
+
+        @Override
+        public ByteBuf compress(ByteBuf content) {
+            return capture(delegate.compress(content));
+        }
+
+        @Override
+        public ByteBuf finish() {
+            ByteBuf out = capture(delegate.finish());
+            if (captured != null) {
+                put(key, captured);
+                captured = null;
+            }
+            return out;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+            if (captured != null) {
+                captured.release();
+                captured = null;
+            }
+        }
+
+        private ByteBuf capture(ByteBuf out) {
+            if (captured != null && out.isReadable()) {
+                if (captured.readableBytes() + out.readableBytes() > maxEntryBytes) {
+                    captured.release();
+                    captured = null;
+                } else {
+                    captured.addComponent(true, out.retainedDuplicate());
+                }
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Buffers the whole body so it can be hashed, then either serves the cached output or compresses and caches it.
+     */
+    private final class HashingCompressor implements ResponseCompressor {
+        private final ContentCoding coding;
+        private final Supplier<ResponseCompressor> compressors;
+        private final String origin;
+        private final MessageDigest digest = sha256();
+
+        @Nullable
+        private CompositeByteBuf buffered = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+
+        HashingCompressor(ContentCoding coding, Supplier<ResponseCompressor> compressors, String origin) {
+            this.coding = coding;
+            this.compressors = compressors;
+            this.origin = origin;
+        }
+
+        @Override
+        public ContentCoding coding() {
+            return coding;
+        }
+
+        @Override
+        public ByteBuf compress(ByteBuf content) {
+            CompositeByteBuf body = buffered;
+            if (body == null) {
+                content.release();
+                throw new IllegalStateException("Already finished");
+            }
+            if (content.isReadable()) {
+                for (ByteBuffer buffer : content.nioBuffers()) {
+                    digest.update(buffer);
+                }
+                body.addComponent(true, content);
+            } else {
+                content.release();
+            }
+            return Unpooled.EMPTY_BUFFER;
+        }
+
+        @Override
+        public ByteBuf finish() {
+            CompositeByteBuf body = buffered;
+            if (body == null) {
+                throw new IllegalStateException("Already finished");
+            }
+            buffered = null;
+
+            Key key = new Key(coding, origin, "", "sha-256:" + HexFormat.of().formatHex(digest.digest()));
+            ByteBuf cached = lookup(key);
+            if (cached != null) {
+                body.release();
+                return cached;
+            }
+
+            ResponseCompressor compressor = compressors.get();
+            ByteBuf compressed;
+            try {
+                compressed = compressor.compress(body);
+            } catch (RuntimeException e) {
+                compressor.close();
+                throw e;
+            }
+            ByteBuf last;
+            try {
+                last = compressor.finish();
+            } catch (RuntimeException e) {
+                compressed.release();
+                compressor.close();
+                throw e;
+            }
+            ByteBuf out = Unpooled.compositeBuffer(2).addComponents(true, compressed, last);
+            put(key, out.retainedDuplicate());
+            return out;
+        }
+
+        @Override
+        public void close() {
+            if (buffered != null) {
+                buffered.release();
+                buffered = null;
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
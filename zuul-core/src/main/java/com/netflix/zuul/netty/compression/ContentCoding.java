@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.compression;
+
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.Zstd;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * The content codings Zuul can compress a response body into.
+ *
+ * <p>Brotli and zstd need the optional {@code brotli4j} and {@code zstd-jni} native libraries on the classpath, and are
+ * never negotiated without them.
+ */
+public enum ContentCoding {
+    GZIP("gzip"),
+    BROTLI("br"),
+    ZSTD("zstd");
+
+    private final String headerValue;
+
+    ContentCoding(String headerValue) {
+        this.headerValue = headerValue;
+    }
+
+    /**
+     * The value used in {@code Accept-Encoding} and {@code Content-Encoding}.
+     */
+    public String headerValue() {
+        return headerValue;
+    }
+
+    public boolean isAvailable() {
+        return switch (this) {
+            case GZIP -> true;
+            case BROTLI -> Brotli.isAvailable();
+            case ZSTD -> Zstd.isAvailable();
+        };
+    }
+
+    @Nullable
+    public static ContentCoding fromHeaderValue(String value) {
+        for (ContentCoding coding : values()) {
+            if (coding.headerValue.equalsIgnoreCase(value)) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks the first of {@code preferred} that is available here and acceptable to the client, or null if none is.
+     * The server's order of preference wins over the client's q-values, which are only used to tell whether a coding
+     * is acceptable at all.
+     *
+     * @param acceptEncoding the request's {@code Accept-Encoding} header, if any
+     * @param preferred      header values of codings, most preferred first; unknown ones are skipped
+     */
+    @Nullable
+    public static ContentCoding negotiate(@Nullable String acceptEncoding, List<String> preferred) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < preferred.size(); i++) {
+            ContentCoding coding = fromHeaderValue(preferred.get(i).trim());
+            if (coding != null && coding.isAvailable() && isAcceptable(acceptEncoding, coding.headerValue)) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether {@code coding} is listed with a non-zero q-value, or failing that, whether {@code *} is.
+     */
+    static boolean isAcceptable(String acceptEncoding, String coding) {
+        float wildcardQuality = 0;
+        int start = 0;
+        int length = acceptEncoding.length();
+        while (start < length) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int paramsStart = acceptEncoding.indexOf(';', start);
+            int nameEnd = (paramsStart < 0 || paramsStart > end) ? end : paramsStart;
+            int nameStart = skipWhitespace(acceptEncoding, start, nameEnd);
+            int nameLength = trimmedLength(acceptEncoding, nameStart, nameEnd);
+
+            if (nameLength == coding.length() && acceptEncoding.regionMatches(true, nameStart, coding, 0, nameLength)) {
+                return quality(acceptEncoding, nameEnd, end) > 0;
+            }
+            if (nameLength == 1 && acceptEncoding.charAt(nameStart) == '*') {
+                wildcardQuality = quality(acceptEncoding, nameEnd, end);
+            }
+            start = end + 1;
+        }
+        return wildcardQuality > 0;
+    }
+
+    /**
+     * Parses the q-value out of the parameters in {@code [from, to)}, defaulting to 1 when absent or malformed.
+     */
+    private static float quality(String header, int from, int to) {
+        int index = from;
+        while (index < to) {
+            int paramStart = skipWhitespace(header, index + 1, to);
+            int paramEnd = header.indexOf(';', paramStart);
+            if (paramEnd < 0 || paramEnd > to) {
+                paramEnd = to;
+            }
+            if (paramEnd - paramStart > 2
+                    && (header.charAt(paramStart) == 'q' || header.charAt(paramStart) == 'Q')
+                    && header.charAt(paramStart + 1) == '=') {
+                int valueStart = paramStart + 2;
+                try {
+                    return Float.parseFloat(
+                            header.substring(valueStart, valueStart + trimmedLength(header, valueStart, paramEnd)));
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+            index = paramEnd;
+        }
+        return 1;
+    }
+
+    private static int skipWhitespace(String s, int from, int to) {
+        while (from < to && Character.isWhitespace(s.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimmedLength(String s, int from, int to) {
+        while (to > from && Character.isWhitespace(s.charAt(to - 1))) {
+            to--;
+        }
+        return to - from;
+    }
+}
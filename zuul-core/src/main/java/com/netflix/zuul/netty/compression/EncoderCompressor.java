@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.BrotliEncoder;
+import io.netty.handler.codec.compression.ZstdEncoder;
+
+/**
+ * Runs one of Netty's streaming compression encoders in an {@link EmbeddedChannel}, the same way
+ * {@link io.netty.handler.codec.http.HttpContentCompressor} does. Each chunk is written and flushed through the
+ * encoder, so output is never held back waiting for more input.
+ */
+public final class EncoderCompressor implements ResponseCompressor {
+
+    private final ContentCoding coding;
+    private final EmbeddedChannel channel;
+    private boolean done;
+
+    private EncoderCompressor(ContentCoding coding, ChannelHandler encoder) {
+        this.coding = coding;
+        this.channel = new EmbeddedChannel(encoder);
+    }
+
+    /**
+     * Brotli at Netty's default settings: quality 4, which is about as fast as gzip at level 6 while compressing
+     * better.
+     */
+    public static EncoderCompressor brotli() {
+        return new EncoderCompressor(ContentCoding.BROTLI, new BrotliEncoder());
+    }
+
+    /**
+     * @param level a zstd compression level, see {@code com.github.luben.zstd.Zstd#maxCompressionLevel()}
+     */
+    public static EncoderCompressor zstd(int level) {
+        return new EncoderCompressor(ContentCoding.ZSTD, new ZstdEncoder(level));
+    }
+
+    @Override
+    public ContentCoding coding() {
+        return coding;
+    }
+
+    @Override
+    public ByteBuf compress(ByteBuf content) {
+        if (done) {
+            content.release();
+            throw new IllegalStateException("Already finished");
+        }
+        channel.writeOutbound(content);
+        return readOutput();
+    }
+
+    @Override
+    public ByteBuf finish() {
+        if (done) {
+            throw new IllegalStateException("Already finished");
+        }
+        done = true;
+        channel.finish();
+        return readOutput();
+    }
+
+    @Override
+    public void close() {
+        if (!done) {
+            done = true;
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private ByteBuf readOutput() {
+        ByteBuf first = null;
+        CompositeByteBuf composite = null;
+        ByteBuf buf;
+        while ((buf = channel.readOutbound()) != null) {
+            if (!buf.isReadable()) {
+                buf.release();
+            } else if (first == null) {
+                first = buf;
+            } else {
+                if (composite == null) {
+                    composite = channel.alloc().compositeBuffer();
+                    composite.addComponent(true, first);
+                }
+                composite.addComponent(true, buf);
+            }
+        }
+        if (composite != null) {
+            return composite;
+        }
+        return first != null ? first : Unpooled.EMPTY_BUFFER;
+    }
+}
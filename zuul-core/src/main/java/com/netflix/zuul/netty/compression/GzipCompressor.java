@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import javax.annotation.Nullable;
+
+/**
+ * Gzip compression straight from and into {@link ByteBuf}s: input is handed to a {@link Deflater} as NIO buffers and
+ * compressed into buffers from the given allocator, so direct buffers are never copied onto the heap. The gzip header
+ * and trailer are written here around a raw deflate stream.
+ *
+ * <p>Setting up a {@link Deflater} allocates a few hundred KB of native memory, so they are pooled per thread, which in
+ * practice means per event loop, and reset between responses.
+ */
+public final class GzipCompressor implements ResponseCompressor {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private static final byte[] NO_INPUT = new byte[0];
+
+    private static final int MAX_POOLED_DEFLATERS = 16;
+
+    /** Space to keep free in the output buffer before each call into the deflater. */
+    private static final int MIN_WRITABLE = 256;
+
+    private static final FastThreadLocal<DeflaterPool> DEFLATERS = new FastThreadLocal<>() {
+        @Override
+        protected DeflaterPool initialValue() {
+            return new DeflaterPool();
+        }
+    };
+
+    private final ByteBufAllocator alloc;
+    private final int level;
+    private final int flushMode;
+    private final CRC32 crc = new CRC32();
+
+    @Nullable
+    private Deflater deflater;
+
+    private boolean headerWritten;
+    private boolean done;
+    private int uncompressedSize;
+
+    /**
+     * @param level          a {@link Deflater} compression level, 1 to 9
+     * @param flushEachChunk whether to flush the compressed output after every chunk, so that each one can be decoded
+     *                       as soon as it is received. Compresses worse, but is needed for streamed responses.
+     */
+    public GzipCompressor(ByteBufAllocator alloc, int level, boolean flushEachChunk) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid gzip level: " + level);
+        }
+        this.alloc = alloc;
+        this.level = level;
+        this.flushMode = flushEachChunk ? Deflater.SYNC_FLUSH : Deflater.NO_FLUSH;
+    }
+
+    @Override
+    public ContentCoding coding() {
+        return ContentCoding.GZIP;
+    }
+
+    @Override
+    public ByteBuf compress(ByteBuf content) {
+        try {
+            if (done) {
+                throw new IllegalStateException("Already finished");
+            }
+            int length = content.readableBytes();
+            // Most bodies worth compressing shrink by well over half; the buffer grows if not.
+            ByteBuf out = alloc.directBuffer(GZIP_HEADER.length + (length >>> 1) + MIN_WRITABLE);
+            try {
+                writeHeaderIfNeeded(out);
+                Deflater deflater = deflater();
+                if (length > 0) {
+                    ByteBuffer input = content.nioBuffer();
+                    crc.update(input.duplicate());
+                    uncompressedSize += length;
+                    deflater.setInput(input);
+                    deflate(deflater, out, flushMode);
+                    // Don't hold on to the chunk's memory once it is released.
+                    deflater.setInput(NO_INPUT);
+                } else {
+                    deflate(deflater, out, flushMode);
+                }
+            } catch (RuntimeException e) {
+                out.release();
+                throw e;
+            }
+
+            if (!out.isReadable()) {
+                out.release();
+                return Unpooled.EMPTY_BUFFER;
+            }
+            return out;
+        } finally {
+            content.release();
+        }
+    }
+
+    @Override
+    public ByteBuf finish() {
+        if (done) {
+            throw new IllegalStateException("Already finished");
+        }
+        ByteBuf out = alloc.directBuffer(GZIP_HEADER.length + MIN_WRITABLE);
+        try {
+            writeHeaderIfNeeded(out);
+            Deflater deflater = deflater();
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflateOnce(deflater, out, Deflater.NO_FLUSH);
+            }
+            out.writeIntLE((int) crc.getValue());
+            out.writeIntLE(uncompressedSize);
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        } finally {
+            close();
+        }
+        return out;
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        if (deflater != null) {
+            DEFLATERS.get().release(deflater, level);
+            deflater = null;
+        }
+    }
+
+    private Deflater deflater() {
+        if (deflater == null) {
+            deflater = DEFLATERS.get().acquire(level);
+        }
+        return deflater;
+    }
+
+    private void writeHeaderIfNeeded(ByteBuf out) {
+        if (!headerWritten) {
+            out.writeBytes(GZIP_HEADER);
+            headerWritten = true;
+        }
+    }
+
+    /**
+     * Runs the deflater until it has taken all of its input, and with a flush, until it has no more output.
+     */
+    private static void deflate(Deflater deflater, ByteBuf out, int flushMode) {
+        while (true) {
+            boolean filled = deflateOnce(deflater, out, flushMode);
+            if (flushMode == Deflater.NO_FLUSH ? deflater.needsInput() : !filled) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the deflater filled all the space it was given, in which case it may have more to write.
+     */
+    private static boolean deflateOnce(Deflater deflater, ByteBuf out, int flushMode) {
+        out.ensureWritable(MIN_WRITABLE);
+        int writable = out.writableBytes();
+        int written = deflater.deflate(out.internalNioBuffer(out.writerIndex(), writable), flushMode);
+        out.writerIndex(out.writerIndex() + written);
+        return written == writable;
+    }
+
+    /**
+     * Idle deflaters of one thread, all at the same level. Only ever touched from its own thread.
+     */
+    private static final class DeflaterPool {
+        private final ArrayDeque<Deflater> deflaters = new ArrayDeque<>(MAX_POOLED_DEFLATERS);
+        private int level = Deflater.DEFAULT_COMPRESSION;
+
+        Deflater acquire(int level) {
+            if (level != this.level) {
+                // The configured level changed; deflaters at the old one are no longer of use.
+                clear();
+                this.level = level;
+            }
+            Deflater deflater = deflaters.pollLast();
+            return deflater != null ? deflater : new Deflater(level, true);
+        }
+
+        void release(Deflater deflater, int level) {
+            if (level == this.level && deflaters.size() < MAX_POOLED_DEFLATERS) {
+                deflater.reset();
+                deflaters.addLast(deflater);
+            } else {
+                deflater.end();
+            }
+        }
+
+        private void clear() {
+            Deflater deflater;
+            while ((deflater = deflaters.pollLast()) != null) {
+                deflater.end();
+            }
+        }
+    }
+}
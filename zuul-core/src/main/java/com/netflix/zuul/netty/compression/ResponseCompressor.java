@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.compression;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Compresses one response body, chunk by chunk, into a single {@link ContentCoding}.
+ *
+ * <p>Instances are stateful and not thread safe; a response's chunks are expected to arrive in order on one thread.
+ * Exactly one of {@link #finish()} or {@link #close()} must be called to give back any native resources.
+ */
+public interface ResponseCompressor {
+
+    ContentCoding coding();
+
+    /**
+     * Compresses the readable bytes of {@code content}, which is released. The returned buffer holds whatever
+     * compressed output is ready to be sent, and may be empty.
+     */
+    ByteBuf compress(ByteBuf content);
+
+    /**
+     * Ends the compressed stream, returning the remaining output and releasing resources.
+     */
+    ByteBuf finish();
+
+    /**
+     * Releases resources without ending the stream, such as when the response is abandoned. Idempotent, and a no-op
+     * after {@link #finish()}.
+     */
+    void close();
+}
@@ -19,6 +19,7 @@ package com.netflix.zuul.netty.connectionpool;
 import com.netflix.zuul.discovery.DiscoveryResult;
 import com.netflix.zuul.passport.CurrentPassport;
 import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
 import io.netty.util.concurrent.Promise;
 import java.net.InetAddress;
 import java.util.List;
@@ -53,8 +54,17 @@ public interface ClientChannelManager {
             AtomicReference<DiscoveryResult> selectedServer,
             AtomicReference<? super InetAddress> selectedHostAddr);
 
+    /**
+     * @return true while the connection pools are still being warmed up ahead of traffic.
+     */
     boolean isCold();
 
+    /**
+     * Opens connections to the currently known servers on each event loop of the given group ahead of traffic, and
+     * keeps doing so for servers that are added later. Does nothing unless the implementation supports it.
+     */
+    default void warmUp(EventLoopGroup eventLoopGroup) {}
+
     /**
      * Returns a read-only snapshot of all origin servers this manager currently load-balances over, or an
      * empty list when the manager cannot expose them. This does not pick or acquire a connection - it is a
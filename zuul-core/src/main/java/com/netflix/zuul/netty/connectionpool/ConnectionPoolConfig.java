@@ -80,4 +80,56 @@ public interface ConnectionPoolConfig {
     default boolean isCloseOnCircuitBreakerEnabled() {
         return true;
     }
+
+    /**
+     * When true, each server uses an {@link EventLoopAffineConnectionPool}, where every event loop owns its own
+     * array-backed stack of idle connections and its own in-use/in-pool counters.
+     */
+    default boolean useEventLoopAffinePool() {
+        return false;
+    }
+
+    /**
+     * When true, a pool miss on the requesting event loop may take an idle connection from another event loop's pool
+     * for the same server and re-register it with the requesting event loop, instead of opening a new connection.
+     * This has no effect with {@link #useEventLoopAffinePool()}, whose per-event loop stacks are not shared.
+     */
+    default boolean isConnectionStealingEnabled() {
+        return false;
+    }
+
+    /**
+     * When true, origin channels are set up once with a {@link PooledIdleTimer} and an
+     * {@link com.netflix.zuul.netty.server.OriginResponseDispatcher}, which are rearmed and rebound for each request,
+     * rather than having the idle state handler and the response receiver added to and removed from the pipeline on
+     * every acquire and release.
+     */
+    default boolean useStablePipeline() {
+        return false;
+    }
+
+    /**
+     * Number of connections to open to each server on each event loop ahead of traffic, when the channel manager is
+     * asked to warm up. Zero disables warm-up.
+     */
+    default int getWarmUpConnectionsPerEventLoop() {
+        return 0;
+    }
+
+    /**
+     * When true, connections to this origin speak HTTP/2, and each connection carries up to
+     * {@link #getMaxConcurrentStreamsPerConnection()} requests at once as separate streams. See
+     * {@link Http2ConnectionPool}.
+     */
+    default boolean useHttp2() {
+        return false;
+    }
+
+    /**
+     * Upper bound on the number of concurrent streams opened on a single HTTP/2 origin connection before another
+     * connection is opened. Only used with {@link #useHttp2()}.
+     */
+    default int getMaxConcurrentStreamsPerConnection() {
+        return 100;
+    }
 }
@@ -36,6 +36,8 @@ public class ConnectionPoolConfigImpl implements ConnectionPoolConfig {
     static final int DEFAULT_PER_SERVER_WATERLINE = 4;
     static final int DEFAULT_MAX_REQUESTS_PER_CONNECTION = 1000;
     static final boolean DEFAULT_TCP_NO_DELAY = true;
+    static final int DEFAULT_WARM_UP_CONNECTIONS_PER_EVENT_LOOP = 0;
+    static final int DEFAULT_MAX_CONCURRENT_STREAMS_PER_CONNECTION = 100;
 
     // TODO(argha-c): Document why these values were chosen, as opposed to defaults of 32k/64k
     static final int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 32 * 1024;
@@ -68,6 +70,25 @@ public class ConnectionPoolConfigImpl implements ConnectionPoolConfig {
     public static final IClientConfigKey<Boolean> USE_DEFAULT_TCP_BUFFER_SIZES =
             new CommonClientConfigKey<>("UseDefaultTcpBufferSizes") {};
 
+    public static final IClientConfigKey<Boolean> EVENT_LOOP_AFFINE_POOL =
+            new CommonClientConfigKey<>("EventLoopAffinePool") {};
+
+    public static final IClientConfigKey<Boolean> CONNECTION_STEALING =
+            new CommonClientConfigKey<>("ConnectionStealing") {};
+
+    public static final IClientConfigKey<Boolean> STABLE_PIPELINE = new CommonClientConfigKey<>("StablePipeline") {};
+
+    public static final IClientConfigKey<Integer> WARM_UP_CONNECTIONS_PER_EVENT_LOOP =
+            new CommonClientConfigKey<>("WarmUpConnectionsPerEventLoop") {};
+
+    public static final IClientConfigKey<Boolean> HTTP2_ORIGIN = new CommonClientConfigKey<>("Http2Origin") {};
+
+    /**
+     * NOTE that the origin's own SETTINGS_MAX_CONCURRENT_STREAMS also applies, whichever is lower.
+     */
+    public static final IClientConfigKey<Integer> MAX_CONCURRENT_STREAMS_PER_CONNECTION =
+            new CommonClientConfigKey<>("MaxConcurrentStreamsPerConnection") {};
+
     private final OriginName originName;
     private final IClientConfig clientConfig;
 
@@ -162,4 +183,36 @@ public class ConnectionPoolConfigImpl implements ConnectionPoolConfig {
     public boolean isCloseOnCircuitBreakerEnabled() {
         return clientConfig.getPropertyAsBoolean(CLOSE_ON_CIRCUIT_BREAKER, true);
     }
+
+    @Override
+    public boolean useEventLoopAffinePool() {
+        return clientConfig.getPropertyAsBoolean(EVENT_LOOP_AFFINE_POOL, false);
+    }
+
+    @Override
+    public boolean isConnectionStealingEnabled() {
+        return clientConfig.getPropertyAsBoolean(CONNECTION_STEALING, false);
+    }
+
+    @Override
+    public boolean useStablePipeline() {
+        return clientConfig.getPropertyAsBoolean(STABLE_PIPELINE, false);
+    }
+
+    @Override
+    public int getWarmUpConnectionsPerEventLoop() {
+        return clientConfig.getPropertyAsInteger(
+                WARM_UP_CONNECTIONS_PER_EVENT_LOOP, DEFAULT_WARM_UP_CONNECTIONS_PER_EVENT_LOOP);
+    }
+
+    @Override
+    public boolean useHttp2() {
+        return clientConfig.getPropertyAsBoolean(HTTP2_ORIGIN, false);
+    }
+
+    @Override
+    public int getMaxConcurrentStreamsPerConnection() {
+        return clientConfig.getPropertyAsInteger(
+                MAX_CONCURRENT_STREAMS_PER_CONNECTION, DEFAULT_MAX_CONCURRENT_STREAMS_PER_CONNECTION);
+    }
 }
@@ -43,6 +43,7 @@ public record ConnectionPoolMetrics(
         Counter maxConnsPerHostExceededCounter,
         Counter closeWrtBusyConnCounter,
         Counter circuitBreakerClose,
+        Counter stealConnCounter,
         PercentileTimer connEstablishTimer,
         AtomicInteger connsInPool,
         AtomicInteger connsInUse,
@@ -72,6 +73,7 @@ public record ConnectionPoolMetrics(
                 newCounter("connectionpool_maxConnsPerHostExceeded", originName, registry);
         Counter closeWrtBusyConnCounter = newCounter("connectionpool_closeWrtBusyConnCounter", originName, registry);
         Counter circuitBreakerClose = newCounter("connectionpool_closeCircuitBreaker", originName, registry);
+        Counter stealConnCounter = newCounter("connectionpool_steal", originName, registry);
 
         Counter idleCounter = newCounter("connectionpool_idle", originName, registry);
         Counter inactiveCounter = newCounter("connectionpool_inactive", originName, registry);
@@ -102,6 +104,7 @@ public record ConnectionPoolMetrics(
                 maxConnsPerHostExceededCounter,
                 closeWrtBusyConnCounter,
                 circuitBreakerClose,
+                stealConnCounter,
                 connEstablishTimer,
                 connsInPool,
                 connsInUse,
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import com.netflix.config.CachedDynamicIntProperty;
+import io.netty.util.concurrent.Future;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import org.jspecify.annotations.NullMarked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounds how many warm-up connects may be in flight at once, across every origin. Connects beyond the budget are
+ * queued and started as earlier ones complete, so that warming many origins after a deploy does not turn into a
+ * connect storm.
+ */
+@NullMarked
+final class ConnectionWarmUpBudget {
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionWarmUpBudget.class);
+
+    private static final CachedDynamicIntProperty MAX_CONCURRENT_CONNECTS =
+            new CachedDynamicIntProperty("zuul.origin.warmup.max.concurrent.connects", 32);
+
+    static final ConnectionWarmUpBudget GLOBAL = new ConnectionWarmUpBudget(MAX_CONCURRENT_CONNECTS::get);
+
+    private final IntSupplier maxConcurrent;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Supplier<? extends Future<?>>> waiting = new ConcurrentLinkedQueue<>();
+
+    ConnectionWarmUpBudget(IntSupplier maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Queues a connect to be started once the budget allows. The supplier starts the connect and returns a future
+     * that completes when it is done, successfully or not.
+     */
+    void submit(Supplier<? extends Future<?>> connect) {
+        waiting.add(connect);
+        startWaiting();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    int getWaiting() {
+        return waiting.size();
+    }
+
+    private void startWaiting() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxConcurrent.getAsInt()) {
+                // A completing connect will pick up the rest of the queue.
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+
+            Supplier<? extends Future<?>> next = waiting.poll();
+            if (next == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+
+            Future<?> connectFuture;
+            try {
+                connectFuture = next.get();
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to start warm-up connect", e);
+                inFlight.decrementAndGet();
+                continue;
+            }
+            connectFuture.addListener(f -> {
+                inFlight.decrementAndGet();
+                startWaiting();
+            });
+        }
+    }
+}
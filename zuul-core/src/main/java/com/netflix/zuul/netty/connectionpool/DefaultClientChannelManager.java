@@ -22,12 +22,16 @@ import com.netflix.client.config.IClientConfig;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spectator.api.histogram.PercentileTimer;
+import com.netflix.spectator.api.patterns.PolledMeter;
 import com.netflix.zuul.discovery.DiscoveryResult;
 import com.netflix.zuul.discovery.DynamicServerResolver;
 import com.netflix.zuul.discovery.ResolverResult;
+import com.netflix.zuul.discovery.ServerSnapshot;
+import com.netflix.zuul.discovery.SnapshotResolver;
 import com.netflix.zuul.exception.OutboundErrorType;
 import com.netflix.zuul.netty.SpectatorUtils;
 import com.netflix.zuul.netty.insights.PassportStateHttpClientHandler;
+import com.netflix.zuul.netty.server.OriginResponseDispatcher;
 import com.netflix.zuul.netty.server.OriginResponseReceiver;
 import com.netflix.zuul.origins.OriginName;
 import com.netflix.zuul.passport.CurrentPassport;
@@ -38,16 +42,23 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.Promise;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -75,14 +86,30 @@ public class DefaultClientChannelManager implements ClientChannelManager {
 
     private volatile boolean shuttingDown = false;
 
+    /** Set once {@link #warmUp(EventLoopGroup)} is called, so that servers added later are warmed up as well. */
+    @Nullable
+    private volatile EventLoopGroup warmUpEventLoopGroup;
+
+    private final AtomicInteger pendingWarmUpConnects = new AtomicInteger();
+
+    /** Set when the resolver picks from a snapshot, so that acquire can find the pool by index. */
+    @Nullable
+    private final SnapshotResolver snapshotResolver;
+
+    private final AtomicReference<ServerPoolSnapshot> serverPoolSnapshot = new AtomicReference<>();
+
+    /** Bumped before pools are removed for servers that have gone, so that a racing snapshot build can tell. */
+    private final AtomicLong serverPoolGeneration = new AtomicLong();
+
     public DefaultClientChannelManager(OriginName originName, IClientConfig clientConfig, Registry registry) {
-        this(originName, clientConfig, new DynamicServerResolver(clientConfig), registry);
+        this(originName, clientConfig, DynamicServerResolver.create(clientConfig), registry);
     }
 
     public DefaultClientChannelManager(
             OriginName originName, IClientConfig clientConfig, Resolver<DiscoveryResult> resolver, Registry registry) {
         this.originName = Objects.requireNonNull(originName, "originName");
         this.dynamicServerResolver = resolver;
+        this.snapshotResolver = resolver instanceof SnapshotResolver snapshotResolver ? snapshotResolver : null;
 
         this.clientConfig = clientConfig;
         this.registry = registry;
@@ -91,6 +118,16 @@ public class DefaultClientChannelManager implements ClientChannelManager {
         this.connPoolConfig = new ConnectionPoolConfigImpl(originName, this.clientConfig);
 
         this.metrics = ConnectionPoolMetrics.create(originName, registry);
+
+        // Values registered under the same id are summed with the shared gauges from ConnectionPoolMetrics.
+        PolledMeter.using(registry)
+                .withName("connectionpool_inPool")
+                .withTag("id", originName.getMetricId())
+                .monitorValue(this, DefaultClientChannelManager::getEventLoopAffineConnsInPool);
+        PolledMeter.using(registry)
+                .withName("connectionpool_inUse")
+                .withTag("id", originName.getMetricId())
+                .monitorValue(this, DefaultClientChannelManager::getEventLoopAffineConnsInUse);
     }
 
     @Override
@@ -104,6 +141,9 @@ public class DefaultClientChannelManager implements ClientChannelManager {
 
     protected OriginChannelInitializer createChannelInitializer(
             IClientConfig clientConfig, ConnectionPoolConfig connPoolConfig, Registry registry) {
+        if (connPoolConfig.useHttp2()) {
+            return new Http2OriginChannelInitializer(connPoolConfig, registry);
+        }
         return new DefaultOriginChannelInitializer(connPoolConfig, registry);
     }
 
@@ -129,7 +169,70 @@ public class DefaultClientChannelManager implements ClientChannelManager {
 
     @Override
     public boolean isCold() {
-        return false;
+        return pendingWarmUpConnects.get() > 0;
+    }
+
+    @Override
+    public void warmUp(EventLoopGroup eventLoopGroup) {
+        this.warmUpEventLoopGroup = Objects.requireNonNull(eventLoopGroup, "eventLoopGroup");
+        for (DiscoveryResult server : dynamicServerResolver.getServers()) {
+            warmUpServer(server);
+        }
+    }
+
+    /**
+     * Opens {@link ConnectionPoolConfig#getWarmUpConnectionsPerEventLoop()} idle connections to the server on every
+     * event loop of the warm-up group. The connects share a global concurrency budget, and the origin reports itself
+     * as cold until they have all completed.
+     */
+    protected void warmUpServer(DiscoveryResult server) {
+        EventLoopGroup eventLoopGroup = warmUpEventLoopGroup;
+        int connectionsPerEventLoop = connPoolConfig.getWarmUpConnectionsPerEventLoop();
+        if (eventLoopGroup == null || connectionsPerEventLoop <= 0 || shuttingDown) {
+            return;
+        }
+        if (!(getOrCreateConnectionPool(server) instanceof PerServerConnectionPool pool)) {
+            return;
+        }
+
+        LOG.debug(
+                "Warming up {} connections per event loop to {} for {}",
+                connectionsPerEventLoop,
+                server.getServerId(),
+                originName);
+        for (EventExecutor executor : eventLoopGroup) {
+            EventLoop eventLoop = (EventLoop) executor;
+            for (int i = 0; i < connectionsPerEventLoop; i++) {
+                pendingWarmUpConnects.incrementAndGet();
+                ConnectionWarmUpBudget.GLOBAL.submit(() -> warmUpConnection(pool, eventLoop));
+            }
+        }
+    }
+
+    private Future<PooledConnection> warmUpConnection(PerServerConnectionPool pool, EventLoop eventLoop) {
+        Promise<PooledConnection> promise;
+        if (shuttingDown || !pool.isAvailable()) {
+            promise = eventLoop.newPromise();
+            promise.setFailure(new IllegalStateException("Connection pool is no longer available"));
+        } else {
+            promise = pool.connectIdle(eventLoop);
+        }
+
+        promise.addListener(future -> {
+            pendingWarmUpConnects.decrementAndGet();
+            if (future.isSuccess()) {
+                // Park the connection exactly as if a request had just finished with it.
+                // A null connection means the pool kept it itself, as the HTTP/2 pool does.
+                PooledConnection conn = promise.getNow();
+                if (conn != null) {
+                    releaseHandlers(conn);
+                    pool.release(conn);
+                }
+            } else {
+                LOG.debug("Warm-up connect failed for {}", originName, future.cause());
+            }
+        });
+        return promise;
     }
 
     @Override
@@ -166,7 +269,7 @@ public class DefaultClientChannelManager implements ClientChannelManager {
 
         conn.stopRequestTimer();
         metrics.releaseConnCounter().increment();
-        metrics.connsInUse().decrementAndGet();
+        decrementConnsInUse(conn);
 
         DiscoveryResult discoveryResult = conn.getServer();
         updateServerStatsOnRelease(conn);
@@ -204,11 +307,15 @@ public class DefaultClientChannelManager implements ClientChannelManager {
             conn.updateServerStats();
             conn.setInPool(false);
         } else {
-            releaseHandlers(conn);
+            if (!(conn instanceof Http2StreamConnection)) {
+                // HTTP/2 streams are closed rather than pooled, so there is no idle timer to set up.
+                releaseHandlers(conn);
+            }
 
             // Attempt to return connection to the pool.
             IConnectionPool pool = perServerPools.get(discoveryResult);
             if (pool != null) {
+                // Only a hint: an EventLoopAffineConnectionPool answers off-loop releases before they are applied.
                 released = pool.release(conn);
             } else {
                 // The pool for this server no longer exists (maybe due to it falling out of
@@ -224,6 +331,15 @@ public class DefaultClientChannelManager implements ClientChannelManager {
         return released;
     }
 
+    protected void decrementConnsInUse(PooledConnection conn) {
+        if (conn.getChannel().attr(PerServerConnectionPool.CHANNEL_ATTR).get()
+                instanceof EventLoopAffineConnectionPool pool) {
+            pool.decrementConnsInUse(conn);
+        } else {
+            metrics.connsInUse().decrementAndGet();
+        }
+    }
+
     protected boolean isConnectionExpired(long usageCount) {
         // if the connection has been around too long (i.e. too many requests), then close it
         // TODO(argha-c): Document what is a reasonable default here, and the class of origins that optimizes for
@@ -237,8 +353,20 @@ public class DefaultClientChannelManager implements ClientChannelManager {
     }
 
     protected void releaseHandlers(PooledConnection conn) {
-        ChannelPipeline pipeline = conn.getChannel().pipeline();
-        removeHandlerFromPipeline(OriginResponseReceiver.CHANNEL_HANDLER_NAME, pipeline);
+        Channel channel = conn.getChannel();
+        ChannelPipeline pipeline = channel.pipeline();
+        OriginResponseDispatcher dispatcher = OriginResponseDispatcher.fromChannel(channel);
+        if (dispatcher != null) {
+            dispatcher.unbind();
+        } else {
+            removeHandlerFromPipeline(OriginResponseReceiver.CHANNEL_HANDLER_NAME, pipeline);
+        }
+
+        PooledIdleTimer idleTimer = PooledIdleTimer.fromChannel(channel);
+        if (idleTimer != null) {
+            idleTimer.arm();
+            return;
+        }
         // The Outbound handler is always after the inbound handler, so look for it.
         ChannelHandlerContext passportStateHttpClientHandlerCtx =
                 pipeline.context(PassportStateHttpClientHandler.OutboundHandler.class);
@@ -270,6 +398,12 @@ public class DefaultClientChannelManager implements ClientChannelManager {
         } else {
             // The pool for this server no longer exists (maybe due to it failing out of
             // discovery).
+            if (conn.getChannel().attr(PerServerConnectionPool.CHANNEL_ATTR).get()
+                    instanceof EventLoopAffineConnectionPool affinePool) {
+                // The connection still sits in its event loop's slot, and is counted there, so the pool updates the
+                // count itself, even when the removal is applied later on the connection's event loop.
+                return affinePool.remove(conn);
+            }
             conn.setInPool(false);
             metrics.connsInPool().decrementAndGet();
             return false;
@@ -295,8 +429,26 @@ public class DefaultClientChannelManager implements ClientChannelManager {
             return promise;
         }
 
-        // Choose the next load-balanced server.
-        DiscoveryResult chosenServer = dynamicServerResolver.resolve(key);
+        // Choose the next load-balanced server, along with its pool when the resolver picks from a snapshot.
+        DiscoveryResult chosenServer;
+        IConnectionPool pool = null;
+        if (snapshotResolver != null) {
+            ServerPoolSnapshot snapshot = getServerPoolSnapshot(snapshotResolver);
+            int index = snapshotResolver.choose(snapshot.servers, key);
+            if (index >= 0 && !snapshot.pools[index].isAvailable()) {
+                // The server went away after the snapshot was taken, so choose again from the current servers.
+                snapshot = getServerPoolSnapshot(snapshotResolver);
+                index = snapshotResolver.choose(snapshot.servers, key);
+            }
+            if (index < 0) {
+                chosenServer = DiscoveryResult.EMPTY;
+            } else {
+                chosenServer = snapshot.servers.get(index);
+                pool = snapshot.pools[index];
+            }
+        } else {
+            chosenServer = dynamicServerResolver.resolve(key);
+        }
 
         // (argha-c): Always ensure the selected server is updated, since the call chain relies on this mutation.
         selectedServer.set(chosenServer);
@@ -307,8 +459,62 @@ public class DefaultClientChannelManager implements ClientChannelManager {
             return promise;
         }
 
-        // Now get the connection-pool for this server.
-        IConnectionPool pool = perServerPools.computeIfAbsent(chosenServer, s -> {
+        // Now get the connection-pool for this server, going back to the map if the snapshot's pool started draining.
+        if (pool == null || !pool.isAvailable()) {
+            pool = getOrCreateConnectionPool(chosenServer);
+        }
+
+        return pool.acquire(eventLoop, passport, selectedHostAddr);
+    }
+
+    /**
+     * Returns the pools for the resolver's current snapshot, building them the first time a snapshot is seen. Racing
+     * builders produce equal results, as pools are still created through {@link #perServerPools}.
+     *
+     * <p>The resolver swaps in its new snapshot before {@link ServerPoolListener} removes the pools of servers that
+     * have gone. A build that overlaps a removal may have created a pool again for one of those servers, so it is
+     * thrown away, along with any such pool, and redone from the servers now listed.
+     */
+    private ServerPoolSnapshot getServerPoolSnapshot(SnapshotResolver resolver) {
+        while (true) {
+            // Read before the servers, so that a removal the servers don't yet reflect is always seen below.
+            long generation = serverPoolGeneration.get();
+            ServerSnapshot servers = resolver.snapshot();
+            ServerPoolSnapshot current = serverPoolSnapshot.get();
+            if (current != null && current.servers == servers) {
+                return current;
+            }
+
+            IConnectionPool[] pools = new IConnectionPool[servers.size()];
+            for (int i = 0; i < pools.length; i++) {
+                pools[i] = getOrCreateConnectionPool(servers.get(i));
+            }
+            ServerPoolSnapshot built = new ServerPoolSnapshot(servers, pools);
+            if (serverPoolGeneration.get() == generation) {
+                // Losing to another build of the same or a newer snapshot is fine; this one is still usable.
+                serverPoolSnapshot.compareAndSet(current, built);
+                return built;
+            }
+            removePoolsOfUnlistedServers(servers, pools);
+        }
+    }
+
+    /**
+     * Shuts down the given pools of servers no longer in the server list. Servers that are only unreachable are still
+     * listed, so their pools are kept.
+     */
+    private void removePoolsOfUnlistedServers(ServerSnapshot servers, IConnectionPool[] pools) {
+        Set<DiscoveryResult> listed = new HashSet<>(dynamicServerResolver.getServers());
+        for (int i = 0; i < pools.length; i++) {
+            DiscoveryResult server = servers.get(i);
+            if (!listed.contains(server) && perServerPools.remove(server, pools[i])) {
+                pools[i].shutdown();
+            }
+        }
+    }
+
+    protected IConnectionPool getOrCreateConnectionPool(DiscoveryResult chosenServer) {
+        return perServerPools.computeIfAbsent(chosenServer, s -> {
             SocketAddress finalServerAddr = pickAddress(chosenServer);
             ClientChannelManager clientChannelMgr = this;
             PooledConnectionFactory pcf = createPooledConnectionFactory(
@@ -334,8 +540,6 @@ public class DefaultClientChannelManager implements ClientChannelManager {
                     metrics.connsInPool(),
                     metrics.connsInUse());
         });
-
-        return pool.acquire(eventLoop, passport, selectedHostAddr);
     }
 
     protected PooledConnectionFactory createPooledConnectionFactory(
@@ -343,8 +547,13 @@ public class DefaultClientChannelManager implements ClientChannelManager {
             ClientChannelManager clientChannelMgr,
             Counter closeConnCounter,
             Counter closeWrtBusyConnCounter) {
-        return ch ->
-                new PooledConnection(ch, chosenServer, clientChannelMgr, closeConnCounter, closeWrtBusyConnCounter);
+        return ch -> {
+            if (ch instanceof Http2StreamChannel stream) {
+                return new Http2StreamConnection(
+                        stream, chosenServer, clientChannelMgr, closeConnCounter, closeWrtBusyConnCounter);
+            }
+            return new PooledConnection(ch, chosenServer, clientChannelMgr, closeConnCounter, closeWrtBusyConnCounter);
+        };
     }
 
     protected IConnectionPool createConnectionPool(
@@ -365,6 +574,53 @@ public class DefaultClientChannelManager implements ClientChannelManager {
             PercentileTimer connEstablishTimer,
             AtomicInteger connsInPool,
             AtomicInteger connsInUse) {
+        if (connPoolConfig.useHttp2()) {
+            if (channelInitializer instanceof Http2OriginChannelInitializer http2ChannelInitializer) {
+                return new Http2ConnectionPool(
+                        discoveryResult,
+                        serverAddr,
+                        clientConnFactory,
+                        pcf,
+                        http2ChannelInitializer.getStreamChannelInitializer(),
+                        connPoolConfig,
+                        clientConfig,
+                        createNewConnCounter,
+                        createConnSucceededCounter,
+                        createConnFailedCounter,
+                        requestConnCounter,
+                        reuseConnCounter,
+                        connTakenFromPoolIsNotOpen,
+                        closeAbovePoolHighWaterMarkCounter,
+                        maxConnsPerHostExceededCounter,
+                        connEstablishTimer,
+                        connsInPool,
+                        connsInUse);
+            }
+            LOG.warn(
+                    "HTTP/2 is enabled for {}, but the channel initializer {} does not set up HTTP/2. Using HTTP/1.1.",
+                    originName,
+                    channelInitializer.getClass().getName());
+        }
+        if (connPoolConfig.useEventLoopAffinePool()) {
+            return new EventLoopAffineConnectionPool(
+                    discoveryResult,
+                    serverAddr,
+                    clientConnFactory,
+                    pcf,
+                    connPoolConfig,
+                    clientConfig,
+                    createNewConnCounter,
+                    createConnSucceededCounter,
+                    createConnFailedCounter,
+                    requestConnCounter,
+                    reuseConnCounter,
+                    connTakenFromPoolIsNotOpen,
+                    closeAbovePoolHighWaterMarkCounter,
+                    maxConnsPerHostExceededCounter,
+                    connEstablishTimer,
+                    connsInPool,
+                    connsInUse);
+        }
         return new PerServerConnectionPool(
                 discoveryResult,
                 serverAddr,
@@ -380,6 +636,7 @@ public class DefaultClientChannelManager implements ClientChannelManager {
                 connTakenFromPoolIsNotOpen,
                 closeAbovePoolHighWaterMarkCounter,
                 maxConnsPerHostExceededCounter,
+                metrics.stealConnCounter(),
                 connEstablishTimer,
                 connsInPool,
                 connsInUse);
@@ -393,6 +650,9 @@ public class DefaultClientChannelManager implements ClientChannelManager {
                         "Removing connection pools for missing servers. name = {}. {} servers gone.",
                         originName,
                         removedSet.size());
+                // Don't hand out pools that are about to be shut down.
+                serverPoolGeneration.incrementAndGet();
+                serverPoolSnapshot.set(null);
                 for (DiscoveryResult s : removedSet) {
                     IConnectionPool pool = perServerPools.remove(s);
                     if (pool != null) {
@@ -401,16 +661,48 @@ public class DefaultClientChannelManager implements ClientChannelManager {
                 }
             }
         }
+
+        @Override
+        public void onChange(List<DiscoveryResult> removedSet, List<DiscoveryResult> addedSet) {
+            onChange(removedSet);
+            for (DiscoveryResult s : addedSet) {
+                warmUpServer(s);
+            }
+        }
     }
 
     @Override
     public int getConnsInPool() {
-        return metrics.connsInPool().get();
+        return metrics.connsInPool().get() + getEventLoopAffineConnsInPool();
     }
 
     @Override
     public int getConnsInUse() {
-        return metrics.connsInUse().get();
+        return metrics.connsInUse().get() + getEventLoopAffineConnsInUse();
+    }
+
+    /**
+     * {@link EventLoopAffineConnectionPool}s keep striped counts instead of updating the shared gauges, so they are
+     * summed here only when the metrics are read.
+     */
+    private int getEventLoopAffineConnsInPool() {
+        int total = 0;
+        for (IConnectionPool pool : perServerPools.values()) {
+            if (pool instanceof EventLoopAffineConnectionPool) {
+                total += pool.getConnsInPool();
+            }
+        }
+        return total;
+    }
+
+    private int getEventLoopAffineConnsInUse() {
+        int total = 0;
+        for (IConnectionPool pool : perServerPools.values()) {
+            if (pool instanceof EventLoopAffineConnectionPool) {
+                total += pool.getConnsInUse();
+            }
+        }
+        return total;
     }
 
     protected ConcurrentHashMap<DiscoveryResult, IConnectionPool> getPerServerPools() {
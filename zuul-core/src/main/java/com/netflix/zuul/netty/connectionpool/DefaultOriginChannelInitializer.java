@@ -22,6 +22,7 @@ import com.netflix.spectator.api.Registry;
 import com.netflix.zuul.netty.insights.PassportStateHttpClientHandler;
 import com.netflix.zuul.netty.insights.PassportStateOriginHandler;
 import com.netflix.zuul.netty.server.BaseZuulChannelInitializer;
+import com.netflix.zuul.netty.server.OriginResponseDispatcher;
 import com.netflix.zuul.netty.ssl.ClientSslContextFactory;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelPipeline;
@@ -29,6 +30,7 @@ import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslContext;
+import java.time.Duration;
 
 /**
  * Default Origin Channel Initializer
@@ -77,6 +79,11 @@ public class DefaultOriginChannelInitializer extends OriginChannelInitializer {
                         false));
         pipeline.addLast(new PassportStateHttpClientHandler.InboundHandler());
         pipeline.addLast(new PassportStateHttpClientHandler.OutboundHandler());
+        if (connectionPoolConfig.useStablePipeline()) {
+            pipeline.addLast(
+                    PooledIdleTimer.HANDLER_NAME,
+                    new PooledIdleTimer(Duration.ofMillis(connectionPoolConfig.getIdleTimeout())));
+        }
         pipeline.addLast(ORIGIN_NETTY_LOGGER, nettyLogger);
         pipeline.addLast(httpMetricsHandler);
         addMethodBindingHandler(pipeline);
@@ -84,6 +91,9 @@ public class DefaultOriginChannelInitializer extends OriginChannelInitializer {
         pipeline.addLast(HttpClientLifecycleChannelHandler.OUTBOUND_CHANNEL_HANDLER);
         pipeline.addLast(new ClientTimeoutHandler.InboundHandler());
         pipeline.addLast(new ClientTimeoutHandler.OutboundHandler());
+        if (connectionPoolConfig.useStablePipeline()) {
+            pipeline.addLast(OriginResponseDispatcher.CHANNEL_HANDLER_NAME, new OriginResponseDispatcher());
+        }
         pipeline.addLast(CONNECTION_POOL_HANDLER, connectionPoolHandler);
     }
 
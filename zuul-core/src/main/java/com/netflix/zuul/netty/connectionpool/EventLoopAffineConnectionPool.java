@@ -0,0 +1,367 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Timer;
+import com.netflix.zuul.discovery.DiscoveryResult;
+import com.netflix.zuul.passport.CurrentPassport;
+import com.netflix.zuul.passport.PassportState;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link PerServerConnectionPool} where every event loop owns a preallocated, array-backed stack of idle
+ * connections. The stack is only ever touched from its owning event loop, so acquire and release need neither
+ * locks nor CAS loops, and don't allocate deque nodes.
+ *
+ * <p>The in-use and in-pool counts are striped per event loop as well. Each stripe has a single writer, and the
+ * stripes are only summed when {@link #getConnsInUse()} or {@link #getConnsInPool()} are read. The shared origin-wide
+ * gauges passed to the constructor are therefore never updated by this pool; {@link DefaultClientChannelManager}
+ * aggregates this pool into its own counts instead.
+ *
+ * <p>Selected with {@link ConnectionPoolConfig#useEventLoopAffinePool()}.
+ */
+public class EventLoopAffineConnectionPool extends PerServerConnectionPool {
+    private static final Logger LOG = LoggerFactory.getLogger(EventLoopAffineConnectionPool.class);
+
+    /** Initial stack capacity used when no per-server waterline is configured. */
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    protected final ConcurrentHashMap<EventLoop, EventLoopSlot> slots = new ConcurrentHashMap<>();
+
+    public EventLoopAffineConnectionPool(
+            DiscoveryResult server,
+            SocketAddress serverAddr,
+            NettyClientConnectionFactory connectionFactory,
+            PooledConnectionFactory pooledConnectionFactory,
+            ConnectionPoolConfig config,
+            IClientConfig niwsClientConfig,
+            Counter createNewConnCounter,
+            Counter createConnSucceededCounter,
+            Counter createConnFailedCounter,
+            Counter requestConnCounter,
+            Counter reuseConnCounter,
+            Counter connTakenFromPoolIsNotOpen,
+            Counter closeAboveHighWaterMarkCounter,
+            Counter maxConnsPerHostExceededCounter,
+            Timer connEstablishTimer,
+            AtomicInteger connsInPool,
+            AtomicInteger connsInUse) {
+        super(
+                server,
+                serverAddr,
+                connectionFactory,
+                pooledConnectionFactory,
+                config,
+                niwsClientConfig,
+                createNewConnCounter,
+                createConnSucceededCounter,
+                createConnFailedCounter,
+                requestConnCounter,
+                reuseConnCounter,
+                connTakenFromPoolIsNotOpen,
+                closeAboveHighWaterMarkCounter,
+                maxConnsPerHostExceededCounter,
+                connEstablishTimer,
+                connsInPool,
+                connsInUse);
+    }
+
+    @Override
+    @Nullable
+    public PooledConnection tryGettingFromConnectionPool(EventLoop eventLoop) {
+        if (!eventLoop.inEventLoop()) {
+            // The stack is owned by the event loop, so treat an off-loop acquire as a miss.
+            return null;
+        }
+
+        EventLoopSlot slot = getSlotForEventLoop(eventLoop);
+        PooledConnection conn;
+        while ((conn = slot.pop()) != null) {
+            conn.setInPool(false);
+            slot.decrementInPool();
+
+            /* Check that the connection is still open. */
+            if (isValidFromPool(conn)) {
+                reuseConnCounter.increment();
+                slot.incrementInUse();
+                return conn;
+            } else {
+                connTakenFromPoolIsNotOpen.increment();
+                conn.close();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void incrementConnsInUse(Channel channel) {
+        EventLoop eventLoop = channel.eventLoop();
+        EventLoopSlot slot = getSlotForEventLoop(eventLoop);
+        if (eventLoop.inEventLoop()) {
+            slot.incrementInUse();
+        } else {
+            eventLoop.execute(slot::incrementInUse);
+        }
+    }
+
+    /**
+     * Called by the channel manager when a connection acquired from this pool is given back, regardless of whether it
+     * is subsequently returned to the pool or closed.
+     */
+    public void decrementConnsInUse(PooledConnection conn) {
+        EventLoop eventLoop = conn.getChannel().eventLoop();
+        EventLoopSlot slot = getSlotForEventLoop(eventLoop);
+        if (eventLoop.inEventLoop()) {
+            slot.decrementInUse();
+        } else {
+            eventLoop.execute(slot::decrementInUse);
+        }
+    }
+
+    /**
+     * Returns the connection to its event loop's stack. Called off that loop, the work is handed to the loop and
+     * {@code true} is returned before it runs, so the result is optimistic: the loop may still close the connection,
+     * if the stack is above the waterline or the pool has started draining. The loop keeps the in-pool count itself,
+     * so callers must not adjust any counts based on the result.
+     */
+    @Override
+    public boolean release(PooledConnection conn) {
+        if (conn == null) {
+            return false;
+        }
+        if (conn.isInPool()) {
+            return false;
+        }
+
+        if (draining) {
+            LOG.debug(
+                    "[{}] closing released connection during drain",
+                    conn.getChannel().id());
+            conn.getChannel().close();
+            return false;
+        }
+
+        EventLoop eventLoop = conn.getChannel().eventLoop();
+        if (!eventLoop.inEventLoop()) {
+            eventLoop.execute(() -> release(conn));
+            return true;
+        }
+
+        EventLoopSlot slot = getSlotForEventLoop(eventLoop);
+
+        // Discard conn if already at least above waterline in the pool already for this server.
+        if (isOverPerServerWaterline(slot.size())) {
+            closeAboveHighWaterMarkCounter.increment();
+            conn.close();
+            conn.setInPool(false);
+            return false;
+        }
+
+        slot.push(conn);
+        conn.setInPool(true);
+        slot.incrementInPool();
+        CurrentPassport.fromChannel(conn.getChannel()).add(PassportState.ORIGIN_CH_POOL_RETURNED);
+        return true;
+    }
+
+    /**
+     * Takes the connection out of its event loop's stack. As with {@link #release(PooledConnection)}, the result is
+     * optimistic when called off that loop, as the connection may have already been popped by the time the loop gets
+     * to it. The in-pool count is only ever updated on the loop.
+     */
+    @Override
+    public boolean remove(PooledConnection conn) {
+        if (conn == null) {
+            return false;
+        }
+        if (!conn.isInPool()) {
+            return false;
+        }
+
+        EventLoop eventLoop = conn.getChannel().eventLoop();
+        if (!eventLoop.inEventLoop()) {
+            eventLoop.execute(() -> remove(conn));
+            return true;
+        }
+
+        EventLoopSlot slot = getSlotForEventLoop(eventLoop);
+        if (slot.remove(conn)) {
+            conn.setInPool(false);
+            slot.decrementInPool();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        for (EventLoopSlot slot : slots.values()) {
+            slot.eventLoop.execute(() -> {
+                PooledConnection conn;
+                while ((conn = slot.pop()) != null) {
+                    conn.setInPool(false);
+                    slot.decrementInPool();
+                    conn.close();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void drain() {
+        if (draining) {
+            throw new IllegalStateException("Already draining");
+        }
+
+        draining = true;
+        slots.forEach((eventLoop, v) -> drainIdleConnectionsOnEventLoop(eventLoop));
+    }
+
+    @Override
+    void drainIdleConnectionsOnEventLoop(EventLoop eventLoop) {
+        eventLoop.execute(() -> {
+            EventLoopSlot slot = slots.get(eventLoop);
+            if (slot == null) {
+                return;
+            }
+
+            PooledConnection connection;
+            while ((connection = slot.pop()) != null) {
+                connection.setInPool(false);
+                LOG.debug("Closing connection {}", connection);
+                connection.close();
+                slot.decrementInPool();
+            }
+        });
+    }
+
+    @Override
+    public int getConnsInPool() {
+        int total = 0;
+        for (EventLoopSlot slot : slots.values()) {
+            total += slot.inPool.get();
+        }
+        return total;
+    }
+
+    @Override
+    public int getConnsInUse() {
+        int total = 0;
+        for (EventLoopSlot slot : slots.values()) {
+            total += slot.inUse.get();
+        }
+        return total;
+    }
+
+    @VisibleForTesting
+    EventLoopSlot getSlotForEventLoop(EventLoop eventLoop) {
+        // As in the parent, avoid CHM.computeIfAbsent() so that the lookup never blocks.
+        EventLoopSlot slot = slots.get(eventLoop);
+        if (slot == null) {
+            slot = new EventLoopSlot(eventLoop, initialCapacity());
+            EventLoopSlot existing = slots.putIfAbsent(eventLoop, slot);
+            if (existing != null) {
+                slot = existing;
+            }
+        }
+        return slot;
+    }
+
+    private int initialCapacity() {
+        int waterline = config.perServerWaterline();
+        return waterline > 0 ? waterline : DEFAULT_INITIAL_CAPACITY;
+    }
+
+    /**
+     * The idle connections and counters owned by a single event loop. Only the owning event loop mutates a slot; the
+     * counters are published with lazySet so that metric readers on other threads see a recent value without the
+     * writer paying for a full fence.
+     */
+    static final class EventLoopSlot {
+        final EventLoop eventLoop;
+        final AtomicInteger inPool = new AtomicInteger();
+        final AtomicInteger inUse = new AtomicInteger();
+
+        private PooledConnection[] stack;
+        private int size;
+
+        EventLoopSlot(EventLoop eventLoop, int initialCapacity) {
+            this.eventLoop = eventLoop;
+            this.stack = new PooledConnection[initialCapacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void push(PooledConnection conn) {
+            if (size == stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[size++] = conn;
+        }
+
+        @Nullable
+        PooledConnection pop() {
+            if (size == 0) {
+                return null;
+            }
+            PooledConnection conn = stack[--size];
+            stack[size] = null;
+            return conn;
+        }
+
+        boolean remove(PooledConnection conn) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (stack[i] == conn) {
+                    System.arraycopy(stack, i + 1, stack, i, size - i - 1);
+                    stack[--size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void incrementInPool() {
+            inPool.lazySet(inPool.get() + 1);
+        }
+
+        void decrementInPool() {
+            inPool.lazySet(inPool.get() - 1);
+        }
+
+        void incrementInUse() {
+            inUse.lazySet(inUse.get() + 1);
+        }
+
+        void decrementInUse() {
+            inUse.lazySet(inUse.get() - 1);
+        }
+    }
+}
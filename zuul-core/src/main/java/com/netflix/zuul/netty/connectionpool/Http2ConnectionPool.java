@@ -0,0 +1,513 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Timer;
+import com.netflix.zuul.discovery.DiscoveryResult;
+import com.netflix.zuul.exception.OutboundErrorType;
+import com.netflix.zuul.passport.CurrentPassport;
+import com.netflix.zuul.passport.PassportState;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.net.InetAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link PerServerConnectionPool} for origins spoken to over HTTP/2. Each connection carries many requests at once,
+ * each on its own stream, so rather than pooling idle connections this pool hands out a new stream on an existing
+ * connection that has room for one.
+ *
+ * <p>A connection has room while it has fewer active streams than the lower of
+ * {@link ConnectionPoolConfig#getMaxConcurrentStreamsPerConnection()} and the origin's SETTINGS_MAX_CONCURRENT_STREAMS,
+ * hasn't received a GOAWAY, and hasn't yet carried {@link ConnectionPoolConfig#getMaxRequestsPerConnection()} streams.
+ * A new connection is only opened when none on the event loop have room, and requests arriving while it is being
+ * established wait for it rather than opening connections of their own.
+ * {@link ConnectionPoolConfig#maxConnectionsPerHost()} therefore bounds connections, not concurrent requests.
+ *
+ * <p>As with the HTTP/1 pool, connections belong to the event loop they were opened on and are only touched from it.
+ * The acquired {@link PooledConnection} is an {@link Http2StreamConnection} wrapping the stream child channel, and
+ * releasing it ends the stream. Connections are closed once idle for {@link ConnectionPoolConfig#getIdleTimeout()}
+ * with no active streams.
+ *
+ * <p>Selected with {@link ConnectionPoolConfig#useHttp2()}.
+ */
+public class Http2ConnectionPool extends PerServerConnectionPool {
+    private static final Logger LOG = LoggerFactory.getLogger(Http2ConnectionPool.class);
+
+    protected final ChannelHandler streamChannelInitializer;
+    protected final ConcurrentHashMap<EventLoop, EventLoopConnections> connectionsByEventLoop =
+            new ConcurrentHashMap<>();
+
+    public Http2ConnectionPool(
+            DiscoveryResult server,
+            SocketAddress serverAddr,
+            NettyClientConnectionFactory connectionFactory,
+            PooledConnectionFactory pooledConnectionFactory,
+            ChannelHandler streamChannelInitializer,
+            ConnectionPoolConfig config,
+            IClientConfig niwsClientConfig,
+            Counter createNewConnCounter,
+            Counter createConnSucceededCounter,
+            Counter createConnFailedCounter,
+            Counter requestConnCounter,
+            Counter reuseConnCounter,
+            Counter connTakenFromPoolIsNotOpen,
+            Counter closeAboveHighWaterMarkCounter,
+            Counter maxConnsPerHostExceededCounter,
+            Timer connEstablishTimer,
+            AtomicInteger connsInPool,
+            AtomicInteger connsInUse) {
+        super(
+                server,
+                serverAddr,
+                connectionFactory,
+                pooledConnectionFactory,
+                config,
+                niwsClientConfig,
+                createNewConnCounter,
+                createConnSucceededCounter,
+                createConnFailedCounter,
+                requestConnCounter,
+                reuseConnCounter,
+                connTakenFromPoolIsNotOpen,
+                closeAboveHighWaterMarkCounter,
+                maxConnsPerHostExceededCounter,
+                connEstablishTimer,
+                connsInPool,
+                connsInUse);
+        this.streamChannelInitializer = streamChannelInitializer;
+    }
+
+    @Override
+    public Promise<PooledConnection> acquire(
+            EventLoop eventLoop, CurrentPassport passport, AtomicReference<? super InetAddress> selectedHostAddr) {
+
+        if (draining) {
+            throw new IllegalStateException("Attempt to acquire connection while draining");
+        }
+
+        requestConnCounter.increment();
+        updateServerStatsOnAcquire();
+
+        Promise<PooledConnection> promise = eventLoop.newPromise();
+        if (eventLoop.inEventLoop()) {
+            acquireStream(eventLoop, passport, selectedHostAddr, promise);
+        } else {
+            eventLoop.execute(() -> acquireStream(eventLoop, passport, selectedHostAddr, promise));
+        }
+        return promise;
+    }
+
+    private void acquireStream(
+            EventLoop eventLoop,
+            CurrentPassport passport,
+            AtomicReference<? super InetAddress> selectedHostAddr,
+            Promise<PooledConnection> promise) {
+        EventLoopConnections connections = getConnectionsForEventLoop(eventLoop);
+
+        ParentConnection parent = connections.findAvailable();
+        if (parent != null) {
+            reuseConnCounter.increment();
+            openStream(parent, passport, selectedHostAddr, promise);
+            return;
+        }
+
+        // Wait for a connection already being established, unless enough requests are already waiting to fill it.
+        Future<ParentConnection> pending = connections.pendingConnect;
+        if (pending == null || connections.pendingStreams >= config.getMaxConcurrentStreamsPerConnection()) {
+            if (!isWithinConnectionLimit(promise)) {
+                return;
+            }
+            pending = connectParent(eventLoop, connections);
+            if (!pending.isDone()) {
+                connections.pendingConnect = pending;
+                connections.pendingStreams = 0;
+            }
+        }
+        connections.pendingStreams++;
+        passport.add(PassportState.ORIGIN_CH_CONNECTING);
+
+        Future<ParentConnection> connectFuture = pending;
+        connectFuture.addListener(f -> {
+            if (connectFuture.isSuccess()) {
+                passport.add(PassportState.ORIGIN_CH_CONNECTED);
+                ParentConnection connected = connectFuture.getNow();
+                if (connected.canOpenStream()) {
+                    openStream(connected, passport, selectedHostAddr, promise);
+                } else {
+                    // The origin allows fewer streams than were waiting, or has already sent a GOAWAY, so this
+                    // request goes back round to find another connection or open a new one.
+                    acquireStream(eventLoop, passport, selectedHostAddr, promise);
+                }
+            } else {
+                server.decrementActiveRequestsCount();
+                promise.setFailure(toConnectException(connectFuture.cause()));
+            }
+        });
+    }
+
+    /**
+     * Opens a new connection on the given event loop and, once it is established, adds it to that loop's
+     * connections so that streams can be opened on it.
+     */
+    private Future<ParentConnection> connectParent(EventLoop eventLoop, EventLoopConnections connections) {
+        Promise<ParentConnection> promise = eventLoop.newPromise();
+
+        createNewConnCounter.increment();
+        connCreationsInProgress.incrementAndGet();
+        // The connection outlives any one request, so it gets a passport of its own.
+        CurrentPassport passport = CurrentPassport.create();
+        passport.add(PassportState.ORIGIN_CH_CONNECTING);
+
+        long connectStartNanos = System.nanoTime();
+        ChannelFuture cf;
+        try {
+            cf = connectToServer(eventLoop, passport, serverAddr);
+        } catch (Throwable e) {
+            connCreationsInProgress.decrementAndGet();
+            createConnFailedCounter.increment();
+            promise.setFailure(e);
+            return promise;
+        }
+
+        cf.addListener(f -> {
+            connCreationsInProgress.decrementAndGet();
+            if (connections.pendingConnect == promise) {
+                connections.pendingConnect = null;
+                connections.pendingStreams = 0;
+            }
+
+            if (cf.isSuccess()) {
+                passport.add(PassportState.ORIGIN_CH_CONNECTED);
+                server.incrementOpenConnectionsCount();
+                server.noteConnectTime((double) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStartNanos));
+                createConnSucceededCounter.increment();
+                addParent(connections, cf.channel(), promise);
+            } else {
+                server.incrementSuccessiveConnectionFailureCount();
+                server.addToFailureCount();
+                createConnFailedCounter.increment();
+                promise.setFailure(cf.cause());
+            }
+        });
+        return promise;
+    }
+
+    private void addParent(EventLoopConnections connections, Channel channel, Promise<ParentConnection> promise) {
+        Http2FrameCodec frameCodec = channel.pipeline().get(Http2FrameCodec.class);
+        if (frameCodec == null) {
+            channel.close();
+            promise.setFailure(new IllegalStateException("Origin channel has no Http2FrameCodec: " + channel));
+            return;
+        }
+
+        ParentConnection parent = new ParentConnection(channel, frameCodec.connection(), connections);
+        // First in the pipeline, so that it sees every byte read or written regardless of which stream it is for.
+        channel.pipeline()
+                .addFirst(
+                        DefaultClientChannelManager.IDLE_STATE_HANDLER_NAME,
+                        new IdleStateHandler(0, 0, config.getIdleTimeout(), TimeUnit.MILLISECONDS));
+        channel.pipeline().addLast(parent);
+        connections.parents.add(parent);
+        channel.closeFuture().addListener(f -> {
+            connections.parents.remove(parent);
+            server.decrementOpenConnectionsCount();
+        });
+        promise.setSuccess(parent);
+    }
+
+    private void openStream(
+            ParentConnection parent,
+            CurrentPassport passport,
+            AtomicReference<? super InetAddress> selectedHostAddr,
+            Promise<PooledConnection> promise) {
+        parent.streamOpened();
+        selectedHostAddr.set(getSelectedHostString(serverAddr));
+
+        Future<Http2StreamChannel> streamFuture = new Http2StreamChannelBootstrap(parent.channel)
+                .handler(streamChannelInitializer)
+                .option(ChannelOption.AUTO_READ, config.getNettyAutoRead())
+                .attr(PerServerConnectionPool.CHANNEL_ATTR, this)
+                .attr(CurrentPassport.CHANNEL_ATTR, passport)
+                .open();
+        streamFuture.addListener(f -> {
+            if (streamFuture.isSuccess()) {
+                Http2StreamChannel stream = streamFuture.getNow();
+                stream.closeFuture().addListener(c -> parent.streamClosed());
+                incrementConnsInUse(stream);
+                createConnection(stream, promise, passport);
+            } else {
+                parent.streamClosed();
+                server.decrementActiveRequestsCount();
+                promise.setFailure(toConnectException(streamFuture.cause()));
+            }
+        });
+    }
+
+    private void createConnection(
+            Http2StreamChannel stream, Promise<PooledConnection> callerPromise, CurrentPassport passport) {
+        PooledConnection conn = pooledConnectionFactory.create(stream);
+
+        conn.incrementUsageCount();
+        conn.startRequestTimer();
+        stream.read();
+        onAcquire(conn, passport);
+        callerPromise.setSuccess(conn);
+    }
+
+    private static OriginConnectException toConnectException(Throwable cause) {
+        if (cause instanceof OriginConnectException oce) {
+            return oce;
+        }
+        // unwrap DecoderExceptions to get a better indication of why decoding failed
+        // as decoding failures are not indicative of actual connection causes
+        if (cause instanceof DecoderException de && de.getCause() != null) {
+            return new OriginConnectException(
+                    de.getCause().getMessage(), de.getCause(), OutboundErrorType.CONNECT_ERROR);
+        }
+        return new OriginConnectException(cause.getMessage(), cause, OutboundErrorType.CONNECT_ERROR);
+    }
+
+    /**
+     * Opens a connection without any streams on it, for warming the pool ahead of traffic. The connection is kept by
+     * this pool, so the returned promise completes with {@code null}.
+     */
+    @Override
+    public Promise<PooledConnection> connectIdle(EventLoop eventLoop) {
+        Promise<PooledConnection> promise = eventLoop.newPromise();
+        if (draining) {
+            promise.setFailure(new IllegalStateException("Attempt to warm up connection while draining"));
+            return promise;
+        }
+
+        int maxConnectionsPerHost = config.maxConnectionsPerHost();
+        int openAndOpeningConnectionCount = server.getOpenConnectionsCount() + connCreationsInProgress.get();
+        if (maxConnectionsPerHost != -1 && openAndOpeningConnectionCount >= maxConnectionsPerHost) {
+            promise.setFailure(new OriginConnectException(
+                    "maxConnectionsPerHost=" + maxConnectionsPerHost + ", connectionsPerHost="
+                            + openAndOpeningConnectionCount,
+                    OutboundErrorType.ORIGIN_SERVER_MAX_CONNS));
+            return promise;
+        }
+
+        Future<ParentConnection> connectFuture = connectParent(eventLoop, getConnectionsForEventLoop(eventLoop));
+        connectFuture.addListener(f -> {
+            if (connectFuture.isSuccess()) {
+                promise.setSuccess(null);
+            } else {
+                promise.setFailure(toConnectException(connectFuture.cause()));
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    @Nullable
+    public PooledConnection tryGettingFromConnectionPool(EventLoop eventLoop) {
+        // Streams are never pooled.
+        return null;
+    }
+
+    @Override
+    public boolean release(PooledConnection conn) {
+        if (conn == null) {
+            return false;
+        }
+
+        // A stream can't be reused, so end it. Its connection stays open for the next one.
+        conn.setInPool(false);
+        conn.close();
+        return false;
+    }
+
+    @Override
+    public boolean remove(PooledConnection conn) {
+        return false;
+    }
+
+    @Override
+    public void shutdown() {
+        connectionsByEventLoop.forEach((eventLoop, connections) -> eventLoop.execute(() -> {
+            for (ParentConnection parent : new ArrayList<>(connections.parents)) {
+                parent.channel.close();
+            }
+        }));
+    }
+
+    @Override
+    public void drain() {
+        if (draining) {
+            throw new IllegalStateException("Already draining");
+        }
+
+        draining = true;
+        connectionsByEventLoop.forEach((eventLoop, v) -> drainIdleConnectionsOnEventLoop(eventLoop));
+    }
+
+    /**
+     * Closes connections with no active streams. Connections still carrying streams are closed when their last stream
+     * ends.
+     */
+    @Override
+    void drainIdleConnectionsOnEventLoop(EventLoop eventLoop) {
+        eventLoop.execute(() -> {
+            EventLoopConnections connections = connectionsByEventLoop.get(eventLoop);
+            if (connections == null) {
+                return;
+            }
+
+            for (ParentConnection parent : new ArrayList<>(connections.parents)) {
+                if (parent.activeStreams == 0) {
+                    LOG.debug("Closing connection {}", parent.channel);
+                    parent.channel.close();
+                }
+            }
+        });
+    }
+
+    @VisibleForTesting
+    EventLoopConnections getConnectionsForEventLoop(EventLoop eventLoop) {
+        // As in the parent, avoid CHM.computeIfAbsent() so that the lookup never blocks.
+        EventLoopConnections connections = connectionsByEventLoop.get(eventLoop);
+        if (connections == null) {
+            connections = new EventLoopConnections();
+            EventLoopConnections existing = connectionsByEventLoop.putIfAbsent(eventLoop, connections);
+            if (existing != null) {
+                connections = existing;
+            }
+        }
+        return connections;
+    }
+
+    /**
+     * The connections owned by a single event loop, and the connect currently in progress on it, if any. Only touched
+     * from the owning event loop.
+     */
+    @VisibleForTesting
+    final class EventLoopConnections {
+        final List<ParentConnection> parents = new ArrayList<>();
+
+        @Nullable
+        Future<ParentConnection> pendingConnect;
+
+        int pendingStreams;
+
+        /** Picks the first connection with room, so that streams pack onto few connections and the rest idle out. */
+        @Nullable
+        ParentConnection findAvailable() {
+            for (int i = 0; i < parents.size(); i++) {
+                ParentConnection parent = parents.get(i);
+                if (parent.canOpenStream()) {
+                    return parent;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A single multiplexed connection and its stream counts. It sits at the end of the connection's pipeline so that
+     * it can close the connection on idle timeout, but only if no streams are active.
+     */
+    @VisibleForTesting
+    final class ParentConnection extends ChannelInboundHandlerAdapter {
+        final Channel channel;
+        private final Http2Connection connection;
+        private final EventLoopConnections owner;
+
+        int activeStreams;
+        long streamsOpened;
+
+        ParentConnection(Channel channel, Http2Connection connection, EventLoopConnections owner) {
+            this.channel = channel;
+            this.connection = connection;
+            this.owner = owner;
+        }
+
+        boolean canOpenStream() {
+            if (!channel.isActive() || connection.goAwayReceived() || isExhausted()) {
+                return false;
+            }
+            int maxStreams = Math.min(
+                    config.getMaxConcurrentStreamsPerConnection(),
+                    connection.local().maxActiveStreams());
+            return activeStreams < maxStreams && connection.local().canOpenStream();
+        }
+
+        private boolean isExhausted() {
+            return streamsOpened >= config.getMaxRequestsPerConnection();
+        }
+
+        void streamOpened() {
+            activeStreams++;
+            streamsOpened++;
+        }
+
+        void streamClosed() {
+            activeStreams--;
+            if (activeStreams == 0 && (draining || isExhausted() || connection.goAwayReceived())) {
+                // Nothing more will be sent on this connection, so don't wait for the idle timeout.
+                owner.parents.remove(this);
+                channel.close();
+            }
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                if (activeStreams == 0) {
+                    LOG.debug("Closing idle HTTP/2 origin connection {}", channel);
+                    ctx.close();
+                }
+                return;
+            }
+            super.userEventTriggered(ctx, evt);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            LOG.debug("Closing HTTP/2 origin connection {} after error", channel, cause);
+            ctx.close();
+        }
+    }
+}
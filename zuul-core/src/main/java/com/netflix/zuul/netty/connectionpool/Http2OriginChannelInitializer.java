@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import com.netflix.netty.common.HttpClientLifecycleChannelHandler;
+import com.netflix.netty.common.metrics.HttpMetricsChannelHandler;
+import com.netflix.spectator.api.Registry;
+import com.netflix.zuul.netty.insights.PassportStateHttpClientHandler;
+import com.netflix.zuul.netty.insights.PassportStateOriginHandler;
+import com.netflix.zuul.netty.server.BaseZuulChannelInitializer;
+import com.netflix.zuul.netty.ssl.ClientSslContextFactory;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.logging.LogLevel;
+import io.netty.handler.logging.LoggingHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Origin channel initializer for origins spoken to over HTTP/2.
+ *
+ * <p>The connection's own pipeline only carries TLS and the HTTP/2 frame codec. Requests are written to stream child
+ * channels, whose pipeline is set up by {@link #getStreamChannelInitializer()} with the same HTTP handlers as
+ * {@link DefaultOriginChannelInitializer}, so that the rest of the proxying code sees an ordinary HTTP/1 style
+ * exchange on each stream.
+ *
+ * <p>Over TLS only h2 is offered via ALPN. Cleartext connections use prior knowledge.
+ */
+public class Http2OriginChannelInitializer extends OriginChannelInitializer {
+    private static final Logger LOG = LoggerFactory.getLogger(Http2OriginChannelInitializer.class);
+
+    private final ConnectionPoolConfig connectionPoolConfig;
+    private final SslContext sslContext;
+    private final ChannelInitializer<Channel> streamChannelInitializer;
+    protected final ConnectionPoolHandler connectionPoolHandler;
+    protected final HttpMetricsChannelHandler httpMetricsHandler;
+    protected final LoggingHandler nettyLogger;
+
+    public Http2OriginChannelInitializer(ConnectionPoolConfig connPoolConfig, Registry spectatorRegistry) {
+        this.connectionPoolConfig = connPoolConfig;
+        String niwsClientName = connectionPoolConfig.getOriginName().getNiwsClientName();
+        this.connectionPoolHandler = new ConnectionPoolHandler(
+                ConnectionPoolMetrics.create(connPoolConfig.getOriginName(), spectatorRegistry));
+        this.httpMetricsHandler = new HttpMetricsChannelHandler(spectatorRegistry, "client", niwsClientName);
+        this.nettyLogger = new LoggingHandler("zuul.origin.nettylog." + niwsClientName, LogLevel.INFO);
+        this.sslContext = getClientSslContext(spectatorRegistry);
+        this.streamChannelInitializer = new ChannelInitializer<>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                initStreamChannel(ch);
+            }
+        };
+    }
+
+    @Override
+    protected void initChannel(Channel ch) throws Exception {
+        ChannelPipeline pipeline = ch.pipeline();
+
+        pipeline.addLast(new PassportStateOriginHandler.InboundHandler());
+        pipeline.addLast(new PassportStateOriginHandler.OutboundHandler());
+
+        if (connectionPoolConfig.isSecure()) {
+            pipeline.addLast("ssl", sslContext.newHandler(ch.alloc()));
+            pipeline.addLast(new AlpnVerifier());
+        }
+
+        pipeline.addLast(Http2FrameCodecBuilder.forClient()
+                .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                .validateHeaders(true)
+                .build());
+        pipeline.addLast(
+                BaseZuulChannelInitializer.HTTP_CODEC_HANDLER_NAME,
+                new Http2MultiplexHandler(RejectPushedStreamHandler.INSTANCE));
+    }
+
+    /**
+     * Sets up the pipeline of a single request stream on a connection initialized by this class.
+     */
+    protected void initStreamChannel(Channel ch) {
+        ChannelPipeline pipeline = ch.pipeline();
+
+        pipeline.addLast(new Http2StreamFrameToHttpObjectCodec(false));
+        pipeline.addLast(new PassportStateHttpClientHandler.InboundHandler());
+        pipeline.addLast(new PassportStateHttpClientHandler.OutboundHandler());
+        pipeline.addLast(DefaultOriginChannelInitializer.ORIGIN_NETTY_LOGGER, nettyLogger);
+        pipeline.addLast(httpMetricsHandler);
+        addMethodBindingHandler(pipeline);
+        pipeline.addLast(HttpClientLifecycleChannelHandler.INBOUND_CHANNEL_HANDLER);
+        pipeline.addLast(HttpClientLifecycleChannelHandler.OUTBOUND_CHANNEL_HANDLER);
+        pipeline.addLast(new ClientTimeoutHandler.InboundHandler());
+        pipeline.addLast(new ClientTimeoutHandler.OutboundHandler());
+        pipeline.addLast(DefaultOriginChannelInitializer.CONNECTION_POOL_HANDLER, connectionPoolHandler);
+    }
+
+    public ChannelInitializer<Channel> getStreamChannelInitializer() {
+        return streamChannelInitializer;
+    }
+
+    /**
+     * This method can be overridden to create your own custom SSL context. It must offer h2 via ALPN.
+     *
+     * @param spectatorRegistry metrics registry
+     * @return Netty SslContext
+     */
+    protected SslContext getClientSslContext(Registry spectatorRegistry) {
+        return new ClientSslContextFactory(spectatorRegistry).getHttp2ClientSslContext();
+    }
+
+    /**
+     * This method can be overridden to add your own MethodBinding handler for preserving thread locals or thread
+     * variables. It is applied to each stream's pipeline.
+     *
+     * @param pipeline the stream channel pipeline
+     */
+    protected void addMethodBindingHandler(ChannelPipeline pipeline) {}
+
+    @Override
+    public HttpMetricsChannelHandler getHttpMetricsHandler() {
+        return httpMetricsHandler;
+    }
+
+    /**
+     * Closes the connection if the origin did not pick h2 during the TLS handshake, since the frame codec is already in
+     * place and anything else would only fail later with a less obvious error.
+     */
+    private static final class AlpnVerifier extends ChannelInboundHandlerAdapter {
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof SslHandshakeCompletionEvent handshake && handshake.isSuccess()) {
+                String protocol = ctx.pipeline().get(SslHandler.class).applicationProtocol();
+                if (!ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                    LOG.warn(
+                            "Origin did not negotiate h2 (protocol={}), closing. channel={}", protocol, ctx.channel());
+                    ctx.close();
+                    return;
+                }
+                super.userEventTriggered(ctx, evt);
+                ctx.pipeline().remove(this);
+                return;
+            }
+            super.userEventTriggered(ctx, evt);
+        }
+    }
+
+    /**
+     * Push is disabled in our SETTINGS, so any stream the origin opens is a protocol violation and is closed.
+     */
+    @ChannelHandler.Sharable
+    private static final class RejectPushedStreamHandler extends ChannelInboundHandlerAdapter {
+        static final RejectPushedStreamHandler INSTANCE = new RejectPushedStreamHandler();
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            ctx.close();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.zuul.discovery.DiscoveryResult;
+import io.netty.channel.ChannelFuture;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+
+/**
+ * A single request stream on a multiplexed HTTP/2 origin connection. Its channel is the stream child channel, so the
+ * request and response are written and read exactly as on an HTTP/1 {@link PooledConnection}.
+ *
+ * <p>Streams are never pooled: closing one only resets or ends that stream, and the underlying connection (along with
+ * the server's open connection count) is owned by {@link Http2ConnectionPool}.
+ */
+public class Http2StreamConnection extends PooledConnection {
+
+    public Http2StreamConnection(
+            Http2StreamChannel channel,
+            DiscoveryResult server,
+            ClientChannelManager channelManager,
+            Counter closeConnCounter,
+            Counter closeWrtBusyConnCounter) {
+        super(channel, server, channelManager, closeConnCounter, closeWrtBusyConnCounter);
+    }
+
+    @Override
+    public Http2StreamChannel getChannel() {
+        return (Http2StreamChannel) super.getChannel();
+    }
+
+    @Override
+    public ChannelFuture close() {
+        return getChannel().close();
+    }
+
+    @Override
+    public void updateServerStats() {
+        // The server's connection stats follow the underlying connection, not its streams.
+    }
+
+    @Override
+    public String toString() {
+        return "Http2StreamConnection{" + "channel=" + getChannel() + ", parent=" + getChannel().parent() + '}';
+    }
+}
@@ -18,11 +18,13 @@ package com.netflix.zuul.netty.connectionpool;
 
 import com.netflix.client.config.IClientConfig;
 import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.NoopRegistry;
 import com.netflix.spectator.api.Timer;
 import com.netflix.zuul.discovery.DiscoveryResult;
 import com.netflix.zuul.exception.OutboundErrorType;
 import com.netflix.zuul.passport.CurrentPassport;
 import com.netflix.zuul.passport.PassportState;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.EventLoop;
 import io.netty.handler.codec.DecoderException;
@@ -32,9 +34,11 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.Deque;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
@@ -68,6 +72,7 @@ public class PerServerConnectionPool implements IConnectionPool {
     protected final Counter connTakenFromPoolIsNotOpen;
     protected final Counter maxConnsPerHostExceededCounter;
     protected final Counter closeAboveHighWaterMarkCounter;
+    protected final Counter stealConnCounter;
     protected final Timer connEstablishTimer;
     protected final AtomicInteger connsInPool;
     protected final AtomicInteger connsInUse;
@@ -80,6 +85,11 @@ public class PerServerConnectionPool implements IConnectionPool {
 
     protected volatile boolean draining;
 
+    /**
+     * Kept for subclasses and callers that predate connection stealing. Connections stolen from sibling event loops
+     * are not reported to {@code connectionpool_steal} by a pool built this way; use the constructor taking a
+     * {@code stealConnCounter} to report them.
+     */
     public PerServerConnectionPool(
             DiscoveryResult server,
             SocketAddress serverAddr,
@@ -98,6 +108,46 @@ public class PerServerConnectionPool implements IConnectionPool {
             Timer connEstablishTimer,
             AtomicInteger connsInPool,
             AtomicInteger connsInUse) {
+        this(
+                server,
+                serverAddr,
+                connectionFactory,
+                pooledConnectionFactory,
+                config,
+                niwsClientConfig,
+                createNewConnCounter,
+                createConnSucceededCounter,
+                createConnFailedCounter,
+                requestConnCounter,
+                reuseConnCounter,
+                connTakenFromPoolIsNotOpen,
+                closeAboveHighWaterMarkCounter,
+                maxConnsPerHostExceededCounter,
+                new NoopRegistry().counter("connectionpool_steal"),
+                connEstablishTimer,
+                connsInPool,
+                connsInUse);
+    }
+
+    public PerServerConnectionPool(
+            DiscoveryResult server,
+            SocketAddress serverAddr,
+            NettyClientConnectionFactory connectionFactory,
+            PooledConnectionFactory pooledConnectionFactory,
+            ConnectionPoolConfig config,
+            IClientConfig niwsClientConfig,
+            Counter createNewConnCounter,
+            Counter createConnSucceededCounter,
+            Counter createConnFailedCounter,
+            Counter requestConnCounter,
+            Counter reuseConnCounter,
+            Counter connTakenFromPoolIsNotOpen,
+            Counter closeAboveHighWaterMarkCounter,
+            Counter maxConnsPerHostExceededCounter,
+            Counter stealConnCounter,
+            Timer connEstablishTimer,
+            AtomicInteger connsInPool,
+            AtomicInteger connsInUse) {
         this.server = server;
         // Note: child classes can sometimes connect to different addresses than
         this.serverAddr = Objects.requireNonNull(serverAddr, "serverAddr");
@@ -113,6 +163,7 @@ public class PerServerConnectionPool implements IConnectionPool {
         this.connTakenFromPoolIsNotOpen = connTakenFromPoolIsNotOpen;
         this.closeAboveHighWaterMarkCounter = closeAboveHighWaterMarkCounter;
         this.maxConnsPerHostExceededCounter = maxConnsPerHostExceededCounter;
+        this.stealConnCounter = stealConnCounter;
         this.connEstablishTimer = connEstablishTimer;
         this.connsInPool = connsInPool;
         this.connsInUse = connsInUse;
@@ -144,6 +195,11 @@ public class PerServerConnectionPool implements IConnectionPool {
     }
 
     protected void removeIdleStateHandler(PooledConnection conn) {
+        PooledIdleTimer idleTimer = PooledIdleTimer.fromChannel(conn.getChannel());
+        if (idleTimer != null) {
+            idleTimer.disarm();
+            return;
+        }
         DefaultClientChannelManager.removeHandlerFromPipeline(
                 DefaultClientChannelManager.IDLE_STATE_HANDLER_NAME,
                 conn.getChannel().pipeline());
@@ -167,6 +223,10 @@ public class PerServerConnectionPool implements IConnectionPool {
         if (conn != null) {
             // There was a pooled connection available, so use this one.
             reusePooledConnection(passport, selectedHostAddr, conn, promise);
+        } else if (config.isConnectionStealingEnabled()
+                && (conn = tryStealingFromSiblingPool(eventLoop)) != null) {
+            // Another event loop had an idle connection to this server, so move it over rather than connect.
+            handOverStolenConnection(eventLoop, passport, selectedHostAddr, conn, promise);
         } else {
             // connection pool empty, create new connection using client connection factory.
             tryMakingNewConnection(eventLoop, promise, passport, selectedHostAddr);
@@ -175,6 +235,79 @@ public class PerServerConnectionPool implements IConnectionPool {
         return promise;
     }
 
+    /**
+     * Takes an idle connection for this server from the pool of any event loop other than the given one. The
+     * per-event loop deques are concurrent, so this races safely with the owning loop's own acquires and removals.
+     */
+    @Nullable
+    protected PooledConnection tryStealingFromSiblingPool(EventLoop eventLoop) {
+        for (Map.Entry<EventLoop, Deque<PooledConnection>> entry : connectionsPerEventLoop.entrySet()) {
+            if (entry.getKey() == eventLoop) {
+                continue;
+            }
+            PooledConnection conn;
+            while ((conn = entry.getValue().poll()) != null) {
+                conn.setInPool(false);
+                connsInPool.decrementAndGet();
+
+                if (isValidFromPool(conn)) {
+                    stealConnCounter.increment();
+                    connsInUse.incrementAndGet();
+                    return conn;
+                } else {
+                    connTakenFromPoolIsNotOpen.increment();
+                    conn.close();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Moves a connection taken from another event loop's pool onto the requesting event loop, so that the origin
+     * channel and the client channel keep sharing a thread. If the move fails, the stolen connection is closed and a
+     * new one is made instead.
+     */
+    protected void handOverStolenConnection(
+            EventLoop eventLoop,
+            CurrentPassport passport,
+            AtomicReference<? super InetAddress> selectedHostAddr,
+            PooledConnection conn,
+            Promise<PooledConnection> promise) {
+        passport.add(PassportState.ORIGIN_CH_POOL_STOLEN);
+        // Drop the idle timer first, as it is scheduled on the event loop the channel is leaving.
+        removeIdleStateHandler(conn);
+
+        Channel channel = conn.getChannel();
+        channel.deregister().addListener(deregistered -> {
+            if (!deregistered.isSuccess()) {
+                abandonStolenConnection(eventLoop, passport, selectedHostAddr, conn, promise, deregistered.cause());
+                return;
+            }
+            eventLoop.register(channel).addListener(registered -> {
+                if (registered.isSuccess()) {
+                    reusePooledConnection(passport, selectedHostAddr, conn, promise);
+                } else {
+                    abandonStolenConnection(
+                            eventLoop, passport, selectedHostAddr, conn, promise, registered.cause());
+                }
+            });
+        });
+    }
+
+    private void abandonStolenConnection(
+            EventLoop eventLoop,
+            CurrentPassport passport,
+            AtomicReference<? super InetAddress> selectedHostAddr,
+            PooledConnection conn,
+            Promise<PooledConnection> promise,
+            Throwable cause) {
+        LOG.debug("Unable to move stolen connection {} to {}", conn, eventLoop, cause);
+        connsInUse.decrementAndGet();
+        conn.close();
+        tryMakingNewConnection(eventLoop, promise, passport, selectedHostAddr);
+    }
+
     protected void reusePooledConnection(
             CurrentPassport passport,
             AtomicReference<? super InetAddress> selectedHostAddr,
@@ -252,13 +385,16 @@ public class PerServerConnectionPool implements IConnectionPool {
 
             selectedHostAddr.set(getSelectedHostString(serverAddr));
 
+            long connectStartNanos = System.nanoTime();
             ChannelFuture cf = connectToServer(eventLoop, passport, serverAddr);
 
             if (cf.isDone()) {
+                noteConnectTime(cf, connectStartNanos);
                 handleConnectCompletion(cf, promise, passport);
             } else {
                 cf.addListener(future -> {
                     try {
+                        noteConnectTime(cf, connectStartNanos);
                         handleConnectCompletion((ChannelFuture) future, promise, passport);
                     } catch (Throwable e) {
                         if (!promise.isDone()) {
@@ -276,6 +412,63 @@ public class PerServerConnectionPool implements IConnectionPool {
         }
     }
 
+    private void noteConnectTime(ChannelFuture cf, long connectStartNanos) {
+        if (cf.isSuccess()) {
+            server.noteConnectTime((double) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStartNanos));
+        }
+    }
+
+    /**
+     * Opens a new connection to this server on the given event loop without a request waiting on it, for warming the
+     * pool ahead of traffic. The connection is not counted as in use; the caller is expected to hand it back to this
+     * pool with {@link #release(PooledConnection)}.
+     */
+    public Promise<PooledConnection> connectIdle(EventLoop eventLoop) {
+        Promise<PooledConnection> promise = eventLoop.newPromise();
+        if (draining) {
+            promise.setFailure(new IllegalStateException("Attempt to warm up connection while draining"));
+            return promise;
+        }
+
+        int maxConnectionsPerHost = config.maxConnectionsPerHost();
+        int openAndOpeningConnectionCount = server.getOpenConnectionsCount() + connCreationsInProgress.get();
+        if (maxConnectionsPerHost != -1 && openAndOpeningConnectionCount >= maxConnectionsPerHost) {
+            // Unlike a request, warm-up simply stops here, so this is not counted as exceeding the limit.
+            promise.setFailure(new OriginConnectException(
+                    "maxConnectionsPerHost=" + maxConnectionsPerHost + ", connectionsPerHost="
+                            + openAndOpeningConnectionCount,
+                    OutboundErrorType.ORIGIN_SERVER_MAX_CONNS));
+            return promise;
+        }
+
+        try {
+            createNewConnCounter.increment();
+            connCreationsInProgress.incrementAndGet();
+            CurrentPassport passport = CurrentPassport.create();
+            passport.add(PassportState.ORIGIN_CH_CONNECTING);
+
+            connectToServer(eventLoop, passport, serverAddr).addListener(future -> {
+                ChannelFuture cf = (ChannelFuture) future;
+                connCreationsInProgress.decrementAndGet();
+                if (cf.isSuccess()) {
+                    passport.add(PassportState.ORIGIN_CH_CONNECTED);
+                    server.incrementOpenConnectionsCount();
+                    createConnSucceededCounter.increment();
+                    promise.setSuccess(pooledConnectionFactory.create(cf.channel()));
+                } else {
+                    server.incrementSuccessiveConnectionFailureCount();
+                    server.addToFailureCount();
+                    createConnFailedCounter.increment();
+                    promise.setFailure(new OriginConnectException(
+                            cf.cause().getMessage(), cf.cause(), OutboundErrorType.CONNECT_ERROR));
+                }
+            });
+        } catch (Throwable e) {
+            promise.tryFailure(e);
+        }
+        return promise;
+    }
+
     protected boolean isWithinConnectionLimit(Promise<PooledConnection> promise) {
         // Enforce MaxConnectionsPerHost config.
         int maxConnectionsPerHost = config.maxConnectionsPerHost();
@@ -309,7 +502,7 @@ public class PerServerConnectionPool implements IConnectionPool {
         if (cf.isSuccess()) {
             passport.add(PassportState.ORIGIN_CH_CONNECTED);
             createConnSucceededCounter.increment();
-            connsInUse.incrementAndGet();
+            incrementConnsInUse(cf.channel());
             createConnection(cf, callerPromise, passport);
         } else {
             createConnFailedCounter.increment();
@@ -326,6 +519,13 @@ public class PerServerConnectionPool implements IConnectionPool {
         }
     }
 
+    /**
+     * Accounts for a newly established connection that is about to be handed to the caller.
+     */
+    protected void incrementConnsInUse(Channel channel) {
+        connsInUse.incrementAndGet();
+    }
+
     protected void updateServerStatsOnConnectCompletion(ChannelFuture cf) {
         if (cf.isSuccess()) {
             server.incrementOpenConnectionsCount();
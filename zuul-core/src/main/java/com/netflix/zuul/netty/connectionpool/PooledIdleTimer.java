@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Fires an {@link IdleStateEvent#ALL_IDLE_STATE_EVENT} at a pooled origin connection once it has sat in the pool for
+ * the idle timeout, as the {@link IdleStateHandler} added on release would, but stays in the pipeline for the life of
+ * the channel.
+ *
+ * <p>{@link #arm()} and {@link #disarm()} only write a deadline. A single scheduled task checks it when it runs, and
+ * schedules itself again for whatever is left if the connection was reused and released in the meantime, so a busy
+ * connection costs at most one task per idle timeout rather than one per request.
+ *
+ * <p>As with {@link IdleStateHandler}, a timeout of zero or less disables it, and pooled connections are then never
+ * closed for being idle.
+ */
+public final class PooledIdleTimer extends ChannelInboundHandlerAdapter {
+
+    public static final String HANDLER_NAME = "pooledIdleTimer";
+
+    private static final AttributeKey<PooledIdleTimer> TIMER = AttributeKey.newInstance("_pooled_idle_timer");
+    private static final long DISARMED = 0;
+
+    private final long timeoutNanos;
+
+    /** When the connection becomes idle, by {@link System#nanoTime()}, or {@link #DISARMED} while in use. */
+    private final AtomicLong deadline = new AtomicLong(DISARMED);
+
+    /** Whether a task is scheduled, which then owns checking the deadline. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    @Nullable
+    private volatile ChannelHandlerContext ctx;
+
+    public PooledIdleTimer(Duration timeout) {
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Nullable
+    public static PooledIdleTimer fromChannel(Channel channel) {
+        return channel.attr(TIMER).get();
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+        ctx.channel().attr(TIMER).set(this);
+    }
+
+    /**
+     * Starts the idle timeout, when the connection is returned to the pool.
+     */
+    public void arm() {
+        ChannelHandlerContext ctx = this.ctx;
+        if (ctx == null || timeoutNanos <= 0) {
+            return;
+        }
+        // A deadline that happens to land on the DISARMED value is off by a nanosecond, rather than lost.
+        long at = System.nanoTime() + timeoutNanos;
+        deadline.set(at == DISARMED ? at + 1 : at);
+        if (scheduled.compareAndSet(false, true)) {
+            ctx.channel().eventLoop().schedule(this::expire, timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stops the idle timeout, when the connection is taken from the pool. Any scheduled task is left to find the
+     * timer disarmed, which is cheaper than cancelling it.
+     */
+    public void disarm() {
+        deadline.set(DISARMED);
+    }
+
+    private void expire() {
+        ChannelHandlerContext ctx = this.ctx;
+        Channel channel = ctx.channel();
+        long at = deadline.get();
+        // A connection that is being moved to another event loop isn't registered, and is armed again once released.
+        if (at == DISARMED || !channel.isActive() || !channel.isRegistered()) {
+            scheduled.set(false);
+            // arm() may have set a deadline after it was read above, and left scheduling it to this task.
+            at = deadline.get();
+            if (at == DISARMED
+                    || !channel.isActive()
+                    || !channel.isRegistered()
+                    || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+
+        long remaining = at - System.nanoTime();
+        if (remaining > 0) {
+            channel.eventLoop().schedule(this::expire, remaining, TimeUnit.NANOSECONDS);
+        } else if (deadline.compareAndSet(at, DISARMED)) {
+            scheduled.set(false);
+            ctx.fireUserEventTriggered(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+        } else {
+            // Rearmed or disarmed just now; go around again to see which.
+            channel.eventLoop().execute(this::expire);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import com.netflix.zuul.discovery.ServerSnapshot;
+
+/**
+ * The connection pool of every server in a {@link ServerSnapshot}, at the same index, so that a server picked from the
+ * snapshot maps to its pool without a hash lookup. Built once per snapshot and replaced along with it.
+ */
+final class ServerPoolSnapshot {
+
+    final ServerSnapshot servers;
+    final IConnectionPool[] pools;
+
+    ServerPoolSnapshot(ServerSnapshot servers, IConnectionPool[] pools) {
+        this.servers = servers;
+        this.pools = pools;
+    }
+}
@@ -206,12 +206,20 @@ public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends Zuul
     }
 
     protected final FilterExecutionResult<O> executeFilter(ZuulFilter<I, O> filter, I inMesg) {
+        return executeFilter(filter, inMesg, true);
+    }
+
+    /**
+     * @param checkDisabled whether to ask the filter if it is disabled, which a runner that has already found it
+     *                      enabled can skip
+     */
+    protected final FilterExecutionResult<O> executeFilter(ZuulFilter<I, O> filter, I inMesg, boolean checkDisabled) {
         long startTime = System.nanoTime();
 
         try (TaskCloseable ignored = PerfMark.traceTask(filter, f -> f.filterName() + ".filter")) {
             addPerfMarkTags(inMesg);
 
-            ExecutionStatus executionStatus = checkFilterPreconditions(filter, inMesg);
+            ExecutionStatus executionStatus = checkFilterPreconditions(filter, inMesg, checkDisabled);
             if (executionStatus != null) {
                 recordFilterCompletion(executionStatus, filter, startTime, inMesg);
                 return FilterExecutionResult.completed(filter.getDefaultOutput(inMesg));
@@ -244,7 +252,7 @@ public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends Zuul
     }
 
     @Nullable
-    private ExecutionStatus checkFilterPreconditions(ZuulFilter<I, O> filter, I inMesg) {
+    private ExecutionStatus checkFilterPreconditions(ZuulFilter<I, O> filter, I inMesg, boolean checkDisabled) {
         if (filter.filterType() == FilterType.INBOUND && inMesg.getContext().shouldSendErrorResponse()) {
             // Pass request down the pipeline, all the way to error endpoint if error response needs to be generated
             return ExecutionStatus.SKIPPED;
@@ -256,7 +264,7 @@ public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends Zuul
             }
         }
 
-        if (filter.isDisabled()) {
+        if (checkDisabled && filter.isDisabled()) {
             return ExecutionStatus.DISABLED;
         }
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import com.netflix.config.ConfigurationManager;
+import com.netflix.zuul.filters.BaseFilter;
+import com.netflix.zuul.filters.ZuulFilter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The filters of a chain that are enabled, worked out ahead of the requests that run through it, so that
+ * {@link ZuulFilterChainRunner} only visits the filters that can apply, and only the ones that process content chunks
+ * for each chunk.
+ *
+ * <p>Filters are referred to by their position in the full chain, which is what a request's running filter index
+ * counts, so a request that started on one compilation carries on correctly on the next.
+ *
+ * <p>Only filters that inherit {@link BaseFilter#isDisabled()}, which reads a dynamic property, are checked ahead. A
+ * compilation goes stale whenever any property changes, and the runner compiles the chain again for its next request.
+ * Those filters are left out entirely while disabled, rather than being visited and reported as
+ * {@link com.netflix.zuul.ExecutionStatus#DISABLED}. Any other filter may be disabled by something the chain can't
+ * watch, so it is always visited and still asked on each request.
+ */
+final class CompiledFilterChain {
+
+    private static final AtomicLong PROPERTIES_VERSION = new AtomicLong();
+
+    /** Whether a filter class's {@link ZuulFilter#isDisabled()} is {@link BaseFilter}'s. */
+    private static final ClassValue<Boolean> DISABLED_BY_PROPERTY = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!BaseFilter.class.isAssignableFrom(type)) {
+                return false;
+            }
+            try {
+                return type.getMethod("isDisabled").getDeclaringClass() == BaseFilter.class;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    static {
+        ConfigurationManager.getConfigInstance().addConfigurationListener(event -> {
+            if (!event.isBeforeUpdate()) {
+                PROPERTIES_VERSION.incrementAndGet();
+            }
+        });
+    }
+
+    private final long version;
+
+    /** For each position in the full chain, the first enabled filter at or after it. */
+    private final int[] next;
+
+    /** The positions of the enabled filters that process content chunks, in order. */
+    private final int[] chunkFilters;
+
+    /** For each position in the full chain, whether the filter there was found enabled ahead of requests. */
+    private final boolean[] checkedAhead;
+
+    private CompiledFilterChain(long version, int[] next, int[] chunkFilters, boolean[] checkedAhead) {
+        this.version = version;
+        this.next = next;
+        this.chunkFilters = chunkFilters;
+        this.checkedAhead = checkedAhead;
+    }
+
+    static CompiledFilterChain compile(ZuulFilter<?, ?>[] filters) {
+        // Read before the filters, so that a change made while compiling leaves this compilation stale.
+        long version = PROPERTIES_VERSION.get();
+
+        int[] next = new int[filters.length + 1];
+        int[] chunkFilters = new int[filters.length];
+        boolean[] checkedAhead = new boolean[filters.length];
+        int chunkFilterCount = 0;
+        next[filters.length] = filters.length;
+        for (int i = filters.length - 1; i >= 0; i--) {
+            checkedAhead[i] = DISABLED_BY_PROPERTY.get(filters[i].getClass());
+            next[i] = checkedAhead[i] && filters[i].isDisabled() ? next[i + 1] : i;
+        }
+        for (int i = 0; i < filters.length; i++) {
+            if (next[i] == i && filters[i].processesContentChunks()) {
+                chunkFilters[chunkFilterCount++] = i;
+            }
+        }
+        return new CompiledFilterChain(version, next, Arrays.copyOf(chunkFilters, chunkFilterCount), checkedAhead);
+    }
+
+    boolean isStale() {
+        return version != PROPERTIES_VERSION.get();
+    }
+
+    /**
+     * Returns the position of the first enabled filter at or after the given one, or the length of the full chain
+     * if there are none.
+     */
+    int next(int position) {
+        return next[Math.min(position, next.length - 1)];
+    }
+
+    /**
+     * Whether the filter at the given position was found enabled ahead of requests, so needn't be asked again.
+     */
+    boolean isCheckedAhead(int position) {
+        return checkedAhead[position];
+    }
+
+    /**
+     * Returns the positions of the filters that process content chunks and aren't known to be disabled. Not to be
+     * modified.
+     */
+    int[] chunkFilters() {
+        return chunkFilters;
+    }
+}
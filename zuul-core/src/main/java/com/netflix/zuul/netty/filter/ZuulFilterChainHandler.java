@@ -30,6 +30,7 @@ import com.netflix.zuul.message.http.HttpResponseMessageImpl;
 import com.netflix.zuul.netty.ChannelUtils;
 import com.netflix.zuul.netty.RequestCancelledEvent;
 import com.netflix.zuul.netty.SpectatorUtils;
+import com.netflix.zuul.netty.compression.ResponseCompressor;
 import com.netflix.zuul.netty.server.ClientRequestReceiver;
 import com.netflix.zuul.stats.status.StatusCategory;
 import com.netflix.zuul.stats.status.StatusCategoryUtils;
@@ -130,6 +131,7 @@ public class ZuulFilterChainHandler extends ChannelInboundHandlerAdapter {
     protected void fireEndpointFinish(boolean error, ChannelHandlerContext ctx) {
         // make sure filter chain is not left hanging
         finishResponseFilters(ctx);
+        closeResponseCompressor();
 
         ZuulFilter endpoint = ZuulEndPointRunner.getEndpoint(zuulRequest);
         if (endpoint instanceof EndpointLifecycle lifecycleEndpoint) {
@@ -138,6 +140,23 @@ public class ZuulFilterChainHandler extends ChannelInboundHandlerAdapter {
         zuulRequest = null;
     }
 
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        closeResponseCompressor();
+        super.handlerRemoved(ctx);
+    }
+
+    /**
+     * Gives back the compressor's pooled resources when the response ended before its last chunk was compressed, such
+     * as when the client went away mid-body. Does nothing once the compressor has finished.
+     */
+    private void closeResponseCompressor() {
+        if (zuulRequest != null
+                && zuulRequest.getContext().get(CommonContextKeys.GZIPPER) instanceof ResponseCompressor compressor) {
+            compressor.close();
+        }
+    }
+
     private void finishResponseFilters(ChannelHandlerContext ctx) {
         // check if there are any response filters awaiting a buffered body
         if (zuulRequest != null && responseFilterChain.isFilterAwaitingBody(zuulRequest.getContext())) {
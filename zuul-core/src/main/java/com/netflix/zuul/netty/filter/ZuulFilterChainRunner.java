@@ -41,6 +41,7 @@ import javax.annotation.concurrent.ThreadSafe;
 public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilterRunner<T, T> {
 
     private final ZuulFilter<T, T>[] filters;
+    private volatile CompiledFilterChain chain;
 
     public ZuulFilterChainRunner(
             ZuulFilter<T, T>[] zuulFilters,
@@ -50,6 +51,7 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
             Registry registry) {
         super(zuulFilters[0].filterType(), usageNotifier, nextStage, filterConstraints, registry);
         this.filters = zuulFilters;
+        this.chain = CompiledFilterChain.compile(zuulFilters);
     }
 
     public ZuulFilterChainRunner(
@@ -64,6 +66,9 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
     public void filter(T inMesg) {
         try (TaskCloseable ignored = PerfMark.traceTask(this, s -> s.getClass().getSimpleName() + ".filter")) {
             addPerfMarkTags(inMesg);
+            if (chain.isStale()) {
+                chain = CompiledFilterChain.compile(filters);
+            }
             runFilters(inMesg, initRunningFilterIndex(inMesg));
         }
     }
@@ -78,14 +83,13 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
 
             AtomicInteger runningFilterIdx = getRunningFilterIndex(inMesg);
             int limit = runningFilterIdx.get();
-            for (int i = 0; i < limit; i++) {
-                ZuulFilter<T, T> filter = filters[i];
-                if (!filter.processesContentChunks()) {
-                    continue;
-                }
-
+            CompiledFilterChain chain = this.chain;
+            int[] chunkFilters = chain.chunkFilters();
+            for (int i = 0; i < chunkFilters.length && chunkFilters[i] < limit; i++) {
+                int position = chunkFilters[i];
+                ZuulFilter<T, T> filter = filters[position];
                 filterName = filter.filterName();
-                if (!filter.isDisabled() && !shouldSkipFilter(inMesg, filter)) {
+                if ((chain.isCheckedAhead(position) || !filter.isDisabled()) && !shouldSkipFilter(inMesg, filter)) {
                     ByteBufUtil.touch(chunk, "Filter runner processing chunk, filter: ", filterName);
                     HttpContent newChunk = filter.processContentChunk(inMesg, chunk);
                     if (newChunk == null) {
@@ -155,22 +159,25 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
         String filterName = "-";
         try {
             Objects.requireNonNull(mesg, "Input message");
-            int i = runningFilterIdx.get();
+            CompiledFilterChain chain = this.chain;
+            int i = chain.next(runningFilterIdx.get());
 
             while (i < filters.length) {
+                runningFilterIdx.set(i);
                 ZuulFilter<T, T> filter = filters[i];
                 filterName = filter.filterName();
-                FilterExecutionResult<T> result = executeFilter(filter, inMesg);
+                FilterExecutionResult<T> result = executeFilter(filter, inMesg, !chain.isCheckedAhead(i));
                 if (result instanceof FilterExecutionResult.Pending<T>) {
                     return;
                 }
                 if (result instanceof FilterExecutionResult.Complete<T>(T message)) {
                     inMesg = message;
                 }
-                i = runningFilterIdx.incrementAndGet();
+                i = chain.next(runningFilterIdx.get() + 1);
             }
 
             // Filter chain has reached its end, pass result to the next stage
+            runningFilterIdx.set(filters.length);
             invokeNextStage(inMesg);
         } catch (Exception ex) {
             handleException(inMesg, filterName, ex);
@@ -36,6 +36,7 @@ import com.netflix.netty.common.metrics.PerEventLoopMetricsChannelHandler;
 import com.netflix.netty.common.proxyprotocol.ElbProxyProtocolChannelHandler;
 import com.netflix.netty.common.proxyprotocol.StripUntrustedProxyHeadersHandler;
 import com.netflix.netty.common.throttle.MaxInboundConnectionsHandler;
+import com.netflix.netty.common.throttle.SourceAddressAdmissionHandler;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spectator.api.histogram.PercentileTimer;
@@ -133,6 +134,7 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
     protected final PerEventLoopMetricsChannelHandler.Connections perEventLoopConnectionMetricsHandler;
     protected final PerEventLoopMetricsChannelHandler.HttpRequests perEventLoopRequestsMetricsHandler;
     protected final MaxInboundConnectionsHandler maxConnectionsHandler;
+    protected final SourceAddressAdmissionHandler sourceAddressAdmissionHandler;
     protected final AccessLogPublisher accessLogPublisher;
     protected final PassportLoggingHandler passportLoggingHandler;
     protected final boolean withProxyProtocol;
@@ -201,6 +203,14 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
 
         this.maxConnections = channelConfig.get(CommonChannelConfigKeys.maxConnections);
         this.maxConnectionsHandler = new MaxInboundConnectionsHandler(registry, metricId, maxConnections);
+        this.sourceAddressAdmissionHandler = new SourceAddressAdmissionHandler(
+                registry,
+                metricId,
+                withProxyProtocol,
+                channelConfig.get(CommonChannelConfigKeys.maxConnectionsPerSourceAddress),
+                channelConfig.get(CommonChannelConfigKeys.maxAcceptRatePerSourceAddress),
+                channelConfig.get(CommonChannelConfigKeys.maxConnectionsPerSourcePrefix),
+                channelConfig.get(CommonChannelConfigKeys.maxAcceptRatePerSourcePrefix));
         this.maxRequestsPerConnection = channelConfig.get(CommonChannelConfigKeys.maxRequestsPerConnection);
         this.connectionExpiry = channelConfig.get(CommonChannelConfigKeys.connectionExpiry);
 
@@ -254,6 +264,9 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
         new ElbProxyProtocolChannelHandler(registry, withProxyProtocol).addProxyProtocol(pipeline);
 
         pipeline.addLast(maxConnectionsHandler);
+        if (sourceAddressAdmissionHandler.isEnabled()) {
+            pipeline.addLast(sourceAddressAdmissionHandler);
+        }
     }
 
     protected void addHttp1Handlers(ChannelPipeline pipeline) {
@@ -68,10 +68,8 @@ import io.perfmark.TaskCloseable;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.URISyntaxException;
-import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import javax.net.ssl.SSLException;
 import lombok.NonNull;
@@ -311,8 +309,8 @@ public class ClientRequestReceiver extends ChannelDuplexHandler {
                     throw new ZuulException(s.cause(), "Failed while writing 100-continue response", true);
                 }
             });
-            // Remove the Expect: 100-Continue header from request as we don't want to proxy it downstream.
-            req.headers().remove(HttpHeaderNames.EXPECT);
+            // Remove the Expect: 100-Continue header from request as we don't want to proxy it downstream. Only from
+            // the zuul request, as the stored inbound request reads through to the native request's headers.
             zuulRequest.getHeaders().remove(HttpHeaderNames.EXPECT.toString());
         }
     }
@@ -382,7 +380,7 @@ public class ClientRequestReceiver extends ChannelDuplexHandler {
                 nativeRequest.method().asciiName().toString().toLowerCase(Locale.ROOT),
                 path,
                 copyQueryParams(nativeRequest),
-                copyHeaders(nativeRequest),
+                Headers.wrap(nativeRequest.headers()),
                 clientIp,
                 scheme,
                 port,
@@ -423,15 +421,6 @@ public class ClientRequestReceiver extends ChannelDuplexHandler {
         return uri;
     }
 
-    private static Headers copyHeaders(HttpRequest req) {
-        Headers headers = new Headers(req.headers().size());
-        for (Iterator<Entry<String, String>> it = req.headers().iteratorAsString(); it.hasNext(); ) {
-            Entry<String, String> header = it.next();
-            headers.add(header.getKey(), header.getValue());
-        }
-        return headers;
-    }
-
     public static HttpQueryParams copyQueryParams(HttpRequest nativeRequest) {
         String uri = nativeRequest.uri();
         int queryStart = uri.indexOf('?');
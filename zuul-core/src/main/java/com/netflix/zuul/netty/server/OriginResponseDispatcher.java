@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.AttributeKey;
+import javax.annotation.Nullable;
+
+/**
+ * Stays in an origin channel's pipeline, where an {@link OriginResponseReceiver} would otherwise be added for each
+ * request, and passes events to whichever receiver is {@linkplain #bind bound} to the current request. The receiver
+ * is handed this handler's context, so it behaves exactly as if it were in the pipeline itself. While nothing is
+ * bound, events pass straight through, as they do when there is no receiver in the pipeline.
+ */
+public final class OriginResponseDispatcher extends ChannelDuplexHandler {
+
+    public static final String CHANNEL_HANDLER_NAME = "_origin_response_dispatcher";
+
+    private static final AttributeKey<OriginResponseDispatcher> DISPATCHER =
+            AttributeKey.newInstance("_origin_response_dispatcher");
+
+    @Nullable
+    private volatile OriginResponseReceiver receiver;
+
+    @Nullable
+    public static OriginResponseDispatcher fromChannel(Channel channel) {
+        return channel.attr(DISPATCHER).get();
+    }
+
+    public void bind(OriginResponseReceiver receiver) {
+        this.receiver = receiver;
+    }
+
+    public void unbind() {
+        receiver = null;
+    }
+
+    @Nullable
+    public OriginResponseReceiver getReceiver() {
+        return receiver;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        ctx.channel().attr(DISPATCHER).set(this);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        OriginResponseReceiver receiver = this.receiver;
+        if (receiver != null) {
+            receiver.channelRead(ctx, msg);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        OriginResponseReceiver receiver = this.receiver;
+        if (receiver != null) {
+            receiver.channelReadComplete(ctx);
+        } else {
+            ctx.fireChannelReadComplete();
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        OriginResponseReceiver receiver = this.receiver;
+        if (receiver != null) {
+            receiver.userEventTriggered(ctx, evt);
+        } else {
+            ctx.fireUserEventTriggered(evt);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        OriginResponseReceiver receiver = this.receiver;
+        if (receiver != null) {
+            receiver.channelWritabilityChanged(ctx);
+        } else {
+            ctx.fireChannelWritabilityChanged();
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        OriginResponseReceiver receiver = this.receiver;
+        if (receiver != null) {
+            receiver.exceptionCaught(ctx, cause);
+        } else {
+            ctx.fireExceptionCaught(cause);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        OriginResponseReceiver receiver = this.receiver;
+        if (receiver != null) {
+            receiver.channelInactive(ctx);
+        } else {
+            ctx.fireChannelInactive();
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        OriginResponseReceiver receiver = this.receiver;
+        if (receiver != null) {
+            receiver.write(ctx, msg, promise);
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        OriginResponseReceiver receiver = this.receiver;
+        if (receiver != null) {
+            receiver.flush(ctx);
+        } else {
+            ctx.flush();
+        }
+    }
+}
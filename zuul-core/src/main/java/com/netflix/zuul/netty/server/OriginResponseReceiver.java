@@ -181,7 +181,7 @@ public class OriginResponseReceiver extends ChannelDuplexHandler {
         DefaultHttpRequest nettyReq =
                 new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.valueOf(method), uri, false);
         // Copy headers across.
-        zuulRequest.getHeaders().forEach((name, value) -> nettyReq.headers().add(name, value));
+        zuulRequest.getHeaders().copyTo(nettyReq.headers());
 
         return nettyReq;
     }
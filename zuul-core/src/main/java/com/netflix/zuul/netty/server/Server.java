@@ -21,6 +21,7 @@ import com.netflix.appinfo.InstanceInfo;
 import com.netflix.config.DynamicBooleanProperty;
 import com.netflix.netty.common.CategorizedThreadFactory;
 import com.netflix.netty.common.metrics.EventLoopGroupMetrics;
+import com.netflix.netty.common.metrics.MeteredIoEventLoop;
 import com.netflix.netty.common.status.ServerStatusManager;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Registry;
@@ -40,6 +41,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.IoEventLoop;
 import io.netty.channel.IoHandlerFactory;
 import io.netty.channel.MultiThreadIoEventLoopGroup;
 import io.netty.channel.ServerChannel;
@@ -70,12 +72,15 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -127,7 +132,12 @@ public class Server {
     private final Map<NamedSocketAddress, Channel> addressesToChannels = new LinkedHashMap<>();
 
     private final EventLoopConfig eventLoopConfig;
+
+    @Nullable
+    private final EventLoopGroupMetrics eventLoopGroupMetrics;
+
     private final Map<Integer, Counter> acceptCountersByPort = new ConcurrentHashMap<>();
+    private final List<Consumer<? super EventLoopGroup>> workerGroupListeners = new CopyOnWriteArrayList<>();
 
     /**
      * This is a hack to expose the channel type to the origin channel.  It is NOT API stable and should not be
@@ -190,6 +200,7 @@ public class Server {
         this.addressesToInitializers = Collections.unmodifiableMap(new LinkedHashMap<>(addressesToInitializers));
         this.serverStatusManager = serverStatusManager;
         this.clientConnectionsShutdown = clientConnectionsShutdown;
+        this.eventLoopGroupMetrics = eventLoopGroupMetrics;
         this.eventLoopConfig = eventLoopConfig;
         this.jvmShutdownHook = new Thread(this::stop, "Zuul-JVM-shutdown-hook");
     }
@@ -209,6 +220,7 @@ public class Server {
         this.addressesToInitializers = Collections.unmodifiableMap(new LinkedHashMap<>(addressesToInitializers));
         this.serverStatusManager = serverStatusManager;
         this.clientConnectionsShutdown = clientConnectionsShutdown;
+        this.eventLoopGroupMetrics = eventLoopGroupMetrics;
         this.eventLoopConfig = eventLoopConfig;
         this.jvmShutdownHook = jvmShutdownHook;
     }
@@ -331,6 +343,15 @@ public class Server {
     public void postEventLoopCreationHook(
             EventLoopGroup clientToProxyBossPool, EventLoopGroup clientToProxyWorkerPool) {}
 
+    /**
+     * Registers a callback that is given the worker pool once {@link #start()} has created it, before any port is
+     * bound. Used to warm up origin connections on the event loops that will serve requests, e.g. with
+     * {@code BasicNettyOriginManager::warmUp}. Must be called before {@link #start()}.
+     */
+    public void addWorkerGroupListener(Consumer<? super EventLoopGroup> listener) {
+        workerGroupListeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
     private final class ServerGroup {
         /** A name for this ServerGroup to use in naming threads. */
         private final String name;
@@ -384,10 +405,21 @@ public class Server {
             ThreadFactory workerThreadFactory = new CategorizedThreadFactory(name + "-ClientToZuulWorker");
             Executor workerExecutor = new ThreadPerTaskExecutor(workerThreadFactory);
             clientToProxyWorkerPool = new MultiThreadIoEventLoopGroup(
-                    workerThreads, workerExecutor, DefaultEventExecutorChooserFactory.INSTANCE, handlerFactory);
+                    workerThreads, workerExecutor, DefaultEventExecutorChooserFactory.INSTANCE, handlerFactory) {
+                @Override
+                protected IoEventLoop newChild(Executor executor, IoHandlerFactory ioHandlerFactory, Object... args) {
+                    return new MeteredIoEventLoop(this, executor, ioHandlerFactory);
+                }
+            };
+            if (eventLoopGroupMetrics != null) {
+                eventLoopGroupMetrics.monitor(clientToProxyWorkerPool);
+            }
 
             transportChannelOptions = Collections.unmodifiableMap(extraOptions);
             postEventLoopCreationHook(clientToProxyBossPool, clientToProxyWorkerPool);
+            for (Consumer<? super EventLoopGroup> listener : workerGroupListeners) {
+                listener.accept(clientToProxyWorkerPool);
+            }
         }
 
         private synchronized void stop() {
@@ -19,8 +19,11 @@ package com.netflix.zuul.netty.ssl;
 import com.netflix.config.DynamicBooleanProperty;
 import com.netflix.netty.common.ssl.ServerSslConfig;
 import com.netflix.spectator.api.Registry;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import java.security.NoSuchAlgorithmException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,17 +55,39 @@ public final class ClientSslContextFactory extends BaseSslContextFactory {
 
     public SslContext getClientSslContext() {
         try {
-            return SslContextBuilder.forClient()
-                    .sslProvider(chooseSslProvider())
-                    .ciphers(getCiphers(), getCiphersFilter())
-                    .protocols(getProtocols())
-                    .build();
+            return createBuilderForClient().build();
         } catch (Exception e) {
             log.error("Error loading SslContext client request.", e);
             throw new RuntimeException("Error configuring SslContext for client request!", e);
         }
     }
 
+    /**
+     * Same as {@link #getClientSslContext()}, but offers only h2 via ALPN, for origins that are spoken to over HTTP/2.
+     */
+    public SslContext getHttp2ClientSslContext() {
+        ApplicationProtocolConfig apn = new ApplicationProtocolConfig(
+                ApplicationProtocolConfig.Protocol.ALPN,
+                // NO_ADVERTISE is currently the only mode supported by both OpenSsl and JDK providers.
+                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                // ACCEPT is currently the only mode supported by both OpenSsl and JDK providers.
+                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2);
+        try {
+            return createBuilderForClient().applicationProtocolConfig(apn).build();
+        } catch (Exception e) {
+            log.error("Error loading HTTP/2 SslContext client request.", e);
+            throw new RuntimeException("Error configuring HTTP/2 SslContext for client request!", e);
+        }
+    }
+
+    private SslContextBuilder createBuilderForClient() throws NoSuchAlgorithmException {
+        return SslContextBuilder.forClient()
+                .sslProvider(chooseSslProvider())
+                .ciphers(getCiphers(), getCiphersFilter())
+                .protocols(getProtocols());
+    }
+
     static String[] maybeAddTls13(boolean enableTls13, String... defaultProtocols) {
         if (enableTls13) {
             String[] protocols = new String[defaultProtocols.length + 1];
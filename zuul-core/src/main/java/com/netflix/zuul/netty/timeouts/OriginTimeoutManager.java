@@ -18,7 +18,6 @@ package com.netflix.zuul.netty.timeouts;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.netflix.client.config.CommonClientConfigKey;
-import com.netflix.client.config.DefaultClientConfigImpl;
 import com.netflix.client.config.IClientConfig;
 import com.netflix.config.DynamicLongProperty;
 import com.netflix.zuul.context.CommonContextKeys;
@@ -48,8 +47,8 @@ public class OriginTimeoutManager {
             "zuul.origin.readtimeout.max", Duration.ofSeconds(90).toMillis());
 
     /**
-     * Derives the read timeout from the configuration.  This implementation prefers the longer of either the origin
-     * timeout or the request timeout.
+     * Derives the read timeout from the configuration.  This implementation prefers the shorter of either the origin
+     * timeout or the request timeout, and no longer than the time left before the request's {@link RequestDeadline}.
      * <p>
      * This method can also be used to validate timeout and deadline boundaries and throw exceptions as needed. If
      * extending this method to do validation, you should extend {@link com.netflix.zuul.exception.OutboundException}
@@ -57,6 +56,7 @@ public class OriginTimeoutManager {
      *
      * @param request    the request.
      * @param attemptNum the attempt number, starting at 1.
+     * @throws com.netflix.zuul.exception.RequestExpiredException if the request's deadline has passed.
      */
     public Duration computeReadTimeout(HttpRequestMessage request, int attemptNum) {
         IClientConfig clientConfig = getRequestClientConfig(request);
@@ -74,30 +74,40 @@ public class OriginTimeoutManager {
         }
 
         // enforce max timeout upperbound
-        return Duration.ofMillis(Math.min(computedTimeout, MAX_OUTBOUND_READ_TIMEOUT_MS.get()));
+        Duration timeout = Duration.ofMillis(Math.min(computedTimeout, MAX_OUTBOUND_READ_TIMEOUT_MS.get()));
+
+        RequestDeadline deadline = getDeadline(request);
+        return deadline != null ? deadline.limit(timeout) : timeout;
+    }
+
+    /**
+     * Returns the deadline for the request as a whole, or null if it has none.
+     */
+    @Nullable
+    public RequestDeadline getDeadline(HttpRequestMessage request) {
+        return RequestDeadline.fromRequest(request);
     }
 
     /**
-     * This method will create a new client config or retrieve the existing one from the current request.
+     * This method will retrieve the client config overridden for the current request. It no longer creates one for a
+     * request that has none, as there would be nothing to read from it.
      *
      * @param zuulRequest - the request
-     * @return the config
+     * @return the config, or null if the request has none
      */
+    @Nullable
     protected IClientConfig getRequestClientConfig(HttpRequestMessage zuulRequest) {
-        IClientConfig overriddenClientConfig = zuulRequest.getContext().get(CommonContextKeys.REST_CLIENT_CONFIG);
-        if (overriddenClientConfig == null) {
-            overriddenClientConfig = new DefaultClientConfigImpl();
-            zuulRequest.getContext().put(CommonContextKeys.REST_CLIENT_CONFIG, overriddenClientConfig);
-        }
-
-        return overriddenClientConfig;
+        return zuulRequest.getContext().get(CommonContextKeys.REST_CLIENT_CONFIG);
     }
 
     /**
      * This method makes the assumption that the timeout is a numeric value
      */
     @Nullable
-    private Long getRequestReadTimeout(IClientConfig clientConfig) {
+    private Long getRequestReadTimeout(@Nullable IClientConfig clientConfig) {
+        if (clientConfig == null) {
+            return null;
+        }
         return Optional.ofNullable(clientConfig.get(CommonClientConfigKey.ReadTimeout))
                 .map(Long::valueOf)
                 .orElse(null);
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.timeouts;
+
+import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.zuul.context.CommonContextKeys;
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.exception.RequestExpiredException;
+import com.netflix.zuul.message.HeaderName;
+import com.netflix.zuul.message.http.HttpHeaderNames;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * The time by which a request must be done, across all of its attempts to reach the origin. Each attempt's read
+ * timeout is capped at the time remaining, and no further attempt is made once too little remains for one to
+ * succeed.
+ *
+ * <p>A deadline can be set on the request's context by a filter with {@link #set}, or taken from the
+ * {@link #HEADER} on the inbound request if {@code zuul.request.deadline.header.enabled} is set. Either way, the time
+ * remaining is sent to the origin in the same header, so that it can give up when Zuul will have.
+ */
+public final class RequestDeadline {
+
+    /** The time remaining for the request, in milliseconds. */
+    public static final HeaderName HEADER = HttpHeaderNames.get("X-Zuul-Deadline-Ms");
+
+    /** Longer than any request could wait, but short enough not to overflow as nanoseconds. */
+    private static final long MAX_HEADER_MILLIS = Duration.ofDays(1).toMillis();
+
+    private static final CachedDynamicBooleanProperty HEADER_ENABLED =
+            new CachedDynamicBooleanProperty("zuul.request.deadline.header.enabled", false);
+
+    private final long deadlineNanos;
+    private final LongSupplier nanoClock;
+
+    private RequestDeadline(long deadlineNanos, LongSupplier nanoClock) {
+        this.deadlineNanos = deadlineNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    public static RequestDeadline after(Duration budget) {
+        return after(budget, System::nanoTime);
+    }
+
+    static RequestDeadline after(Duration budget, LongSupplier nanoClock) {
+        return new RequestDeadline(nanoClock.getAsLong() + budget.toNanos(), nanoClock);
+    }
+
+    /**
+     * Gives the request the given time from now to be done, replacing any deadline it already had.
+     */
+    public static void set(SessionContext context, Duration budget) {
+        context.put(CommonContextKeys.REQUEST_DEADLINE, after(budget));
+    }
+
+    /**
+     * Returns the request's deadline, taking it from the inbound header the first time it's asked for if a filter
+     * hasn't set one, or null if the request has none.
+     */
+    @Nullable
+    public static RequestDeadline fromRequest(HttpRequestMessage request) {
+        SessionContext context = request.getContext();
+        RequestDeadline deadline = context.get(CommonContextKeys.REQUEST_DEADLINE);
+        if (deadline != null || !HEADER_ENABLED.get()) {
+            return deadline;
+        }
+
+        String value = request.getHeaders().getFirst(HEADER);
+        if (value == null) {
+            return null;
+        }
+        long millis;
+        try {
+            millis = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (millis < 0) {
+            return null;
+        }
+        deadline = after(Duration.ofMillis(Math.min(millis, MAX_HEADER_MILLIS)));
+        context.put(CommonContextKeys.REQUEST_DEADLINE, deadline);
+        return deadline;
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - nanoClock.getAsLong()));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - nanoClock.getAsLong() <= 0;
+    }
+
+    /**
+     * Returns the given timeout, or the time remaining if that is shorter.
+     *
+     * @throws RequestExpiredException if no time remains.
+     */
+    public Duration limit(Duration timeout) {
+        long remaining = deadlineNanos - nanoClock.getAsLong();
+        if (remaining <= 0) {
+            throw new RequestExpiredException("Request deadline expired");
+        }
+        return remaining < timeout.toNanos() ? Duration.ofNanos(remaining) : timeout;
+    }
+
+    /**
+     * Tells the origin how long remains, overwriting whatever the client sent in the same header.
+     */
+    public void propagate(HttpRequestMessage request) {
+        request.getHeaders().set(HEADER, Long.toString(remaining().toMillis()));
+    }
+}
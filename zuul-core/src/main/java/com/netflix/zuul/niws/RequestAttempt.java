@@ -58,6 +58,8 @@ public class RequestAttempt {
     private long readTimeout;
     private int connectTimeout;
     private int maxRetries;
+    private boolean hedged;
+    private boolean retryBudgetExhausted;
 
     public RequestAttempt(
             int attemptNumber,
@@ -246,6 +248,21 @@ public class RequestAttempt {
         return maxRetries;
     }
 
+    /**
+     * Whether this attempt was sent while an earlier one was still waiting for its response, rather than after it
+     * failed.
+     */
+    public boolean isHedged() {
+        return hedged;
+    }
+
+    /**
+     * Whether this attempt failed in a way that could have been retried, but the origin's retry budget was spent.
+     */
+    public boolean isRetryBudgetExhausted() {
+        return retryBudgetExhausted;
+    }
+
     public void setStatus(int status) {
         this.status = status;
     }
@@ -354,6 +371,14 @@ public class RequestAttempt {
         this.maxRetries = maxRetries;
     }
 
+    public void setHedged(boolean hedged) {
+        this.hedged = hedged;
+    }
+
+    public void setRetryBudgetExhausted(boolean retryBudgetExhausted) {
+        this.retryBudgetExhausted = retryBudgetExhausted;
+    }
+
     @Override
     public String toString() {
         try {
@@ -383,6 +408,14 @@ public class RequestAttempt {
             root.put("port", port);
         }
 
+        if (hedged) {
+            root.put("hedged", true);
+        }
+
+        if (retryBudgetExhausted) {
+            root.put("retryBudgetExhausted", true);
+        }
+
         if (status < 1) {
             root.put("readTimeout", readTimeout);
             root.put("connectTimeout", connectTimeout);
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.origins;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * A limit on concurrent requests to an origin that follows how the origin responds, for {@link BasicNettyOrigin} to
+ * use in place of a fixed maximum.
+ *
+ * <p>Once per window the limit is scaled by how the window's average latency compares with the long-term average:
+ * while latency holds steady the limit grows by about its square root, and as requests start to queue at the origin
+ * and latency rises, it shrinks, by up to half. A window in which the origin was overloaded, responding 503 or timing
+ * out, cuts the limit by a tenth instead. The limit only grows while requests are using at least half of it, so a
+ * quiet origin doesn't build up a limit it has never been tested at.
+ *
+ * <p>The bounds are read again at the end of each window, so they can be changed while the limit is in use. A minimum
+ * below one is taken as one, and a maximum below the minimum as the minimum.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    /** How far latency may rise above the long-term average before the limit shrinks. */
+    private static final double TOLERANCE = 1.5;
+
+    private static final double BACKOFF = 0.9;
+    private static final double SMOOTHING = 0.2;
+
+    /** The long-term average covers roughly the last 20 windows. */
+    private static final double LONG_TERM_WEIGHT = 0.05;
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MIN_SAMPLES = 10;
+
+    private final IntSupplier minLimit;
+    private final IntSupplier maxLimit;
+    private final IntSupplier inflight;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicInteger overloads = new AtomicInteger();
+    private final AtomicLong windowEnd;
+    private final AtomicInteger limit;
+
+    /* Updated only at the end of a window, by whichever thread ends it. */
+    private double estimatedLimit;
+    private double longTermLatencyNanos;
+
+    public AdaptiveConcurrencyLimit(
+            IntSupplier minLimit, IntSupplier maxLimit, int initialLimit, IntSupplier inflight) {
+        this(minLimit, maxLimit, initialLimit, inflight, WINDOW_NANOS, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(
+            IntSupplier minLimit,
+            IntSupplier maxLimit,
+            int initialLimit,
+            IntSupplier inflight,
+            long windowNanos,
+            LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.inflight = inflight;
+        this.windowNanos = windowNanos;
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = clampToBounds(initialLimit);
+        this.limit = new AtomicInteger((int) estimatedLimit);
+        this.windowEnd = new AtomicLong(nanoClock.getAsLong() + windowNanos);
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    /**
+     * Records how long a successful attempt took.
+     */
+    public void onSample(long latencyNanos) {
+        this.latencyNanos.add(latencyNanos);
+        samples.increment();
+        maybeEndWindow();
+    }
+
+    /**
+     * Records that an attempt found the origin overloaded.
+     */
+    public void onOverload() {
+        overloads.incrementAndGet();
+        maybeEndWindow();
+    }
+
+    private void maybeEndWindow() {
+        long now = nanoClock.getAsLong();
+        long end = windowEnd.get();
+        if (now - end >= 0 && windowEnd.compareAndSet(end, now + windowNanos)) {
+            endWindow();
+        }
+    }
+
+    private synchronized void endWindow() {
+        long count = samples.sumThenReset();
+        long sum = latencyNanos.sumThenReset();
+
+        if (overloads.getAndSet(0) > 0) {
+            estimatedLimit = estimatedLimit * BACKOFF;
+        } else if (count < MIN_SAMPLES) {
+            // Too few to go on; carry them into the next window.
+            samples.add(count);
+            latencyNanos.add(sum);
+        } else {
+            double latency = (double) sum / count;
+            if (longTermLatencyNanos == 0) {
+                longTermLatencyNanos = latency;
+            } else {
+                longTermLatencyNanos = longTermLatencyNanos * (1 - LONG_TERM_WEIGHT) + latency * LONG_TERM_WEIGHT;
+                if (longTermLatencyNanos > 2 * latency) {
+                    // Latency has recovered from a long spike; let the average catch up quickly.
+                    longTermLatencyNanos *= 0.95;
+                }
+            }
+
+            if (inflight.getAsInt() * 2 >= estimatedLimit) {
+                double gradient = Math.clamp(TOLERANCE * longTermLatencyNanos / latency, 0.5, 1.0);
+                double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+                estimatedLimit = estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING;
+            }
+        }
+        // Clamped on every window, so a change to the bounds applies even while the limit itself holds still.
+        estimatedLimit = clampToBounds(estimatedLimit);
+        limit.set((int) estimatedLimit);
+    }
+
+    private double clampToBounds(double value) {
+        int min = Math.max(1, minLimit.getAsInt());
+        int max = Math.max(min, maxLimit.getAsInt());
+        return Math.clamp(value, (double) min, (double) max);
+    }
+}
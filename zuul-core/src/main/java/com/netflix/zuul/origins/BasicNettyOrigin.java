@@ -19,10 +19,12 @@ package com.netflix.zuul.origins;
 import com.netflix.client.config.CommonClientConfigKey;
 import com.netflix.client.config.DefaultClientConfigImpl;
 import com.netflix.client.config.IClientConfig;
+import com.netflix.client.config.IClientConfigKey;
 import com.netflix.config.CachedDynamicBooleanProperty;
 import com.netflix.config.CachedDynamicIntProperty;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
 import com.netflix.zuul.context.CommonContextKeys;
 import com.netflix.zuul.context.SessionContext;
 import com.netflix.zuul.discovery.DiscoveryResult;
@@ -40,12 +42,16 @@ import com.netflix.zuul.stats.status.StatusCategory;
 import com.netflix.zuul.stats.status.StatusCategoryUtils;
 import com.netflix.zuul.stats.status.ZuulStatusCategory;
 import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
 import io.netty.util.concurrent.Promise;
 import java.net.InetAddress;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 
 /**
  * Netty Origin basic implementation that can be used for most apps, with the more complex methods having no-op
@@ -56,6 +62,29 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 public class BasicNettyOrigin implements NettyOrigin {
 
+    /** Whether idempotent requests are sent to a second server when the first is slow to respond. */
+    public static final IClientConfigKey<Boolean> HEDGE_ENABLED = new CommonClientConfigKey<>("HedgeEnabled") {};
+
+    /** The percentile of recent response latencies after which a request is hedged. */
+    public static final IClientConfigKey<Integer> HEDGE_PERCENTILE =
+            new CommonClientConfigKey<>("HedgePercentile") {};
+
+    /** Whether retries to this origin are limited to a fraction of the requests that succeed first time. */
+    public static final IClientConfigKey<Boolean> RETRY_BUDGET_ENABLED =
+            new CommonClientConfigKey<>("RetryBudgetEnabled") {};
+
+    /** The retries earned by each request that succeeds first time. */
+    public static final IClientConfigKey<Double> RETRY_BUDGET_RATIO =
+            new CommonClientConfigKey<>("RetryBudgetRatio") {};
+
+    /** The retries per second allowed regardless of how many requests succeed. */
+    public static final IClientConfigKey<Integer> RETRY_BUDGET_MIN_PER_SECOND =
+            new CommonClientConfigKey<>("RetryBudgetMinRetriesPerSecond") {};
+
+    /** The time over which successes and retries are counted, in milliseconds. */
+    public static final IClientConfigKey<Integer> RETRY_BUDGET_WINDOW =
+            new CommonClientConfigKey<>("RetryBudgetWindow") {};
+
     private final OriginName originName;
     private final Registry registry;
     private final IClientConfig config;
@@ -66,6 +95,14 @@ public class BasicNettyOrigin implements NettyOrigin {
     private final Counter rejectedRequests;
     private final CachedDynamicIntProperty concurrencyMax;
     private final CachedDynamicBooleanProperty concurrencyProtectionEnabled;
+    private final CachedDynamicBooleanProperty adaptiveConcurrencyEnabled;
+    private final CachedDynamicIntProperty adaptiveConcurrencyMin;
+    private final CachedDynamicIntProperty adaptiveConcurrencyMax;
+    private final AdaptiveConcurrencyLimit adaptiveConcurrencyLimit;
+    private final RetryBudget retryBudget;
+    private final Counter retryBudgetExhausted;
+    private final OriginLatencyTracker responseLatencies = new OriginLatencyTracker();
+    private final AtomicBoolean warmUpStarted = new AtomicBoolean();
 
     public BasicNettyOrigin(OriginName originName, Registry registry) {
         this.originName = Objects.requireNonNull(originName, "originName");
@@ -83,6 +120,27 @@ public class BasicNettyOrigin implements NettyOrigin {
                 new CachedDynamicIntProperty("zuul.origin." + niwsClientName + ".concurrency.max.requests", 200);
         this.concurrencyProtectionEnabled = new CachedDynamicBooleanProperty(
                 "zuul.origin." + niwsClientName + ".concurrency.protect.enabled", true);
+        this.adaptiveConcurrencyEnabled = new CachedDynamicBooleanProperty(
+                "zuul.origin." + niwsClientName + ".concurrency.adaptive.enabled", false);
+        this.adaptiveConcurrencyMin =
+                new CachedDynamicIntProperty("zuul.origin." + niwsClientName + ".concurrency.adaptive.min", 20);
+        this.adaptiveConcurrencyMax =
+                new CachedDynamicIntProperty("zuul.origin." + niwsClientName + ".concurrency.adaptive.max", 1000);
+        this.adaptiveConcurrencyLimit = new AdaptiveConcurrencyLimit(
+                adaptiveConcurrencyMin::get,
+                adaptiveConcurrencyMax::get,
+                concurrencyMax.get(),
+                concurrentRequests::get);
+        PolledMeter.using(registry)
+                .withName("zuul.origin.concurrency.limit")
+                .withTag("id", niwsClientName)
+                .monitorValue(this, BasicNettyOrigin::getConcurrencyLimit);
+
+        this.retryBudget = new RetryBudget(
+                config.get(RETRY_BUDGET_RATIO, 0.1),
+                config.get(RETRY_BUDGET_MIN_PER_SECOND, 10),
+                Duration.ofMillis(config.get(RETRY_BUDGET_WINDOW, 10_000)));
+        this.retryBudgetExhausted = SpectatorUtils.newCounter("zuul.origin.retry.budget.exhausted", niwsClientName);
     }
 
     protected IClientConfig setupClientConfig(OriginName originName) {
@@ -123,6 +181,17 @@ public class BasicNettyOrigin implements NettyOrigin {
         return clientChannelManager.isCold();
     }
 
+    /**
+     * Warms up the connection pools the first time it is called; later calls do nothing, so that the origin manager can
+     * call it for every origin it hands out.
+     */
+    @Override
+    public void warmUp(EventLoopGroup eventLoopGroup) {
+        if (!warmUpStarted.get() && warmUpStarted.compareAndSet(false, true)) {
+            clientChannelManager.warmUp(eventLoopGroup);
+        }
+    }
+
     @Override
     public Promise<PooledConnection> connectToOrigin(
             HttpRequestMessage zuulReq,
@@ -131,7 +200,65 @@ public class BasicNettyOrigin implements NettyOrigin {
             CurrentPassport passport,
             AtomicReference<DiscoveryResult> chosenServer,
             AtomicReference<? super InetAddress> chosenHostAddr) {
-        return clientChannelManager.acquire(eventLoop, null, passport, chosenServer, chosenHostAddr);
+        // Retries and hedges go without the key, as it would only pick the server that was already tried.
+        Object key = attemptNumber == 1 ? zuulReq.getContext().get(CommonContextKeys.ORIGIN_ROUTING_KEY) : null;
+        return clientChannelManager.acquire(eventLoop, key, passport, chosenServer, chosenHostAddr);
+    }
+
+    @Override
+    @Nullable
+    public Duration getHedgeDelay(HttpRequestMessage zuulReq) {
+        if (!config.get(HEDGE_ENABLED, false)) {
+            return null;
+        }
+        long millis = responseLatencies.percentile(config.get(HEDGE_PERCENTILE, 95));
+        return millis < 0 ? null : Duration.ofMillis(millis);
+    }
+
+    @Override
+    @Nullable
+    public Duration getTypicalResponseLatency() {
+        long millis = responseLatencies.percentile(50);
+        return millis < 0 ? null : Duration.ofMillis(millis);
+    }
+
+    @Override
+    public void recordResponseLatency(Duration latency) {
+        responseLatencies.record(latency.toMillis());
+        if (adaptiveConcurrencyEnabled.get()) {
+            adaptiveConcurrencyLimit.onSample(latency.toNanos());
+        }
+    }
+
+    @Override
+    public void recordOverloadedAttempt() {
+        if (adaptiveConcurrencyEnabled.get()) {
+            adaptiveConcurrencyLimit.onOverload();
+        }
+    }
+
+    /**
+     * The most requests to have in flight to this origin at once: the adaptive limit when that is enabled, otherwise
+     * the configured maximum.
+     */
+    public int getConcurrencyLimit() {
+        return adaptiveConcurrencyEnabled.get() ? adaptiveConcurrencyLimit.getLimit() : concurrencyMax.get();
+    }
+
+    @Override
+    public boolean tryAcquireRetry() {
+        if (!config.get(RETRY_BUDGET_ENABLED, false) || retryBudget.tryAcquire()) {
+            return true;
+        }
+        retryBudgetExhausted.increment();
+        return false;
+    }
+
+    @Override
+    public void recordFirstAttemptSuccess() {
+        if (config.get(RETRY_BUDGET_ENABLED, false)) {
+            retryBudget.recordSuccess();
+        }
     }
 
     @Override
@@ -204,7 +331,7 @@ public class BasicNettyOrigin implements NettyOrigin {
 
     @Override
     public void preRequestChecks(HttpRequestMessage zuulRequest) {
-        if (concurrencyProtectionEnabled.get() && concurrentRequests.get() > concurrencyMax.get()) {
+        if (concurrencyProtectionEnabled.get() && concurrentRequests.get() > getConcurrencyLimit()) {
             rejectedRequests.increment();
             throw new OriginConcurrencyExceededException(getName());
         }
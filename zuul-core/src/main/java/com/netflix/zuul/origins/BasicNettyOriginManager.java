@@ -16,11 +16,15 @@
 
 package com.netflix.zuul.origins;
 
+import com.netflix.config.DynamicStringListProperty;
 import com.netflix.spectator.api.Registry;
 import com.netflix.zuul.context.SessionContext;
+import io.netty.channel.EventLoopGroup;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
 
 /**
  * Basic Netty Origin Manager that most apps can use. This can also serve as a useful template for creating more
@@ -32,9 +36,17 @@ import java.util.concurrent.ConcurrentHashMap;
 @Singleton
 public class BasicNettyOriginManager implements OriginManager<BasicNettyOrigin> {
 
+    /** VIPs whose origins are created and warmed up at startup, rather than on their first request. */
+    private static final DynamicStringListProperty WARM_UP_VIPS =
+            new DynamicStringListProperty("zuul.origin.warmup.vips", "");
+
     private final Registry registry;
     private final ConcurrentHashMap<OriginName, BasicNettyOrigin> originMappings;
 
+    /** Set once {@link #warmUp(EventLoopGroup)} is called, so that origins created later are warmed up as well. */
+    @Nullable
+    private volatile EventLoopGroup warmUpEventLoopGroup;
+
     @Inject
     public BasicNettyOriginManager(Registry registry) {
         this.registry = registry;
@@ -43,11 +55,39 @@ public class BasicNettyOriginManager implements OriginManager<BasicNettyOrigin>
 
     @Override
     public BasicNettyOrigin getOrigin(OriginName originName, String uri, SessionContext ctx) {
-        return originMappings.computeIfAbsent(originName, n -> createOrigin(originName, uri, ctx));
+        BasicNettyOrigin origin = originMappings.get(originName);
+        if (origin == null) {
+            origin = originMappings.computeIfAbsent(originName, n -> createOrigin(originName, uri, ctx));
+            // Read the group only once the origin is in the map, so that a concurrent warmUp() either sees it there
+            // or has already set the group. Warming up an origin twice is a no-op.
+            EventLoopGroup eventLoopGroup = warmUpEventLoopGroup;
+            if (eventLoopGroup != null) {
+                origin.warmUp(eventLoopGroup);
+            }
+        }
+        return origin;
     }
 
     @Override
     public BasicNettyOrigin createOrigin(OriginName originName, String uri, SessionContext ctx) {
         return new BasicNettyOrigin(originName, registry);
     }
+
+    /**
+     * Warms up the origins listed in {@code zuul.origin.warmup.vips}, creating them if need be, along with any origin
+     * already created. Origins created afterwards are warmed up as they are created. Intended to be called with the
+     * server's worker group, e.g. from {@code Server.addWorkerGroupListener}.
+     */
+    public void warmUp(EventLoopGroup eventLoopGroup) {
+        this.warmUpEventLoopGroup = Objects.requireNonNull(eventLoopGroup, "eventLoopGroup");
+        for (String vip : WARM_UP_VIPS.get()) {
+            if (!vip.isBlank()) {
+                OriginName originName = OriginName.fromVip(vip.trim());
+                originMappings.computeIfAbsent(originName, n -> createOrigin(originName, null, new SessionContext()));
+            }
+        }
+        for (BasicNettyOrigin origin : originMappings.values()) {
+            origin.warmUp(eventLoopGroup);
+        }
+    }
 }
@@ -26,10 +26,13 @@ import com.netflix.zuul.netty.connectionpool.PooledConnection;
 import com.netflix.zuul.niws.RequestAttempt;
 import com.netflix.zuul.passport.CurrentPassport;
 import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.util.concurrent.Promise;
 import java.net.InetAddress;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 
 /**
  * Netty Origin interface for integrating cleanly with the ProxyEndpoint state management class.
@@ -76,4 +79,52 @@ public interface NettyOrigin extends InstrumentedOrigin {
     Registry getSpectatorRegistry();
 
     default void originRetryPolicyAdjustmentIfNeeded(HttpRequestMessage zuulReq, HttpResponse nettyResponse) {}
+
+    /**
+     * Opens connections to this origin on the given event loops ahead of traffic, e.g. from
+     * {@code Server.addWorkerGroupListener}. {@link #isCold()} reports true until the warm-up completes.
+     */
+    default void warmUp(EventLoopGroup eventLoopGroup) {}
+
+    /**
+     * How long to wait for a response before sending an idempotent request to a second server as well, or
+     * {@code null} to not hedge it.
+     */
+    @Nullable
+    default Duration getHedgeDelay(HttpRequestMessage zuulReq) {
+        return null;
+    }
+
+    /**
+     * How long a successful attempt usually takes, below which a request's remaining deadline isn't worth another
+     * attempt, or {@code null} if not known.
+     */
+    @Nullable
+    default Duration getTypicalResponseLatency() {
+        return null;
+    }
+
+    /**
+     * Records how long a successful attempt took, from which {@link #getHedgeDelay} and
+     * {@link #getTypicalResponseLatency} are derived.
+     */
+    default void recordResponseLatency(Duration latency) {}
+
+    /**
+     * Records that an attempt found the origin overloaded: it responded 503, or not at all within the read timeout.
+     */
+    default void recordOverloadedAttempt() {}
+
+    /**
+     * Takes a retry or hedged attempt from the origin's retry budget, on top of the per-request limit of
+     * {@link #getMaxRetriesForRequest}, returning false if none are left.
+     */
+    default boolean tryAcquireRetry() {
+        return true;
+    }
+
+    /**
+     * Records that a request succeeded on its first attempt, which is what the retry budget is earned from.
+     */
+    default void recordFirstAttemptSuccess() {}
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.origins;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An approximate distribution of an origin's recent response latencies, from which {@link BasicNettyOrigin} picks
+ * the delay before a request is hedged.
+ *
+ * <p>Latencies are counted in buckets a quarter of a power of two wide, so a percentile is at most about 25% above
+ * the exact value. Every {@code window} samples the counts are halved, so the distribution follows the origin as it
+ * speeds up or slows down rather than averaging over its whole life.
+ */
+public final class OriginLatencyTracker {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Latencies are capped at about 35 minutes, which is far beyond any read timeout. */
+    private static final long MAX_MILLIS = (1L << 31) - 1;
+
+    private static final int BUCKETS = bucket(MAX_MILLIS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong samples = new AtomicLong();
+    private final int window;
+    private final int minSamples;
+
+    public OriginLatencyTracker() {
+        this(1000, 100);
+    }
+
+    public OriginLatencyTracker(int window, int minSamples) {
+        if (window < 2 || minSamples < 1) {
+            throw new IllegalArgumentException("window=" + window + ", minSamples=" + minSamples);
+        }
+        this.window = window;
+        this.minSamples = minSamples;
+    }
+
+    public void record(long millis) {
+        counts.incrementAndGet(bucket(millis));
+        if (samples.incrementAndGet() % window == 0) {
+            decay();
+        }
+    }
+
+    /**
+     * Returns the given percentile of the recorded latencies in milliseconds, rounded up to the top of its bucket, or
+     * -1 if too few have been recorded to tell.
+     */
+    public long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total < minSamples) {
+            return -1;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        // Counts were halved during the scan.
+        return upperBound(BUCKETS - 1);
+    }
+
+    private void decay() {
+        for (int i = 0; i < BUCKETS; i++) {
+            // Only this thread takes away, so the count can't go negative however many are added meanwhile.
+            counts.addAndGet(i, -(counts.get(i) >>> 1));
+        }
+    }
+
+    /**
+     * Values below {@link #SUB_BUCKETS} get a bucket each; above that, each power of two is split into
+     * {@link #SUB_BUCKETS} buckets by the bits just below the highest one.
+     */
+    static int bucket(long millis) {
+        if (millis < SUB_BUCKETS) {
+            return (int) Math.max(millis, 0);
+        }
+        long value = Math.min(millis, MAX_MILLIS);
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
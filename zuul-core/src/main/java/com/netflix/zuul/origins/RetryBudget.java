@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.origins;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the retries sent to an origin to a fraction of the requests that succeed on their first attempt, so that
+ * when the origin browns out, retries don't add to its load as much as every request retrying would.
+ *
+ * <p>Each first-attempt success earns {@code ratio} of a retry and each retry spends one, counted over a sliding
+ * window. A small reserve of {@code minRetriesPerSecond} is always available, so that an origin that sees little
+ * traffic can still have its requests retried. The window is split into slots, each counted with {@link LongAdder}s,
+ * so that recording a success costs about as much as incrementing an uncontended counter.
+ */
+public final class RetryBudget {
+
+    private static final int SLOTS = 10;
+
+    private final double ratio;
+    private final long reserve;
+    private final long slotNanos;
+    private final LongSupplier nanoClock;
+    private final Slot[] slots = new Slot[SLOTS];
+
+    public RetryBudget(double ratio, int minRetriesPerSecond, Duration window) {
+        this(ratio, minRetriesPerSecond, window, System::nanoTime);
+    }
+
+    RetryBudget(double ratio, int minRetriesPerSecond, Duration window, LongSupplier nanoClock) {
+        if (ratio < 0 || minRetriesPerSecond < 0 || window.toMillis() < SLOTS) {
+            throw new IllegalArgumentException(
+                    "ratio=" + ratio + ", minRetriesPerSecond=" + minRetriesPerSecond + ", window=" + window);
+        }
+        this.ratio = ratio;
+        this.reserve = (long) minRetriesPerSecond * window.toMillis() / 1000;
+        this.slotNanos = window.toNanos() / SLOTS;
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Records a request that succeeded on its first attempt.
+     */
+    public void recordSuccess() {
+        slot(tick()).successes.increment();
+    }
+
+    /**
+     * Takes a retry from the budget, returning false if it is spent. Concurrent callers may together take a few more
+     * than the budget allows, as they all check it before any of them records taking one.
+     */
+    public boolean tryAcquire() {
+        long tick = tick();
+        long successes = 0;
+        long retries = 0;
+        for (Slot slot : slots) {
+            if (slot.tick.get() > tick - SLOTS) {
+                successes += slot.successes.sum();
+                retries += slot.retries.sum();
+            }
+        }
+        if (retries >= reserve + ratio * successes) {
+            return false;
+        }
+        slot(tick).retries.increment();
+        return true;
+    }
+
+    private long tick() {
+        return Math.floorDiv(nanoClock.getAsLong(), slotNanos);
+    }
+
+    /**
+     * Returns the slot counting the given tick, first clearing it if it was last used for one that has since left
+     * the window. Anything another thread counts while it is being cleared may be lost, which is a request or two
+     * either way.
+     */
+    private Slot slot(long tick) {
+        Slot slot = slots[Math.floorMod(tick, SLOTS)];
+        long last = slot.tick.get();
+        if (last < tick && slot.tick.compareAndSet(last, tick)) {
+            slot.successes.reset();
+            slot.retries.reset();
+        }
+        return slot;
+    }
+
+    private static final class Slot {
+        final AtomicLong tick = new AtomicLong(Long.MIN_VALUE);
+        final LongAdder successes = new LongAdder();
+        final LongAdder retries = new LongAdder();
+    }
+}
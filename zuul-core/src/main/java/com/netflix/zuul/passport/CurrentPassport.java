@@ -20,6 +20,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Ticker;
 import com.google.common.collect.Sets;
 import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.config.DynamicPropertyFactory;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Spectator;
 import com.netflix.zuul.context.CommonContextKeys;
@@ -28,27 +29,43 @@ import io.netty.channel.Channel;
 import io.netty.util.AttributeKey;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.ConcurrentModificationException;
 import java.util.Deque;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * The states a request or connection has passed through, and when.
+ *
+ * The history is a fixed-size ring of (state ordinal, ticker time) pairs, so stamping a state allocates nothing and
+ * takes no lock. Once the ring is full, each new state overwrites the oldest one; how many were lost is reported in
+ * {@link #toString()} and counted in {@code zuul.passport.overflow}. Queries only see the states still in the ring,
+ * except {@link #firstTime()}, which stays the time of the very first state.
+ *
+ * NOTE: A passport has a single writer at a time, normally the event loop of the channel it belongs to. Handing it to
+ * another thread must happen-before that thread stamps it. Readers on other threads see a consistent prefix.
+ */
 public class CurrentPassport {
     protected static final Logger logger = LoggerFactory.getLogger(CurrentPassport.class);
 
     private static final CachedDynamicBooleanProperty COUNT_STATES =
             new CachedDynamicBooleanProperty("zuul.passport.count.enabled", false);
 
+    private static final int HISTORY_SIZE = roundUpToPowerOfTwo(DynamicPropertyFactory.getInstance()
+            .getIntProperty("zuul.passport.history.size", 128)
+            .get());
+
+    private static final Counter OVERFLOW_COUNTER = Spectator.globalRegistry().counter("zuul.passport.overflow");
+
     public static final AttributeKey<CurrentPassport> CHANNEL_ATTR = AttributeKey.newInstance("_current_passport");
     private static final Ticker SYSTEM_TICKER = Ticker.systemTicker();
+    private static final PassportState[] STATES = PassportState.values();
+    /** Longs needed for one bit per state, so that states can keep being added past the 64th. */
+    private static final int STATE_WORDS = (STATES.length + Long.SIZE - 1) / Long.SIZE;
     private static final Set<PassportState> CONTENT_STATES = Sets.newHashSet(
             PassportState.IN_REQ_CONTENT_RECEIVED,
             PassportState.IN_RESP_CONTENT_RECEIVED,
@@ -60,45 +77,19 @@ public class CurrentPassport {
             new CachedDynamicBooleanProperty("zuul.passport.state.content.enabled", false);
 
     private final Ticker ticker;
-    private final ArrayDeque<PassportItem> history;
-    private final HashSet<PassportState> statesAdded;
     private final long creationTimeSinceEpochMs;
 
-    private final IntrospectiveReentrantLock historyLock = new IntrospectiveReentrantLock();
-    private final Unlocker unlocker = new Unlocker();
+    private final short[] states;
+    private final long[] times;
+    private final int mask;
 
-    private final class Unlocker implements AutoCloseable {
+    /** Number of states ever added. Written after the slot, so a reader never sees a slot before it is filled. */
+    private volatile int count;
 
-        @Override
-        public void close() {
-            historyLock.unlock();
-        }
-    }
+    private long firstTime;
 
-    private static final class IntrospectiveReentrantLock extends ReentrantLock {
-
-        @Override
-        protected Thread getOwner() {
-            return super.getOwner();
-        }
-    }
-
-    private Unlocker lock() {
-        boolean locked = false;
-        if ((historyLock.isLocked() && !historyLock.isHeldByCurrentThread()) || !(locked = historyLock.tryLock())) {
-            Thread owner = historyLock.getOwner();
-            String ownerStack = String.valueOf(owner != null ? Arrays.asList(owner.getStackTrace()) : historyLock);
-            logger.warn(
-                    "CurrentPassport already locked!, other={}, self={}",
-                    ownerStack,
-                    Thread.currentThread(),
-                    new ConcurrentModificationException());
-        }
-        if (!locked) {
-            historyLock.lock();
-        }
-        return unlocker;
-    }
+    /** One bit per {@link PassportState} ordinal, for {@link #addIfNotAlready}. */
+    private final long[] statesAdded = new long[STATE_WORDS];
 
     CurrentPassport() {
         this(SYSTEM_TICKER);
@@ -106,12 +97,25 @@ public class CurrentPassport {
 
     @VisibleForTesting
     public CurrentPassport(Ticker ticker) {
+        this(ticker, HISTORY_SIZE);
+    }
+
+    @VisibleForTesting
+    CurrentPassport(Ticker ticker, int historySize) {
+        if (Integer.bitCount(historySize) != 1) {
+            throw new IllegalArgumentException("historySize must be a power of two: " + historySize);
+        }
         this.ticker = ticker;
-        this.history = new ArrayDeque<>();
-        this.statesAdded = new HashSet<>();
+        this.states = new short[historySize];
+        this.times = new long[historySize];
+        this.mask = historySize - 1;
         this.creationTimeSinceEpochMs = System.currentTimeMillis();
     }
 
+    private static int roundUpToPowerOfTwo(int size) {
+        return size <= 2 ? 2 : Integer.highestOneBit(size - 1) << 1;
+    }
+
     public static CurrentPassport create() {
         if (COUNT_STATES.get()) {
             return new CountingCurrentPassport();
@@ -151,18 +155,21 @@ public class CurrentPassport {
     }
 
     public PassportState getState() {
-        try (Unlocker ignored = lock()) {
-            PassportItem passportItem = history.peekLast();
-            return passportItem != null ? passportItem.getState() : null;
-        }
+        int end = count;
+        return end > 0 ? stateAt(end - 1) : null;
     }
 
+    /**
+     * Returns a copy of the states still in the history, oldest first.
+     */
     @VisibleForTesting
     public Deque<PassportItem> getHistory() {
-        try (Unlocker ignored = lock()) {
-            // best effort, but doesn't actually protect anything
-            return history;
+        int end = count;
+        Deque<PassportItem> history = new ArrayDeque<>(end - startOf(end));
+        for (int i = startOf(end); i < end; i++) {
+            history.addLast(itemAt(i));
         }
+        return history;
     }
 
     public void add(PassportState state) {
@@ -173,25 +180,44 @@ public class CurrentPassport {
             }
         }
 
-        try (Unlocker ignored = lock()) {
-            history.addLast(new PassportItem(state, now()));
-        }
-        statesAdded.add(state);
+        addAt(state, now());
+        int ordinal = state.ordinal();
+        statesAdded[ordinal >>> 6] |= 1L << ordinal;
     }
 
     public void addIfNotAlready(PassportState state) {
-        if (!statesAdded.contains(state)) {
+        int ordinal = state.ordinal();
+        if ((statesAdded[ordinal >>> 6] & (1L << ordinal)) == 0) {
             add(state);
         }
     }
 
+    private void addAt(PassportState state, long time) {
+        int n = count;
+        if (n == 0) {
+            firstTime = time;
+        } else if (n == states.length) {
+            OVERFLOW_COUNTER.increment();
+        }
+        int slot = n & mask;
+        states[slot] = (short) state.ordinal();
+        times[slot] = time;
+        count = n + 1;
+    }
+
+    /**
+     * Returns how many of the oldest states have been overwritten since the history filled up.
+     */
+    public int overflowCount() {
+        return Math.max(0, count - states.length);
+    }
+
     public long calculateTimeBetweenFirstAnd(PassportState endState) {
         long startTime = firstTime();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == endState) {
-                    return item.getTime() - startTime;
-                }
+        int end = count;
+        for (int i = startOf(end); i < end; i++) {
+            if (stateAt(i) == endState) {
+                return timeAt(i) - startTime;
             }
         }
         return now() - startTime;
@@ -201,9 +227,10 @@ public class CurrentPassport {
      * NOTE: This is NOT nanos since epoch. It's just since an arbitrary point in time. So only use relatively.
      */
     public long firstTime() {
-        try (Unlocker ignored = lock()) {
-            return history.getFirst().getTime();
+        if (count == 0) {
+            throw new NoSuchElementException();
         }
+        return firstTime;
     }
 
     public long creationTimeSinceEpochMs() {
@@ -232,13 +259,13 @@ public class CurrentPassport {
 
     public StartAndEnd findStartAndEndStates(PassportState startState, PassportState endState) {
         StartAndEnd sae = new StartAndEnd();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == startState) {
-                    sae.startTime = item.getTime();
-                } else if (item.getState() == endState) {
-                    sae.endTime = item.getTime();
-                }
+        int end = count;
+        for (int i = startOf(end); i < end; i++) {
+            PassportState state = stateAt(i);
+            if (state == startState) {
+                sae.startTime = timeAt(i);
+            } else if (state == endState) {
+                sae.endTime = timeAt(i);
             }
         }
 
@@ -247,13 +274,13 @@ public class CurrentPassport {
 
     public StartAndEnd findFirstStartAndLastEndStates(PassportState startState, PassportState endState) {
         StartAndEnd sae = new StartAndEnd();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (sae.startNotFound() && item.getState() == startState) {
-                    sae.startTime = item.getTime();
-                } else if (item.getState() == endState) {
-                    sae.endTime = item.getTime();
-                }
+        int end = count;
+        for (int i = startOf(end); i < end; i++) {
+            PassportState state = stateAt(i);
+            if (sae.startNotFound() && state == startState) {
+                sae.startTime = timeAt(i);
+            } else if (state == endState) {
+                sae.endTime = timeAt(i);
             }
         }
         return sae;
@@ -261,13 +288,13 @@ public class CurrentPassport {
 
     public StartAndEnd findLastStartAndFirstEndStates(PassportState startState, PassportState endState) {
         StartAndEnd sae = new StartAndEnd();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == startState) {
-                    sae.startTime = item.getTime();
-                } else if (sae.endNotFound() && item.getState() == endState) {
-                    sae.endTime = item.getTime();
-                }
+        int end = count;
+        for (int i = startOf(end); i < end; i++) {
+            PassportState state = stateAt(i);
+            if (state == startState) {
+                sae.startTime = timeAt(i);
+            } else if (sae.endNotFound() && state == endState) {
+                sae.endTime = timeAt(i);
             }
         }
         return sae;
@@ -278,20 +305,19 @@ public class CurrentPassport {
 
         StartAndEnd currentPair = null;
 
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-
-                if (item.getState() == startState) {
-                    if (currentPair == null) {
-                        currentPair = new StartAndEnd();
-                        currentPair.startTime = item.getTime();
-                    }
-                } else if (item.getState() == endState) {
-                    if (currentPair != null) {
-                        currentPair.endTime = item.getTime();
-                        items.add(currentPair);
-                        currentPair = null;
-                    }
+        int end = count;
+        for (int i = startOf(end); i < end; i++) {
+            PassportState state = stateAt(i);
+            if (state == startState) {
+                if (currentPair == null) {
+                    currentPair = new StartAndEnd();
+                    currentPair.startTime = timeAt(i);
+                }
+            } else if (state == endState) {
+                if (currentPair != null) {
+                    currentPair.endTime = timeAt(i);
+                    items.add(currentPair);
+                    currentPair = null;
                 }
             }
         }
@@ -300,24 +326,20 @@ public class CurrentPassport {
     }
 
     public PassportItem findState(PassportState state) {
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == state) {
-                    return item;
-                }
+        int end = count;
+        for (int i = startOf(end); i < end; i++) {
+            if (stateAt(i) == state) {
+                return itemAt(i);
             }
         }
         return null;
     }
 
     public PassportItem findStateBackwards(PassportState state) {
-        try (Unlocker ignored = lock()) {
-            Iterator itr = history.descendingIterator();
-            while (itr.hasNext()) {
-                PassportItem item = (PassportItem) itr.next();
-                if (item.getState() == state) {
-                    return item;
-                }
+        int end = count;
+        for (int i = end - 1; i >= startOf(end); i--) {
+            if (stateAt(i) == state) {
+                return itemAt(i);
             }
         }
         return null;
@@ -325,11 +347,10 @@ public class CurrentPassport {
 
     public List<PassportItem> findStates(PassportState state) {
         ArrayList<PassportItem> items = new ArrayList<>();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == state) {
-                    items.add(item);
-                }
+        int end = count;
+        for (int i = startOf(end); i < end; i++) {
+            if (stateAt(i) == state) {
+                items.add(itemAt(i));
             }
         }
         return items;
@@ -338,11 +359,10 @@ public class CurrentPassport {
     public List<Long> findTimes(PassportState state) {
         long startTick = firstTime();
         ArrayList<Long> items = new ArrayList<>();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == state) {
-                    items.add(item.getTime() - startTick);
-                }
+        int end = count;
+        for (int i = startOf(end); i < end; i++) {
+            if (stateAt(i) == state) {
+                items.add(timeAt(i) - startTick);
             }
         }
         return items;
@@ -358,57 +378,72 @@ public class CurrentPassport {
         return ticker.read();
     }
 
+    /**
+     * The position of the oldest state still in the history, given the number of states added so far. Positions are
+     * counted from the first state ever added, so they keep increasing as the ring wraps.
+     */
+    private int startOf(int end) {
+        return Math.max(0, end - states.length);
+    }
+
+    private PassportState stateAt(int position) {
+        return STATES[states[position & mask]];
+    }
+
+    private long timeAt(int position) {
+        return times[position & mask];
+    }
+
+    private PassportItem itemAt(int position) {
+        return new PassportItem(stateAt(position), timeAt(position));
+    }
+
     @Override
     public String toString() {
-        try (Unlocker ignored = lock()) {
-            long startTime = history.size() > 0 ? firstTime() : 0;
-            long now = now();
-
-            StringBuilder sb = new StringBuilder();
-            sb.append("CurrentPassport {");
-            sb.append("start_ms=").append(creationTimeSinceEpochMs()).append(", ");
-
-            sb.append('[');
-            for (PassportItem item : history) {
-                sb.append('+')
-                        .append(item.getTime() - startTime)
-                        .append('=')
-                        .append(item.getState().name())
-                        .append(", ");
-            }
-            sb.append('+').append(now - startTime).append('=').append("NOW");
-            sb.append(']');
-
-            sb.append('}');
+        int end = count;
+        long startTime = end > 0 ? firstTime() : 0;
+        long now = now();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("CurrentPassport {");
+        sb.append("start_ms=").append(creationTimeSinceEpochMs()).append(", ");
+        if (end > states.length) {
+            sb.append("overflowed=").append(end - states.length).append(", ");
+        }
 
-            return sb.toString();
+        sb.append('[');
+        for (int i = startOf(end); i < end; i++) {
+            sb.append('+').append(timeAt(i) - startTime).append('=').append(stateAt(i).name()).append(", ");
         }
+        sb.append('+').append(now - startTime).append('=').append("NOW");
+        sb.append(']');
+
+        sb.append('}');
+
+        return sb.toString();
     }
 
     @VisibleForTesting
     public static CurrentPassport parseFromToString(String text) {
         CurrentPassport passport = null;
-        Pattern ptn = Pattern.compile("CurrentPassport \\{start_ms=\\d+, \\[(.*)\\]\\}");
+        Pattern ptn = Pattern.compile("CurrentPassport \\{start_ms=\\d+, (?:overflowed=\\d+, )?\\[(.*)\\]\\}");
         Pattern ptnState = Pattern.compile("^\\+(\\d+)=(.+)$");
         Matcher m = ptn.matcher(text);
         if (m.matches()) {
             String[] stateStrs = m.group(1).split(", ", -1);
             MockTicker ticker = new MockTicker();
             passport = new CurrentPassport(ticker);
-            try (Unlocker ignored = passport.lock()) {
-                for (String stateStr : stateStrs) {
-                    Matcher stateMatch = ptnState.matcher(stateStr);
-                    if (stateMatch.matches()) {
-                        String stateName = stateMatch.group(2);
-                        if (stateName.equals("NOW")) {
-                            long startTime = passport.history.size() > 0 ? passport.firstTime() : 0;
-                            long now = Long.parseLong(stateMatch.group(1)) + startTime;
-                            ticker.setNow(now);
-                        } else {
-                            PassportState state = PassportState.valueOf(stateName);
-                            PassportItem item = new PassportItem(state, Long.parseLong(stateMatch.group(1)));
-                            passport.history.add(item);
-                        }
+            for (String stateStr : stateStrs) {
+                Matcher stateMatch = ptnState.matcher(stateStr);
+                if (stateMatch.matches()) {
+                    String stateName = stateMatch.group(2);
+                    if (stateName.equals("NOW")) {
+                        long startTime = passport.count > 0 ? passport.firstTime() : 0;
+                        long now = Long.parseLong(stateMatch.group(1)) + startTime;
+                        ticker.setNow(now);
+                    } else {
+                        PassportState state = PassportState.valueOf(stateName);
+                        passport.addAt(state, Long.parseLong(stateMatch.group(1)));
                     }
                 }
             }
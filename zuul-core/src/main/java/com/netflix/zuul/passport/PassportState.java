@@ -84,7 +84,10 @@ public enum PassportState {
     ORIGIN_CH_INACTIVE,
     ORIGIN_CH_IDLE_TIMEOUT,
     ORIGIN_CH_POOL_RETURNED,
+    ORIGIN_CH_POOL_STOLEN,
     ORIGIN_CH_READ_TIMEOUT,
     ORIGIN_CH_IO_EX,
     ORIGIN_RETRY_START,
+    ORIGIN_HEDGE_START,
+    ORIGIN_HEDGE_CANCELLED,
 }
@@ -30,7 +30,10 @@ import java.util.zip.GZIPOutputStream;
  * User: michaels@netflix.com
  * Date: 5/10/16
  * Time: 12:31 PM
+ *
+ * @deprecated copies every chunk onto the heap; use {@link com.netflix.zuul.netty.compression.GzipCompressor}.
  */
+@Deprecated
 public class Gzipper {
     private final ByteArrayOutputStream baos;
     private final GZIPOutputStream gzos;
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AccessLogReaderTest {
+
+    @TempDir
+    Path dir;
+
+    private final DefaultRegistry registry = new DefaultRegistry();
+
+    @Test
+    void readsBackSameLinesAsTextLog() throws IOException {
+        Path textFile = dir.resolve("access.log");
+        AccessLogWriter text = AccessLogWriter.open(textFile, 64, registry);
+        AccessLogWriter binary = AccessLogWriter.openBinary(dir.resolve("binary"), "access", 1 << 20, 64, registry);
+
+        logRequests(new AccessLogPublisher(text, (channel, request) -> "req"), 20);
+        logRequests(new AccessLogPublisher(binary, (channel, request) -> "req"), 20);
+        text.close();
+        binary.close();
+
+        assertThat(readAll(dir.resolve("binary"))).isEqualTo(Files.readString(textFile, UTF_8));
+    }
+
+    @Test
+    void rollsSegmentsThatEachReadOnTheirOwn() throws IOException {
+        List<String> requestHeaders = List.of("host", "user-agent");
+        BinaryAccessLogEncoder encoder = new BinaryAccessLogEncoder(requestHeaders, List.of());
+        Path directory = dir.resolve("binary");
+        StringBuilder expected = new StringBuilder();
+
+        try (MappedSegmentOutput output = new MappedSegmentOutput(directory, "access", 256, encoder.fileHeader())) {
+            ByteBuf buf = Unpooled.buffer();
+            for (int i = 0; i < 50; i++) {
+                AccessLogRecord record = new AccessLogRecord();
+                record.dateTime = LocalDateTime.of(2026, 1, 2, 3, 4, 5, i * 1000);
+                record.remoteIp = "10.0.0.1";
+                record.method = i % 2 == 0 ? "GET" : "POST";
+                record.uri = "/path/" + i;
+                record.status = 200;
+                record.durationMicros = i;
+                record.requestHeaders = new CharSequence[] {"example.com", i % 3 == 0 ? null : "agent"};
+
+                buf.clear();
+                encoder.startBatch(buf);
+                encoder.encode(record, buf);
+                encoder.finishBatch(buf);
+                output.write(buf);
+
+                buf.clear();
+                TextAccessLogEncoder.INSTANCE.encode(record, buf);
+                expected.append(buf.toString(UTF_8));
+            }
+            buf.release();
+        }
+
+        assertThat(segments(directory)).hasSizeGreaterThan(1);
+        assertThat(readAll(directory)).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void segmentHoldsSeveralBatches() throws IOException {
+        Path directory = dir.resolve("raw");
+
+        try (MappedSegmentOutput output =
+                new MappedSegmentOutput(directory, "access", 4096, "head".getBytes(UTF_8))) {
+            for (String batch : List.of("first", "second", "third")) {
+                ByteBuf buf = Unpooled.copiedBuffer(batch, UTF_8);
+                output.write(buf);
+                assertThat(buf.isReadable()).isFalse();
+                buf.release();
+            }
+        }
+
+        List<Path> segments = segments(directory);
+        assertThat(segments).hasSize(1);
+        assertThat(Files.readString(segments.get(0), UTF_8)).isEqualTo("headfirstsecondthird");
+    }
+
+    @Test
+    void encodesTimeRoundTrip() {
+        LocalDateTime dateTime = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+        long micros = BinaryAccessLogEncoder.epochMicros(dateTime);
+
+        assertThat(micros).isEqualTo(-1);
+        long seconds = Math.floorDiv(micros, 1_000_000);
+        int nanos = (int) Math.floorMod(micros, 1_000_000) * 1000;
+        assertThat(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC)).isEqualTo(dateTime);
+    }
+
+    private static void logRequests(AccessLogPublisher publisher, int count) {
+        for (int i = 0; i < count; i++) {
+            DefaultFullHttpRequest request =
+                    new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/path/" + i + "?x=é");
+            request.headers().add("Host", "example.com");
+            request.headers().add("User-Agent", "agent-" + (i % 3));
+            DefaultFullHttpResponse response =
+                    new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.valueOf(200 + (i % 2)));
+            response.headers().add("Content-Type", "application/json");
+            publisher.log(
+                    null,
+                    request,
+                    response,
+                    LocalDateTime.of(2026, 1, 2, 3, 4, 5, i * 1_000_000),
+                    7001,
+                    "10.0.0." + (i % 4),
+                    i * 1_500L,
+                    i == 0 ? null : 0L,
+                    20L * i);
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static String readAll(Path directory) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Path segment : segments(directory)) {
+            new AccessLogReader().toText(segment, out);
+        }
+        return out.toString(UTF_8);
+    }
+}
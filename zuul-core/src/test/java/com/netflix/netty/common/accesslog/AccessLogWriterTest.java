@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AccessLogWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private final DefaultRegistry registry = new DefaultRegistry();
+
+    @Test
+    void writesSameLineAsLogger() throws IOException {
+        Path file = dir.resolve("access.log");
+        AccessLogWriter writer = AccessLogWriter.open(file, 16, registry);
+        AccessLogPublisher publisher = new AccessLogPublisher(writer, (channel, request) -> "req-1");
+
+        DefaultFullHttpRequest request =
+                new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/path?x=1");
+        request.headers().add("Host", "example.com");
+        request.headers().add("User-Agent", "a");
+        request.headers().add("User-Agent", "b");
+        DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().add("Content-Type", "application/json");
+
+        publisher.log(
+                null,
+                request,
+                response,
+                LocalDateTime.of(2026, 1, 2, 3, 4, 5, 120_000_000),
+                7001,
+                "10.0.0.1",
+                1_500_000L,
+                0L,
+                20L);
+        writer.close();
+
+        assertThat(Files.readAllLines(file, UTF_8))
+                .containsExactly("2026-01-02T03:04:05.12\t10.0.0.1\t7001\tGET\t/path?x=1\t200\t1500\t20\treq-1\t-"
+                        + "\t\"example.com\"\t\"-\"\t\"-\"\t\"-\"\t\"-\"\t\"a,b\""
+                        + "\t\"-\"\t\"-\"\t\"application/json\"");
+    }
+
+    @Test
+    void dropsWhenRingIsFull() throws IOException {
+        Path file = dir.resolve("access.log");
+        AccessLogWriter writer =
+                new AccessLogWriter(AccessLogOutput.append(file), TextAccessLogEncoder.INSTANCE, 2, registry);
+        AccessLogPublisher publisher = new AccessLogPublisher(writer, (channel, request) -> null);
+
+        for (int i = 0; i < 3; i++) {
+            publisher.log(null, null, null, null, null, null, null, null, null);
+        }
+
+        assertThat(writer.droppedCount()).isEqualTo(1);
+        assertThat(registry.counter("zuul.accesslog.dropped").count()).isEqualTo(1);
+
+        writer.start();
+        writer.close();
+        assertThat(Files.readAllLines(file, UTF_8)).hasSize(2);
+    }
+
+    @Test
+    void formatsDateTimeLikeIsoFormatter() {
+        for (int nanos : new int[] {0, 1, 100, 120_000_000, 123_456_789, 999_999_999}) {
+            LocalDateTime dateTime = LocalDateTime.of(2026, 12, 31, 23, 59, 7, nanos);
+            ByteBuf out = Unpooled.buffer();
+            TextAccessLogEncoder.writeDateTime(out, dateTime);
+
+            assertThat(out.toString(US_ASCII)).isEqualTo(dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            out.release();
+        }
+    }
+
+    @Test
+    void everyRecordIsWrittenOrCountedAsDropped() throws IOException {
+        Path file = dir.resolve("access.log");
+        AccessLogWriter writer = AccessLogWriter.open(file, 2, registry);
+        AccessLogPublisher publisher = new AccessLogPublisher(writer, (channel, request) -> "id");
+
+        for (int i = 0; i < 100; i++) {
+            publisher.log(null, null, null, null, null, null, null, null, null);
+        }
+        writer.close();
+
+        String empty = String.join("\t", "-----T-:-:-", "-", "-", "-", "-", "-", "-", "-", "id", "-")
+                + "\t\"-\"".repeat(9);
+        assertThat(Files.readAllLines(file, UTF_8))
+                .hasSize((int) (100 - writer.droppedCount()))
+                .containsOnly(empty);
+    }
+}
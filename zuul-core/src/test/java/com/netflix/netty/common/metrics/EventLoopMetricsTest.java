@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import io.netty.channel.IoEventLoop;
+import io.netty.channel.IoHandle;
+import io.netty.channel.IoHandler;
+import io.netty.channel.IoHandlerContext;
+import io.netty.channel.IoHandlerFactory;
+import io.netty.channel.IoRegistration;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.nio.NioIoHandler;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EventLoopMetricsTest {
+
+    private final Registry registry = new DefaultRegistry();
+
+    @Test
+    void publishesCountsWhenPolled() {
+        EventLoopMetrics metrics = new EventLoopMetrics(registry, "1");
+        metrics.incrementCurrentRequests();
+        metrics.incrementCurrentRequests();
+        metrics.incrementCurrentConnections();
+        metrics.decrementCurrentRequests();
+
+        PolledMeter.update(registry);
+
+        assertThat(gauge("server.eventloop.http.requests.current", "1")).isEqualTo(1);
+        assertThat(gauge("server.eventloop.connections.current", "1")).isEqualTo(1);
+    }
+
+    @Test
+    void monitorsLoadOfEachLoop() throws Exception {
+        MultiThreadIoEventLoopGroup group = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory()) {
+            @Override
+            protected IoEventLoop newChild(Executor executor, IoHandlerFactory ioHandlerFactory, Object... args) {
+                return new MeteredIoEventLoop(this, executor, ioHandlerFactory);
+            }
+        };
+        try {
+            EventLoopGroupMetrics groupMetrics = new EventLoopGroupMetrics(registry);
+            groupMetrics.monitor(group);
+            // Hold the loop up past the first probe, which then runs late.
+            group.submit(() -> {
+                        Thread.sleep(300);
+                        return null;
+                    })
+                    .get(5, TimeUnit.SECONDS);
+
+            MeteredIoEventLoop loop = (MeteredIoEventLoop) group.next();
+            await().atMost(1, TimeUnit.SECONDS)
+                    .until(() -> loop.taskNanos() >= TimeUnit.MILLISECONDS.toNanos(300));
+
+            PolledMeter.update(registry);
+
+            assertThat(ids("server.eventloop.lag")).isEqualTo(1);
+            assertThat(ids("server.eventloop.tasks.pending")).isEqualTo(1);
+            assertThat(ids("server.eventloop.time")).isEqualTo(2);
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void countsReportedIoTimeButNotWaiting() throws Exception {
+        long reportedNanos = TimeUnit.MILLISECONDS.toNanos(5);
+        IoHandlerFactory nio = NioIoHandler.newFactory();
+        // Reports a fixed amount of processing for each round, on top of whatever NIO reports itself.
+        IoHandlerFactory reporting = ioExecutor -> new ForwardingIoHandler(nio.newHandler(ioExecutor)) {
+            @Override
+            public int run(IoHandlerContext context) {
+                if (context.shouldReportActiveIoTime()) {
+                    context.reportActiveIoTime(reportedNanos);
+                }
+                return super.run(context);
+            }
+        };
+        MultiThreadIoEventLoopGroup group = new MultiThreadIoEventLoopGroup(1, reporting) {
+            @Override
+            protected IoEventLoop newChild(Executor executor, IoHandlerFactory ioHandlerFactory, Object... args) {
+                return new MeteredIoEventLoop(this, executor, ioHandlerFactory);
+            }
+        };
+        try {
+            MeteredIoEventLoop loop = (MeteredIoEventLoop) group.next();
+            long start = System.nanoTime();
+            loop.submit(() -> {}).get(5, TimeUnit.SECONDS);
+            // Left idle, so nearly all of this is spent blocked waiting for events.
+            Thread.sleep(300);
+            long elapsed = System.nanoTime() - start;
+
+            assertThat(loop.ioNanos()).isGreaterThanOrEqualTo(reportedNanos);
+            assertThat(loop.ioNanos()).isLessThan(elapsed / 2);
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    private double gauge(String name, String eventLoop) {
+        return registry.gauge(registry.createId(name, "eventloop", eventLoop)).value();
+    }
+
+    private long ids(String name) {
+        return registry.stream().filter(m -> m.id().name().equals(name)).count();
+    }
+
+    private static class ForwardingIoHandler implements IoHandler {
+        private final IoHandler delegate;
+
+        ForwardingIoHandler(IoHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void initialize() {
+            delegate.initialize();
+        }
+
+        @Override
+        public int run(IoHandlerContext context) {
+            return delegate.run(context);
+        }
+
+        @Override
+        public void prepareToDestroy() {
+            delegate.prepareToDestroy();
+        }
+
+        @Override
+        public void destroy() {
+            delegate.destroy();
+        }
+
+        @Override
+        public IoRegistration register(IoHandle handle) throws Exception {
+            return delegate.register(handle);
+        }
+
+        @Override
+        public void wakeup() {
+            delegate.wakeup();
+        }
+
+        @Override
+        public boolean isCompatible(Class<? extends IoHandle> handleType) {
+            return delegate.isCompatible(handleType);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.netty.common.SourceAddressChannelHandler;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.zuul.passport.CurrentPassport;
+import com.netflix.zuul.passport.PassportState;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import org.junit.jupiter.api.Test;
+
+class SourceAddressAdmissionHandlerTest {
+
+    private final Registry registry = new DefaultRegistry();
+
+    @Test
+    void throttlesSourceOverItsConnectionLimit() {
+        SourceAddressAdmissionHandler handler =
+                new SourceAddressAdmissionHandler(registry, "test", false, 1, 0, 0, 0);
+
+        EmbeddedChannel first = channelFrom("10.0.0.1", handler);
+        EmbeddedChannel second = channelFrom("10.0.0.1", handler);
+        EmbeddedChannel other = channelFrom("10.0.0.2", handler);
+
+        assertThat(first.isActive()).isTrue();
+        assertThat(second.isActive()).isFalse();
+        assertThat(second.attr(MaxInboundConnectionsHandler.ATTR_CH_THROTTLED).get())
+                .isTrue();
+        assertThat(CurrentPassport.fromChannel(second).getState()).isEqualTo(PassportState.SERVER_CH_THROTTLING);
+        assertThat(other.isActive()).isTrue();
+        assertThat(throttled("address", "connections")).isEqualTo(1);
+
+        first.close();
+        assertThat(channelFrom("10.0.0.1", handler).isActive()).isTrue();
+    }
+
+    @Test
+    void throttlesPrefixOverItsConnectionLimit() {
+        SourceAddressAdmissionHandler handler =
+                new SourceAddressAdmissionHandler(registry, "test", false, 0, 0, 1, 0);
+
+        assertThat(channelFrom("10.0.0.1", handler).isActive()).isTrue();
+        assertThat(channelFrom("10.0.0.2", handler).isActive()).isFalse();
+        assertThat(channelFrom("10.0.1.1", handler).isActive()).isTrue();
+        assertThat(throttled("prefix", "connections")).isEqualTo(1);
+    }
+
+    @Test
+    void admitsOnFirstReadWithProxyProtocol() {
+        SourceAddressAdmissionHandler handler =
+                new SourceAddressAdmissionHandler(registry, "test", true, 1, 0, 0, 0);
+
+        EmbeddedChannel first = channelFrom("10.0.0.1", handler);
+        EmbeddedChannel second = channelFrom("10.0.0.1", handler);
+        assertThat(second.isActive()).isTrue();
+
+        first.writeInbound(Unpooled.wrappedBuffer(new byte[] {1}));
+        ByteBuf msg = Unpooled.wrappedBuffer(new byte[] {1});
+        second.writeInbound(msg);
+
+        assertThat(first.<ByteBuf>readInbound().release()).isTrue();
+        assertThat(second.isActive()).isFalse();
+        assertThat((Object) second.readInbound()).isNull();
+        assertThat(msg.refCnt()).isZero();
+    }
+
+    @Test
+    void disabledWithoutLimits() {
+        assertThat(new SourceAddressAdmissionHandler(registry, "test", false, 0, 0, 0, 0).isEnabled())
+                .isFalse();
+        assertThat(new SourceAddressAdmissionHandler(registry, "test", false, 0, 10, 0, 0).isEnabled())
+                .isTrue();
+    }
+
+    private static EmbeddedChannel channelFrom(String ip, SourceAddressAdmissionHandler handler) {
+        SocketAddress source = new InetSocketAddress(ip, 1234);
+        return new EmbeddedChannel(
+                new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+                        ctx.channel().attr(SourceAddressChannelHandler.ATTR_REMOTE_ADDR).set(source);
+                        super.channelActive(ctx);
+                    }
+                },
+                handler);
+    }
+
+    private long throttled(String scope, String reason) {
+        return registry.counter(
+                        "server.connections.source.throttled", "id", "test", "scope", scope, "reason", reason)
+                .count();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.net.InetAddresses;
+import com.netflix.netty.common.throttle.SourceAddressTable.Key;
+import com.netflix.netty.common.throttle.SourceAddressTable.Result;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SourceAddressTableTest {
+
+    private long now = 1;
+
+    @Test
+    void limitsOpenConnections() {
+        SourceAddressTable table = new SourceAddressTable(1024, 2, 0, TimeUnit.MINUTES.toNanos(1), () -> now);
+        Key key = address("10.0.0.1");
+
+        assertThat(table.tryAcquire(key)).isEqualTo(Result.ADMITTED);
+        assertThat(table.tryAcquire(key)).isEqualTo(Result.ADMITTED);
+        assertThat(table.tryAcquire(key)).isEqualTo(Result.TOO_MANY_CONNECTIONS);
+        assertThat(table.tryAcquire(address("10.0.0.2"))).isEqualTo(Result.ADMITTED);
+
+        table.release(key);
+        assertThat(table.tryAcquire(key)).isEqualTo(Result.ADMITTED);
+    }
+
+    @Test
+    void limitsAcceptRate() {
+        SourceAddressTable table = new SourceAddressTable(1024, 0, 2, TimeUnit.MINUTES.toNanos(1), () -> now);
+        Key key = address("10.0.0.1");
+
+        assertThat(table.tryAcquire(key)).isEqualTo(Result.ADMITTED);
+        assertThat(table.tryAcquire(key)).isEqualTo(Result.ADMITTED);
+        assertThat(table.tryAcquire(key)).isEqualTo(Result.TOO_FAST);
+
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        assertThat(table.tryAcquire(key)).isEqualTo(Result.ADMITTED);
+        assertThat(table.tryAcquire(key)).isEqualTo(Result.TOO_FAST);
+    }
+
+    @Test
+    void evictsIdleSources() {
+        SourceAddressTable table = new SourceAddressTable(64, 1, 0, TimeUnit.SECONDS.toNanos(1), () -> now);
+        Key open = address("10.0.0.1");
+        table.tryAcquire(open);
+        Key closed = address("10.0.0.2");
+        table.tryAcquire(closed);
+        table.release(closed);
+
+        now += TimeUnit.SECONDS.toNanos(2);
+        for (int i = 0; i < 1000; i++) {
+            Key key = address("10.1." + (i >> 8) + "." + (i & 0xFF));
+            table.tryAcquire(key);
+            table.release(key);
+        }
+
+        assertThat(table.size()).isLessThanOrEqualTo(64);
+        // The source with a connection open is still counted.
+        assertThat(table.tryAcquire(open)).isEqualTo(Result.TOO_MANY_CONNECTIONS);
+    }
+
+    @Test
+    void admitsUntrackedWhenFullOfOpenConnections() {
+        SourceAddressTable table = new SourceAddressTable(64, 1, 0, TimeUnit.SECONDS.toNanos(1), () -> now);
+        int untracked = 0;
+        for (int i = 0; i < 1000; i++) {
+            Result result = table.tryAcquire(address("10.1." + (i >> 8) + "." + (i & 0xFF)));
+            assertThat(result.isRejected()).isFalse();
+            if (result == Result.UNTRACKED) {
+                untracked++;
+            }
+        }
+
+        assertThat(table.size()).isLessThanOrEqualTo(64);
+        assertThat(untracked).isGreaterThanOrEqualTo(1000 - 64);
+    }
+
+    @Test
+    void prefixCoversNeighbouringAddresses() {
+        assertThat(prefix("10.0.0.1")).isEqualTo(prefix("10.0.0.254"));
+        assertThat(prefix("10.0.0.1")).isNotEqualTo(prefix("10.0.1.1"));
+        assertThat(prefix("2001:db8::1")).isEqualTo(prefix("2001:db8::ffff:1"));
+        assertThat(prefix("2001:db8::1")).isNotEqualTo(prefix("2001:db8:0:1::1"));
+        assertThat(address("2001:db8::1")).isNotEqualTo(address("2001:db8::2"));
+    }
+
+    private static Key address(String ip) {
+        return SourceAddressTable.addressKey(InetAddresses.forString(ip));
+    }
+
+    private static Key prefix(String ip) {
+        return SourceAddressTable.prefixKey(InetAddresses.forString(ip));
+    }
+}
@@ -141,6 +141,34 @@ class SessionContextTest {
         assertThat(context.containsKey(key)).isFalse();
     }
 
+    @Test
+    void keyCreatedAfterFirstWriteStillStored() {
+        SessionContext context = new SessionContext();
+        SessionContext.Key<String> early = SessionContext.newKey("early");
+        context.put(early, "first");
+
+        SessionContext.Key<String> late = SessionContext.newKey("late");
+        assertThat(context.get(late)).isNull();
+        context.put(late, "second");
+
+        assertThat(context.get(early)).isEqualTo("first");
+        assertThat(context.get(late)).isEqualTo("second");
+        assertThat(context.keys()).contains(early, late);
+    }
+
+    @Test
+    void removeWithValueOnlyWhenMatching() {
+        SessionContext context = new SessionContext();
+        SessionContext.Key<String> key = SessionContext.newKey("foo");
+        context.put(key, "bar");
+        int size = context.size();
+
+        assertThat(context.remove(key, "baz")).isFalse();
+        assertThat(context.remove(key, "bar")).isTrue();
+        assertThat(context.containsKey(key)).isFalse();
+        assertThat(context.size()).isEqualTo(size - 1);
+    }
+
     @Test
     void putAndGetStringKey() {
         SessionContext context = new SessionContext();
@@ -255,6 +283,9 @@ class SessionContextTest {
         assertThat(context.getFilterExecutionSummary().toString()).doesNotContain("filterB");
         assertThat(context.getEventProperties()).containsEntry("evt", "original");
         assertThat(context.getFilterErrors()).hasSize(1);
+
+        copy.put(key, "changed");
+        assertThat(context.get(key)).isEqualTo("typedValue");
     }
 
     @Test
@@ -174,6 +174,14 @@ class GZipResponseFilterTest {
         assertThat(filter.shouldFilter(response)).isFalse();
     }
 
+    @Test
+    void prepareResponseBody_gzipRefused() throws Exception {
+        originalRequestHeaders.set("Accept-Encoding", "gzip;q=0, identity");
+        response.getHeaders().set("Transfer-Encoding", "chunked");
+        response.setHasBody(true);
+        assertThat(filter.shouldFilter(response)).isFalse();
+    }
+
     @Test
     void prepareChunkedEncodedResponseBody_NeedsGZipping() throws Exception {
         originalRequestHeaders.set("Accept-Encoding", "gzip");
@@ -181,4 +189,28 @@ class GZipResponseFilterTest {
         response.setHasBody(true);
         assertThat(filter.shouldFilter(response)).isTrue();
     }
+
+    @Test
+    void onlyPublicCompleteResponsesAreSharedCacheable() {
+        response.setStatus(200);
+        response.getHeaders().set("Cache-Control", "public, max-age=60");
+        assertThat(GZipResponseFilter.isSharedCacheable(response)).isTrue();
+
+        response.getHeaders().set("Cache-Control", "private, max-age=60");
+        assertThat(GZipResponseFilter.isSharedCacheable(response)).isFalse();
+    }
+
+    @Test
+    void partialResponsesAreNotSharedCacheable() {
+        response.setStatus(206);
+        response.getHeaders().set("Cache-Control", "public, max-age=60");
+        response.getHeaders().set("Content-Range", "bytes 0-99/1000");
+        assertThat(GZipResponseFilter.isSharedCacheable(response)).isFalse();
+
+        // Nor is a 200 to a range request, which an origin ignoring the range could still send.
+        response.setStatus(200);
+        response.getHeaders().remove("Content-Range");
+        originalRequestHeaders.set("Range", "bytes=0-99");
+        assertThat(GZipResponseFilter.isSharedCacheable(response)).isFalse();
+    }
 }
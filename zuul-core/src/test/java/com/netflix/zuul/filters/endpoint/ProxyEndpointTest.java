@@ -44,10 +44,12 @@ import com.netflix.zuul.netty.connectionpool.DefaultOriginChannelInitializer;
 import com.netflix.zuul.netty.connectionpool.PooledConnection;
 import com.netflix.zuul.netty.server.MethodBinding;
 import com.netflix.zuul.netty.timeouts.OriginTimeoutManager;
+import com.netflix.zuul.netty.timeouts.RequestDeadline;
 import com.netflix.zuul.niws.RequestAttempt;
 import com.netflix.zuul.niws.RequestAttempts;
 import com.netflix.zuul.origins.BasicNettyOriginManager;
 import com.netflix.zuul.origins.NettyOrigin;
+import com.netflix.zuul.origins.OriginName;
 import com.netflix.zuul.passport.CurrentPassport;
 import com.netflix.zuul.passport.PassportItem;
 import com.netflix.zuul.passport.PassportState;
@@ -65,6 +67,9 @@ import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Promise;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -97,6 +102,12 @@ class ProxyEndpointTest {
     private CurrentPassport passport;
     private EmbeddedChannel channel;
 
+    private PooledConnection primaryConn;
+    private PooledConnection hedgeConn;
+    private EmbeddedChannel primaryChannel;
+    private EmbeddedChannel hedgeChannel;
+    private DiscoveryResult hedgeServer = createDiscoveryResult("second");
+
     @BeforeEach
     void setup() {
         channel = new EmbeddedChannel();
@@ -117,6 +128,7 @@ class ProxyEndpointTest {
 
         Promise<PooledConnection> promise = channel.eventLoop().newPromise();
         doReturn(promise).when(nettyOrigin).connectToOrigin(any(), any(), anyInt(), any(), any(), any());
+        doReturn(true).when(nettyOrigin).tryAcquireRetry();
 
         proxyEndpoint = spy(new ProxyEndpoint(request, chc, null, MethodBinding.NO_OP_BINDING, attemptFactory) {
             @Override
@@ -224,6 +236,27 @@ class ProxyEndpointTest {
         validateNoRetry();
     }
 
+    @Test
+    void noRetryWhenRetryBudgetExhausted() {
+        createResponse(HttpResponseStatus.SERVICE_UNAVAILABLE);
+        doReturn(false).when(nettyOrigin).tryAcquireRetry();
+
+        proxyEndpoint.handleOriginNonSuccessResponse(response, createDiscoveryResult());
+        verify(nettyOrigin).tryAcquireRetry();
+        validateNoRetry();
+    }
+
+    @Test
+    void noRetryWhenDeadlineTooClose() {
+        createResponse(HttpResponseStatus.SERVICE_UNAVAILABLE);
+        doReturn(RequestDeadline.after(Duration.ofMillis(50))).when(timeoutManager).getDeadline(request);
+        doReturn(Duration.ofSeconds(1)).when(nettyOrigin).getTypicalResponseLatency();
+
+        proxyEndpoint.handleOriginNonSuccessResponse(response, createDiscoveryResult());
+        verify(nettyOrigin, never()).tryAcquireRetry();
+        validateNoRetry();
+    }
+
     @Test
     void noRetryAdjustmentOnNonRetriableStatusCode() {
         createResponse(HttpResponseStatus.BAD_REQUEST);
@@ -439,9 +472,13 @@ class ProxyEndpointTest {
     }
 
     private static DiscoveryResult createDiscoveryResult() {
+        return createDiscoveryResult("localhost");
+    }
+
+    private static DiscoveryResult createDiscoveryResult(String hostName) {
         InstanceInfo instanceInfo = InstanceInfo.Builder.newBuilder()
                 .setAppName("app")
-                .setHostName("localhost")
+                .setHostName(hostName)
                 .setPort(443)
                 .build();
         return DiscoveryResult.from(instanceInfo, true);
@@ -496,6 +533,175 @@ class ProxyEndpointTest {
         verify(chc, never()).fireChannelRead(any());
     }
 
+    // --- hedged request tests ---
+
+    @Test
+    void hedgeThatRespondsFirstReplacesFirstAttempt() {
+        ProxyEndpoint endpoint = startHedgedRequest("GET");
+
+        hedgeChannel.writeInbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+
+        verify(primaryConn).flagShouldClose();
+        verify(primaryConn).release();
+        verify(hedgeConn, never()).release();
+        verify(endpoint, times(1)).invokeNext(any(HttpResponseMessage.class));
+
+        RequestAttempts attempts = endpoint.getRequestAttempts();
+        assertThat(attempts).hasSize(2);
+        assertThat(attempts.get(0).getError()).isEqualTo("HEDGE_LOST");
+        assertThat(attempts.getFinalAttempt().isHedged()).isTrue();
+        assertThat(attempts.getFinalAttempt().getStatus()).isEqualTo(200);
+        assertThat(passportStates())
+                .contains(PassportState.ORIGIN_HEDGE_START, PassportState.ORIGIN_HEDGE_CANCELLED);
+
+        endpoint.finish(false);
+        verify(nettyOrigin, times(2)).recordProxyRequestEnd();
+    }
+
+    @Test
+    void firstAttemptThatRespondsFirstCancelsHedge() {
+        ProxyEndpoint endpoint = startHedgedRequest("GET");
+
+        primaryChannel.writeInbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+        // The hedge's response arriving afterwards is dropped.
+        hedgeChannel.writeInbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+
+        verify(hedgeConn).flagShouldClose();
+        verify(hedgeConn).release();
+        verify(primaryConn, never()).release();
+        verify(endpoint, times(1)).invokeNext(any(HttpResponseMessage.class));
+
+        RequestAttempts attempts = endpoint.getRequestAttempts();
+        assertThat(attempts).hasSize(2);
+        assertThat(attempts.get(0).getError()).isEqualTo("HEDGE_LOST");
+        assertThat(attempts.get(0).isHedged()).isTrue();
+        assertThat(attempts.getFinalAttempt().isHedged()).isFalse();
+        assertThat(attempts.getFinalAttempt().getStatus()).isEqualTo(200);
+        assertThat(passportStates()).contains(PassportState.ORIGIN_HEDGE_CANCELLED);
+
+        endpoint.finish(false);
+        verify(nettyOrigin, times(2)).recordProxyRequestEnd();
+    }
+
+    @Test
+    void failedHedgeLeavesFirstAttemptRunning() {
+        doReturn(OutboundErrorType.RESET_CONNECTION).when(attemptFactory).mapNettyToOutboundErrorType(any());
+        ProxyEndpoint endpoint = startHedgedRequest("GET");
+
+        hedgeChannel.close();
+        primaryChannel.writeInbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+
+        verify(hedgeConn).flagShouldClose();
+        verify(hedgeConn).release();
+        verify(primaryConn, never()).flagShouldClose();
+        verify(endpoint, times(1)).invokeNext(any(HttpResponseMessage.class));
+        assertThat(endpoint.getRequestAttempts().getFinalAttempt().getStatus()).isEqualTo(200);
+        assertThat(passportStates()).doesNotContain(PassportState.ORIGIN_HEDGE_CANCELLED);
+    }
+
+    @Test
+    void nonIdempotentRequestIsNotHedged() {
+        startHedgedRequest("POST");
+
+        verify(nettyOrigin, times(1)).connectToOrigin(any(), any(), anyInt(), any(), any(), any());
+        assertThat(passportStates()).doesNotContain(PassportState.ORIGIN_HEDGE_START);
+    }
+
+    @Test
+    void requestIsNotHedgedToSameServer() {
+        hedgeServer = createDiscoveryResult("first");
+        startHedgedRequest("GET");
+
+        verify(nettyOrigin, times(2)).connectToOrigin(any(), any(), anyInt(), any(), any(), any());
+        // The connection acquired for the hedge goes straight back to the pool.
+        verify(hedgeConn).setConnectionState(PooledConnection.ConnectionState.WRITE_READY);
+        verify(hedgeConn).release();
+        assertThat(passportStates()).doesNotContain(PassportState.ORIGIN_HEDGE_START);
+        // Nor is the retry budget spent on it.
+        verify(nettyOrigin, never()).tryAcquireRetry();
+    }
+
+    @Test
+    void requestIsNotHedgedWithoutRetryBudget() {
+        doReturn(false).when(nettyOrigin).tryAcquireRetry();
+        startHedgedRequest("GET");
+
+        verify(nettyOrigin).tryAcquireRetry();
+        verify(hedgeConn).release();
+        assertThat(passportStates()).doesNotContain(PassportState.ORIGIN_HEDGE_START);
+    }
+
+    /**
+     * Sends a request whose first attempt goes to one server and whose hedge, sent straight away, to another.
+     */
+    private ProxyEndpoint startHedgedRequest(String method) {
+        DiscoveryResult primaryServer = createDiscoveryResult("first");
+        primaryChannel = originChannel();
+        hedgeChannel = originChannel();
+        primaryConn = pooledConnection(primaryChannel, primaryServer);
+        hedgeConn = pooledConnection(hedgeChannel, hedgeServer);
+
+        doAnswer(invocation -> {
+                    boolean hedge = invocation.getArgument(2, Integer.class) > 1;
+                    AtomicReference<DiscoveryResult> chosenServer = invocation.getArgument(4);
+                    chosenServer.set(hedge ? hedgeServer : primaryServer);
+                    PooledConnection conn = hedge ? hedgeConn : primaryConn;
+                    return channel.eventLoop().<PooledConnection>newPromise().setSuccess(conn);
+                })
+                .when(nettyOrigin)
+                .connectToOrigin(any(), any(), anyInt(), any(), any(), any());
+        doAnswer(invocation -> new RequestAttempt(
+                        invocation.getArgument(0), null, null, invocation.getArgument(3, Integer.class), 1000))
+                .when(nettyOrigin)
+                .newRequestAttempt(any(), any(), any(), anyInt());
+        doReturn(OriginName.fromVip("some-vip")).when(nettyOrigin).getName();
+        doReturn(1).when(nettyOrigin).getMaxRetriesForRequest(context);
+        doReturn(Duration.ZERO).when(nettyOrigin).getHedgeDelay(any());
+        doReturn(Duration.ofSeconds(1)).when(timeoutManager).computeReadTimeout(any(), anyInt());
+
+        HttpRequestMessage hedgedRequest = createRequest(context, method, "/some/where");
+        hedgedRequest.setBody(new byte[0]);
+        hedgedRequest.storeInboundRequest();
+        ProxyEndpoint endpoint =
+                spy(new ProxyEndpoint(hedgedRequest, chc, null, MethodBinding.NO_OP_BINDING, attemptFactory) {
+                    @Override
+                    public NettyOrigin getOrigin(HttpRequestMessage request) {
+                        return nettyOrigin;
+                    }
+
+                    @Override
+                    protected OriginTimeoutManager getTimeoutManager(NettyOrigin origin) {
+                        return timeoutManager;
+                    }
+                });
+        doNothing().when(endpoint).invokeNext((HttpResponseMessage) any());
+
+        endpoint.apply(hedgedRequest);
+        channel.runPendingTasks();
+        primaryChannel.releaseOutbound();
+        hedgeChannel.releaseOutbound();
+        return endpoint;
+    }
+
+    private static EmbeddedChannel originChannel() {
+        EmbeddedChannel originChannel = new EmbeddedChannel();
+        originChannel
+                .pipeline()
+                .addLast(DefaultOriginChannelInitializer.CONNECTION_POOL_HANDLER, new ChannelInboundHandlerAdapter());
+        return originChannel;
+    }
+
+    private static PooledConnection pooledConnection(EmbeddedChannel originChannel, DiscoveryResult server) {
+        PooledConnection conn = Mockito.mock(PooledConnection.class);
+        doReturn(originChannel).when(conn).getChannel();
+        doReturn(server).when(conn).getServer();
+        return conn;
+    }
+
+    private List<PassportState> passportStates() {
+        return passport.getHistory().stream().map(PassportItem::getState).toList();
+    }
+
     private void createResponse(HttpResponseStatus status) {
         response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
     }
@@ -39,4 +39,14 @@ class HeaderNameTest {
         assertThat(lowerCase.getName()).isEqualTo("x-whatever");
         assertThat(mixed.getName()).isEqualTo("X-Whatever");
     }
+
+    @Test
+    void knownNamesShareNormalisedInstance() {
+        HeaderName upper = new HeaderName("CONTENT-TYPE");
+        HeaderName mixed = new HeaderName("Content-Type");
+
+        assertThat(upper.getNormalised()).isEqualTo("content-type");
+        assertThat(upper.getNormalised()).isSameAs(mixed.getNormalised());
+        assertThat(new HeaderName("X-Whatever").getNormalised()).isEqualTo("x-whatever");
+    }
 }
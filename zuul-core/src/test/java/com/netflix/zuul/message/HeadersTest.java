@@ -21,6 +21,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 
 import com.netflix.zuul.exception.ZuulException;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -48,6 +50,32 @@ class HeadersTest {
         assertThat(headers2.getAll("Content-Length")).containsExactly("5");
     }
 
+    @Test
+    void copyOf_eitherSideChangesIndependently() {
+        Headers headers = new Headers();
+        for (int i = 0; i < 20; i++) {
+            headers.add("X-Header-" + i, "v" + i);
+        }
+        headers.add("Via", "duct");
+        Headers copy = Headers.copyOf(headers);
+
+        headers.set("Via", "pipe");
+        headers.remove("X-Header-3");
+        copy.add("Date", "today");
+        copy.removeIf(entry -> entry.getKey().getName().equals("X-Header-5"));
+
+        assertThat(headers.getAll("Via")).containsExactly("pipe");
+        assertThat(headers.contains("X-Header-3")).isFalse();
+        assertThat(headers.contains("X-Header-5")).isTrue();
+        assertThat(headers.contains("Date")).isFalse();
+        assertThat(headers.size()).isEqualTo(20);
+        assertThat(copy.getAll("Via")).containsExactly("duct");
+        assertThat(copy.contains("X-Header-3")).isTrue();
+        assertThat(copy.contains("X-Header-5")).isFalse();
+        assertThat(copy.getFirst("Date")).isEqualTo("today");
+        assertThat(copy.size()).isEqualTo(21);
+    }
+
     @Test
     void getFirst_normalizesName() {
         Headers headers = new Headers();
@@ -68,6 +96,104 @@ class HeadersTest {
         assertThat(headers.getFirst(new HeaderName("cOOkIE"))).isEqualTo("this=that");
     }
 
+    @Test
+    void lookupsStayConsistentPastIndexThreshold() {
+        Headers headers = new Headers();
+        for (int i = 0; i < 20; i++) {
+            headers.add("X-Header-" + i, "value-" + i);
+        }
+        headers.add("x-header-3", "again");
+
+        assertThat(headers.getFirst("X-HEADER-17")).isEqualTo("value-17");
+        assertThat(headers.getAll("X-Header-3")).containsExactly("value-3", "again");
+        assertThat(headers.contains("x-header-3", "again")).isTrue();
+
+        headers.remove("X-Header-3");
+        headers.set("X-Header-5", "replaced");
+        headers.add("X-Header-20", "value-20");
+
+        assertThat(headers.size()).isEqualTo(20);
+        assertThat(headers.contains("X-Header-3")).isFalse();
+        assertThat(headers.getFirst("X-Header-5")).isEqualTo("replaced");
+        assertThat(headers.getFirst("X-Header-19")).isEqualTo("value-19");
+        assertThat(headers.getFirst("X-Header-20")).isEqualTo("value-20");
+    }
+
+    @Test
+    void wrap_readsThroughToNettyHeaders() {
+        HttpHeaders nettyHeaders = new DefaultHttpHeaders();
+        nettyHeaders.add("Via", "duct");
+        nettyHeaders.add("Cookie", "this=that");
+        nettyHeaders.add("Cookie", "frizzle=frazzle");
+
+        Headers headers = Headers.wrap(nettyHeaders);
+
+        assertThat(headers.size()).isEqualTo(3);
+        assertThat(headers.getFirst("cOOkIE")).isEqualTo("this=that");
+        assertThat(headers.getAll("Cookie")).containsExactly("this=that", "frizzle=frazzle");
+        assertThat(headers.contains("cookie", "frizzle=frazzle")).isTrue();
+        assertThat(headers.contains("cookie", "frizzle")).isFalse();
+        assertThat(headers.remove("Date")).isEmpty();
+
+        List<String> entries = new ArrayList<>();
+        headers.forEach((name, value) -> entries.add(name + "=" + value));
+        assertThat(entries).containsExactly("Via=duct", "Cookie=this=that", "Cookie=frizzle=frazzle");
+    }
+
+    @Test
+    void wrap_copiesOnFirstChange() {
+        HttpHeaders nettyHeaders = new DefaultHttpHeaders();
+        nettyHeaders.add("Via", "duct");
+        nettyHeaders.add("Cookie", "this=that");
+        Headers headers = Headers.wrap(nettyHeaders);
+        Headers copy = Headers.copyOf(headers);
+
+        headers.set("Via", "pipe");
+        headers.add("Date", "today");
+
+        assertThat(nettyHeaders.get("Via")).isEqualTo("duct");
+        assertThat(nettyHeaders.contains("Date")).isFalse();
+        assertThat(headers.getFirst("Via")).isEqualTo("pipe");
+        assertThat(headers.getFirst("Cookie")).isEqualTo("this=that");
+        assertThat(headers.size()).isEqualTo(3);
+        assertThat(copy.getFirst("Via")).isEqualTo("duct");
+        assertThat(copy.size()).isEqualTo(2);
+    }
+
+    @Test
+    void copyOf_wrappedKeepsHeadersRemovedFromOriginal() {
+        HttpHeaders nettyHeaders = new DefaultHttpHeaders();
+        nettyHeaders.add("Expect", "100-continue");
+        nettyHeaders.add("Via", "duct");
+        Headers headers = Headers.wrap(nettyHeaders);
+        Headers copy = Headers.copyOf(headers);
+
+        headers.remove("Expect");
+
+        assertThat(headers.getFirst("Expect")).isNull();
+        assertThat(nettyHeaders.get("Expect")).isEqualTo("100-continue");
+        assertThat(copy.getFirst("Expect")).isEqualTo("100-continue");
+        assertThat(copy.size()).isEqualTo(2);
+    }
+
+    @Test
+    void copyTo_preservesNamesAndOrder() {
+        HttpHeaders nettyHeaders = new DefaultHttpHeaders();
+        nettyHeaders.add("Via", "duct");
+        nettyHeaders.add("Cookie", "this=that");
+
+        HttpHeaders unchanged = new DefaultHttpHeaders();
+        Headers.wrap(nettyHeaders).copyTo(unchanged);
+        assertThat(unchanged.names()).containsExactly("Via", "Cookie");
+        assertThat(unchanged.get("cookie")).isEqualTo("this=that");
+
+        Headers changed = Headers.wrap(nettyHeaders);
+        changed.add("Date", "today");
+        HttpHeaders target = new DefaultHttpHeaders();
+        changed.copyTo(target);
+        assertThat(target.names()).containsExactly("Via", "Cookie", "Date");
+    }
+
     @Test
     void getFirst_returnsNull() {
         Headers headers = new Headers();
@@ -17,9 +17,11 @@
 package com.netflix.zuul.message.http;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
@@ -168,4 +170,99 @@ class HttpQueryParamsTest {
         assertThat(queryParams.toString()).isEqualTo(queryString);
         assertThat(queryParams.immutableCopy().toString()).isEqualTo(queryString);
     }
+
+    @Test
+    void reusesCanonicalQueryUntilChanged() {
+        String query = "a=1&b=&d=x.y-z_*";
+        HttpQueryParams queryParams = HttpQueryParams.parse(query);
+
+        assertThat(queryParams.toEncodedString()).isSameAs(query);
+        assertThat(queryParams.getFirst("b")).isEmpty();
+        assertThat(queryParams.toEncodedString()).isSameAs(query);
+
+        queryParams.add("e", "2");
+        assertThat(queryParams.toEncodedString()).isEqualTo("a=1&b=&d=x.y-z_*&e=2");
+    }
+
+    @Test
+    void reencodesNonCanonicalQuery() {
+        assertThat(HttpQueryParams.parse("a=1&&b=2").toEncodedString()).isEqualTo("a=1&b=2");
+        assertThat(HttpQueryParams.parse("a=x%20y").toEncodedString()).isEqualTo("a=x+y");
+        assertThat(HttpQueryParams.parse("a=b=c").toEncodedString()).isEqualTo("a=b%3Dc");
+        assertThat(HttpQueryParams.parse("k=&k").toEncodedString()).isEqualTo("k=&k=");
+        assertThat(HttpQueryParams.parse("p=/x").toEncodedString()).isEqualTo("p=%2Fx");
+    }
+
+    @Test
+    void decodesOnlyWhereNeeded() {
+        HttpQueryParams queryParams = HttpQueryParams.parse("a+b=c%26d&e=f+g&bad=%zz&%zz=h%20i&=j");
+
+        assertThat(queryParams.getFirst("a b")).isEqualTo("c&d");
+        assertThat(queryParams.getFirst("e")).isEqualTo("f g");
+        assertThat(queryParams.getFirst("bad")).isEqualTo("%zz");
+        assertThat(queryParams.getFirst("%zz")).isEqualTo("h%20i");
+        assertThat(queryParams.getFirst("=j")).isEmpty();
+    }
+
+    @Test
+    void emptiness() {
+        assertThat(HttpQueryParams.parse(null).isEmpty()).isTrue();
+        assertThat(HttpQueryParams.parse("&&").isEmpty()).isTrue();
+        assertThat(HttpQueryParams.parse("&a").isEmpty()).isFalse();
+
+        HttpQueryParams queryParams = HttpQueryParams.parse("a=1");
+        queryParams.removeAll("a");
+        assertThat(queryParams.isEmpty()).isTrue();
+        assertThat(queryParams.toEncodedString()).isEmpty();
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        HttpQueryParams queryParams = HttpQueryParams.parse("a=1&b=2");
+        // Parsed params share their entries with copies, unparsed ones only the query.
+        assertThat(queryParams.getFirst("a")).isEqualTo("1");
+        HttpQueryParams immutable = queryParams.immutableCopy();
+        HttpQueryParams clone = queryParams.clone();
+
+        queryParams.set("a", "3");
+        clone.add("c", "4");
+
+        assertThat(immutable.toEncodedString()).isEqualTo("a=1&b=2");
+        assertThat(clone.toEncodedString()).isEqualTo("a=1&b=2&c=4");
+        assertThat(queryParams.toEncodedString()).isEqualTo("b=2&a=3");
+        assertThat(immutable.isImmutable()).isTrue();
+        assertThatThrownBy(() -> immutable.add("d", "5")).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(immutable).isEqualTo(HttpQueryParams.parse("a=1&b=2"));
+        assertThat(immutable.hashCode()).isEqualTo(HttpQueryParams.parse("a=1&b=2").hashCode());
+    }
+
+    @Test
+    void viewsAreLive() {
+        HttpQueryParams queryParams = HttpQueryParams.parse("a=1&b=2&a=3");
+        List<String> values = queryParams.get("a");
+        Set<String> names = queryParams.keySet();
+
+        values.add(1, "4");
+        values.add("5");
+        assertThat(queryParams.toEncodedString()).isEqualTo("a=1&b=2&a=4&a=3&a=5");
+
+        queryParams.add("c", "6");
+        assertThat(names).containsExactly("a", "b", "c");
+
+        names.remove("a");
+        assertThat(values).isEmpty();
+        assertThat(queryParams.toEncodedString()).isEqualTo("b=2&c=6");
+
+        queryParams.entries().iterator().next().setValue("7");
+        assertThat(queryParams.toEncodedString()).isEqualTo("b=7&c=6");
+    }
+
+    @Test
+    void viewsOfImmutableCopiesCannotChangeIt() {
+        HttpQueryParams immutable = HttpQueryParams.parse("a=1").immutableCopy();
+
+        assertThatThrownBy(() -> immutable.get("a").add("2")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> immutable.keySet().remove("a")).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(immutable.toEncodedString()).isEqualTo("a=1");
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.compression;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompressedBodyCacheTest {
+
+    private static final String BODY = "{\"manifest\":[" + "\"entry\",".repeat(200) + "\"last\"]}";
+
+    private final AtomicInteger compressorsCreated = new AtomicInteger();
+    private final Supplier<ResponseCompressor> compressors = () -> {
+        compressorsCreated.incrementAndGet();
+        return new GzipCompressor(ByteBufAllocator.DEFAULT, 6, true);
+    };
+
+    private DefaultRegistry registry;
+    private CompressedBodyCache cache;
+
+    @BeforeEach
+    void setup() {
+        registry = new DefaultRegistry();
+        cache = new CompressedBodyCache(1024 * 1024, 64 * 1024, registry);
+    }
+
+    @Test
+    void etagHitSkipsCompression() throws IOException {
+        assertThat(gunzip(respond("\"v1\"", null))).isEqualTo(BODY);
+        assertThat(compressorsCreated).hasValue(1);
+
+        assertThat(gunzip(respond("\"v1\"", null))).isEqualTo(BODY);
+        assertThat(compressorsCreated).hasValue(1);
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void weakEtagIsNotCached() throws IOException {
+        respond("W/\"v1\"", null);
+        respond("W/\"v1\"", null);
+
+        assertThat(compressorsCreated).hasValue(2);
+        assertThat(cache.cachedBytes()).isZero();
+    }
+
+    @Test
+    void bodyHashHitWhenThereIsNoEtag() throws IOException {
+        assertThat(gunzip(respond(null, BODY.length()))).isEqualTo(BODY);
+        assertThat(gunzip(respond(null, BODY.length()))).isEqualTo(BODY);
+
+        assertThat(compressorsCreated).hasValue(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void unidentifiableBodyIsJustCompressed() throws IOException {
+        assertThat(gunzip(respond(null, null))).isEqualTo(BODY);
+
+        assertThat(cache.cachedBytes()).isZero();
+        assertThat(count("miss")).isZero();
+    }
+
+    @Test
+    void bodyOfResponseNotMarkedCacheableIsStreamed() {
+        ResponseCompressor compressor =
+                cache.wrap(ContentCoding.GZIP, compressors, "origin", "/manifest", null, BODY.length(), false);
+        ByteBuf out = compressor.compress(Unpooled.copiedBuffer(BODY, UTF_8));
+
+        // Compressed as it arrives, rather than held back to be hashed.
+        assertThat(out.isReadable()).isTrue();
+        out.release();
+        compressor.finish().release();
+        assertThat(cache.cachedBytes()).isZero();
+        assertThat(count("miss")).isZero();
+    }
+
+    @Test
+    void etagOfResponseNotMarkedCacheableIsNotCached() {
+        for (int i = 0; i < 2; i++) {
+            ResponseCompressor compressor = cache.wrap(
+                    ContentCoding.GZIP, compressors, "origin", "/manifest", "\"v1\"", BODY.length(), false);
+            compressor.compress(Unpooled.copiedBuffer(BODY, UTF_8)).release();
+            compressor.finish().release();
+        }
+
+        assertThat(compressorsCreated).hasValue(2);
+        assertThat(cache.cachedBytes()).isZero();
+        assertThat(count("miss")).isZero();
+    }
+
+    @Test
+    void evictsOnceOverMaxBytes() throws IOException {
+        cache = new CompressedBodyCache(200, 64 * 1024, registry);
+
+        for (int i = 0; i < 20; i++) {
+            respond("\"v" + i + "\"", null);
+        }
+
+        assertThat(cache.cachedBytes()).isLessThanOrEqualTo(200);
+        assertThat(count("miss")).isEqualTo(20);
+    }
+
+    private byte[] respond(@Nullable String etag, @Nullable Integer contentLength) {
+        ResponseCompressor compressor =
+                cache.wrap(ContentCoding.GZIP, compressors, "origin", "/manifest", etag, contentLength, true);
+        int half = BODY.length() / 2;
+        ByteBuf first = compressor.compress(Unpooled.copiedBuffer(BODY.substring(0, half), UTF_8));
+        ByteBuf second = compressor.compress(Unpooled.copiedBuffer(BODY.substring(half), UTF_8));
+        ByteBuf last = compressor.finish();
+
+        byte[] bytes = new byte[first.readableBytes() + second.readableBytes() + last.readableBytes()];
+        int offset = 0;
+        for (ByteBuf buf : new ByteBuf[] {first, second, last}) {
+            int length = buf.readableBytes();
+            buf.readBytes(bytes, offset, length);
+            offset += length;
+            buf.release();
+        }
+        return bytes;
+    }
+
+    private double count(String result) {
+        return registry.counter("zuul.compression.cache.requests", "result", result).count();
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), UTF_8);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ContentCodingTest {
+
+    @Test
+    void acceptsListedCodings() {
+        assertThat(ContentCoding.isAcceptable("gzip", "gzip")).isTrue();
+        assertThat(ContentCoding.isAcceptable("deflate, GZIP", "gzip")).isTrue();
+        assertThat(ContentCoding.isAcceptable("br;q=0.8, gzip ; q=0.5", "gzip")).isTrue();
+        assertThat(ContentCoding.isAcceptable("deflate", "gzip")).isFalse();
+        assertThat(ContentCoding.isAcceptable("xgzip", "gzip")).isFalse();
+    }
+
+    @Test
+    void zeroQualityRefuses() {
+        assertThat(ContentCoding.isAcceptable("gzip;q=0", "gzip")).isFalse();
+        assertThat(ContentCoding.isAcceptable("gzip; q=0.000, br", "gzip")).isFalse();
+        assertThat(ContentCoding.isAcceptable("*, gzip;q=0", "gzip")).isFalse();
+    }
+
+    @Test
+    void wildcardAcceptsUnlisted() {
+        assertThat(ContentCoding.isAcceptable("*", "gzip")).isTrue();
+        assertThat(ContentCoding.isAcceptable("br, *;q=0", "gzip")).isFalse();
+    }
+
+    @Test
+    void negotiateFollowsServerPreference() {
+        assertThat(ContentCoding.negotiate("br, gzip", List.of("gzip", "br"))).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("br, gzip", List.of("unknown", "gzip"))).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("deflate", List.of("gzip"))).isNull();
+        assertThat(ContentCoding.negotiate(null, List.of("gzip"))).isNull();
+    }
+
+    @Test
+    void negotiateSkipsUnavailableCodings() {
+        ContentCoding coding = ContentCoding.negotiate("zstd, br, gzip", List.of("zstd", "br", "gzip"));
+
+        assertThat(coding).isNotNull();
+        assertThat(coding.isAvailable()).isTrue();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.compression;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class GzipCompressorTest {
+
+    @Test
+    void compressesDirectChunksIntoOneGzipStream() throws IOException {
+        GzipCompressor compressor = new GzipCompressor(ByteBufAllocator.DEFAULT, 6, false);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        for (int i = 0; i < 100; i++) {
+            byte[] bytes = ("{\"id\":" + i + ",\"name\":\"item " + i + "\"},").getBytes(UTF_8);
+            expected.write(bytes);
+            ByteBuf chunk = ByteBufAllocator.DEFAULT.directBuffer().writeBytes(bytes);
+            drain(compressor.compress(chunk), compressed);
+            assertThat(chunk.refCnt()).isZero();
+        }
+        drain(compressor.finish(), compressed);
+
+        assertThat(gunzip(compressed.toByteArray())).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    void flushEachChunkMakesEveryChunkDecodable() throws IOException {
+        GzipCompressor compressor = new GzipCompressor(ByteBufAllocator.DEFAULT, 1, true);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        drain(compressor.compress(Unpooled.copiedBuffer("data: first\n\n", UTF_8)), compressed);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThat(new String(in.readNBytes(13), UTF_8)).isEqualTo("data: first\n\n");
+        }
+        compressor.close();
+    }
+
+    @Test
+    void emptyBodyIsStillAValidStream() throws IOException {
+        GzipCompressor compressor = new GzipCompressor(ByteBufAllocator.DEFAULT, 6, true);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        drain(compressor.compress(Unpooled.EMPTY_BUFFER), compressed);
+        drain(compressor.finish(), compressed);
+
+        assertThat(gunzip(compressed.toByteArray())).isEmpty();
+    }
+
+    @Test
+    void deflaterIsReusedAcrossResponses() throws IOException {
+        for (String body : List.of("first response body", "second response body")) {
+            GzipCompressor compressor = new GzipCompressor(ByteBufAllocator.DEFAULT, 9, false);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            drain(compressor.compress(Unpooled.copiedBuffer(body, UTF_8)), compressed);
+            drain(compressor.finish(), compressed);
+
+            assertThat(new String(gunzip(compressed.toByteArray()), UTF_8)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    void rejectsUseAfterFinish() {
+        GzipCompressor compressor = new GzipCompressor(ByteBufAllocator.DEFAULT, 6, true);
+        compressor.finish().release();
+        ByteBuf chunk = Unpooled.copiedBuffer("late", UTF_8);
+
+        assertThatThrownBy(() -> compressor.compress(chunk)).isInstanceOf(IllegalStateException.class);
+        assertThat(chunk.refCnt()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidLevel() {
+        assertThatThrownBy(() -> new GzipCompressor(ByteBufAllocator.DEFAULT, 10, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void drain(ByteBuf buf, ByteArrayOutputStream out) throws IOException {
+        try {
+            buf.readBytes(out, buf.readableBytes());
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -225,4 +225,61 @@ class ConnectionPoolConfigImplTest {
         clientConfig.set(ConnectionPoolConfigImpl.CLOSE_ON_CIRCUIT_BREAKER, false);
         assertThat(connectionPoolConfig.isCloseOnCircuitBreakerEnabled()).isFalse();
     }
+
+    @Test
+    void testUseEventLoopAffinePool() {
+        assertThat(connectionPoolConfig.useEventLoopAffinePool()).isFalse();
+    }
+
+    @Test
+    void testUseEventLoopAffinePoolOverride() {
+        clientConfig.set(ConnectionPoolConfigImpl.EVENT_LOOP_AFFINE_POOL, true);
+        assertThat(connectionPoolConfig.useEventLoopAffinePool()).isTrue();
+    }
+
+    @Test
+    void testIsConnectionStealingEnabled() {
+        assertThat(connectionPoolConfig.isConnectionStealingEnabled()).isFalse();
+    }
+
+    @Test
+    void testIsConnectionStealingEnabledOverride() {
+        clientConfig.set(ConnectionPoolConfigImpl.CONNECTION_STEALING, true);
+        assertThat(connectionPoolConfig.isConnectionStealingEnabled()).isTrue();
+    }
+
+    @Test
+    void testGetWarmUpConnectionsPerEventLoop() {
+        assertThat(connectionPoolConfig.getWarmUpConnectionsPerEventLoop())
+                .isEqualTo(ConnectionPoolConfigImpl.DEFAULT_WARM_UP_CONNECTIONS_PER_EVENT_LOOP);
+    }
+
+    @Test
+    void testGetWarmUpConnectionsPerEventLoopOverride() {
+        clientConfig.set(ConnectionPoolConfigImpl.WARM_UP_CONNECTIONS_PER_EVENT_LOOP, 2);
+        assertThat(connectionPoolConfig.getWarmUpConnectionsPerEventLoop()).isEqualTo(2);
+    }
+
+    @Test
+    void testUseHttp2() {
+        assertThat(connectionPoolConfig.useHttp2()).isFalse();
+    }
+
+    @Test
+    void testUseHttp2Override() {
+        clientConfig.set(ConnectionPoolConfigImpl.HTTP2_ORIGIN, true);
+        assertThat(connectionPoolConfig.useHttp2()).isTrue();
+    }
+
+    @Test
+    void testGetMaxConcurrentStreamsPerConnection() {
+        assertThat(connectionPoolConfig.getMaxConcurrentStreamsPerConnection())
+                .isEqualTo(ConnectionPoolConfigImpl.DEFAULT_MAX_CONCURRENT_STREAMS_PER_CONNECTION);
+    }
+
+    @Test
+    void testGetMaxConcurrentStreamsPerConnectionOverride() {
+        clientConfig.set(ConnectionPoolConfigImpl.MAX_CONCURRENT_STREAMS_PER_CONNECTION, 10);
+        assertThat(connectionPoolConfig.getMaxConcurrentStreamsPerConnection()).isEqualTo(10);
+    }
 }
@@ -54,6 +54,7 @@ class ConnectionPoolMetricsTest {
         validateCounter("connectionpool_maxConnsPerHostExceeded", metrics.maxConnsPerHostExceededCounter());
         validateCounter("connectionpool_closeWrtBusyConnCounter", metrics.closeWrtBusyConnCounter());
         validateCounter("connectionpool_closeCircuitBreaker", metrics.circuitBreakerClose());
+        validateCounter("connectionpool_steal", metrics.stealConnCounter());
 
         validateCounter("connectionpool_idle", metrics.idleCounter());
         validateCounter("connectionpool_inactive", metrics.inactiveCounter());
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ConnectionWarmUpBudgetTest {
+
+    @Test
+    void queuesConnectsBeyondBudget() {
+        ConnectionWarmUpBudget budget = new ConnectionWarmUpBudget(() -> 2);
+        List<Promise<Void>> started = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            budget.submit(() -> {
+                Promise<Void> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+                started.add(promise);
+                return promise;
+            });
+        }
+
+        assertThat(started).hasSize(2);
+        assertThat(budget.getInFlight()).isEqualTo(2);
+        assertThat(budget.getWaiting()).isEqualTo(3);
+
+        started.get(0).setSuccess(null);
+        assertThat(started).hasSize(3);
+        assertThat(budget.getInFlight()).isEqualTo(2);
+
+        started.get(1).setFailure(new RuntimeException("connect failed"));
+        started.get(2).setSuccess(null);
+        assertThat(started).hasSize(5);
+        assertThat(budget.getWaiting()).isEqualTo(0);
+
+        started.get(3).setSuccess(null);
+        started.get(4).setSuccess(null);
+        assertThat(budget.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void connectThatFailsToStartReleasesBudget() {
+        ConnectionWarmUpBudget budget = new ConnectionWarmUpBudget(() -> 1);
+
+        budget.submit(() -> {
+            throw new IllegalStateException("no pool");
+        });
+
+        assertThat(budget.getInFlight()).isEqualTo(0);
+        assertThat(budget.getWaiting()).isEqualTo(0);
+    }
+}
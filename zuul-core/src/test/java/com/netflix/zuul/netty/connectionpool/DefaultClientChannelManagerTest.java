@@ -22,6 +22,8 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,6 +36,8 @@ import com.netflix.spectator.api.Registry;
 import com.netflix.zuul.discovery.DiscoveryResult;
 import com.netflix.zuul.discovery.DynamicServerResolver;
 import com.netflix.zuul.discovery.NonDiscoveryServer;
+import com.netflix.zuul.discovery.ServerSnapshot;
+import com.netflix.zuul.discovery.SnapshotResolver;
 import com.netflix.zuul.netty.server.Server;
 import com.netflix.zuul.origins.OriginName;
 import com.netflix.zuul.passport.CurrentPassport;
@@ -191,6 +195,118 @@ class DefaultClientChannelManagerTest {
         assertThat(serverRef.get()).isSameAs(discoveryResult);
     }
 
+    @Test
+    void snapshotResolverPoolsAreLookedUpOncePerSnapshot() {
+        OriginName originName = OriginName.fromVip("vip", "test");
+        DefaultClientConfigImpl clientConfig = new DefaultClientConfigImpl();
+        DiscoveryResult discoveryResult = DiscoveryResult.from(
+                InstanceInfo.Builder.newBuilder()
+                        .setAppName("server-snapshot")
+                        .setHostName("server-snapshot")
+                        .setPort(7777)
+                        .build(),
+                false);
+
+        ServerSnapshot snapshot = mock(ServerSnapshot.class);
+        when(snapshot.size()).thenReturn(1);
+        when(snapshot.get(0)).thenReturn(discoveryResult);
+        SnapshotResolver resolver = mock(SnapshotResolver.class);
+        when(resolver.snapshot()).thenReturn(snapshot);
+        when(resolver.choose(snapshot, null)).thenReturn(0);
+
+        DefaultClientChannelManager clientChannelManager =
+                spy(new DefaultClientChannelManager(originName, clientConfig, resolver, new DefaultRegistry()));
+        IConnectionPool pool = mock(IConnectionPool.class);
+        when(pool.isAvailable()).thenReturn(true);
+        doReturn(pool).when(clientChannelManager).getOrCreateConnectionPool(discoveryResult);
+
+        AtomicReference<DiscoveryResult> serverRef = new AtomicReference<>();
+        EventLoop eventLoop = new DefaultEventLoop();
+        clientChannelManager.acquire(eventLoop, null, CurrentPassport.create(), serverRef, new AtomicReference<>());
+        clientChannelManager.acquire(eventLoop, null, CurrentPassport.create(), serverRef, new AtomicReference<>());
+
+        assertThat(serverRef.get()).isSameAs(discoveryResult);
+        verify(clientChannelManager, times(1)).getOrCreateConnectionPool(discoveryResult);
+        verify(pool, times(2)).acquire(any(), any(), any());
+
+        // A draining pool isn't used, even if the snapshot still has it.
+        when(pool.isAvailable()).thenReturn(false);
+        clientChannelManager.acquire(eventLoop, null, CurrentPassport.create(), serverRef, new AtomicReference<>());
+
+        verify(clientChannelManager, times(2)).getOrCreateConnectionPool(discoveryResult);
+    }
+
+    @Test
+    void snapshotPoolBuiltAcrossServerRemovalIsDropped() {
+        OriginName originName = OriginName.fromVip("vip", "test");
+        DiscoveryResult kept = DiscoveryResult.from(
+                InstanceInfo.Builder.newBuilder()
+                        .setAppName("kept")
+                        .setHostName("kept")
+                        .setPort(7777)
+                        .build(),
+                false);
+        DiscoveryResult removed = DiscoveryResult.from(
+                InstanceInfo.Builder.newBuilder()
+                        .setAppName("removed")
+                        .setHostName("removed")
+                        .setPort(7777)
+                        .build(),
+                false);
+
+        ServerSnapshot before = mock(ServerSnapshot.class);
+        when(before.size()).thenReturn(2);
+        when(before.get(0)).thenReturn(kept);
+        when(before.get(1)).thenReturn(removed);
+        ServerSnapshot after = mock(ServerSnapshot.class);
+        when(after.size()).thenReturn(1);
+        when(after.get(0)).thenReturn(kept);
+
+        AtomicReference<ServerSnapshot> servers = new AtomicReference<>(before);
+        AtomicReference<List<DiscoveryResult>> listed = new AtomicReference<>(List.of(kept, removed));
+        SnapshotResolver resolver = mock(SnapshotResolver.class);
+        when(resolver.snapshot()).thenAnswer(invocation -> servers.get());
+        when(resolver.getServers()).thenAnswer(invocation -> listed.get());
+        when(resolver.choose(after, null)).thenReturn(0);
+
+        AtomicReference<IConnectionPool> removedPool = new AtomicReference<>();
+        DefaultClientChannelManager clientChannelManager =
+                new DefaultClientChannelManager(
+                        originName, new DefaultClientConfigImpl(), resolver, new NoopRegistry()) {
+                    @Override
+                    protected IConnectionPool getOrCreateConnectionPool(DiscoveryResult server) {
+                        if (server == removed && servers.get() == before) {
+                            // The resolver drops the server, and its listener runs, after this build took its
+                            // snapshot but before it got to the server's pool.
+                            servers.set(after);
+                            listed.set(List.of(kept));
+                            new ServerPoolListener().onChange(List.of(removed));
+                        }
+                        return getPerServerPools().computeIfAbsent(server, s -> {
+                            IConnectionPool pool = mock(IConnectionPool.class);
+                            when(pool.isAvailable()).thenReturn(true);
+                            if (s == removed) {
+                                removedPool.set(pool);
+                            }
+                            return pool;
+                        });
+                    }
+                };
+
+        AtomicReference<DiscoveryResult> serverRef = new AtomicReference<>();
+        EventLoop eventLoop = new DefaultEventLoop();
+        clientChannelManager.acquire(eventLoop, null, CurrentPassport.create(), serverRef, new AtomicReference<>());
+
+        // The racing build did create a pool again for the removed server, but it is neither kept nor used.
+        assertThat(removedPool.get()).isNotNull();
+        verify(removedPool.get()).shutdown();
+        verify(removedPool.get(), never()).acquire(any(), any(), any());
+        assertThat(clientChannelManager.getPerServerPools()).containsOnlyKeys(kept);
+        assertThat(serverRef.get()).isSameAs(kept);
+        verify(clientChannelManager.getPerServerPools().get(kept)).acquire(any(), any(), any());
+        verify(resolver, never()).choose(before, null);
+    }
+
     @Test
     void initializeAndShutdown() throws Exception {
         String appName = "app-" + UUID.randomUUID();
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.client.config.DefaultClientConfigImpl;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.zuul.discovery.DiscoveryResult;
+import com.netflix.zuul.discovery.DynamicServerResolver;
+import com.netflix.zuul.netty.server.Server;
+import com.netflix.zuul.origins.OriginName;
+import com.netflix.zuul.passport.CurrentPassport;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.MultithreadEventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalIoHandler;
+import io.netty.channel.local.LocalServerChannel;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class EventLoopAffineConnectionPoolTest {
+
+    private static LocalAddress LOCAL_ADDRESS;
+    private static MultithreadEventLoopGroup ORIGIN_EVENT_LOOP_GROUP;
+    private static MultithreadEventLoopGroup CLIENT_EVENT_LOOP_GROUP;
+    private static EventLoop CLIENT_EVENT_LOOP;
+    private static Class<? extends Channel> PREVIOUS_CHANNEL_TYPE;
+
+    private Registry registry;
+    private DiscoveryResult discoveryResult;
+    private DefaultClientConfigImpl clientConfig;
+    private AtomicInteger sharedConnsInPool;
+    private AtomicInteger sharedConnsInUse;
+    private EventLoopAffineConnectionPool pool;
+
+    @BeforeAll
+    @SuppressWarnings("deprecation")
+    static void staticSetup() throws InterruptedException {
+        LOCAL_ADDRESS = new LocalAddress(UUID.randomUUID().toString());
+
+        CLIENT_EVENT_LOOP_GROUP = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        CLIENT_EVENT_LOOP = CLIENT_EVENT_LOOP_GROUP.next();
+
+        ORIGIN_EVENT_LOOP_GROUP = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(ORIGIN_EVENT_LOOP_GROUP)
+                .localAddress(LOCAL_ADDRESS)
+                .channel(LocalServerChannel.class)
+                .childHandler(new ChannelInitializer<LocalChannel>() {
+                    @Override
+                    protected void initChannel(LocalChannel ch) {}
+                });
+
+        bootstrap.bind().sync();
+        PREVIOUS_CHANNEL_TYPE = Server.defaultOutboundChannelType.getAndSet(LocalChannel.class);
+    }
+
+    @AfterAll
+    @SuppressWarnings("deprecation")
+    static void staticCleanup() {
+        ORIGIN_EVENT_LOOP_GROUP.shutdownGracefully();
+        CLIENT_EVENT_LOOP_GROUP.shutdownGracefully();
+
+        if (PREVIOUS_CHANNEL_TYPE != null) {
+            Server.defaultOutboundChannelType.set(PREVIOUS_CHANNEL_TYPE);
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        registry = new DefaultRegistry();
+        sharedConnsInPool = new AtomicInteger();
+        sharedConnsInUse = new AtomicInteger();
+
+        InstanceInfo instanceInfo = InstanceInfo.Builder.newBuilder()
+                .setIPAddr("175.45.176.0")
+                .setPort(7001)
+                .setAppName("whatever")
+                .build();
+        discoveryResult = DiscoveryResult.from(instanceInfo, true);
+
+        clientConfig = new DefaultClientConfigImpl();
+        ConnectionPoolConfig connectionPoolConfig =
+                new ConnectionPoolConfigImpl(OriginName.fromVip("whatever"), clientConfig);
+
+        NettyClientConnectionFactory nettyConnectionFactory =
+                new NettyClientConnectionFactory(connectionPoolConfig, new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {}
+                });
+
+        pool = new EventLoopAffineConnectionPool(
+                discoveryResult,
+                LOCAL_ADDRESS,
+                nettyConnectionFactory,
+                this::newPooledConnection,
+                connectionPoolConfig,
+                clientConfig,
+                registry.counter("create"),
+                registry.counter("create_success"),
+                registry.counter("create_fail"),
+                registry.counter("request"),
+                registry.counter("reuse"),
+                registry.counter("from_pool_closed"),
+                registry.counter("above_watermark"),
+                registry.counter("max_conns"),
+                registry.timer("establish"),
+                sharedConnsInPool,
+                sharedConnsInUse);
+    }
+
+    @Test
+    void acquireReleaseAndReuseOnSameEventLoop() throws Exception {
+        PooledConnection connection = CLIENT_EVENT_LOOP
+                .submit(() -> pool.acquire(CLIENT_EVENT_LOOP, CurrentPassport.create(), new AtomicReference<>()))
+                .get()
+                .sync()
+                .get();
+
+        assertThat(CLIENT_EVENT_LOOP.submit(pool::getConnsInUse).get()).isEqualTo(1);
+
+        CLIENT_EVENT_LOOP
+                .submit(() -> {
+                    pool.decrementConnsInUse(connection);
+                    assertThat(pool.release(connection)).isTrue();
+                    assertThat(connection.isInPool()).isTrue();
+                })
+                .sync();
+
+        assertThat(CLIENT_EVENT_LOOP.submit(pool::getConnsInPool).get()).isEqualTo(1);
+
+        PooledConnection reused = CLIENT_EVENT_LOOP
+                .submit(() -> pool.acquire(CLIENT_EVENT_LOOP, CurrentPassport.create(), new AtomicReference<>()))
+                .get()
+                .sync()
+                .get();
+
+        assertThat(reused).isSameAs(connection);
+        assertThat(registry.counter("reuse").count()).isEqualTo(1);
+        assertThat(CLIENT_EVENT_LOOP.submit(pool::getConnsInPool).get()).isEqualTo(0);
+        assertThat(CLIENT_EVENT_LOOP.submit(pool::getConnsInUse).get()).isEqualTo(1);
+
+        // The shared origin-wide gauges are left alone; the manager aggregates the striped counts instead.
+        assertThat(sharedConnsInPool.get()).isEqualTo(0);
+        assertThat(sharedConnsInUse.get()).isEqualTo(0);
+    }
+
+    @Test
+    void releaseAboveWaterlineCloses() throws Exception {
+        clientConfig.set(ConnectionPoolConfigImpl.PER_SERVER_WATERLINE, 0);
+        PooledConnection connection = CLIENT_EVENT_LOOP
+                .submit(() -> pool.acquire(CLIENT_EVENT_LOOP, CurrentPassport.create(), new AtomicReference<>()))
+                .get()
+                .sync()
+                .get();
+
+        CLIENT_EVENT_LOOP
+                .submit(() -> {
+                    assertThat(pool.release(connection)).isFalse();
+                    assertThat(connection.isInPool()).isFalse();
+                })
+                .sync();
+
+        assertThat(registry.counter("above_watermark").count()).isEqualTo(1);
+        assertThat(connection.getChannel().closeFuture().await(5, TimeUnit.SECONDS))
+                .isTrue();
+    }
+
+    @Test
+    void offLoopReleaseIsOptimistic() throws Exception {
+        clientConfig.set(ConnectionPoolConfigImpl.PER_SERVER_WATERLINE, 0);
+        PooledConnection connection = CLIENT_EVENT_LOOP
+                .submit(() -> pool.acquire(CLIENT_EVENT_LOOP, CurrentPassport.create(), new AtomicReference<>()))
+                .get()
+                .sync()
+                .get();
+
+        // Answered before the loop finds the stack at the waterline and closes the connection instead.
+        assertThat(pool.release(connection)).isTrue();
+
+        assertThat(connection.getChannel().closeFuture().await(5, TimeUnit.SECONDS))
+                .isTrue();
+        assertThat(connection.isInPool()).isFalse();
+        assertThat(registry.counter("above_watermark").count()).isEqualTo(1);
+        assertThat(CLIENT_EVENT_LOOP.submit(pool::getConnsInPool).get()).isEqualTo(0);
+    }
+
+    @Test
+    void slotGrowsAndRemovesFromMiddle() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        EventLoopAffineConnectionPool.EventLoopSlot slot =
+                new EventLoopAffineConnectionPool.EventLoopSlot(channel.eventLoop(), 1);
+
+        PooledConnection first = newPooledConnection(new EmbeddedChannel());
+        PooledConnection second = newPooledConnection(new EmbeddedChannel());
+        PooledConnection third = newPooledConnection(new EmbeddedChannel());
+        slot.push(first);
+        slot.push(second);
+        slot.push(third);
+
+        assertThat(slot.size()).isEqualTo(3);
+        assertThat(slot.remove(second)).isTrue();
+        assertThat(slot.remove(second)).isFalse();
+        assertThat(slot.pop()).isSameAs(third);
+        assertThat(slot.pop()).isSameAs(first);
+        assertThat(slot.pop()).isNull();
+    }
+
+    @Test
+    void drainClosesIdleConnections() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        PooledConnection connection = newPooledConnection(channel);
+        connection.setInPool(false);
+
+        EventLoopAffineConnectionPool.EventLoopSlot slot = pool.getSlotForEventLoop(channel.eventLoop());
+        slot.push(connection);
+        slot.incrementInPool();
+        connection.setInPool(true);
+
+        pool.drain();
+        channel.runPendingTasks();
+
+        assertThat(pool.getConnsInPool()).isEqualTo(0);
+        assertThat(connection.isInPool()).isFalse();
+        assertThat(channel.closeFuture().isSuccess()).isTrue();
+    }
+
+    @Test
+    void removeAfterPoolIsGoneEmptiesSlot() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.attr(PerServerConnectionPool.CHANNEL_ATTR).set(pool);
+        PooledConnection connection = newPooledConnection(channel);
+
+        EventLoopAffineConnectionPool.EventLoopSlot slot = pool.getSlotForEventLoop(channel.eventLoop());
+        slot.push(connection);
+        slot.incrementInPool();
+        connection.setInPool(true);
+
+        clientConfig.set(ConnectionPoolConfigImpl.EVENT_LOOP_AFFINE_POOL, true);
+        DynamicServerResolver resolver = Mockito.mock(DynamicServerResolver.class);
+        DefaultClientChannelManager manager =
+                new DefaultClientChannelManager(OriginName.fromVip("whatever"), clientConfig, resolver, registry);
+
+        // The manager has no pool for this server, as when it has fallen out of discovery.
+        assertThat(manager.remove(connection)).isTrue();
+
+        assertThat(slot.size()).isEqualTo(0);
+        assertThat(pool.getConnsInPool()).isEqualTo(0);
+        assertThat(connection.isInPool()).isFalse();
+    }
+
+    private PooledConnection newPooledConnection(Channel ch) {
+        return new PooledConnection(
+                ch,
+                discoveryResult,
+                Mockito.mock(ClientChannelManager.class),
+                registry.counter("fake_close_counter"),
+                registry.counter("fake_close_wrt_counter"));
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.client.config.DefaultClientConfigImpl;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.zuul.discovery.DiscoveryResult;
+import com.netflix.zuul.netty.server.Server;
+import com.netflix.zuul.origins.OriginName;
+import com.netflix.zuul.passport.CurrentPassport;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.MultithreadEventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalIoHandler;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.util.concurrent.Promise;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class Http2ConnectionPoolTest {
+
+    private static LocalAddress LOCAL_ADDRESS;
+    private static MultithreadEventLoopGroup ORIGIN_EVENT_LOOP_GROUP;
+    private static MultithreadEventLoopGroup CLIENT_EVENT_LOOP_GROUP;
+    private static EventLoop CLIENT_EVENT_LOOP;
+    private static Class<? extends Channel> PREVIOUS_CHANNEL_TYPE;
+
+    private Registry registry;
+    private DiscoveryResult discoveryResult;
+    private DefaultClientConfigImpl clientConfig;
+    private Http2ConnectionPool pool;
+
+    @BeforeAll
+    @SuppressWarnings("deprecation")
+    static void staticSetup() throws InterruptedException {
+        LOCAL_ADDRESS = new LocalAddress(UUID.randomUUID().toString());
+
+        CLIENT_EVENT_LOOP_GROUP = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        CLIENT_EVENT_LOOP = CLIENT_EVENT_LOOP_GROUP.next();
+
+        ORIGIN_EVENT_LOOP_GROUP = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(ORIGIN_EVENT_LOOP_GROUP)
+                .localAddress(LOCAL_ADDRESS)
+                .channel(LocalServerChannel.class)
+                .childHandler(new ChannelInitializer<LocalChannel>() {
+                    @Override
+                    protected void initChannel(LocalChannel ch) {
+                        ch.pipeline().addLast(Http2FrameCodecBuilder.forServer().build());
+                        ch.pipeline().addLast(new Http2MultiplexHandler(new NoopStreamHandler()));
+                    }
+                });
+
+        bootstrap.bind().sync();
+        PREVIOUS_CHANNEL_TYPE = Server.defaultOutboundChannelType.getAndSet(LocalChannel.class);
+    }
+
+    @AfterAll
+    @SuppressWarnings("deprecation")
+    static void staticCleanup() {
+        ORIGIN_EVENT_LOOP_GROUP.shutdownGracefully();
+        CLIENT_EVENT_LOOP_GROUP.shutdownGracefully();
+
+        if (PREVIOUS_CHANNEL_TYPE != null) {
+            Server.defaultOutboundChannelType.set(PREVIOUS_CHANNEL_TYPE);
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        registry = new DefaultRegistry();
+
+        InstanceInfo instanceInfo = InstanceInfo.Builder.newBuilder()
+                .setIPAddr("175.45.176.0")
+                .setPort(7001)
+                .setAppName("whatever")
+                .build();
+        discoveryResult = DiscoveryResult.from(instanceInfo, true);
+
+        clientConfig = new DefaultClientConfigImpl();
+        clientConfig.set(ConnectionPoolConfigImpl.HTTP2_ORIGIN, true);
+        ConnectionPoolConfig connectionPoolConfig =
+                new ConnectionPoolConfigImpl(OriginName.fromVip("whatever"), clientConfig);
+
+        Http2OriginChannelInitializer channelInitializer =
+                new Http2OriginChannelInitializer(connectionPoolConfig, registry);
+        NettyClientConnectionFactory nettyConnectionFactory =
+                new NettyClientConnectionFactory(connectionPoolConfig, channelInitializer);
+
+        pool = new Http2ConnectionPool(
+                discoveryResult,
+                LOCAL_ADDRESS,
+                nettyConnectionFactory,
+                ch -> new Http2StreamConnection(
+                        (Http2StreamChannel) ch,
+                        discoveryResult,
+                        Mockito.mock(ClientChannelManager.class),
+                        registry.counter("fake_close_counter"),
+                        registry.counter("fake_close_wrt_counter")),
+                channelInitializer.getStreamChannelInitializer(),
+                connectionPoolConfig,
+                clientConfig,
+                registry.counter("create"),
+                registry.counter("create_success"),
+                registry.counter("create_fail"),
+                registry.counter("request"),
+                registry.counter("reuse"),
+                registry.counter("from_pool_closed"),
+                registry.counter("above_watermark"),
+                registry.counter("max_conns"),
+                registry.timer("establish"),
+                new AtomicInteger(),
+                new AtomicInteger());
+    }
+
+    @Test
+    void concurrentAcquiresShareOneConnection() throws Exception {
+        PooledConnection first = acquire();
+        PooledConnection second = acquire();
+
+        assertThat(first).isInstanceOf(Http2StreamConnection.class);
+        assertThat(first.getChannel()).isNotSameAs(second.getChannel());
+        assertThat(first.getChannel().parent()).isSameAs(second.getChannel().parent());
+        assertThat(registry.counter("create").count()).isEqualTo(1);
+        assertThat(discoveryResult.getOpenConnectionsCount()).isEqualTo(1);
+        assertThat(activeStreams()).isEqualTo(2);
+    }
+
+    @Test
+    void opensAnotherConnectionWhenStreamLimitReached() throws Exception {
+        clientConfig.set(ConnectionPoolConfigImpl.MAX_CONCURRENT_STREAMS_PER_CONNECTION, 1);
+
+        PooledConnection first = acquire();
+        PooledConnection second = acquire();
+
+        assertThat(first.getChannel().parent()).isNotSameAs(second.getChannel().parent());
+        assertThat(registry.counter("create").count()).isEqualTo(2);
+        assertThat(discoveryResult.getOpenConnectionsCount()).isEqualTo(2);
+    }
+
+    @Test
+    void waitersBeyondWhatTheNewConnectionAllowsOpenAnother() throws Exception {
+        clientConfig.set(ConnectionPoolConfigImpl.MAX_REQUESTS_PER_CONNECTION, 1);
+
+        // Both acquires run before the connect completes, so both wait on the same pending connection.
+        List<Promise<PooledConnection>> promises = CLIENT_EVENT_LOOP
+                .submit(() -> List.of(
+                        pool.acquire(CLIENT_EVENT_LOOP, CurrentPassport.create(), new AtomicReference<>()),
+                        pool.acquire(CLIENT_EVENT_LOOP, CurrentPassport.create(), new AtomicReference<>())))
+                .get();
+        PooledConnection first = promises.get(0).await().get();
+        PooledConnection second = promises.get(1).await().get();
+
+        assertThat(first.getChannel().parent()).isNotSameAs(second.getChannel().parent());
+        assertThat(registry.counter("create").count()).isEqualTo(2);
+    }
+
+    @Test
+    void releaseEndsStreamButKeepsConnection() throws Exception {
+        PooledConnection first = acquire();
+        Channel parent = first.getChannel().parent();
+
+        CLIENT_EVENT_LOOP.submit(() -> assertThat(pool.release(first)).isFalse()).sync();
+        assertThat(first.getChannel().closeFuture().await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(parent.isActive()).isTrue();
+        assertThat(activeStreams()).isEqualTo(0);
+
+        PooledConnection second = acquire();
+        assertThat(second.getChannel().parent()).isSameAs(parent);
+        assertThat(registry.counter("reuse").count()).isEqualTo(1);
+    }
+
+    @Test
+    void drainClosesConnectionsWithoutActiveStreams() throws Exception {
+        PooledConnection first = acquire();
+        Channel parent = first.getChannel().parent();
+
+        CLIENT_EVENT_LOOP.submit(() -> pool.release(first)).sync();
+        pool.drain();
+
+        assertThat(parent.closeFuture().await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(CLIENT_EVENT_LOOP
+                        .submit(() -> pool.getConnectionsForEventLoop(CLIENT_EVENT_LOOP)
+                                .parents
+                                .size())
+                        .get())
+                .isEqualTo(0);
+    }
+
+    private PooledConnection acquire() throws Exception {
+        return CLIENT_EVENT_LOOP
+                .submit(() -> pool.acquire(CLIENT_EVENT_LOOP, CurrentPassport.create(), new AtomicReference<>()))
+                .get()
+                .await()
+                .get();
+    }
+
+    private int activeStreams() throws Exception {
+        return CLIENT_EVENT_LOOP
+                .submit(() -> {
+                    int total = 0;
+                    for (Http2ConnectionPool.ParentConnection parent :
+                            pool.getConnectionsForEventLoop(CLIENT_EVENT_LOOP).parents) {
+                        total += parent.activeStreams;
+                    }
+                    return total;
+                })
+                .get();
+    }
+
+    @ChannelHandler.Sharable
+    private static final class NoopStreamHandler extends ChannelInboundHandlerAdapter {}
+}
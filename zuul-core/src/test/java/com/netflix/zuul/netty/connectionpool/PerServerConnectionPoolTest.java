@@ -89,6 +89,7 @@ class PerServerConnectionPoolTest {
     private Counter connTakenFromPoolIsNotOpen;
     private Counter closeAboveHighWaterMarkCounter;
     private Counter maxConnsPerHostExceededCounter;
+    private Counter stealConnCounter;
     private Timer connEstablishTimer;
     private AtomicInteger connsInPool;
     private AtomicInteger connsInUse;
@@ -141,6 +142,7 @@ class PerServerConnectionPoolTest {
         connTakenFromPoolIsNotOpen = registry.counter("fake_counter" + index++);
         closeAboveHighWaterMarkCounter = registry.counter("fake_counter" + index++);
         maxConnsPerHostExceededCounter = registry.counter("fake_counter" + index++);
+        stealConnCounter = registry.counter("fake_counter" + index++);
         connEstablishTimer = registry.timer("fake_timer");
         connsInPool = new AtomicInteger();
         connsInUse = new AtomicInteger();
@@ -180,6 +182,7 @@ class PerServerConnectionPoolTest {
                 connTakenFromPoolIsNotOpen,
                 closeAboveHighWaterMarkCounter,
                 maxConnsPerHostExceededCounter,
+                stealConnCounter,
                 connEstablishTimer,
                 connsInPool,
                 connsInUse);
@@ -251,6 +254,67 @@ class PerServerConnectionPoolTest {
                 .sync();
     }
 
+    @Test
+    void acquireStealsIdleConnectionFromSiblingEventLoop() throws InterruptedException, ExecutionException {
+        clientConfig.set(ConnectionPoolConfigImpl.CONNECTION_STEALING, true);
+
+        PooledConnection connection = pool.acquire(CLIENT_EVENT_LOOP, CurrentPassport.create(), new AtomicReference<>())
+                .sync()
+                .get();
+        CLIENT_EVENT_LOOP
+                .submit(() -> {
+                    pool.release(connection);
+                })
+                .sync();
+        assertThat(connsInPool.get()).isEqualTo(1);
+
+        MultithreadEventLoopGroup otherGroup = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        try {
+            EventLoop otherEventLoop = otherGroup.next();
+            CurrentPassport newPassport = CurrentPassport.create();
+            PooledConnection stolen = pool.acquire(otherEventLoop, newPassport, new AtomicReference<>())
+                    .sync()
+                    .get();
+
+            assertThat(stolen).isSameAs(connection);
+            assertThat(stolen.getChannel().eventLoop()).isSameAs(otherEventLoop);
+            assertThat(stealConnCounter.count()).isEqualTo(1);
+            assertThat(createNewConnCounter.count()).isEqualTo(1);
+            assertThat(connsInPool.get()).isEqualTo(0);
+            assertThat(connsInUse.get()).isEqualTo(2);
+            assertThat(newPassport.findState(PassportState.ORIGIN_CH_POOL_STOLEN))
+                    .isNotNull();
+        } finally {
+            otherGroup.shutdownGracefully();
+        }
+    }
+
+    @Test
+    void acquireDoesNotStealWhenDisabled() throws InterruptedException, ExecutionException {
+        PooledConnection connection = pool.acquire(CLIENT_EVENT_LOOP, CurrentPassport.create(), new AtomicReference<>())
+                .sync()
+                .get();
+        CLIENT_EVENT_LOOP
+                .submit(() -> {
+                    pool.release(connection);
+                })
+                .sync();
+
+        MultithreadEventLoopGroup otherGroup = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        try {
+            PooledConnection other = pool.acquire(otherGroup.next(), CurrentPassport.create(), new AtomicReference<>())
+                    .sync()
+                    .get();
+
+            assertThat(other).isNotSameAs(connection);
+            assertThat(stealConnCounter.count()).isEqualTo(0);
+            assertThat(createNewConnCounter.count()).isEqualTo(2);
+            assertThat(connsInPool.get()).isEqualTo(1);
+        } finally {
+            otherGroup.shutdownGracefully();
+        }
+    }
+
     @Test
     void releaseFromPoolButAlreadyClosed() throws InterruptedException, ExecutionException {
         CurrentPassport currentPassport = CurrentPassport.create();
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.connectionpool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.timeout.IdleStateEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PooledIdleTimerTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private PooledIdleTimer timer;
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setup() {
+        timer = new PooledIdleTimer(Duration.ofMillis(100));
+        channel = new EmbeddedChannel(timer, new ChannelInboundHandlerAdapter() {
+            @Override
+            public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+                events.add(evt);
+            }
+        });
+    }
+
+    @Test
+    void firesOnceIdle() throws InterruptedException {
+        assertThat(PooledIdleTimer.fromChannel(channel)).isSameAs(timer);
+
+        timer.arm();
+        channel.runScheduledPendingTasks();
+        assertThat(events).isEmpty();
+
+        Thread.sleep(150);
+        channel.runScheduledPendingTasks();
+        assertThat(events).containsExactly(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+
+        // Nothing more until armed again.
+        Thread.sleep(150);
+        channel.runScheduledPendingTasks();
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void doesNotFireWhileDisarmed() throws InterruptedException {
+        timer.arm();
+        timer.disarm();
+
+        Thread.sleep(150);
+        channel.runScheduledPendingTasks();
+        assertThat(events).isEmpty();
+
+        timer.arm();
+        Thread.sleep(150);
+        channel.runScheduledPendingTasks();
+        assertThat(events).containsExactly(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+    }
+
+    @Test
+    void rearmingMovesTheDeadline() throws InterruptedException {
+        timer.arm();
+        Thread.sleep(60);
+        timer.disarm();
+        timer.arm();
+
+        // The first task runs at the original deadline, finds it moved, and schedules itself for the rest.
+        Thread.sleep(60);
+        channel.runScheduledPendingTasks();
+        assertThat(events).isEmpty();
+
+        Thread.sleep(100);
+        channel.runScheduledPendingTasks();
+        assertThat(events).containsExactly(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+    }
+
+    @Test
+    void zeroTimeoutNeverFires() throws InterruptedException {
+        PooledIdleTimer disabled = new PooledIdleTimer(Duration.ZERO);
+        EmbeddedChannel disabledChannel = new EmbeddedChannel(disabled, new ChannelInboundHandlerAdapter() {
+            @Override
+            public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+                events.add(evt);
+            }
+        });
+
+        disabled.arm();
+        Thread.sleep(50);
+        disabledChannel.runScheduledPendingTasks();
+        assertThat(events).isEmpty();
+        assertThat(disabledChannel.isActive()).isTrue();
+    }
+}
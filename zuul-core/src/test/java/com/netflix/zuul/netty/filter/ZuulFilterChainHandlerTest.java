@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.netflix.netty.common.HttpLifecycleChannelHandler.CompleteEvent;
+import com.netflix.netty.common.HttpLifecycleChannelHandler.CompleteReason;
+import com.netflix.zuul.context.CommonContextKeys;
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.message.http.HttpResponseMessage;
+import com.netflix.zuul.netty.compression.ResponseCompressor;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ZuulFilterChainHandlerTest {
+
+    private final SessionContext context = new SessionContext();
+    private final ResponseCompressor compressor = mock(ResponseCompressor.class);
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        channel = new EmbeddedChannel(new ZuulFilterChainHandler(
+                (ZuulFilterChainRunner<HttpRequestMessage>) mock(ZuulFilterChainRunner.class),
+                (ZuulFilterChainRunner<HttpResponseMessage>) mock(ZuulFilterChainRunner.class)));
+
+        HttpRequestMessage request = mock(HttpRequestMessage.class);
+        when(request.getContext()).thenReturn(context);
+        context.set(CommonContextKeys.GZIPPER, compressor);
+        channel.writeInbound(request);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void closesResponseCompressorWhenResponseIsAborted() {
+        channel.pipeline().fireUserEventTriggered(new CompleteEvent(CompleteReason.DISCONNECT, null, null));
+
+        verify(compressor).close();
+    }
+
+    @Test
+    void closesResponseCompressorWhenHandlerIsRemoved() {
+        channel.pipeline().remove(ZuulFilterChainHandler.class);
+
+        verify(compressor).close();
+    }
+}
@@ -27,6 +27,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import com.netflix.config.ConfigurationManager;
 import com.netflix.spectator.api.Registry;
 import com.netflix.zuul.ExecutionStatus;
 import com.netflix.zuul.Filter;
@@ -52,6 +53,8 @@ import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.HttpContent;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.configuration.AbstractConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -173,6 +176,61 @@ class ZuulFilterChainRunnerTest {
         assertThat((HttpContent) channel.readInbound()).isSameAs(transformer.replacement);
     }
 
+    @Test
+    void disabledFilterLeftOutUntilPropertyChanges() {
+        SimpleInboundFilter disabled = spy(new SimpleInboundFilter(true));
+        SimpleInboundFilter enabled = spy(new SimpleInboundFilter(true));
+        AbstractConfiguration config = ConfigurationManager.getConfigInstance();
+        String property = disabled.disablePropertyName();
+        config.setProperty(property, "true");
+        try {
+            ZuulFilter[] filters = new ZuulFilter[] {disabled, enabled};
+            FilterUsageNotifier notifier = mock(FilterUsageNotifier.class);
+            ZuulFilterChainRunner runner = new ZuulFilterChainRunner(
+                    filters, notifier, new FilterConstraints(List.of()), mock(Registry.class));
+
+            runner.filter(request);
+
+            verify(disabled, never()).shouldFilter(any());
+            verify(notifier).notify(eq(enabled), eq(ExecutionStatus.SUCCESS));
+            verifyNoMoreInteractions(notifier);
+
+            config.setProperty(property, "false");
+            runner.filter(request);
+
+            verify(disabled, times(1)).applyAsync(eq(request));
+            verify(notifier).notify(eq(disabled), eq(ExecutionStatus.SUCCESS));
+        } finally {
+            config.clearProperty(property);
+        }
+    }
+
+    @Test
+    void filterDisabledOtherThanByPropertyAskedOnEachRequest() {
+        AtomicBoolean isDisabled = new AtomicBoolean(true);
+        SimpleInboundFilter overriding = spy(new SimpleInboundFilter(true) {
+            @Override
+            public boolean isDisabled() {
+                return isDisabled.get();
+            }
+        });
+        FilterUsageNotifier notifier = mock(FilterUsageNotifier.class);
+        ZuulFilterChainRunner runner = new ZuulFilterChainRunner(
+                new ZuulFilter[] {overriding}, notifier, new FilterConstraints(List.of()), mock(Registry.class));
+
+        runner.filter(request);
+
+        verify(overriding, never()).applyAsync(any());
+        verify(notifier).notify(eq(overriding), eq(ExecutionStatus.DISABLED));
+
+        // No property changes, so only asking the filter again notices.
+        isDisabled.set(false);
+        runner.filter(request);
+
+        verify(overriding).applyAsync(eq(request));
+        verify(notifier).notify(eq(overriding), eq(ExecutionStatus.SUCCESS));
+    }
+
     @Test
     void mixedChainWithLegacyAndAsyncFilters() {
         SimpleInboundFilter legacyFilter = spy(new SimpleInboundFilter(true));
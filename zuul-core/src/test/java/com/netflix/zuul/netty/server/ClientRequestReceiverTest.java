@@ -37,6 +37,8 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpRequestEncoder;
@@ -81,6 +83,25 @@ class ClientRequestReceiverTest {
         channel.close();
     }
 
+    @Test
+    void expect100Continue_removedFromRequestButKeptOnInboundRequest() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ClientRequestReceiver(null));
+        channel.attr(SourceAddressChannelHandler.ATTR_SERVER_LOCAL_PORT).set(1234);
+        DefaultFullHttpRequest request =
+                new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/post", Unpooled.buffer());
+        request.headers().add(HttpHeaderNames.EXPECT, HttpHeaderValues.CONTINUE);
+        channel.writeInbound(request);
+        HttpRequestMessageImpl result = channel.readInbound();
+        result.disposeBufferedBody();
+
+        assertThat(result.getHeaders().getFirst("Expect")).isNull();
+        assertThat(result.getInboundRequest().getHeaders().getFirst("Expect")).isEqualTo("100-continue");
+        DefaultFullHttpResponse continueResponse = channel.readOutbound();
+        assertThat(continueResponse.status()).isEqualTo(HttpResponseStatus.CONTINUE);
+
+        channel.close();
+    }
+
     @Test
     void parseUriFromNetty_relative() {
 
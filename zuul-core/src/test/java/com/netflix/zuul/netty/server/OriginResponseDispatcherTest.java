@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.netflix.zuul.filters.endpoint.ProxyEndpoint;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OriginResponseDispatcherTest {
+
+    @Mock
+    private ProxyEndpoint proxyEndpoint;
+
+    @Test
+    void passesThroughWhileUnbound() {
+        OriginResponseDispatcher dispatcher = new OriginResponseDispatcher();
+        EmbeddedChannel channel = new EmbeddedChannel(dispatcher);
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+
+        channel.writeInbound(response);
+
+        assertThat(OriginResponseDispatcher.fromChannel(channel)).isSameAs(dispatcher);
+        assertThat((Object) channel.readInbound()).isSameAs(response);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void dispatchesToBoundReceiver() {
+        OriginResponseDispatcher dispatcher = new OriginResponseDispatcher();
+        EmbeddedChannel channel = new EmbeddedChannel(dispatcher);
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+
+        dispatcher.bind(new OriginResponseReceiver(proxyEndpoint));
+        channel.writeInbound(response);
+
+        verify(proxyEndpoint).responseFromOrigin(response);
+        assertThat((Object) channel.readInbound()).isNull();
+
+        dispatcher.unbind();
+        HttpResponse next = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        channel.writeInbound(next);
+
+        verify(proxyEndpoint, never()).responseFromOrigin(next);
+        assertThat((Object) channel.readInbound()).isSameAs(next);
+        assertThat(dispatcher.getReceiver()).isNull();
+        channel.finishAndReleaseAll();
+    }
+}
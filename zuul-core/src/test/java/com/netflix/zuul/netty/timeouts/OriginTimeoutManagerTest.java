@@ -17,6 +17,7 @@
 package com.netflix.zuul.netty.timeouts;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 import com.netflix.client.config.CommonClientConfigKey;
@@ -24,6 +25,7 @@ import com.netflix.client.config.DefaultClientConfigImpl;
 import com.netflix.client.config.IClientConfig;
 import com.netflix.zuul.context.CommonContextKeys;
 import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.exception.RequestExpiredException;
 import com.netflix.zuul.message.http.HttpRequestMessage;
 import com.netflix.zuul.origins.NettyOrigin;
 import java.time.Duration;
@@ -136,4 +138,51 @@ class OriginTimeoutManagerTest {
 
         assertThat(timeout.toMillis()).isEqualTo(OriginTimeoutManager.MAX_OUTBOUND_READ_TIMEOUT_MS.get());
     }
+
+    @Test
+    void computeReadTimeout_deadlineLower() {
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 1000);
+        RequestDeadline.set(context, Duration.ofMillis(100));
+
+        Duration timeout = originTimeoutManager.computeReadTimeout(request, 1);
+
+        assertThat(timeout).isPositive().isLessThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void computeReadTimeout_deadlineExpired() {
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 1000);
+        RequestDeadline.set(context, Duration.ZERO);
+
+        assertThatThrownBy(() -> originTimeoutManager.computeReadTimeout(request, 2))
+                .isInstanceOf(RequestExpiredException.class);
+    }
+
+    @Test
+    void computeReadTimeout_noRequestConfigCreated() {
+        context.remove(CommonContextKeys.REST_CLIENT_CONFIG);
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 1000);
+
+        Duration timeout = originTimeoutManager.computeReadTimeout(request, 1);
+
+        assertThat(timeout.toMillis()).isEqualTo(1000);
+        assertThat(context.get(CommonContextKeys.REST_CLIENT_CONFIG)).isNull();
+    }
+
+    @Test
+    void computeReadTimeout_requestClientConfigOverridden() {
+        IClientConfig overriddenConfig = new DefaultClientConfigImpl();
+        overriddenConfig.set(CommonClientConfigKey.ReadTimeout, 500);
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 1000);
+        OriginTimeoutManager overridingTimeoutManager = new OriginTimeoutManager(origin) {
+            @Override
+            protected IClientConfig getRequestClientConfig(HttpRequestMessage zuulRequest) {
+                return overriddenConfig;
+            }
+        };
+
+        Duration timeout = overridingTimeoutManager.computeReadTimeout(request, 1);
+
+        assertThat(timeout.toMillis()).isEqualTo(500);
+    }
 }
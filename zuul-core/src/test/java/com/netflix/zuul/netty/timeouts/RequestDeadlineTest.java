@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.timeouts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.netflix.config.ConfigurationManager;
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.exception.RequestExpiredException;
+import com.netflix.zuul.message.Headers;
+import com.netflix.zuul.message.http.HttpQueryParams;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.message.http.HttpRequestMessageImpl;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.configuration.AbstractConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestDeadlineTest {
+
+    private static final String HEADER_ENABLED = "zuul.request.deadline.header.enabled";
+
+    private final AbstractConfiguration config = ConfigurationManager.getConfigInstance();
+    private final AtomicLong clock = new AtomicLong();
+
+    @AfterEach
+    void after() {
+        config.clearProperty(HEADER_ENABLED);
+    }
+
+    @Test
+    void limitsTimeoutToTimeRemaining() {
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofMillis(500), clock::get);
+        assertThat(deadline.limit(Duration.ofMillis(100))).isEqualTo(Duration.ofMillis(100));
+
+        clock.addAndGet(Duration.ofMillis(450).toNanos());
+        assertThat(deadline.remaining()).isEqualTo(Duration.ofMillis(50));
+        assertThat(deadline.limit(Duration.ofMillis(100))).isEqualTo(Duration.ofMillis(50));
+        assertThat(deadline.isExpired()).isFalse();
+    }
+
+    @Test
+    void expires() {
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofMillis(500), clock::get);
+        clock.addAndGet(Duration.ofMillis(600).toNanos());
+
+        assertThat(deadline.isExpired()).isTrue();
+        assertThat(deadline.remaining()).isEqualTo(Duration.ZERO);
+        assertThatThrownBy(() -> deadline.limit(Duration.ofMillis(100))).isInstanceOf(RequestExpiredException.class);
+    }
+
+    @Test
+    void headerIgnoredUnlessEnabled() {
+        HttpRequestMessage request = createRequest("1000");
+
+        assertThat(RequestDeadline.fromRequest(request)).isNull();
+    }
+
+    @Test
+    void parsesHeader() {
+        config.setProperty(HEADER_ENABLED, "true");
+        HttpRequestMessage request = createRequest("1000");
+
+        RequestDeadline deadline = RequestDeadline.fromRequest(request);
+        assertThat(deadline).isNotNull();
+        assertThat(deadline.remaining()).isBetween(Duration.ofMillis(1), Duration.ofMillis(1000));
+        assertThat(RequestDeadline.fromRequest(request)).isSameAs(deadline);
+    }
+
+    @Test
+    void ignoresInvalidHeader() {
+        config.setProperty(HEADER_ENABLED, "true");
+
+        assertThat(RequestDeadline.fromRequest(createRequest("soon"))).isNull();
+        assertThat(RequestDeadline.fromRequest(createRequest("-1"))).isNull();
+    }
+
+    @Test
+    void filterDeadlineTakesPrecedence() {
+        config.setProperty(HEADER_ENABLED, "true");
+        HttpRequestMessage request = createRequest("100000");
+        RequestDeadline.set(request.getContext(), Duration.ofMillis(10));
+
+        assertThat(RequestDeadline.fromRequest(request).remaining()).isLessThanOrEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    void propagatesTimeRemaining() {
+        HttpRequestMessage request = createRequest("100000");
+
+        RequestDeadline.after(Duration.ofMillis(500), clock::get).propagate(request);
+        assertThat(request.getHeaders().getFirst(RequestDeadline.HEADER)).isEqualTo("500");
+    }
+
+    private static HttpRequestMessage createRequest(String deadlineHeader) {
+        Headers headers = new Headers();
+        headers.add(RequestDeadline.HEADER, deadlineHeader);
+        return new HttpRequestMessageImpl(
+                new SessionContext(),
+                "HTTP/1.1",
+                "GET",
+                "/path",
+                new HttpQueryParams(),
+                headers,
+                "127.0.0.1",
+                "http",
+                7001,
+                "localhost");
+    }
+}
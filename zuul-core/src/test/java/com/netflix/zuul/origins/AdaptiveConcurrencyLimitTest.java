@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.origins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger inflight = new AtomicInteger(100);
+
+    @Test
+    void growsWhileLatencyHolds() {
+        AdaptiveConcurrencyLimit limit = newLimit(1, 1000, 100);
+
+        window(limit, 10);
+        assertThat(limit.getLimit()).isEqualTo(102);
+
+        for (int i = 0; i < 20; i++) {
+            window(limit, 10);
+        }
+        assertThat(limit.getLimit()).isGreaterThan(130);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = newLimit(1, 1000, 100);
+        window(limit, 10);
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            window(limit, 40);
+        }
+        assertThat(limit.getLimit()).isLessThan(before * 3 / 4);
+    }
+
+    @Test
+    void backsOffWhenOverloaded() {
+        AdaptiveConcurrencyLimit limit = newLimit(1, 1000, 100);
+
+        limit.onOverload();
+        clock.addAndGet(WINDOW);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertThat(limit.getLimit()).isEqualTo(90);
+    }
+
+    @Test
+    void doesNotGrowWhileUnderused() {
+        AdaptiveConcurrencyLimit limit = newLimit(1, 1000, 100);
+        inflight.set(10);
+
+        for (int i = 0; i < 5; i++) {
+            window(limit, 10);
+        }
+        assertThat(limit.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void waitsForEnoughSamples() {
+        AdaptiveConcurrencyLimit limit = newLimit(1, 1000, 100);
+
+        clock.addAndGet(WINDOW);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(limit.getLimit()).isEqualTo(100);
+
+        window(limit, 10);
+        assertThat(limit.getLimit()).isGreaterThan(100);
+    }
+
+    @Test
+    void staysWithinBounds() {
+        AdaptiveConcurrencyLimit limit = newLimit(95, 105, 100);
+
+        for (int i = 0; i < 20; i++) {
+            window(limit, 10);
+        }
+        assertThat(limit.getLimit()).isEqualTo(105);
+
+        for (int i = 0; i < 20; i++) {
+            limit.onOverload();
+            clock.addAndGet(WINDOW);
+            limit.onOverload();
+        }
+        assertThat(limit.getLimit()).isEqualTo(95);
+    }
+
+    @Test
+    void followsChangesToBounds() {
+        AtomicInteger max = new AtomicInteger(1000);
+        AdaptiveConcurrencyLimit limit =
+                new AdaptiveConcurrencyLimit(() -> 1, max::get, 100, inflight::get, WINDOW, clock::get);
+
+        max.set(50);
+        clock.addAndGet(WINDOW);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(limit.getLimit()).isEqualTo(50);
+    }
+
+    private AdaptiveConcurrencyLimit newLimit(int min, int max, int initial) {
+        return new AdaptiveConcurrencyLimit(() -> min, () -> max, initial, inflight::get, WINDOW, clock::get);
+    }
+
+    /**
+     * Records a window's worth of samples at the given latency, the last of which ends the window.
+     */
+    private void window(AdaptiveConcurrencyLimit limit, long latencyMillis) {
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        }
+        clock.addAndGet(WINDOW);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.origins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.netflix.client.config.IClientConfig;
+import com.netflix.config.ConfigurationManager;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.netty.connectionpool.ClientChannelManager;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.nio.NioIoHandler;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BasicNettyOriginManagerTest {
+
+    private final EventLoopGroup eventLoopGroup = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+    private final Map<OriginName, ClientChannelManager> channelManagers = new HashMap<>();
+    private final BasicNettyOriginManager originManager = new BasicNettyOriginManager(new NoopRegistry()) {
+        @Override
+        public BasicNettyOrigin createOrigin(OriginName originName, String uri, SessionContext ctx) {
+            return new BasicNettyOrigin(originName, new NoopRegistry()) {
+                @Override
+                protected ClientChannelManager createClientChannelManager(
+                        OriginName originName, IClientConfig config, Registry registry) {
+                    return channelManagers.computeIfAbsent(originName, n -> mock(ClientChannelManager.class));
+                }
+            };
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        ConfigurationManager.getConfigInstance().clearProperty("zuul.origin.warmup.vips");
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    @Test
+    void originsCreatedAfterWarmUpAreWarmedUpOnce() {
+        OriginName originName = OriginName.fromVip("lazy-vip");
+        originManager.warmUp(eventLoopGroup);
+
+        BasicNettyOrigin origin = originManager.getOrigin(originName, "/", new SessionContext());
+        assertThat(originManager.getOrigin(originName, "/", new SessionContext())).isSameAs(origin);
+
+        verify(channelManagers.get(originName)).warmUp(eventLoopGroup);
+    }
+
+    @Test
+    void existingOriginsAreWarmedUp() {
+        OriginName originName = OriginName.fromVip("early-vip");
+        originManager.getOrigin(originName, "/", new SessionContext());
+        ClientChannelManager channelManager = channelManagers.get(originName);
+        verify(channelManager, never()).warmUp(eventLoopGroup);
+
+        originManager.warmUp(eventLoopGroup);
+
+        verify(channelManager).warmUp(eventLoopGroup);
+    }
+
+    @Test
+    void configuredOriginsAreCreatedAndWarmedUp() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.origin.warmup.vips", "first-vip, second-vip");
+
+        originManager.warmUp(eventLoopGroup);
+
+        assertThat(channelManagers).containsOnlyKeys(OriginName.fromVip("first-vip"), OriginName.fromVip("second-vip"));
+        verify(channelManagers.get(OriginName.fromVip("first-vip"))).warmUp(eventLoopGroup);
+        verify(channelManagers.get(OriginName.fromVip("second-vip"))).warmUp(eventLoopGroup);
+    }
+}
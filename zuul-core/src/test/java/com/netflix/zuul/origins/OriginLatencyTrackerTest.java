@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.origins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class OriginLatencyTrackerTest {
+
+    @Test
+    void noPercentileUntilEnoughSamples() {
+        OriginLatencyTracker tracker = new OriginLatencyTracker(1000, 10);
+        for (int i = 0; i < 9; i++) {
+            tracker.record(5);
+        }
+        assertThat(tracker.percentile(50)).isEqualTo(-1);
+
+        tracker.record(5);
+        assertThat(tracker.percentile(50)).isEqualTo(5);
+    }
+
+    @Test
+    void percentileIsRoundedUpToItsBucket() {
+        OriginLatencyTracker tracker = new OriginLatencyTracker(1000, 10);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+
+        assertThat(tracker.percentile(50)).isBetween(50L, 63L);
+        assertThat(tracker.percentile(95)).isBetween(95L, 119L);
+        assertThat(tracker.percentile(100)).isBetween(100L, 127L);
+    }
+
+    @Test
+    void followsChangeInLatency() {
+        OriginLatencyTracker tracker = new OriginLatencyTracker(100, 10);
+        for (int i = 0; i < 1000; i++) {
+            tracker.record(10);
+        }
+        assertThat(tracker.percentile(50)).isEqualTo(11);
+
+        for (int i = 0; i < 300; i++) {
+            tracker.record(1000);
+        }
+        assertThat(tracker.percentile(50)).isBetween(1000L, 1023L);
+    }
+
+    @Test
+    void bucketsCoverEveryLatency() {
+        int previous = 0;
+        for (long millis = 0; millis < 1L << 33; millis += Math.max(1, millis / 64)) {
+            int bucket = OriginLatencyTracker.bucket(millis);
+            assertThat(bucket).isGreaterThanOrEqualTo(previous);
+            if (millis <= Integer.MAX_VALUE) {
+                assertThat(OriginLatencyTracker.upperBound(bucket)).isGreaterThanOrEqualTo(millis);
+            }
+            previous = bucket;
+        }
+        assertThat(OriginLatencyTracker.bucket(-1)).isZero();
+    }
+}
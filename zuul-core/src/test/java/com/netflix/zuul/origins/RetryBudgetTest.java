@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.origins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void reserveAllowsRetriesWithoutSuccesses() {
+        RetryBudget budget = new RetryBudget(0.1, 1, WINDOW, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void successesEarnRetries() {
+        RetryBudget budget = new RetryBudget(0.1, 0, WINDOW, clock::get);
+        assertThat(budget.tryAcquire()).isFalse();
+
+        for (int i = 0; i < 100; i++) {
+            budget.recordSuccess();
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void retriesAreForgottenAfterWindow() {
+        RetryBudget budget = new RetryBudget(0.1, 1, WINDOW, clock::get);
+        for (int i = 0; i < 10; i++) {
+            budget.tryAcquire();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+
+        clock.addAndGet(WINDOW.toNanos());
+        assertThat(budget.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void successesAreForgottenAfterWindow() {
+        RetryBudget budget = new RetryBudget(1, 0, WINDOW, clock::get);
+        for (int i = 0; i < 5; i++) {
+            budget.recordSuccess();
+        }
+        clock.addAndGet(WINDOW.toNanos() / 2);
+        for (int i = 0; i < 5; i++) {
+            budget.recordSuccess();
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+
+        // The first five successes leave the window, but the retries spent since haven't.
+        clock.addAndGet(WINDOW.toNanos() / 2);
+        budget.recordSuccess();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+}
@@ -18,7 +18,9 @@ package com.netflix.zuul.passport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.base.Ticker;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 
 class CurrentPassportTest {
@@ -97,4 +99,65 @@ class CurrentPassportTest {
     void testGetStateWithNoHistory() {
         assertThat(CurrentPassport.create().getState()).isNull();
     }
+
+    @Test
+    void overflowKeepsNewestStatesAndFirstTime() {
+        AtomicLong now = new AtomicLong(100);
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return now.getAndAdd(10);
+            }
+        };
+        CurrentPassport passport = new CurrentPassport(ticker, 4);
+
+        passport.add(PassportState.IN_REQ_HEADERS_RECEIVED);
+        passport.add(PassportState.FILTERS_INBOUND_START);
+        passport.add(PassportState.FILTERS_INBOUND_END);
+        assertThat(passport.overflowCount()).isEqualTo(0);
+
+        passport.add(PassportState.MISC_IO_START);
+        passport.add(PassportState.MISC_IO_STOP);
+        passport.add(PassportState.OUT_REQ_HEADERS_SENDING);
+
+        assertThat(passport.overflowCount()).isEqualTo(2);
+        assertThat(passport.getState()).isEqualTo(PassportState.OUT_REQ_HEADERS_SENDING);
+        assertThat(passport.findState(PassportState.IN_REQ_HEADERS_RECEIVED)).isNull();
+        assertThat(passport.findState(PassportState.MISC_IO_START).getTime()).isEqualTo(130);
+        assertThat(passport.firstTime()).isEqualTo(100);
+        assertThat(passport.getHistory())
+                .extracting(PassportItem::getState)
+                .containsExactly(
+                        PassportState.FILTERS_INBOUND_END,
+                        PassportState.MISC_IO_START,
+                        PassportState.MISC_IO_STOP,
+                        PassportState.OUT_REQ_HEADERS_SENDING);
+        assertThat(passport.toString()).contains("overflowed=2, ");
+
+        CurrentPassport parsed = CurrentPassport.parseFromToString(passport.toString());
+        assertThat(parsed.findState(PassportState.MISC_IO_STOP).getTime()).isEqualTo(40);
+    }
+
+    @Test
+    void addIfNotAlreadySkipsRepeats() {
+        CurrentPassport passport = CurrentPassport.create();
+        passport.addIfNotAlready(PassportState.FILTERS_INBOUND_START);
+        passport.addIfNotAlready(PassportState.FILTERS_INBOUND_START);
+
+        assertThat(passport.findStates(PassportState.FILTERS_INBOUND_START)).hasSize(1);
+    }
+
+    @Test
+    void addIfNotAlreadySkipsRepeatsOfEveryState() {
+        CurrentPassport passport = CurrentPassport.create();
+        for (PassportState state : PassportState.values()) {
+            passport.addIfNotAlready(state);
+            passport.addIfNotAlready(state);
+        }
+
+        // Content states are discarded by default, so they may not be there at all.
+        for (PassportState state : PassportState.values()) {
+            assertThat(passport.findStates(state)).as(state.name()).hasSizeLessThanOrEqualTo(1);
+        }
+    }
 }
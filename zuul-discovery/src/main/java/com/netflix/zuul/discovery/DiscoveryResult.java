@@ -26,6 +26,7 @@ import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 
 /**
@@ -36,8 +37,13 @@ import javax.annotation.Nullable;
  */
 public final class DiscoveryResult implements ResolverResult {
 
+    /** Weight given to each new latency sample in {@link #getLatencyEwma()}. */
+    static final double LATENCY_EWMA_WEIGHT = 0.2;
+
     private final DiscoveryEnabledServer server;
     private final ServerStats serverStats;
+    /** Raw bits of a double, so that samples can be folded in with a CAS rather than a lock. */
+    private final AtomicLong latencyEwma = new AtomicLong(Double.doubleToRawLongBits(0));
     /**
      * This exists to allow for a semblance of type safety, and encourages avoiding null checks on the underlying Server,
      * thus representing a sentinel value for an empty resolution result.
@@ -167,6 +173,36 @@ public final class DiscoveryResult implements ResolverResult {
 
     public void noteResponseTime(double msecs) {
         serverStats.noteResponseTime(msecs);
+        noteLatency(msecs);
+    }
+
+    /**
+     * Records how long it took to establish a connection to this server. Only feeds {@link #getLatencyEwma()}, as the
+     * Ribbon stats have no notion of connect time.
+     */
+    public void noteConnectTime(double msecs) {
+        noteLatency(msecs);
+    }
+
+    /**
+     * Exponentially weighted moving average of the connect and response times noted against this instance, in
+     * milliseconds, or 0 if none have been noted yet. Unlike the other stats, this lives on the instance rather than in
+     * the shared Ribbon stats, so it is only meaningful when callers reuse one instance per server, as
+     * {@link PowerOfTwoChoicesResolver} does.
+     */
+    public double getLatencyEwma() {
+        return Double.longBitsToDouble(latencyEwma.get());
+    }
+
+    private void noteLatency(double msecs) {
+        long prevBits;
+        long nextBits;
+        do {
+            prevBits = latencyEwma.get();
+            double prev = Double.longBitsToDouble(prevBits);
+            double next = prev == 0 ? msecs : prev + LATENCY_EWMA_WEIGHT * (msecs - prev);
+            nextBits = Double.doubleToRawLongBits(next);
+        } while (!latencyEwma.compareAndSet(prevBits, nextBits));
     }
 
     public boolean isCircuitBreakerTripped() {
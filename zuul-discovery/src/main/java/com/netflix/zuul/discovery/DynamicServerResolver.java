@@ -21,8 +21,8 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.Sets;
 import com.netflix.client.config.CommonClientConfigKey;
 import com.netflix.client.config.IClientConfig;
+import com.netflix.client.config.IClientConfigKey;
 import com.netflix.loadbalancer.DynamicServerListLoadBalancer;
-import com.netflix.loadbalancer.LoadBalancerStats;
 import com.netflix.loadbalancer.Server;
 import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
 import com.netflix.zuul.resolver.Resolver;
@@ -46,6 +46,14 @@ public class DynamicServerResolver implements Resolver<DiscoveryResult> {
 
     private static final Logger LOG = LoggerFactory.getLogger(DynamicServerResolver.class);
 
+    /**
+     * Selects how {@link #create(IClientConfig)} picks a server: {@code ribbon} (the default) defers to the configured
+     * Ribbon load balancer rule, {@code leastActiveRequests} uses {@link LeastActiveRequestsResolver},
+     * {@code latencyEwma} uses {@link LatencyEwmaResolver} and {@code maglev} uses {@link MaglevResolver}.
+     */
+    public static final IClientConfigKey<String> LOAD_BALANCING_POLICY =
+            new CommonClientConfigKey<>("ZuulLoadBalancingPolicy") {};
+
     private final DynamicServerListLoadBalancer<?> loadBalancer;
     private ResolverListener<DiscoveryResult> listener;
 
@@ -64,6 +72,26 @@ public class DynamicServerResolver implements Resolver<DiscoveryResult> {
         this.loadBalancer = Objects.requireNonNull(loadBalancer);
     }
 
+    /**
+     * Creates the resolver selected by {@link #LOAD_BALANCING_POLICY}.
+     */
+    public static DynamicServerResolver create(IClientConfig clientConfig) {
+        String policy = clientConfig.get(LOAD_BALANCING_POLICY, "ribbon");
+        switch (policy) {
+            case LeastActiveRequestsResolver.POLICY_NAME:
+                return new LeastActiveRequestsResolver(clientConfig);
+            case LatencyEwmaResolver.POLICY_NAME:
+                return new LatencyEwmaResolver(clientConfig);
+            case MaglevResolver.POLICY_NAME:
+                return new MaglevResolver(clientConfig);
+            case "ribbon":
+                return new DynamicServerResolver(clientConfig);
+            default:
+                LOG.warn("Unknown load balancing policy {}, falling back to ribbon", policy);
+                return new DynamicServerResolver(clientConfig);
+        }
+    }
+
     @Override
     public void setListener(ResolverListener<DiscoveryResult> listener) {
         if (this.listener != null) {
@@ -78,9 +106,7 @@ public class DynamicServerResolver implements Resolver<DiscoveryResult> {
     @Override
     public DiscoveryResult resolve(@Nullable Object key) {
         Server server = loadBalancer.chooseServer(key);
-        return server != null
-                ? new DiscoveryResult((DiscoveryEnabledServer) server, loadBalancer.getLoadBalancerStats())
-                : DiscoveryResult.EMPTY;
+        return server != null ? toDiscoveryResult(server) : DiscoveryResult.EMPTY;
     }
 
     @Override
@@ -90,10 +116,9 @@ public class DynamicServerResolver implements Resolver<DiscoveryResult> {
 
     @Override
     public List<DiscoveryResult> getServers() {
-        LoadBalancerStats lbStats = loadBalancer.getLoadBalancerStats();
         return loadBalancer.getAllServers().stream()
                 .filter(DiscoveryEnabledServer.class::isInstance)
-                .map(server -> new DiscoveryResult((DiscoveryEnabledServer) server, lbStats))
+                .map(this::toDiscoveryResult)
                 .collect(Collectors.toList());
     }
 
@@ -102,6 +127,18 @@ public class DynamicServerResolver implements Resolver<DiscoveryResult> {
         loadBalancer.shutdown();
     }
 
+    protected DynamicServerListLoadBalancer<?> getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    /**
+     * Wraps a server chosen by, or known to, the load balancer. Subclasses that keep per-server state in the result
+     * can return the same instance for the same server.
+     */
+    protected DiscoveryResult toDiscoveryResult(Server server) {
+        return new DiscoveryResult((DiscoveryEnabledServer) server, loadBalancer.getLoadBalancerStats());
+    }
+
     private static DynamicServerListLoadBalancer<?> createLoadBalancer(IClientConfig clientConfig) {
         // TODO(argha-c): Revisit this style of LB initialization post modularization. Ideally the LB should be
         // pluggable.
@@ -129,10 +166,16 @@ public class DynamicServerResolver implements Resolver<DiscoveryResult> {
     void onUpdate(List<Server> oldList, List<Server> newList) {
         Set<Server> oldSet = new HashSet<>(oldList);
         Set<Server> newSet = new HashSet<>(newList);
-        List<DiscoveryResult> discoveryResults = Sets.difference(oldSet, newSet).stream()
+        // Removed servers are only used to look up what to tear down, so they needn't go through toDiscoveryResult().
+        List<DiscoveryResult> removed = Sets.difference(oldSet, newSet).stream()
+                .filter(DiscoveryEnabledServer.class::isInstance)
                 .map(server ->
                         new DiscoveryResult((DiscoveryEnabledServer) server, loadBalancer.getLoadBalancerStats()))
                 .collect(Collectors.toList());
-        listener.onChange(discoveryResults);
+        List<DiscoveryResult> added = Sets.difference(newSet, oldSet).stream()
+                .filter(DiscoveryEnabledServer.class::isInstance)
+                .map(this::toDiscoveryResult)
+                .collect(Collectors.toList());
+        listener.onChange(removed, added);
     }
 }
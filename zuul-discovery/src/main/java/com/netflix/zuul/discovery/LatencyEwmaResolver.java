@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.DynamicServerListLoadBalancer;
+
+/**
+ * Power of two choices on the expected time to serve one more request: the server's
+ * {@linkplain DiscoveryResult#getLatencyEwma() latency EWMA} scaled by the number of requests already in flight to it.
+ * On a fleet with uneven instance performance this moves traffic away from slow servers before they build up a queue,
+ * which active request counts alone only notice once the queue is there.
+ */
+public class LatencyEwmaResolver extends PowerOfTwoChoicesResolver {
+
+    public static final String POLICY_NAME = "latencyEwma";
+
+    public LatencyEwmaResolver(IClientConfig clientConfig) {
+        super(clientConfig);
+    }
+
+    public LatencyEwmaResolver(DynamicServerListLoadBalancer<?> loadBalancer) {
+        super(loadBalancer);
+    }
+
+    @Override
+    protected double load(DiscoveryResult server) {
+        // The extra millisecond keeps servers without samples yet from all scoring zero regardless of load.
+        return (server.getLatencyEwma() + 1) * (server.getActiveRequestsCount() + 1);
+    }
+}
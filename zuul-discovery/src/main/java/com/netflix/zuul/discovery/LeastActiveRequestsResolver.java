@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.DynamicServerListLoadBalancer;
+
+/**
+ * Power of two choices on the number of requests currently in flight to each server, as tracked by
+ * {@link DiscoveryResult#incrementActiveRequestsCount()} and {@link DiscoveryResult#decrementActiveRequestsCount()}.
+ */
+public class LeastActiveRequestsResolver extends PowerOfTwoChoicesResolver {
+
+    public static final String POLICY_NAME = "leastActiveRequests";
+
+    public LeastActiveRequestsResolver(IClientConfig clientConfig) {
+        super(clientConfig);
+    }
+
+    public LeastActiveRequestsResolver(DynamicServerListLoadBalancer<?> loadBalancer) {
+        super(loadBalancer);
+    }
+
+    @Override
+    protected double load(DiscoveryResult server) {
+        return server.getActiveRequestsCount();
+    }
+}
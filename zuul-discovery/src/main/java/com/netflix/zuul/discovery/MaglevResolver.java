@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.DynamicServerListLoadBalancer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+
+/**
+ * Sends requests with the same routing key to the same server, so that an origin that caches per user or per object
+ * keeps its hit rate, using the lookup table of Google's Maglev load balancer. When a server is added or removed, only
+ * about its share of keys move, and those move evenly to or from the other servers.
+ *
+ * <p>The table is rebuilt whenever the servers change. Each server's place in it is derived from a hash of its host
+ * and port, which is kept for as long as the server is, so a rebuild only hashes the servers that are new and then
+ * refills the table. Requests without a key, and retries, which mustn't go back to the same server, are spread by
+ * {@linkplain LeastActiveRequestsResolver least active requests}. A key that lands on a server whose circuit breaker
+ * has tripped moves on to the next server in the table, so that the keys of a failing server spread over the rest
+ * rather than all moving to one.
+ */
+public class MaglevResolver extends LeastActiveRequestsResolver {
+
+    public static final String POLICY_NAME = "maglev";
+
+    /**
+     * A prime, large enough that each server's share of the table is within about 1% of any other's for up to a few
+     * hundred servers. It stays the same however many servers there are, as a change of size would move every key.
+     */
+    private static final int TABLE_SIZE = 65537;
+
+    private static final int MAX_PROBES = 16;
+
+    private volatile Table table = new Table(ServerSnapshot.EMPTY, new int[0]);
+
+    /** The place of each server in the table, by host and port. Only touched while rebuilding. */
+    private Map<String, Permutation> permutations = new HashMap<>();
+
+    public MaglevResolver(IClientConfig clientConfig) {
+        super(clientConfig);
+        listenForChanges();
+    }
+
+    public MaglevResolver(DynamicServerListLoadBalancer<?> loadBalancer) {
+        super(loadBalancer);
+        listenForChanges();
+    }
+
+    private void listenForChanges() {
+        // Registered after the snapshot's own listeners, so the table is rebuilt from the new snapshot.
+        getLoadBalancer().addServerListChangeListener((oldList, newList) -> rebuildTable());
+        getLoadBalancer().addServerStatusChangeListener(servers -> rebuildTable());
+        rebuildTable();
+    }
+
+    @Override
+    public int choose(ServerSnapshot servers, @Nullable Object key) {
+        Table current = table;
+        // The table can briefly lag a new snapshot, until it's rebuilt.
+        if (key == null || current.servers != servers || servers.size() == 0) {
+            return super.choose(servers, key);
+        }
+
+        int[] entries = current.entries;
+        int slot = (int) Long.remainderUnsigned(mix(key.hashCode()), entries.length);
+        int index = entries[slot];
+        for (int probes = 0; probes < MAX_PROBES && servers.get(index).isCircuitBreakerTripped(); probes++) {
+            slot = slot + 1 == entries.length ? 0 : slot + 1;
+            index = entries[slot];
+        }
+        return index;
+    }
+
+    /**
+     * Rebuilds the table for the current snapshot. Synchronized, as the list refresh and the pinger notify on
+     * different threads.
+     */
+    @VisibleForTesting
+    synchronized void rebuildTable() {
+        ServerSnapshot servers = snapshot();
+        if (table.servers == servers) {
+            return;
+        }
+
+        Map<String, Permutation> previous = permutations;
+        Map<String, Permutation> current = new HashMap<>();
+        Permutation[] byIndex = new Permutation[servers.size()];
+        for (int i = 0; i < byIndex.length; i++) {
+            DiscoveryResult server = servers.get(i);
+            String id = server.getHost() + ':' + server.getPort();
+            Permutation permutation = previous.get(id);
+            if (permutation == null) {
+                permutation = Permutation.of(id);
+            }
+            current.put(id, permutation);
+            byIndex[i] = permutation;
+        }
+
+        permutations = current;
+        table = new Table(servers, populate(byIndex));
+    }
+
+    /**
+     * Fills the table by letting each server in turn take the next free entry in its own order of preference, until
+     * none are left. The result depends only on which servers there are, not on their order in the snapshot.
+     *
+     * @return the index of the server that owns each entry
+     */
+    @VisibleForTesting
+    static int[] populate(Permutation[] servers) {
+        int count = servers.length;
+        if (count == 0) {
+            return new int[0];
+        }
+
+        int[] order = IntStream.range(0, count)
+                .boxed()
+                .sorted(Comparator.comparing(i -> servers[i].id()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] next = new int[count];
+        int[] skip = new int[count];
+        for (int i = 0; i < count; i++) {
+            next[i] = (int) Long.remainderUnsigned(servers[i].offsetHash(), TABLE_SIZE);
+            skip[i] = (int) Long.remainderUnsigned(servers[i].skipHash(), TABLE_SIZE - 1) + 1;
+        }
+
+        int[] entries = new int[TABLE_SIZE];
+        Arrays.fill(entries, -1);
+        int filled = 0;
+        while (true) {
+            for (int i : order) {
+                int entry = next[i];
+                while (entries[entry] >= 0) {
+                    entry = (entry + skip[i]) % TABLE_SIZE;
+                }
+                entries[entry] = i;
+                next[i] = (entry + skip[i]) % TABLE_SIZE;
+                if (++filled == TABLE_SIZE) {
+                    return entries;
+                }
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a key's hash code over a long, from the finalizer of MurmurHash3, so that keys whose hash
+     * codes differ only slightly still land far apart.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private record Table(ServerSnapshot servers, int[] entries) {}
+
+    @VisibleForTesting
+    record Permutation(String id, long offsetHash, long skipHash) {
+        static Permutation of(String id) {
+            byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+            return new Permutation(
+                    id,
+                    Hashing.murmur3_128(0).hashBytes(bytes).asLong(),
+                    Hashing.murmur3_128(1).hashBytes(bytes).asLong());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.DynamicServerListLoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
+
+/**
+ * A resolver that picks two reachable servers at random and routes to the less loaded of the two, as defined by
+ * {@link #load(DiscoveryResult)}. Compared to always picking the least loaded server, this avoids herding onto a
+ * server whose load figure is momentarily stale, while still steering clear of slow or busy ones.
+ *
+ * <p>The reachable servers are kept in a copy-on-write {@link ServerSnapshot}, rebuilt when the load balancer reports
+ * a change to the server list or to a server's status. Nothing here takes a lock or does a map lookup on the request
+ * path: a pick reads the current snapshot, draws two thread local random indices into it, and compares stats read from
+ * atomics. The key is ignored.
+ *
+ * <p>Each server is wrapped in a single {@link DiscoveryResult} for as long as it is known to the load balancer, so
+ * that latency noted against the connection pool's instance is visible here.
+ */
+public abstract class PowerOfTwoChoicesResolver extends DynamicServerResolver implements SnapshotResolver {
+
+    private volatile ServerSnapshot snapshot = ServerSnapshot.EMPTY;
+    private volatile Map<Server, DiscoveryResult> knownServers = Map.of();
+
+    protected PowerOfTwoChoicesResolver(IClientConfig clientConfig) {
+        super(clientConfig);
+        listenForChanges();
+    }
+
+    protected PowerOfTwoChoicesResolver(DynamicServerListLoadBalancer<?> loadBalancer) {
+        super(loadBalancer);
+        listenForChanges();
+    }
+
+    private void listenForChanges() {
+        // Registered before any ResolverListener, so that listeners already see the rebuilt snapshot.
+        getLoadBalancer().addServerListChangeListener((oldList, newList) -> rebuildSnapshot());
+        getLoadBalancer().addServerStatusChangeListener(servers -> rebuildSnapshot());
+        rebuildSnapshot();
+    }
+
+    /**
+     * The load of a server, where lower is better. Must be cheap and must not block.
+     */
+    protected abstract double load(DiscoveryResult server);
+
+    @Override
+    public ServerSnapshot snapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public DiscoveryResult resolve(@Nullable Object key) {
+        ServerSnapshot current = snapshot;
+        int index = choose(current, key);
+        return index < 0 ? DiscoveryResult.EMPTY : current.get(index);
+    }
+
+    @Override
+    public int choose(ServerSnapshot servers, @Nullable Object key) {
+        int size = servers.size();
+        if (size <= 1) {
+            return size - 1;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int firstIndex = random.nextInt(size);
+        int secondIndex = random.nextInt(size - 1);
+        if (secondIndex >= firstIndex) {
+            secondIndex++;
+        }
+
+        return score(servers.get(secondIndex)) < score(servers.get(firstIndex)) ? secondIndex : firstIndex;
+    }
+
+    @Override
+    public boolean hasServers() {
+        return snapshot.size() > 0;
+    }
+
+    private double score(DiscoveryResult server) {
+        // Only pick a tripped server if both choices are tripped.
+        return server.isCircuitBreakerTripped() ? Double.MAX_VALUE : load(server);
+    }
+
+    @Override
+    protected DiscoveryResult toDiscoveryResult(Server server) {
+        DiscoveryResult result = knownServers.get(server);
+        return result != null ? result : newDiscoveryResult(server);
+    }
+
+    private DiscoveryResult newDiscoveryResult(Server server) {
+        return new DiscoveryResult((DiscoveryEnabledServer) server, getLoadBalancer().getLoadBalancerStats());
+    }
+
+    /**
+     * Rebuilds the snapshot from the load balancer's current lists, carrying over the {@link DiscoveryResult} of every
+     * server that is still known. Synchronized, as the list refresh and the pinger notify on different threads.
+     */
+    @VisibleForTesting
+    synchronized void rebuildSnapshot() {
+        Map<Server, DiscoveryResult> previous = knownServers;
+        Map<Server, DiscoveryResult> known = new HashMap<>();
+        for (Server server : getLoadBalancer().getAllServers()) {
+            if (server instanceof DiscoveryEnabledServer) {
+                DiscoveryResult result = previous.get(server);
+                known.put(server, result != null ? result : newDiscoveryResult(server));
+            }
+        }
+
+        List<DiscoveryResult> reachable = new ArrayList<>();
+        for (Server server : getLoadBalancer().getReachableServers()) {
+            DiscoveryResult result = known.get(server);
+            if (result == null && server instanceof DiscoveryEnabledServer) {
+                // Reachable but not (yet) in the full list; still worth routing to.
+                result = previous.get(server);
+                if (result == null) {
+                    result = newDiscoveryResult(server);
+                }
+                known.put(server, result);
+            }
+            if (result != null) {
+                reachable.add(result);
+            }
+        }
+
+        knownServers = known;
+        snapshot = new ServerSnapshot(reachable.toArray(new DiscoveryResult[0]));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+/**
+ * An immutable, array-backed view of the servers a {@link SnapshotResolver} can currently pick from. A new snapshot is
+ * built whenever the server list or a server's status changes, so callers can compare snapshots by identity to tell
+ * whether anything derived from an earlier one is still current.
+ */
+public final class ServerSnapshot {
+
+    public static final ServerSnapshot EMPTY = new ServerSnapshot(new DiscoveryResult[0]);
+
+    private final DiscoveryResult[] servers;
+
+    ServerSnapshot(DiscoveryResult[] servers) {
+        this.servers = servers;
+    }
+
+    public int size() {
+        return servers.length;
+    }
+
+    public DiscoveryResult get(int index) {
+        return servers[index];
+    }
+
+    @Override
+    public String toString() {
+        return "ServerSnapshot{size=" + servers.length + '}';
+    }
+}
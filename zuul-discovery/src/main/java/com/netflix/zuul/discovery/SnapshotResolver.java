@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+import com.netflix.zuul.resolver.Resolver;
+import javax.annotation.Nullable;
+
+/**
+ * A resolver whose choice is an index into an immutable {@link ServerSnapshot}. Callers that keep per-server state,
+ * such as connection pools, can build an array parallel to a snapshot once, and then look up the state for each pick
+ * by index rather than by hashing the server.
+ */
+public interface SnapshotResolver extends Resolver<DiscoveryResult> {
+
+    /**
+     * @return the servers currently eligible to be picked. The same instance is returned until they change.
+     */
+    ServerSnapshot snapshot();
+
+    /**
+     * Picks a server from the given snapshot, which callers should have just obtained from {@link #snapshot()}.
+     *
+     * @return an index into the snapshot, or -1 if it is empty
+     */
+    int choose(ServerSnapshot snapshot, @Nullable Object key);
+
+    @Override
+    default DiscoveryResult resolve(@Nullable Object key) {
+        ServerSnapshot snapshot = snapshot();
+        int index = choose(snapshot, key);
+        return index < 0 ? DiscoveryResult.EMPTY : snapshot.get(index);
+    }
+}
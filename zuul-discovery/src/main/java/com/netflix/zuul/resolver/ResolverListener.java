@@ -31,4 +31,13 @@ public interface ResolverListener<T> {
      * @param removedSet the servers removed from the latest resolver update, but included in the previous update.
      */
     void onChange(List<T> removedSet);
+
+    /**
+     * Hook to respond to resolver updates, for listeners that also care about servers that were added.
+     * @param removedSet the servers removed from the latest resolver update, but included in the previous update.
+     * @param addedSet the servers included in the latest resolver update, but not in the previous update.
+     */
+    default void onChange(List<T> removedSet, List<T> addedSet) {
+        onChange(removedSet);
+    }
 }
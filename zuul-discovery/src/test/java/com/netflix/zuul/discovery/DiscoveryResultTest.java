@@ -189,4 +189,23 @@ class DiscoveryResultTest {
         assertThat(result.isSecurePortEnabled()).isFalse();
         assertThat(secure.isSecurePortEnabled()).isTrue();
     }
+
+    @Test
+    void latencyEwmaStartsAtFirstSampleAndDecays() {
+        DiscoveryResult discoveryResult = DiscoveryResult.from(
+                InstanceInfo.Builder.newBuilder()
+                        .setAppName("latency-ewma")
+                        .setHostName("latency-ewma")
+                        .setPort(7777)
+                        .build(),
+                false);
+
+        assertThat(discoveryResult.getLatencyEwma()).isEqualTo(0);
+
+        discoveryResult.noteConnectTime(100);
+        assertThat(discoveryResult.getLatencyEwma()).isEqualTo(100);
+
+        discoveryResult.noteResponseTime(200);
+        assertThat(discoveryResult.getLatencyEwma()).isEqualTo(100 + DiscoveryResult.LATENCY_EWMA_WEIGHT * 100);
+    }
 }
@@ -75,6 +75,46 @@ class DynamicServerResolverTest {
         assertThat(listener.updatedList()).containsExactly(new DiscoveryResult(server1), new DiscoveryResult(server2));
     }
 
+    @Test
+    void verifyListenerReceivesAddedServers() {
+        List<DiscoveryResult> removed = Lists.newArrayList();
+        List<DiscoveryResult> added = Lists.newArrayList();
+        ResolverListener<DiscoveryResult> listener = new ResolverListener<>() {
+            @Override
+            public void onChange(List<DiscoveryResult> removedSet) {
+                removed.addAll(removedSet);
+            }
+
+            @Override
+            public void onChange(List<DiscoveryResult> removedSet, List<DiscoveryResult> addedSet) {
+                onChange(removedSet);
+                added.addAll(addedSet);
+            }
+        };
+        DynamicServerResolver resolver = new DynamicServerResolver(new DefaultClientConfigImpl());
+        resolver.setListener(listener);
+
+        InstanceInfo first = InstanceInfo.Builder.newBuilder()
+                .setAppName("zuul-discovery-1")
+                .setHostName("zuul-discovery-1")
+                .setIPAddr("100.10.10.1")
+                .setPort(443)
+                .build();
+        InstanceInfo second = InstanceInfo.Builder.newBuilder()
+                .setAppName("zuul-discovery-2")
+                .setHostName("zuul-discovery-2")
+                .setIPAddr("100.10.10.2")
+                .setPort(443)
+                .build();
+        DiscoveryEnabledServer server1 = new DiscoveryEnabledServer(first, true);
+        DiscoveryEnabledServer server2 = new DiscoveryEnabledServer(second, true);
+
+        resolver.onUpdate(ImmutableList.of(server1), ImmutableList.of(server2));
+
+        assertThat(removed).containsExactly(new DiscoveryResult(server1));
+        assertThat(added).containsExactly(new DiscoveryResult(server2));
+    }
+
     @Test
     void getServersMapsDiscoveryServersAndSkipsNonDiscoveryServers() {
         InstanceInfo first = InstanceInfo.Builder.newBuilder()
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.loadbalancer.DynamicServerListLoadBalancer;
+import com.netflix.loadbalancer.LoadBalancerStats;
+import com.netflix.loadbalancer.Server;
+import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MaglevResolverTest {
+
+    private final List<Server> servers = new ArrayList<>();
+    private DynamicServerListLoadBalancer<Server> loadBalancer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        for (int i = 1; i <= 10; i++) {
+            servers.add(createServer(i));
+        }
+        loadBalancer = mock(DynamicServerListLoadBalancer.class);
+        when(loadBalancer.getReachableServers()).thenAnswer(invocation -> List.copyOf(servers));
+        when(loadBalancer.getLoadBalancerStats()).thenReturn(new LoadBalancerStats("test"));
+    }
+
+    @Test
+    void sameKeyPicksSameServer() {
+        MaglevResolver resolver = new MaglevResolver(loadBalancer);
+
+        DiscoveryResult first = resolver.resolve("user-1");
+        for (int i = 0; i < 10; i++) {
+            assertThat(resolver.resolve("user-1")).isEqualTo(first);
+        }
+    }
+
+    @Test
+    void keysAreSpreadOverAllServers() {
+        MaglevResolver resolver = new MaglevResolver(loadBalancer);
+
+        Map<DiscoveryResult, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            counts.merge(resolver.resolve("user-" + i), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(10);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(800, 1200));
+    }
+
+    @Test
+    void removingServerOnlyMovesItsKeys() {
+        MaglevResolver resolver = new MaglevResolver(loadBalancer);
+        Map<String, DiscoveryResult> before = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            before.put("user-" + i, resolver.resolve("user-" + i));
+        }
+
+        DiscoveryResult removed = resolver.toDiscoveryResult(servers.remove(3));
+        resolver.rebuildSnapshot();
+        resolver.rebuildTable();
+
+        int moved = 0;
+        for (Map.Entry<String, DiscoveryResult> entry : before.entrySet()) {
+            DiscoveryResult after = resolver.resolve(entry.getKey());
+            assertThat(after).isNotEqualTo(removed);
+            if (!entry.getValue().equals(removed) && !after.equals(entry.getValue())) {
+                moved++;
+            }
+        }
+        assertThat(moved).isLessThan(500);
+    }
+
+    @Test
+    void tableDoesNotDependOnServerOrder() {
+        MaglevResolver.Permutation[] permutations = new MaglevResolver.Permutation[5];
+        MaglevResolver.Permutation[] reversed = new MaglevResolver.Permutation[5];
+        for (int i = 0; i < 5; i++) {
+            permutations[i] = MaglevResolver.Permutation.of("host-" + i + ":443");
+            reversed[4 - i] = permutations[i];
+        }
+
+        int[] entries = MaglevResolver.populate(permutations);
+        int[] reversedEntries = MaglevResolver.populate(reversed);
+
+        assertThat(entries).hasSameSizeAs(reversedEntries);
+        for (int i = 0; i < entries.length; i++) {
+            assertThat(reversedEntries[i]).isEqualTo(4 - entries[i]);
+        }
+    }
+
+    @Test
+    void requestsWithoutKeyStillResolve() {
+        MaglevResolver resolver = new MaglevResolver(loadBalancer);
+
+        assertThat(resolver.resolve(null)).isNotEqualTo(DiscoveryResult.EMPTY);
+    }
+
+    private static DiscoveryEnabledServer createServer(int i) {
+        return new DiscoveryEnabledServer(
+                InstanceInfo.Builder.newBuilder()
+                        .setAppName("zuul-discovery")
+                        .setHostName("zuul-discovery-" + i)
+                        .setIPAddr("100.10.10." + i)
+                        .setPort(443)
+                        .build(),
+                true);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.client.config.DefaultClientConfigImpl;
+import com.netflix.loadbalancer.DynamicServerListLoadBalancer;
+import com.netflix.loadbalancer.LoadBalancerStats;
+import com.netflix.loadbalancer.Server;
+import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PowerOfTwoChoicesResolverTest {
+
+    private DiscoveryEnabledServer server1;
+    private DiscoveryEnabledServer server2;
+    private DynamicServerListLoadBalancer<Server> loadBalancer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        server1 = new DiscoveryEnabledServer(
+                InstanceInfo.Builder.newBuilder()
+                        .setAppName("zuul-discovery-1")
+                        .setHostName("zuul-discovery-1")
+                        .setIPAddr("100.10.10.1")
+                        .setPort(443)
+                        .build(),
+                true);
+        server2 = new DiscoveryEnabledServer(
+                InstanceInfo.Builder.newBuilder()
+                        .setAppName("zuul-discovery-2")
+                        .setHostName("zuul-discovery-2")
+                        .setIPAddr("100.10.10.2")
+                        .setPort(443)
+                        .build(),
+                true);
+
+        loadBalancer = mock(DynamicServerListLoadBalancer.class);
+        when(loadBalancer.getReachableServers()).thenReturn(List.of(server1, server2));
+        when(loadBalancer.getLoadBalancerStats()).thenReturn(new LoadBalancerStats("test"));
+    }
+
+    @Test
+    void leastActiveRequestsPicksLessBusyServer() {
+        LeastActiveRequestsResolver resolver = new LeastActiveRequestsResolver(loadBalancer);
+        DiscoveryResult busy = resolver.toDiscoveryResult(server1);
+        busy.incrementActiveRequestsCount();
+        busy.incrementActiveRequestsCount();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(resolver.resolve(null)).isEqualTo(new DiscoveryResult(server2));
+        }
+    }
+
+    @Test
+    void latencyEwmaPicksFasterServer() {
+        LatencyEwmaResolver resolver = new LatencyEwmaResolver(loadBalancer);
+        resolver.toDiscoveryResult(server1).noteResponseTime(500);
+        resolver.toDiscoveryResult(server2).noteResponseTime(5);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(resolver.resolve(null)).isEqualTo(new DiscoveryResult(server2));
+        }
+    }
+
+    @Test
+    void resolveReusesOneResultPerServer() {
+        LatencyEwmaResolver resolver = new LatencyEwmaResolver(loadBalancer);
+
+        DiscoveryResult resolved = resolver.resolve(null);
+
+        assertThat(resolver.toDiscoveryResult(resolved.getServer())).isSameAs(resolved);
+    }
+
+    @Test
+    void snapshotIsReplacedOnlyOnRebuild() {
+        LeastActiveRequestsResolver resolver = new LeastActiveRequestsResolver(loadBalancer);
+        ServerSnapshot snapshot = resolver.snapshot();
+        DiscoveryResult result1 = resolver.toDiscoveryResult(server1);
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(resolver.snapshot()).isSameAs(snapshot);
+
+        when(loadBalancer.getReachableServers()).thenReturn(List.of(server1));
+        resolver.rebuildSnapshot();
+
+        assertThat(resolver.snapshot()).isNotSameAs(snapshot);
+        assertThat(resolver.snapshot().size()).isEqualTo(1);
+        assertThat(resolver.snapshot().get(0)).isSameAs(result1);
+    }
+
+    @Test
+    void emptyWhenNoReachableServers() {
+        when(loadBalancer.getReachableServers()).thenReturn(List.of());
+        LeastActiveRequestsResolver resolver = new LeastActiveRequestsResolver(loadBalancer);
+
+        assertThat(resolver.resolve(null)).isSameAs(DiscoveryResult.EMPTY);
+    }
+
+    @Test
+    void createHonoursLoadBalancingPolicy() {
+        DefaultClientConfigImpl clientConfig = new DefaultClientConfigImpl();
+        assertThat(DynamicServerResolver.create(clientConfig)).isExactlyInstanceOf(DynamicServerResolver.class);
+
+        clientConfig.set(DynamicServerResolver.LOAD_BALANCING_POLICY, LeastActiveRequestsResolver.POLICY_NAME);
+        assertThat(DynamicServerResolver.create(clientConfig)).isInstanceOf(LeastActiveRequestsResolver.class);
+
+        clientConfig.set(DynamicServerResolver.LOAD_BALANCING_POLICY, LatencyEwmaResolver.POLICY_NAME);
+        assertThat(DynamicServerResolver.create(clientConfig)).isInstanceOf(LatencyEwmaResolver.class);
+    }
+}
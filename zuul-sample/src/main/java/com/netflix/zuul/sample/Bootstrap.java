@@ -95,13 +95,14 @@ public class Bootstrap {
             SamplePushMessageSenderInitializer pushMessageSenderInitializer =
                     new SamplePushMessageSenderInitializer(pushConnectionRegistry);
             DefaultRegistry registry = new DefaultRegistry();
+            BasicNettyOriginManager originManager = new BasicNettyOriginManager(registry);
             SampleServerStartup serverStartup = new SampleServerStartup(
                     new ServerStatusManager(instance) {
                         @Override
                         public void localStatus(InstanceStatus status) {}
                     },
                     new StaticFilterLoader(new SampleFilterFactory(), FILTER_TYPES),
-                    new ZuulSessionContextDecorator(new BasicNettyOriginManager(registry)),
+                    new ZuulSessionContextDecorator(originManager),
                     new BasicFilterUsageNotifier(registry),
                     new BasicRequestCompleteHandler(),
                     registry,
@@ -114,6 +115,7 @@ public class Bootstrap {
                     pushMessageSenderInitializer);
             serverStartup.init();
             server = serverStartup.server();
+            server.addWorkerGroupListener(originManager::warmUp);
 
             server.start();
             long startupDuration = System.nanoTime() - startNanos;